@@ -0,0 +1,37 @@
+/* ###
+ * IP: GHIDRA
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+// Adds or removes the persisted datatype fingerprint index for the current program. The index
+// is used to find structures, unions and enums which may be duplicates of another datatype.
+// When persisted, it need not be rebuilt from all datatypes each time the program is opened.
+//@category Data Types
+import ghidra.app.script.GhidraScript;
+import ghidra.program.database.data.DataTypeFingerprintIndex;
+import ghidra.program.database.data.ProgramBasedDataTypeManagerDB;
+
+public class ToggleDataTypeFingerprintIndexScript extends GhidraScript {
+
+	@Override
+	protected void run() throws Exception {
+		if (!(currentProgram.getDataTypeManager() instanceof ProgramBasedDataTypeManagerDB dtm)) {
+			printerr("The datatype fingerprint index is not supported for this program");
+			return;
+		}
+		DataTypeFingerprintIndex index = dtm.getFingerprintIndex();
+		boolean persist = !index.isPersistent();
+		index.setPersistent(persist, monitor);
+		println("Datatype fingerprint index " + (persist ? "created" : "removed"));
+	}
+}
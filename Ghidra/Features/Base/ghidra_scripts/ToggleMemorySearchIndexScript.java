@@ -0,0 +1,37 @@
+/* ###
+ * IP: GHIDRA
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+// Adds or removes the persistent memory n-gram index for the current program. When present, the
+// index is used by memory searches to skip over memory that can't contain the search bytes, which
+// speeds up repeated searches of large programs at the cost of extra database space.
+//@category Search
+import ghidra.app.script.GhidraScript;
+import ghidra.program.database.mem.MemoryMapDB;
+import ghidra.program.database.mem.MemoryNgramIndex;
+
+public class ToggleMemorySearchIndexScript extends GhidraScript {
+
+	@Override
+	protected void run() throws Exception {
+		if (!(currentProgram.getMemory() instanceof MemoryMapDB memory)) {
+			printerr("The memory search index is not supported for this program");
+			return;
+		}
+		MemoryNgramIndex index = memory.getNgramIndex();
+		boolean enable = !index.isEnabled();
+		index.setEnabled(enable, monitor);
+		println("Memory search index " + (enable ? "created" : "removed"));
+	}
+}
@@ -89,6 +89,13 @@ class ViewStringsTableModel extends AddressBasedTableModel<ProgramLocation> {
 		}
 	}
 
+	@Override
+	public boolean isColumnThreadSafe(int columnIndex) {
+		// our columns only read from the program, which handles concurrent readers; we do not
+		// know about any discovered columns that have been added
+		return isDefaultColumn(columnIndex);
+	}
+
 	@Override
 	protected TableColumnDescriptor<ProgramLocation> createTableColumnDescriptor() {
 		TableColumnDescriptor<ProgramLocation> descriptor = new TableColumnDescriptor<>();
@@ -324,6 +324,13 @@ public abstract class AbstractSymbolTableModel extends AddressBasedTableModel<Sy
 		return super.createSortComparator(columnIndex);
 	}
 
+	@Override
+	public boolean isColumnThreadSafe(int columnIndex) {
+		// our columns only read from the program, which handles concurrent readers; we do not
+		// know about any discovered columns that have been added
+		return isDefaultColumn(columnIndex);
+	}
+
 	public SymbolRenderer getSymbolRenderer() {
 		return symbolRenderer;
 	}
@@ -225,7 +225,6 @@ class SymbolPanel extends JPanel {
 	private static class NameOnlyRowTransformer
 			extends DefaultRowFilterTransformer<SymbolRowObject> {
 
-		private List<String> list = new ArrayList<>();
 		private SymbolTableModel symbolTableModel;
 
 		NameOnlyRowTransformer(SymbolTableModel symbolTableModel, TableColumnModel columnModel) {
@@ -235,7 +234,7 @@ class SymbolPanel extends JPanel {
 
 		@Override
 		public List<String> transform(SymbolRowObject rowObject) {
-			list.clear();
+			List<String> list = new ArrayList<>();
 			if (rowObject != null) {
 				// The toString() returns the name for the symbol, which may be cached.  Calling
 				// toString() will also avoid locking for cached values.
@@ -243,12 +242,18 @@ class SymbolPanel extends JPanel {
 
 				// Add the 'Original Imported Name' value as well, which may feel intuitive to the
 				// user when filtering on the name.
-				addOriginalName(rowObject);
+				addOriginalName(rowObject, list);
 			}
 			return list;
 		}
 
-		private void addOriginalName(SymbolRowObject rowObject) {
+		@Override
+		public boolean isThreadSafe() {
+			int index = symbolTableModel.getColumnIndex(OriginalNameColumn.class);
+			return symbolTableModel.isColumnThreadSafe(index);
+		}
+
+		private void addOriginalName(SymbolRowObject rowObject, List<String> list) {
 			int index = symbolTableModel.getColumnIndex(OriginalNameColumn.class);
 			String originalName = getStringValue(rowObject, index);
 			if (originalName != null) {
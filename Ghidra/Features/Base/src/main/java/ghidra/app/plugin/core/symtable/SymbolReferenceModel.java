@@ -79,6 +79,16 @@ public class SymbolReferenceModel extends AddressBasedTableModel<Reference> {
 		return descriptor;
 	}
 
+	@Override
+	public boolean isColumnThreadSafe(int columnIndex) {
+		// the subroutine column caches its block model and the preview column formats code
+		// units, so neither may be used by multiple threads
+		if (columnIndex == SUBROUTINE_COL || columnIndex == PREVIEW_COL) {
+			return false;
+		}
+		return isDefaultColumn(columnIndex);
+	}
+
 	String getDescription() {
 		if (isDisposed) {
 			return null;
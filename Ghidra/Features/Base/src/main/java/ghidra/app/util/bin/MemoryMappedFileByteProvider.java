@@ -0,0 +1,267 @@
+/* ###
+ * IP: GHIDRA
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ghidra.app.util.bin;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.AccessMode;
+import java.nio.file.StandardOpenOption;
+
+import ghidra.formats.gfilesystem.FSRL;
+import ghidra.framework.OperatingSystem;
+import ghidra.framework.Platform;
+import ghidra.util.Msg;
+import ghidra.util.SystemUtilities;
+
+/**
+ * A read-only {@link ByteProvider} that reads its bytes from a file that has been mapped
+ * into memory.
+ * <p>
+ * Since a single mapped buffer is limited to 2Gb, the file is mapped as a series of fixed size
+ * chunks and reads that straddle a chunk boundary are split between chunks.
+ * <p>
+ * The file's length is fixed when the provider is created.  The file must not be truncated
+ * while the provider is in use.
+ * <p>
+ * The mapping is only released when the buffers are garbage collected, which may be some time
+ * after the provider is closed.  Windows does not allow a mapped file to be renamed or deleted,
+ * so {@link #open(File, FSRL)} never maps files on Windows, where files such as those in the
+ * file cache must be deletable once their provider is closed.
+ * <p>
+ * Memory-mapping may also be disabled by setting the {@value #DISABLE_PROPERTY} system
+ * property to true, in which case {@link #open(File, FSRL)} will return a
+ * {@link FileByteProvider}.
+ */
+public class MemoryMappedFileByteProvider implements ByteProvider {
+
+	/**
+	 * System property which disables the use of memory-mapped byte providers
+	 */
+	public static final String DISABLE_PROPERTY = "disable.mmap.byteprovider";
+
+	static final int DEFAULT_CHUNK_SHIFT = 30; // 1Gb chunks
+
+	private static final boolean DISABLED =
+		SystemUtilities.getBooleanProperty(DISABLE_PROPERTY, false) ||
+			Platform.CURRENT_PLATFORM.getOperatingSystem() == OperatingSystem.WINDOWS;
+
+	private final FSRL fsrl;
+	private final File file;
+	private final long length;
+	private final int chunkShift;
+	private final long chunkMask;
+	private MappedByteBuffer[] chunks;
+
+	/**
+	 * Returns a read-only {@link ByteProvider} for the specified file, which will be memory-mapped
+	 * if possible.  If memory-mapping has been disabled, the file is not a regular file, it could
+	 * not be mapped, or this is running on Windows, a {@link FileByteProvider} is returned.
+	 *
+	 * @param file {@link File} to open
+	 * @param fsrl {@link FSRL} identity of the file
+	 * @return new {@link ByteProvider}, caller is responsible for closing
+	 * @throws IOException if error opening file
+	 */
+	public static ByteProvider open(File file, FSRL fsrl) throws IOException {
+		if (canMap(file)) {
+			try {
+				return new MemoryMappedFileByteProvider(file, fsrl);
+			}
+			catch (IOException e) {
+				Msg.debug(MemoryMappedFileByteProvider.class,
+					"Unable to map " + file + ": " + e.getMessage());
+			}
+		}
+		return new FileByteProvider(file, fsrl, AccessMode.READ);
+	}
+
+	static boolean canMap(File file) {
+		return !DISABLED && file.isFile();
+	}
+
+	/**
+	 * Creates a new instance.
+	 *
+	 * @param file {@link File} to open
+	 * @param fsrl {@link FSRL} identity of the file
+	 * @throws IOException if error opening or mapping the file
+	 */
+	public MemoryMappedFileByteProvider(File file, FSRL fsrl) throws IOException {
+		this(file, fsrl, DEFAULT_CHUNK_SHIFT);
+	}
+
+	MemoryMappedFileByteProvider(File file, FSRL fsrl, int chunkShift) throws IOException {
+		this.file = file;
+		this.fsrl = fsrl;
+		this.chunkShift = chunkShift;
+		this.chunkMask = (1L << chunkShift) - 1;
+
+		// mappings remain valid after the channel has been closed
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			this.length = channel.size();
+			long chunkSize = 1L << chunkShift;
+			int chunkCount = (int) ((length + chunkSize - 1) >>> chunkShift);
+			MappedByteBuffer[] mappedChunks = new MappedByteBuffer[chunkCount];
+			for (int i = 0; i < chunkCount; i++) {
+				long pos = (long) i << chunkShift;
+				mappedChunks[i] =
+					channel.map(MapMode.READ_ONLY, pos, Math.min(chunkSize, length - pos));
+			}
+			this.chunks = mappedChunks;
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		// mapped memory is released when the buffers are garbage collected; until then, the file
+		// can't be renamed or deleted on Windows, which is why files aren't mapped there
+		chunks = null;
+	}
+
+	@Override
+	public File getFile() {
+		return file;
+	}
+
+	@Override
+	public String getName() {
+		return fsrl != null ? fsrl.getName() : file.getName();
+	}
+
+	@Override
+	public String getAbsolutePath() {
+		return fsrl != null ? fsrl.getPath() : file.getAbsolutePath();
+	}
+
+	@Override
+	public FSRL getFSRL() {
+		return fsrl;
+	}
+
+	@Override
+	public long length() throws IOException {
+		return length;
+	}
+
+	@Override
+	public boolean isValidIndex(long index) {
+		return 0 <= index && index < length;
+	}
+
+	@Override
+	public byte readByte(long index) throws IOException {
+		ensureBounds(index, 1);
+		return doReadByte(index);
+	}
+
+	@Override
+	public byte[] readBytes(long index, long len) throws IOException {
+		ensureBounds(index, len);
+		if (len > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException("Read length 0x%x exceeds Integer.MAX_VALUE (0x%x)"
+					.formatted(len, Integer.MAX_VALUE));
+		}
+		byte[] result = new byte[(int) len];
+		doReadBytes(index, result, 0, result.length);
+		return result;
+	}
+
+	/**
+	 * Read bytes at the specified index into the given byte array.
+	 *
+	 * @param index file offset to start reading
+	 * @param buffer byte array that will receive the bytes
+	 * @param offset offset inside the byte array to place the bytes
+	 * @param len number of bytes to read
+	 * @throws IOException if error or attempt to read past the end of the file
+	 */
+	public void readBytes(long index, byte[] buffer, int offset, int len) throws IOException {
+		ensureBounds(index, len);
+		doReadBytes(index, buffer, offset, len);
+	}
+
+	//------------------------------------------------------------------------------------
+	/**
+	 * Reads a byte from the mapped file.  Index has already been bounds checked.
+	 *
+	 * @param index file position of the byte
+	 * @return byte value
+	 * @throws IOException if error
+	 */
+	protected byte doReadByte(long index) throws IOException {
+		MappedByteBuffer chunk = getChunks()[(int) (index >>> chunkShift)];
+		try {
+			return chunk.get((int) (index & chunkMask));
+		}
+		catch (InternalError e) {
+			throw mappingFault(e);
+		}
+	}
+
+	/**
+	 * Reads bytes from the mapped file.  Index and length have already been bounds checked.
+	 *
+	 * @param index file position of where to read
+	 * @param buffer byte array that will receive bytes
+	 * @param offset offset inside of byte array to start
+	 * @param len number of bytes to read
+	 * @throws IOException if error
+	 */
+	protected void doReadBytes(long index, byte[] buffer, int offset, int len)
+			throws IOException {
+		MappedByteBuffer[] mappedChunks = getChunks();
+		try {
+			while (len > 0) {
+				MappedByteBuffer chunk = mappedChunks[(int) (index >>> chunkShift)];
+				int chunkOffset = (int) (index & chunkMask);
+				int count = Math.min(len, chunk.limit() - chunkOffset);
+				chunk.get(chunkOffset, buffer, offset, count);
+				index += count;
+				offset += count;
+				len -= count;
+			}
+		}
+		catch (InternalError e) {
+			throw mappingFault(e);
+		}
+	}
+
+	//------------------------------------------------------------------------------------
+	private MappedByteBuffer[] getChunks() throws IOException {
+		MappedByteBuffer[] mappedChunks = chunks;
+		if (mappedChunks == null) {
+			throw new IOException("Provider closed: " + file);
+		}
+		return mappedChunks;
+	}
+
+	private IOException mappingFault(InternalError e) {
+		// the JVM reports a fault accessing a mapping (e.g., truncated file) as an InternalError
+		return new IOException("Error reading mapped file " + file, e);
+	}
+
+	private void ensureBounds(long index, long len) throws IOException {
+		if (index < 0 || index > length) {
+			throw new IOException("Invalid index: " + index);
+		}
+		if (len < 0 || index + len > length) {
+			throw new IOException("Unable to read past EOF: " + index + ", " + len);
+		}
+	}
+}
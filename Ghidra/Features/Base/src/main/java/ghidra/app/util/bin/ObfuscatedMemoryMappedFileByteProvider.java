@@ -0,0 +1,94 @@
+/* ###
+ * IP: GHIDRA
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ghidra.app.util.bin;
+
+import static ghidra.app.util.bin.ObfuscatedFileByteProvider.XOR_MASK_BYTES;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.AccessMode;
+
+import ghidra.formats.gfilesystem.FSRL;
+import ghidra.util.Msg;
+
+/**
+ * A read-only {@link MemoryMappedFileByteProvider} that de-obfuscates the contents of a file
+ * written by an {@link ObfuscatedFileByteProvider} or {@link ObfuscatedOutputStream}.
+ */
+public class ObfuscatedMemoryMappedFileByteProvider extends MemoryMappedFileByteProvider {
+
+	/**
+	 * Returns a read-only {@link ByteProvider} for the specified obfuscated file, which will be
+	 * memory-mapped if possible.  If memory-mapping has been disabled, the file could not be
+	 * mapped, or this is running on Windows, an {@link ObfuscatedFileByteProvider} is returned.
+	 *
+	 * @param file {@link File} to open
+	 * @param fsrl {@link FSRL} identity of the file
+	 * @return new {@link ByteProvider}, caller is responsible for closing
+	 * @throws IOException if error opening file
+	 */
+	public static ByteProvider open(File file, FSRL fsrl) throws IOException {
+		if (canMap(file)) {
+			try {
+				return new ObfuscatedMemoryMappedFileByteProvider(file, fsrl);
+			}
+			catch (IOException e) {
+				Msg.debug(ObfuscatedMemoryMappedFileByteProvider.class,
+					"Unable to map " + file + ": " + e.getMessage());
+			}
+		}
+		return new ObfuscatedFileByteProvider(file, fsrl, AccessMode.READ);
+	}
+
+	/**
+	 * Creates an instance of {@link ObfuscatedMemoryMappedFileByteProvider}.
+	 *
+	 * @param file {@link File} to read from
+	 * @param fsrl {@link FSRL} identity of this file
+	 * @throws IOException if error opening or mapping the file
+	 */
+	public ObfuscatedMemoryMappedFileByteProvider(File file, FSRL fsrl) throws IOException {
+		super(file, fsrl);
+	}
+
+	ObfuscatedMemoryMappedFileByteProvider(File file, FSRL fsrl, int chunkShift)
+			throws IOException {
+		super(file, fsrl, chunkShift);
+	}
+
+	@Override
+	public File getFile() {
+		// obfuscated file isn't readable, so force null
+		return null;
+	}
+
+	@Override
+	protected byte doReadByte(long index) throws IOException {
+		byte b = super.doReadByte(index);
+		return (byte) (b ^ XOR_MASK_BYTES[(int) (index % XOR_MASK_BYTES.length)]);
+	}
+
+	@Override
+	protected void doReadBytes(long index, byte[] buffer, int offset, int len)
+			throws IOException {
+		super.doReadBytes(index, buffer, offset, len);
+		int xorMaskIndex = (int) (index % XOR_MASK_BYTES.length);
+		for (int i = 0; i < len; i++) {
+			buffer[offset + i] ^= XOR_MASK_BYTES[xorMaskIndex];
+			xorMaskIndex = (xorMaskIndex + 1) % XOR_MASK_BYTES.length;
+		}
+	}
+}
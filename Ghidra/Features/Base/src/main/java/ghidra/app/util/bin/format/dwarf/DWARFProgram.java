@@ -21,10 +21,13 @@ import static ghidra.app.util.bin.format.dwarf.attribs.DWARFAttribute.*;
 import java.io.*;
 import java.util.*;
 import java.util.Map.Entry;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 import org.apache.commons.collections4.ListValuedMap;
 import org.apache.commons.collections4.multimap.ArrayListValuedHashMap;
 
+import generic.concurrent.GThreadPool;
 import ghidra.app.util.bin.*;
 import ghidra.app.util.bin.format.dwarf.attribs.*;
 import ghidra.app.util.bin.format.dwarf.expression.DWARFExpressionException;
@@ -41,6 +44,7 @@ import ghidra.program.model.listing.*;
 import ghidra.program.model.symbol.SymbolUtilities;
 import ghidra.util.Msg;
 import ghidra.util.datastruct.*;
+import ghidra.util.exception.AssertException;
 import ghidra.util.exception.CancelledException;
 import ghidra.util.task.TaskMonitor;
 
@@ -59,6 +63,20 @@ public class DWARFProgram implements Closeable {
 	private static final String ELLIPSES_STR = "...";
 	protected static final EnumSet<DWARFAttribute> REF_ATTRS =
 		EnumSet.of(DW_AT_abstract_origin, DW_AT_specification);
+	private static final String INDEXING_THREAD_POOL_NAME = "DWARF Indexing";
+	private static final int MAX_PENDING_COMPUNITS_PER_THREAD = 2;
+
+	/**
+	 * The DIE records of a single compunit, indexed relative to the compunit's first DIE.
+	 * 
+	 * @param cu the compunit
+	 * @param dieOffsets offset of each DIE
+	 * @param parentIndexes index of each DIE's parent, or -1 for the root DIE
+	 * @param siblingIndexes index of each DIE's next sibling
+	 * @param aggrTargets offsets of DIEs that are referred to as part of an aggregate
+	 */
+	private record CompUnitIndex(DWARFCompilationUnit cu, long[] dieOffsets, int[] parentIndexes,
+			int[] siblingIndexes, long[] aggrTargets) {}
 
 	/**
 	 * Returns true if the {@link Program program} probably has DWARF information, without doing
@@ -339,14 +357,34 @@ public class DWARFProgram implements Closeable {
 		IntArrayList parentIndexList = new IntArrayList();
 		LongArrayList aggrTargets = new LongArrayList();
 
-		monitor.initialize(debugInfoBR.length(), "DWARF: Indexing records");
-		for (DWARFCompilationUnit cu : compUnits) {
-			debugInfoBR.setPointerIndex(cu.getFirstDIEOffset());
-			monitor.setMessage("DWARF: Indexing records - Compilation Unit #%d/%d"
-					.formatted(cu.getUnitNumber() + 1, compUnits.size()));
-			indexDIEsForCU(cu, dieOffsetList, parentIndexList, siblingIndexList, aggrTargets,
-				monitor);
-			compUnitDieIndex.put(dieOffsetList.size() - 1, cu);
+		// Each compunit's records are read and indexed on the thread pool, independently of
+		// the other compunits.  The results are merged into the program-wide indexes in
+		// compunit order, which keeps the DIE indexes the same as a sequential read.
+		monitor.initialize(compUnits.size(), "DWARF: Indexing records");
+		GThreadPool pool = GThreadPool.getSharedThreadPool(INDEXING_THREAD_POOL_NAME);
+		int maxPending = pool.getMaxThreadCount() * MAX_PENDING_COMPUNITS_PER_THREAD;
+		Deque<Future<CompUnitIndex>> pending = new ArrayDeque<>();
+		Iterator<DWARFCompilationUnit> cuIt = compUnits.iterator();
+		try {
+			while (true) {
+				while (pending.size() < maxPending && cuIt.hasNext()) {
+					DWARFCompilationUnit cu = cuIt.next();
+					pending.add(pool.submit(() -> indexDIEsForCU(cu, monitor)));
+				}
+				Future<CompUnitIndex> next = pending.poll();
+				if (next == null) {
+					break;
+				}
+				CompUnitIndex cuIndex = getCompUnitIndex(next);
+				monitor.setMessage("DWARF: Indexing records - Compilation Unit #%d/%d"
+						.formatted(cuIndex.cu().getUnitNumber() + 1, compUnits.size()));
+				mergeCompUnitIndex(cuIndex, dieOffsetList, parentIndexList, siblingIndexList,
+					aggrTargets);
+				monitor.increment();
+			}
+		}
+		finally {
+			pending.forEach(f -> f.cancel(false));
 		}
 
 		dieOffsets = dieOffsetList.toLongArray();
@@ -385,24 +423,115 @@ public class DWARFProgram implements Closeable {
 		}
 	}
 
-	private void indexDIEsForCU(DWARFCompilationUnit cu, LongArrayList dieOffsetList,
-			IntArrayList parentIndexList, IntArrayList siblingIndexList, LongArrayList aggrTargets,
-			TaskMonitor monitor) throws CancelledException {
+	private CompUnitIndex getCompUnitIndex(Future<CompUnitIndex> future)
+			throws CancelledException {
+		try {
+			return future.get();
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new CancelledException();
+		}
+		catch (ExecutionException e) {
+			if (e.getCause() instanceof CancelledException ce) {
+				throw ce;
+			}
+			if (e.getCause() instanceof RuntimeException re) {
+				throw re;
+			}
+			throw new AssertException(e.getCause());
+		}
+	}
+
+	private void mergeCompUnitIndex(CompUnitIndex cuIndex, LongArrayList dieOffsetList,
+			IntArrayList parentIndexList, IntArrayList siblingIndexList,
+			LongArrayList aggrTargets) {
+		DWARFCompilationUnit cu = cuIndex.cu();
+		int base = dieOffsetList.size();
+		long[] cuDieOffsets = cuIndex.dieOffsets();
+
+		// The compunit is initialized from its root DIE before any of its DIEs are added, as
+		// when the compunit's records are read sequentially.  Reading the other DIEs of the
+		// compunit on the indexing threads does not depend on the compunit having been
+		// initialized.
+		if (cuDieOffsets.length > 0 && cuDieOffsets[0] == cu.getFirstDIEOffset() &&
+			!initCompUnit(cu, base)) {
+			// the remainder of the compunit is skipped, leaving just its root DIE
+			dieOffsetList.add(cuDieOffsets[0]);
+			parentIndexList.add(-1);
+			siblingIndexList.add(base + 1);
+			compUnitDieIndex.put(base, cu);
+			return;
+		}
+
+		for (int i = 0; i < cuDieOffsets.length; i++) {
+			int parentIndex = cuIndex.parentIndexes()[i];
+			dieOffsetList.add(cuDieOffsets[i]);
+			parentIndexList.add(parentIndex != -1 ? parentIndex + base : -1);
+			siblingIndexList.add(cuIndex.siblingIndexes()[i] + base);
+		}
+		for (long aggrTarget : cuIndex.aggrTargets()) {
+			aggrTargets.add(aggrTarget);
+		}
+		compUnitDieIndex.put(dieOffsetList.size() - 1, cu);
+	}
+
+	/**
+	 * Initializes a compunit from its root DIE.  This reads other sections, and so is done on
+	 * the thread that merges the compunit indexes.
+	 * 
+	 * @param cu {@link DWARFCompilationUnit} to initialize
+	 * @param rootDIEIndex index of the compunit's root DIE
+	 * @return true if initialized, false if the compunit's records could not be read
+	 */
+	private boolean initCompUnit(DWARFCompilationUnit cu, int rootDIEIndex) {
+		try {
+			DebugInfoEntry rootDIE =
+				DebugInfoEntry.read(debugInfoBR.clone(cu.getFirstDIEOffset()), cu, rootDIEIndex);
+			cu.init(rootDIE);
+			diesByOffset.put(rootDIE.getOffset(), rootDIE);
+			return true;
+		}
+		catch (IOException e) {
+			Msg.error(this,
+				"Failed to initialize compunit %d (at 0x%x), skipping remainder of compilation unit."
+						.formatted(cu.getUnitNumber(), cu.getStartOffset()),
+				e);
+			return false;
+		}
+	}
+
+	/**
+	 * Reads and indexes the DIE records of a single compunit.  DIE indexes in the result are
+	 * relative to the compunit's first DIE.
+	 * <p>
+	 * This may be called concurrently for different compunits, and so only reads from its own
+	 * clone of the debug info reader and does not touch any shared state.
+	 * 
+	 * @param cu {@link DWARFCompilationUnit} to index
+	 * @param monitor {@link TaskMonitor}
+	 * @return {@link CompUnitIndex} of the compunit's DIE records
+	 * @throws CancelledException if cancelled
+	 */
+	private CompUnitIndex indexDIEsForCU(DWARFCompilationUnit cu, TaskMonitor monitor)
+			throws CancelledException {
+		BinaryReader reader = debugInfoBR.clone(cu.getFirstDIEOffset());
+		LongArrayList dieOffsetList = new LongArrayList();
+		IntArrayList siblingIndexList = new IntArrayList();
+		IntArrayList parentIndexList = new IntArrayList();
+		LongArrayList aggrTargets = new LongArrayList();
 		long endOffset = cu.getEndOffset();
 
-		int perCuDieCount = 0;
 		int parentIndex = -1;
 		long unexpectedTerminator = -1;
-		while (debugInfoBR.getPointerIndex() < endOffset) {
+		while (reader.getPointerIndex() < endOffset) {
 
-			long startOfDIE = debugInfoBR.getPointerIndex();
-			monitor.setProgress(startOfDIE);
-			monitor.setMessage("DWARF: Indexing Compilation Unit #" + compUnits.size());
+			long startOfDIE = reader.getPointerIndex();
 			monitor.checkCancelled();
 
 			try {
 				int dieIndex = dieOffsetList.size();
-				DebugInfoEntry die = DebugInfoEntry.read(debugInfoBR, cu, dieIndex);
+				DebugInfoEntry die = DebugInfoEntry.read(reader, cu, dieIndex);
 
 				if (die.isTerminator()) {
 					if (parentIndex == -1) {
@@ -417,7 +546,7 @@ public class DWARFProgram implements Closeable {
 					throw new DWARFException(
 						"Unexpected terminator entry at 0x%x".formatted(unexpectedTerminator));
 				}
-				if (parentIndex == -1 && perCuDieCount != 0 /* first die of CU */) {
+				if (parentIndex == -1 && dieIndex != 0 /* first die of CU */) {
 					throw new DWARFException(
 						"Unexpected root level DIE at 0x%x".formatted(startOfDIE));
 				}
@@ -425,7 +554,6 @@ public class DWARFProgram implements Closeable {
 				dieOffsetList.add(startOfDIE);
 				parentIndexList.add(parentIndex);
 				siblingIndexList.add(dieIndex + 1);
-				perCuDieCount++;
 
 				updateSiblingIndexes(siblingIndexList, parentIndexList, dieIndex);
 
@@ -433,10 +561,6 @@ public class DWARFProgram implements Closeable {
 					parentIndex = dieIndex;
 				}
 
-				if (die.getOffset() == cu.getFirstDIEOffset()) {
-					cu.init(die);
-				}
-
 				DIEAggregate diea = DIEAggregate.createSingle(die);
 				for (DWARFAttribute attr : REF_ATTRS) {
 					long refdOffset = diea.getUnsignedLong(attr, -1);
@@ -444,18 +568,17 @@ public class DWARFProgram implements Closeable {
 						aggrTargets.add(refdOffset);
 					}
 				}
-
-				diesByOffset.put(startOfDIE, die);
 			}
 			catch (IOException e) {
 				Msg.error(this,
 					"Failed to read DIE at offset 0x%x in compunit %d (at 0x%x), skipping remainder of compilation unit."
 							.formatted(startOfDIE, cu.getUnitNumber(), cu.getStartOffset()),
 					e);
-				debugInfoBR.setPointerIndex(endOffset);
+				reader.setPointerIndex(endOffset);
 			}
 		}
-
+		return new CompUnitIndex(cu, dieOffsetList.toLongArray(), parentIndexList.toArray(),
+			siblingIndexList.toArray(), aggrTargets.toLongArray());
 	}
 
 	protected void updateSiblingIndexes(IntArrayList siblingIndexList, IntArrayList parentIndexList,
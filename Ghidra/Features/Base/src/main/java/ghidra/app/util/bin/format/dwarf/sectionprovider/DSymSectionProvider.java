@@ -17,7 +17,6 @@ package ghidra.app.util.bin.format.dwarf.sectionprovider;
 
 import java.io.File;
 import java.io.IOException;
-import java.nio.file.AccessMode;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -35,7 +34,7 @@ import ghidra.util.task.TaskMonitor;
 public class DSymSectionProvider implements DWARFSectionProvider {
 	private MachHeader machHeader;
 	private Map<String, Section> machSectionsByName = new HashMap<>();
-	private FileByteProvider provider;
+	private ByteProvider provider;
 
 	public static File getDSYMForProgram(Program program) {
 
@@ -63,7 +62,7 @@ public class DSymSectionProvider implements DWARFSectionProvider {
 	}
 
 	public DSymSectionProvider(File dsymFile) throws IOException, MachException {
-		this.provider = new FileByteProvider(dsymFile, null, AccessMode.READ);
+		this.provider = MemoryMappedFileByteProvider.open(dsymFile, null);
 
 		machHeader = new MachHeader(provider);
 		machHeader.parse();
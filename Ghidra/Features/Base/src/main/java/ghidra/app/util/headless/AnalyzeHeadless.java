@@ -66,6 +66,9 @@ public class AnalyzeHeadless implements GhidraLaunchable {
 		OK_TO_DELETE("-okToDelete", false),
 		MAX_CPU("-max-cpu", true, "<max cpu cores to use>"),
 		LIBRARY_SEARCH_PATHS("-librarySearchPaths", true, "<path1>[;<path2>...]"),
+		PARALLEL("-parallel", true, "<max files to process concurrently>"),
+		PARALLEL_HEAP_LIMIT("-parallelHeapLimit", true, "<percent of max heap>"),
+		SUMMARY_FILE("-summaryFile", true, "<path to summary file>"),
 		LOADER("-loader", true, "<desired loader name>"),
 		LOADER_ARGS(Loader.COMMAND_LINE_ARG_PREFIX + "-", true, "<loader argument value>") {
 			@Override
@@ -411,6 +414,28 @@ public class AnalyzeHeadless implements GhidraLaunchable {
 			else if (checkArgument(Arg.LIBRARY_SEARCH_PATHS, args, argi)) {
 				LibrarySearchPathManager.setLibraryPaths(args[++argi].split(";"));
 			}
+			else if (checkArgument(Arg.PARALLEL, args, argi)) {
+				String workersVal = args[++argi];
+				try {
+					options.setParallelWorkers(Integer.parseInt(workersVal));
+				}
+				catch (NumberFormatException nfe) {
+					throw new InvalidInputException("Invalid value for parallel: " + workersVal);
+				}
+			}
+			else if (checkArgument(Arg.PARALLEL_HEAP_LIMIT, args, argi)) {
+				String percentVal = args[++argi];
+				try {
+					options.setParallelMaxHeapPercent(Integer.parseInt(percentVal));
+				}
+				catch (NumberFormatException nfe) {
+					throw new InvalidInputException(
+						"Invalid value for parallelHeapLimit: " + percentVal);
+				}
+			}
+			else if (checkArgument(Arg.SUMMARY_FILE, args, argi)) {
+				options.setSummaryFile(new File(args[++argi]));
+			}
 			else if (isExistingArg(args[argi])) {
 				throw new AssertionError("Valid option was not processed: " + args[argi]);
 			}
@@ -31,6 +31,7 @@ import ghidra.app.plugin.core.analysis.AutoAnalysisManager;
 import ghidra.app.plugin.core.osgi.BundleHost;
 import ghidra.app.script.*;
 import ghidra.app.util.headless.HeadlessScript.HeadlessContinuationOption;
+import ghidra.app.util.headless.HeadlessSummary.FileResult;
 import ghidra.app.util.importer.AutoImporter;
 import ghidra.app.util.importer.MessageLog;
 import ghidra.app.util.opinion.*;
@@ -67,7 +68,9 @@ import utilities.util.FileUtilities;
  *   <li>Used by another tool as a library to perform headless analysis.</li>
  * </ul>
  * <p>
- * Note: This class is not thread safe.
+ * Note: This class is not thread safe.  Imported files on the local filesystem may be processed
+ * concurrently by a pool of worker threads (see {@link HeadlessOptions#setParallelWorkers(int)}),
+ * but only one processing request may be active at a time.
  */
 public class HeadlessAnalyzer {
 
@@ -76,12 +79,19 @@ public class HeadlessAnalyzer {
 	private HeadlessOptions options;
 	private HeadlessGhidraProjectManager projectManager;
 	private Project project;
-	private boolean analysisTimedOut;
-	private DomainFolder saveDomainFolder;
+	private final ThreadLocal<Boolean> analysisTimedOut = ThreadLocal.withInitial(() -> false);
+	// set by scripts; each parallel task starts with the value in effect when it was submitted
+	private final ThreadLocal<DomainFolder> saveDomainFolder = new ThreadLocal<>();
+	private final ThreadLocal<Boolean> analysisEnabled = new ThreadLocal<>();
 	private Map<String, Object> storage;
 	private URLClassLoader classLoaderForDotClassScripts;
 	private FileSystemService fsService;
 
+	// guards changes to the project made while processing imported files in parallel
+	private final Object projectLock = new Object();
+	private HeadlessWorkerPool workerPool;
+	private HeadlessSummary summary;
+
 	/**
 	 * Gets a headless analyzer, initializing the application if necessary with the specified
 	 * logging parameters.  An {@link IllegalStateException} will be thrown if the application has
@@ -220,9 +230,10 @@ public class HeadlessAnalyzer {
 	public void reset() {
 		options.reset();
 		project = null;
-		analysisTimedOut = false;
-		saveDomainFolder = null;
-		storage = new HashMap<>();
+		analysisTimedOut.set(false);
+		saveDomainFolder.remove();
+		analysisEnabled.remove();
+		storage = Collections.synchronizedMap(new HashMap<>());
 		classLoaderForDotClassScripts = null;
 	}
 
@@ -471,16 +482,36 @@ public class HeadlessAnalyzer {
 	}
 
 	/**
-	 * Checks to see if the most recent analysis timed out.
+	 * Checks to see if the most recent analysis performed by the current thread timed out.
 	 * 
 	 * @return true if the most recent analysis timed out; otherwise, false.
 	 */
 	public boolean checkAnalysisTimedOut() {
-		return analysisTimedOut;
+		return analysisTimedOut.get();
+	}
+
+	/**
+	 * Enables or disables analysis of the files processed by the current thread, overriding
+	 * the analysis option.
+	 * 
+	 * @param enabled true to enable analysis, false to disable analysis
+	 */
+	void setAnalysisEnabled(boolean enabled) {
+		analysisEnabled.set(enabled);
+	}
+
+	/**
+	 * Checks to see if analysis is enabled for the files processed by the current thread.
+	 * 
+	 * @return true if analysis is enabled; otherwise, false.
+	 */
+	boolean isAnalysisEnabled() {
+		Boolean enabled = analysisEnabled.get();
+		return enabled != null ? enabled : options.analyze;
 	}
 
 	void setSaveFolder(DomainFolder domFolder) {
-		saveDomainFolder = domFolder;
+		saveDomainFolder.set(domFolder);
 
 		if (domFolder != null) {
 			Msg.info(this, "Save location changed to: " + domFolder.getPathname());
@@ -520,6 +551,13 @@ public class HeadlessAnalyzer {
 	 */
 	DomainFolder getDomainFolder(String folderPath, boolean create)
 			throws IOException, InvalidNameException {
+		synchronized (projectLock) {
+			return doGetDomainFolder(folderPath, create);
+		}
+	}
+
+	private DomainFolder doGetDomainFolder(String folderPath, boolean create)
+			throws IOException, InvalidNameException {
 
 		DomainFolder domFolder = project.getProjectData().getFolder(folderPath);
 
@@ -976,7 +1014,7 @@ public class HeadlessAnalyzer {
 	 */
 	private boolean analyzeProgram(String fileAbsolutePath, Program program) {
 
-		analysisTimedOut = false;
+		analysisTimedOut.set(false);
 
 		AutoAnalysisManager mgr = AutoAnalysisManager.getAnalysisManager(program);
 		mgr.initializeOptions();
@@ -1022,7 +1060,7 @@ public class HeadlessAnalyzer {
 
 		int txId = program.startTransaction("Analysis");
 		try {
-			if (options.analyze) {
+			if (isAnalysisEnabled()) {
 				Msg.info(this, "ANALYZING all memory and code: " + fileAbsolutePath);
 				mgr.initializeOptions();
 
@@ -1050,7 +1088,7 @@ public class HeadlessAnalyzer {
 							return !deleteProgram;
 						}
 
-						analysisTimedOut = true;
+						analysisTimedOut.set(true);
 					}
 					else {
 						// If timeout didn't already happen at this point, cancel the monitor
@@ -1100,7 +1138,7 @@ public class HeadlessAnalyzer {
 			if (abortProcessing) {
 				Msg.info(this, "Processing aborted as a result of post-script.");
 			}
-			else if (options.analyze && !options.postScripts.isEmpty()) {
+			else if (isAnalysisEnabled() && !options.postScripts.isEmpty()) {
 				Msg.info(this, "ANALYZING changes made by post scripts: " + fileAbsolutePath);
 				txId = program.startTransaction("Post-Analysis");
 				try {
@@ -1526,7 +1564,7 @@ public class HeadlessAnalyzer {
 		}
 	}
 
-	private boolean processFileWithImport(FSRL fsrl, String folderPath) {
+	private boolean processFileWithImport(FSRL fsrl, String folderPath, FileResult result) {
 
 		Msg.info(this, "IMPORTING: " + fsrl);
 
@@ -1536,7 +1574,9 @@ public class HeadlessAnalyzer {
 
 			// Perform the load.  Note that loading 1 file may result in more than 1 thing getting
 			// loaded.
+			long phaseStart = System.currentTimeMillis();
 			loadResults = loadPrograms(fsrl, folderPath);
+			result.importMillis = System.currentTimeMillis() - phaseStart;
 			Msg.info(this, "IMPORTING: Loaded " + (loadResults.size() - 1) + " additional files");
 
 			primary = loadResults.getPrimary();
@@ -1545,9 +1585,11 @@ public class HeadlessAnalyzer {
 			// Make sure we are allowed to save ALL programs to the project.  If not, save none and
 			// fail.
 			if (!options.readOnly) {
-				for (Loaded<Program> loaded : loadResults) {
-					if (!checkOverwrite(loaded)) {
-						return false;
+				synchronized (projectLock) {
+					for (Loaded<Program> loaded : loadResults) {
+						if (!checkOverwrite(loaded)) {
+							return false;
+						}
 					}
 				}
 			}
@@ -1561,7 +1603,10 @@ public class HeadlessAnalyzer {
 
 			// Analyze the primary program, and determine if we should save.
 			// TODO: Analyze non-primary programs (GP-2965).
+			phaseStart = System.currentTimeMillis();
 			boolean doSave = analyzeProgram(fsrl.toString(), primaryProgram) && !options.readOnly;
+			result.analysisMillis = System.currentTimeMillis() - phaseStart;
+			result.analysisTimedOut = analysisTimedOut.get();
 
 			// The act of marking the program as temporary by a script will signal
 			// us to discard any changes
@@ -1569,54 +1614,59 @@ public class HeadlessAnalyzer {
 				loadResults.forEach(e -> e.getDomainObject().setTemporary(true));
 			}
 
-			// Apply saveDomainFolder to the primary program, if applicable.
-			// We don't support changing the save folder on any non-primary loaded programs.
-			// Note that saveDomainFolder is set by pre/post-scripts, so it can only be used
-			// after analysis happens.
-			if (saveDomainFolder != null) {
-				primary.setProjectFolderPath(saveDomainFolder.getPathname());
-				if (!checkOverwrite(primary)) {
-					return false;
-				}
-			}
-
-			// Save
-			for (Loaded<Program> loaded : loadResults) {
-				if (!loaded.getDomainObject().isTemporary()) {
-					try {
-						DomainFile domainFile =
-							loaded.save(project, new MessageLog(), TaskMonitor.DUMMY);
-						Msg.info(this, String.format("REPORT: Save succeeded for: %s (%s)", loaded,
-							domainFile));
-					}
-					catch (IOException e) {
-						Msg.info(this, "REPORT: Save failed for: " + loaded);
+			phaseStart = System.currentTimeMillis();
+			synchronized (projectLock) {
+				// Apply saveDomainFolder to the primary program, if applicable.
+				// We don't support changing the save folder on any non-primary loaded programs.
+				// Note that saveDomainFolder is set by pre/post-scripts, so it can only be used
+				// after analysis happens.
+				DomainFolder saveFolder = saveDomainFolder.get();
+				if (saveFolder != null) {
+					primary.setProjectFolderPath(saveFolder.getPathname());
+					if (!checkOverwrite(primary)) {
+						return false;
 					}
 				}
-				else {
-					if (options.readOnly) {
-						Msg.info(this,
-							"REPORT: Discarded file import due to readOnly option: " + loaded);
+
+				// Save
+				for (Loaded<Program> loaded : loadResults) {
+					if (!loaded.getDomainObject().isTemporary()) {
+						try {
+							DomainFile domainFile =
+								loaded.save(project, new MessageLog(), TaskMonitor.DUMMY);
+							Msg.info(this, String.format("REPORT: Save succeeded for: %s (%s)",
+								loaded, domainFile));
+						}
+						catch (IOException e) {
+							Msg.info(this, "REPORT: Save failed for: " + loaded);
+						}
 					}
 					else {
-						Msg.info(this, "REPORT: Discarded file import as a result of script " +
-							"activity or analysis timeout: " + loaded);
+						if (options.readOnly) {
+							Msg.info(this,
+								"REPORT: Discarded file import due to readOnly option: " + loaded);
+						}
+						else {
+							Msg.info(this, "REPORT: Discarded file import as a result of " +
+								"script activity or analysis timeout: " + loaded);
+						}
 					}
 				}
-			}
 
-			// Commit changes
-			if (options.commit) {
-				for (Loaded<Program> loaded : loadResults) {
-					if (!loaded.getDomainObject().isTemporary()) {
-						if (loaded == primary) {
-							AutoAnalysisManager.getAnalysisManager(primaryProgram).dispose();
+				// Commit changes
+				if (options.commit) {
+					for (Loaded<Program> loaded : loadResults) {
+						if (!loaded.getDomainObject().isTemporary()) {
+							if (loaded == primary) {
+								AutoAnalysisManager.getAnalysisManager(primaryProgram).dispose();
+							}
+							loaded.release(this);
+							commitProgram(loaded.getSavedDomainFile());
 						}
-						loaded.release(this);
-						commitProgram(loaded.getSavedDomainFile());
 					}
 				}
 			}
+			result.saveMillis = System.currentTimeMillis() - phaseStart;
 
 			Msg.info(this, "REPORT: Import succeeded");
 			return true;
@@ -1742,9 +1792,55 @@ public class HeadlessAnalyzer {
 		}
 	}
 
-	private boolean processWithLoader(FSRL fsrl, String folderPath) {
-		boolean importSucceeded = processFileWithImport(fsrl, folderPath);
+	private boolean processWithLoader(FSRL fsrl, String folderPath) throws CancelledException {
+		FileResult result = summary.addFile(fsrl, folderPath);
+		if (workerPool == null) {
+			boolean importSucceeded = processWithLoader(fsrl, folderPath, result);
+			releaseTransients();
+			return importSucceeded;
+		}
+
+		// A save folder or analysis setting changed by a script while processing a file only
+		// applies to that file
+		DomainFolder saveFolder = saveDomainFolder.get();
+		Boolean analyze = analysisEnabled.get();
+		if (!fsService.isLocal(fsrl)) {
+			// Files within container filesystems are processed on this thread, since the
+			// container is also being listed by this thread and filesystems are not thread safe
+			try {
+				return processWithLoader(fsrl, folderPath, result);
+			}
+			finally {
+				saveDomainFolder.set(saveFolder);
+				analysisEnabled.set(analyze);
+			}
+		}
+		workerPool.submit(result, () -> {
+			saveDomainFolder.set(saveFolder);
+			analysisEnabled.set(analyze);
+			try {
+				processWithLoader(fsrl, folderPath, result);
+			}
+			finally {
+				saveDomainFolder.remove();
+				analysisEnabled.remove();
+			}
+		});
+		return true;
+	}
 
+	private boolean processWithLoader(FSRL fsrl, String folderPath, FileResult result) {
+		result.start();
+		boolean importSucceeded = processFileWithImport(fsrl, folderPath, result);
+		result.finish(importSucceeded);
+
+		if (!importSucceeded) {
+			Msg.error(this, "REPORT: Import failed for file: " + fsrl);
+		}
+		return importSucceeded;
+	}
+
+	private void releaseTransients() {
 		// Check to see if there are transient programs lying around due
 		// to programs not being released during Importing
 		List<DomainFile> domainFileContainer = new ArrayList<>();
@@ -1752,11 +1848,6 @@ public class HeadlessAnalyzer {
 		if (domainFileContainer.size() > 0) {
 			TransientDataManager.releaseFiles(this);
 		}
-
-		if (!importSucceeded) {
-			Msg.error(this, "REPORT: Import failed for file: " + fsrl);
-		}
-		return importSucceeded;
 	}
 
 	private void processWithImport(String folderPath, List<File> inputDirFiles) throws IOException {
@@ -1767,8 +1858,32 @@ public class HeadlessAnalyzer {
 			Msg.info(this, "REPORT: Processing input files: ");
 			Msg.info(this, "     project: " + project.getProjectLocator());
 			List<FSRL> fsrls = inputDirFiles.stream().map(f -> fsService.getLocalFSRL(f)).toList();
-			for (FSRL fsrl : fsrls) {
-				processWithImport(fsrl, folderPath, options.recursiveDepth, true);
+			summary = new HeadlessSummary(options.parallelWorkers);
+			if (options.parallelWorkers > 1) {
+				Msg.info(this, "     processing up to " + options.parallelWorkers +
+					" files concurrently");
+				workerPool = new HeadlessWorkerPool(options.parallelWorkers,
+					options.parallelMaxHeapPercent);
+			}
+			try {
+				for (FSRL fsrl : fsrls) {
+					processWithImport(fsrl, folderPath, options.recursiveDepth, true);
+				}
+				if (workerPool != null) {
+					workerPool.waitForAll();
+				}
+			}
+			catch (CancelledException e) {
+				Msg.info(this, "REPORT: Importing cancelled");
+			}
+			finally {
+				if (workerPool != null) {
+					workerPool.dispose();
+					workerPool = null;
+					releaseTransients();
+				}
+				writeSummary();
+				summary = null;
 			}
 		}
 		else {
@@ -1798,6 +1913,20 @@ public class HeadlessAnalyzer {
 		}
 	}
 
+	private void writeSummary() {
+		if (options.summaryFile == null) {
+			return;
+		}
+		try {
+			summary.write(options.summaryFile);
+			Msg.info(this, "REPORT: Wrote summary to " + options.summaryFile);
+		}
+		catch (IOException e) {
+			Msg.error(this, "REPORT: Failed to write summary to " + options.summaryFile + ": " +
+				e.getMessage());
+		}
+	}
+
 	private Project openProject(ProjectLocator locator) throws IOException {
 		Project tempProject;
 
@@ -15,6 +15,7 @@
  */
 package ghidra.app.util.headless;
 
+import java.io.File;
 import java.io.IOException;
 import java.util.*;
 
@@ -106,6 +107,15 @@ public class HeadlessOptions {
 	Class<? extends Loader> loaderClass;
 	List<Pair<String, String>> loaderArgs;
 
+	// -parallel
+	int parallelWorkers;
+
+	// -parallelHeapLimit
+	int parallelMaxHeapPercent;
+
+	// -summaryFile
+	File summaryFile;
+
 	// -------------------------------------------------------------------------------------------
 
 	/**
@@ -146,6 +156,9 @@ public class HeadlessOptions {
 		maxcpu = 0;
 		loaderClass = null;
 		loaderArgs = null;
+		parallelWorkers = 1;
+		parallelMaxHeapPercent = 80;
+		summaryFile = null;
 	}
 
 	/**
@@ -516,4 +529,47 @@ public class HeadlessOptions {
 			this.loaderArgs = null;
 		}
 	}
+
+	/**
+	 * Sets the maximum number of files to import and analyze concurrently.  When greater than 1,
+	 * imported files on the local filesystem are processed by a pool of worker threads within
+	 * this JVM, which share loaded languages, data type archives and other application
+	 * resources.  Files found within container files (such as zip files) are still processed one
+	 * at a time.  Any pre- and post-scripts must be safe to run concurrently on different
+	 * programs.
+	 * <p>
+	 * This only applies to <code>-import</code> mode.
+	 *
+	 * @param workers The maximum number of files to process concurrently.  Setting it to 1 or
+	 *     less processes files one at a time.
+	 */
+	public void setParallelWorkers(int workers) {
+		this.parallelWorkers = Math.max(1, workers);
+	}
+
+	/**
+	 * Sets the percentage of the maximum Java heap size above which no additional files will be
+	 * started when processing files in parallel (see {@link #setParallelWorkers(int)}).  A file
+	 * is always started if no other file is being processed.
+	 *
+	 * @param percent percentage of the maximum heap size, between 1 and 100
+	 * @throws InvalidInputException if the percentage is not between 1 and 100
+	 */
+	public void setParallelMaxHeapPercent(int percent) throws InvalidInputException {
+		if (percent < 1 || percent > 100) {
+			throw new InvalidInputException(
+				"Heap limit must be a percentage between 1 and 100: " + percent);
+		}
+		this.parallelMaxHeapPercent = percent;
+	}
+
+	/**
+	 * Sets the file that a JSON summary of the outcome and timings of each imported file will
+	 * be written to when importing is complete.
+	 *
+	 * @param file the summary file, or null if no summary should be written
+	 */
+	public void setSummaryFile(File file) {
+		this.summaryFile = file;
+	}
 }
@@ -232,6 +232,8 @@ public abstract class HeadlessScript extends GhidraScript {
 	 * This change will persist throughout the current HeadlessAnalyzer session, unless
 	 * changed again (in other words, once analysis is enabled via script for one program,
 	 * it will also be enabled for future programs in the current session, unless changed). 
+	 * When files are processed in parallel, a change made while processing a file applies only to
+	 * that file.
 	 * 
 	 * @param b  true to enable analysis, false to disable analysis
 	 * @throws ImproperUseException if not in headless mode or headless instance not set 
@@ -240,11 +242,12 @@ public abstract class HeadlessScript extends GhidraScript {
 	public void enableHeadlessAnalysis(boolean b) throws ImproperUseException {
 		checkHeadlessStatus();
 
-		headless.getOptions().enableAnalysis(b);
+		headless.setAnalysisEnabled(b);
 	}
 
 	/**
-	 * Returns whether analysis is currently enabled or disabled in the HeadlessAnalyzer.
+	 * Returns whether analysis is currently enabled or disabled in the HeadlessAnalyzer for the
+	 * file being processed.
 	 * 
 	 * @return whether analysis has been enabled or not
 	 * @throws ImproperUseException if not in headless mode or headless instance not set
@@ -253,7 +256,7 @@ public abstract class HeadlessScript extends GhidraScript {
 	public boolean isHeadlessAnalysisEnabled() throws ImproperUseException {
 		checkHeadlessStatus();
 
-		return headless.getOptions().analyze;
+		return headless.isAnalysisEnabled();
 	}
 
 	/**
@@ -320,6 +323,8 @@ public abstract class HeadlessScript extends GhidraScript {
 	 * A change in the import save folder will persist throughout the current HeadlessAnalyzer 
 	 * session, unless changed again (in other words, once the import directory has been changed, 
 	 * it will remain the 'save' directory for import files in the current session, unless changed).
+	 * When files are processed in parallel, a change made while processing a file applies only to
+	 * that file.
 	 * <p>
 	 * To revert back to the default import location (that which was specified via command line),
 	 * pass the null object as the argument to this method, as below:
@@ -0,0 +1,124 @@
+/* ###
+ * IP: GHIDRA
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ghidra.app.util.headless;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.io.FileUtils;
+
+import com.google.gson.*;
+
+import ghidra.formats.gfilesystem.FSRL;
+
+/**
+ * Collects the outcome and timings of each file imported by the {@link HeadlessAnalyzer} so they
+ * can be written to a JSON summary file.
+ */
+class HeadlessSummary {
+
+	/**
+	 * The outcome and timings of a single imported file.  Times are in milliseconds.
+	 */
+	static class FileResult {
+		final String file;
+		final String folder;
+		String thread;
+		boolean succeeded;
+		boolean analysisTimedOut;
+		long queuedMillis;
+		long importMillis;
+		long analysisMillis;
+		long saveMillis;
+		long totalMillis;
+
+		private final transient long createTime = System.currentTimeMillis();
+		private transient long startTime;
+
+		private FileResult(FSRL fsrl, String folderPath) {
+			this.file = fsrl.toString();
+			this.folder = folderPath;
+		}
+
+		/**
+		 * Marks the start of processing of the file by the current thread.
+		 */
+		void start() {
+			startTime = System.currentTimeMillis();
+			thread = Thread.currentThread().getName();
+			queuedMillis = startTime - createTime;
+		}
+
+		/**
+		 * Marks the end of processing of the file.
+		 *
+		 * @param success true if the file was successfully processed
+		 */
+		void finish(boolean success) {
+			succeeded = success;
+			totalMillis = System.currentTimeMillis() - startTime;
+		}
+	}
+
+	private final long startTime = System.currentTimeMillis();
+	private final int workerCount;
+	private final List<FileResult> results = new ArrayList<>();
+
+	/**
+	 * Creates a new summary.
+	 *
+	 * @param workerCount number of files which may be processed concurrently
+	 */
+	HeadlessSummary(int workerCount) {
+		this.workerCount = workerCount;
+	}
+
+	/**
+	 * Adds a new result for a file which is about to be processed.
+	 *
+	 * @param fsrl the file
+	 * @param folderPath the project folder the file is imported into
+	 * @return the new result, which the caller should update as the file is processed
+	 */
+	synchronized FileResult addFile(FSRL fsrl, String folderPath) {
+		FileResult result = new FileResult(fsrl, folderPath);
+		results.add(result);
+		return result;
+	}
+
+	/**
+	 * Writes the summary as JSON to the specified file.  Results are listed in the order the
+	 * files were queued for processing.
+	 *
+	 * @param file the summary file
+	 * @throws IOException if there was a problem writing the file
+	 */
+	synchronized void write(File file) throws IOException {
+		Gson gson = new GsonBuilder().setPrettyPrinting().disableHtmlEscaping().create();
+
+		JsonObject json = new JsonObject();
+		json.addProperty("workers", workerCount);
+		json.addProperty("totalMillis", System.currentTimeMillis() - startTime);
+		json.addProperty("succeeded", results.stream().filter(r -> r.succeeded).count());
+		json.addProperty("failed", results.stream().filter(r -> !r.succeeded).count());
+		json.add("files", gson.toJsonTree(results));
+
+		FileUtils.writeStringToFile(file, gson.toJson(json), StandardCharsets.UTF_8);
+	}
+}
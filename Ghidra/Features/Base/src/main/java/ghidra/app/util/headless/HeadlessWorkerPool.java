@@ -0,0 +1,129 @@
+/* ###
+ * IP: GHIDRA
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ghidra.app.util.headless;
+
+import generic.concurrent.GThreadPool;
+import ghidra.app.util.headless.HeadlessSummary.FileResult;
+import ghidra.util.Msg;
+import ghidra.util.exception.CancelledException;
+
+/**
+ * Runs headless file processing tasks on a fixed number of worker threads.
+ * <p>
+ * A task is only admitted when a worker is idle and, unless no other task is running, the
+ * used portion of the Java heap is below a configured limit.  This keeps many large programs
+ * from being imported and analyzed at the same time and exhausting the heap.  Since at least one
+ * task is always admitted, processing continues (serially) even if the limit can't be met.
+ */
+class HeadlessWorkerPool {
+
+	private static final String POOL_NAME = "Headless Analyzer";
+	private static final long ADMISSION_POLL_MS = 1000;
+
+	private final GThreadPool pool;
+	private final int workerCount;
+	private final int maxHeapPercent;
+	private int activeCount;
+
+	/**
+	 * Creates a new worker pool.
+	 *
+	 * @param workerCount maximum number of tasks which may run concurrently
+	 * @param maxHeapPercent percentage of the maximum Java heap size above which additional tasks
+	 * will not be started
+	 */
+	HeadlessWorkerPool(int workerCount, int maxHeapPercent) {
+		this.workerCount = workerCount;
+		this.maxHeapPercent = maxHeapPercent;
+		this.pool = GThreadPool.getPrivateThreadPool(POOL_NAME);
+		pool.setMaxThreadCount(workerCount);
+	}
+
+	/**
+	 * Waits until the task can be admitted and then starts it on a worker thread.
+	 *
+	 * @param result the result of the file processed by the task, which is recorded as failed if
+	 * the task throws
+	 * @param task the task to run
+	 * @throws CancelledException if interrupted while waiting for the task to be admitted
+	 */
+	void submit(FileResult result, Runnable task) throws CancelledException {
+		synchronized (this) {
+			boolean throttled = false;
+			while (activeCount >= workerCount || (activeCount > 0 && !isHeapAvailable())) {
+				if (!throttled && activeCount < workerCount) {
+					Msg.info(this, "Waiting for heap usage to drop below " + maxHeapPercent +
+						"% before starting next file");
+					throttled = true;
+				}
+				waitForTaskCompletion();
+			}
+			activeCount++;
+		}
+		pool.submit(() -> {
+			try {
+				task.run();
+			}
+			catch (Throwable t) {
+				Msg.error(this, "REPORT: Unexpected error during processing", t);
+				result.finish(false);
+			}
+			finally {
+				taskCompleted();
+			}
+		});
+	}
+
+	/**
+	 * Waits for all submitted tasks to complete.
+	 *
+	 * @throws CancelledException if interrupted while waiting
+	 */
+	synchronized void waitForAll() throws CancelledException {
+		while (activeCount > 0) {
+			waitForTaskCompletion();
+		}
+	}
+
+	/**
+	 * Stops the worker threads.  Any running tasks are interrupted.
+	 */
+	void dispose() {
+		pool.shutdownNow();
+	}
+
+	private synchronized void taskCompleted() {
+		activeCount--;
+		notifyAll();
+	}
+
+	private void waitForTaskCompletion() throws CancelledException {
+		try {
+			// poll since heap usage may drop without a task completing
+			wait(ADMISSION_POLL_MS);
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new CancelledException();
+		}
+	}
+
+	private boolean isHeapAvailable() {
+		Runtime runtime = Runtime.getRuntime();
+		long used = runtime.totalMemory() - runtime.freeMemory();
+		return used * 100 < runtime.maxMemory() * maxHeapPercent;
+	}
+}
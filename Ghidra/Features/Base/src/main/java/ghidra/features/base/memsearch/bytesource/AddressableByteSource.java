@@ -17,7 +17,9 @@ package ghidra.features.base.memsearch.bytesource;
 
 import java.util.List;
 
+import ghidra.features.base.memsearch.matcher.ByteMatcher;
 import ghidra.program.model.address.Address;
+import ghidra.program.model.address.AddressSetView;
 
 /**
  * Interface for reading bytes from a program. This provides a level of indirection for reading the
@@ -56,4 +58,29 @@ public interface AddressableByteSource {
 	 */
 	public void invalidate();
 
+	/**
+	 * Returns the subset of the given addresses that must be searched to find all matches of the
+	 * given byte matcher within those addresses. Byte sources that maintain an index of their
+	 * bytes can use it to exclude addresses that can't contain a match. By default, all the given
+	 * addresses are returned.
+	 * 
+	 * @param addresses the addresses to be searched
+	 * @param matcher the byte matcher being searched for
+	 * @return the addresses that need to be searched
+	 */
+	public default AddressSetView getSearchAddresses(AddressSetView addresses,
+			ByteMatcher matcher) {
+		return addresses;
+	}
+
+	/**
+	 * Returns true if bytes may be retrieved concurrently by several threads, such as when
+	 * searching in parallel. By default, byte sources are assumed not to be thread safe.
+	 * 
+	 * @return true if this byte source can be used by several threads at once
+	 */
+	public default boolean isThreadSafe() {
+		return false;
+	}
+
 }
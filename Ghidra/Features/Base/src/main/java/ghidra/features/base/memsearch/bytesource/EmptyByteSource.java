@@ -39,4 +39,9 @@ public enum EmptyByteSource implements AddressableByteSource {
 	public void invalidate() {
 		// nothing to do
 	}
+
+	@Override
+	public boolean isThreadSafe() {
+		return true;
+	}
 }
@@ -15,9 +15,15 @@
  */
 package ghidra.features.base.memsearch.bytesource;
 
+import java.util.ArrayList;
 import java.util.List;
 
+import ghidra.features.base.memsearch.matcher.ByteMatcher;
+import ghidra.features.base.memsearch.matcher.ByteMatcher.SearchAnchor;
+import ghidra.program.database.mem.MemoryMapDB;
+import ghidra.program.database.mem.MemoryNgramIndex;
 import ghidra.program.model.address.Address;
+import ghidra.program.model.address.AddressSetView;
 import ghidra.program.model.listing.Program;
 import ghidra.program.model.mem.Memory;
 import ghidra.program.model.mem.MemoryAccessException;
@@ -53,4 +59,30 @@ public class ProgramByteSource implements AddressableByteSource {
 		// nothing to do in the static case
 	}
 
+	@Override
+	public boolean isThreadSafe() {
+		return true;
+	}
+
+	@Override
+	public AddressSetView getSearchAddresses(AddressSetView addresses, ByteMatcher matcher) {
+		if (!(memory instanceof MemoryMapDB memoryMap)) {
+			return addresses;
+		}
+		MemoryNgramIndex index = memoryMap.getNgramIndex();
+		List<SearchAnchor> anchors = matcher.getSearchAnchors();
+		if (index == null || !index.isEnabled() || anchors == null) {
+			return addresses;
+		}
+		List<byte[]> anchorBytes = new ArrayList<>();
+		int maxOffset = 0;
+		int maxLength = 0;
+		for (SearchAnchor anchor : anchors) {
+			anchorBytes.add(anchor.bytes());
+			maxOffset = Math.max(maxOffset, anchor.offset());
+			maxLength = Math.max(maxLength, anchor.matchLength());
+		}
+		return index.getCandidateAddresses(addresses, anchorBytes, maxOffset, maxLength);
+	}
+
 }
@@ -45,7 +45,9 @@ public class CombinedMatchTableLoader implements MemoryMatchTableLoader {
 	@Override
 	public void loadResults(Accumulator<MemoryMatch> accumulator, TaskMonitor monitor) {
 		ListAccumulator<MemoryMatch> listAccumulator = new ListAccumulator<>();
-		completedSearch = memSearcher.findAll(listAccumulator, monitor);
+		completedSearch = memSearcher.canSearchInParallel()
+				? memSearcher.findAllInParallel(listAccumulator, monitor)
+				: memSearcher.findAll(listAccumulator, monitor);
 		List<MemoryMatch> followOnResults = listAccumulator.asList();
 		firstMatch = followOnResults.isEmpty() ? null : followOnResults.get(0);
 		Collection<MemoryMatch> results = combiner.combine(previousResults, followOnResults);
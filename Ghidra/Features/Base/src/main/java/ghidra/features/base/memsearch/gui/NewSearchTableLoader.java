@@ -37,7 +37,9 @@ public class NewSearchTableLoader implements MemoryMatchTableLoader {
 
 	@Override
 	public void loadResults(Accumulator<MemoryMatch> accumulator, TaskMonitor monitor) {
-		completedSearch = memSearcher.findAll(accumulator, monitor);
+		completedSearch = memSearcher.canSearchInParallel()
+				? memSearcher.findAllInParallel(accumulator, monitor)
+				: memSearcher.findAll(accumulator, monitor);
 		Iterator<MemoryMatch> iterator = accumulator.iterator();
 		if (iterator.hasNext()) {
 			firstMatch = iterator.next();
@@ -15,6 +15,7 @@
  */
 package ghidra.features.base.memsearch.matcher;
 
+import java.util.List;
 import java.util.Objects;
 
 import ghidra.features.base.memsearch.bytesequence.ExtendedByteSequence;
@@ -58,6 +59,27 @@ public abstract class ByteMatcher {
 	 */
 	public abstract Iterable<ByteMatch> match(ExtendedByteSequence bytes);
 
+	/**
+	 * Returns byte sequences, at least one of which is contained in every match of this matcher.
+	 * Byte sources that index their bytes can use these to skip over bytes that can't contain a
+	 * match.
+	 * @return the anchors for this matcher, or null if matches don't necessarily contain any
+	 * known byte sequence
+	 */
+	public List<SearchAnchor> getSearchAnchors() {
+		return null;
+	}
+
+	/**
+	 * Returns true if {@link #match(ExtendedByteSequence)} may be called concurrently by
+	 * several threads, such as when searching in parallel. By default, matchers are assumed
+	 * not to be thread safe.
+	 * @return true if this matcher can be used by several threads at once
+	 */
+	public boolean isThreadSafe() {
+		return false;
+	}
+
 	/**
 	 * Returns a description of what this byte matcher matches. (Typically a sequence of bytes)
 	 * @return a description of what this byte matcher matches
@@ -119,8 +141,26 @@ public abstract class ByteMatcher {
 	}
 
 	/**
-	 * Record class to contain a match specification.
+	 * Record class to contain a match specification. Matchers that combine several other
+	 * matchers (such as the {@link MultiPatternByteMatcher}) report which of their component
+	 * matchers produced the match; otherwise the matcher is null, meaning the match belongs to
+	 * the matcher that produced it.
+	 * @param start the index of the first matching byte
+	 * @param length the number of matching bytes
+	 * @param matcher the component matcher that matched, or null
+	 */
+	public record ByteMatch(int start, int length, ByteMatcher matcher) {
+		public ByteMatch(int start, int length) {
+			this(start, length, null);
+		}
+	}
+
+	/**
+	 * Record class for a byte sequence that must appear in a match.
+	 * @param bytes the bytes that must appear in a match
+	 * @param offset the offset of the bytes from the start of the match
+	 * @param matchLength the length of the match
 	 */
-	public record ByteMatch(int start, int length) {}
+	public record SearchAnchor(byte[] bytes, int offset, int matchLength) {}
 
 }
@@ -60,6 +60,11 @@ public class InvalidByteMatcher extends ByteMatcher {
 		return CollectionUtils.asIterable(EmptyIterator.emptyIterator());
 	}
 
+	@Override
+	public boolean isThreadSafe() {
+		return true;
+	}
+
 	@Override
 	public String getDescription() {
 		return errorMessage;
@@ -16,6 +16,7 @@
 package ghidra.features.base.memsearch.matcher;
 
 import java.util.Iterator;
+import java.util.List;
 
 import org.bouncycastle.util.Arrays;
 
@@ -31,6 +32,7 @@ public class MaskedByteSequenceByteMatcher extends ByteMatcher {
 
 	private final byte[] searchBytes;
 	private final byte[] masks;
+	private final SearchAnchor anchor;
 
 	/**
 	 * Constructor where no masking will be required. The bytes must match exactly.
@@ -65,6 +67,7 @@ public class MaskedByteSequenceByteMatcher extends ByteMatcher {
 
 		this.searchBytes = bytes;
 		this.masks = masks;
+		this.anchor = findAnchor();
 	}
 
 	@Override
@@ -72,6 +75,45 @@ public class MaskedByteSequenceByteMatcher extends ByteMatcher {
 		return new MatchIterator(byteSequence);
 	}
 
+	@Override
+	public List<SearchAnchor> getSearchAnchors() {
+		return anchor == null ? null : List.of(anchor);
+	}
+
+	@Override
+	public boolean isThreadSafe() {
+		return true;
+	}
+
+	/**
+	 * Returns the longest run of unmasked bytes in the search bytes.
+	 * @return the longest run of unmasked bytes, or null if there are no unmasked bytes
+	 */
+	SearchAnchor getSearchAnchor() {
+		return anchor;
+	}
+
+	private SearchAnchor findAnchor() {
+		int bestStart = 0;
+		int bestLength = 0;
+		int runStart = 0;
+		for (int i = 0; i <= masks.length; i++) {
+			if (i < masks.length && masks[i] == (byte) 0xff) {
+				continue;
+			}
+			if (i - runStart > bestLength) {
+				bestStart = runStart;
+				bestLength = i - runStart;
+			}
+			runStart = i + 1;
+		}
+		if (bestLength == 0) {
+			return null;
+		}
+		byte[] bytes = Arrays.copyOfRange(searchBytes, bestStart, bestStart + bestLength);
+		return new SearchAnchor(bytes, bestStart, searchBytes.length);
+	}
+
 	@Override
 	public String getDescription() {
 		return getByteString(searchBytes);
@@ -0,0 +1,258 @@
+/* ###
+ * IP: GHIDRA
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ghidra.features.base.memsearch.matcher;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+import ghidra.features.base.memsearch.bytesequence.ExtendedByteSequence;
+import ghidra.features.base.memsearch.gui.SearchSettings;
+
+/**
+ * {@link ByteMatcher} that searches for any number of masked byte patterns in a single pass over
+ * the bytes being searched, using an Aho-Corasick automaton.
+ * <P>
+ * Masked bytes can't be placed directly into the automaton, so each pattern is anchored on its
+ * longest run of fully unmasked bytes. The anchors are fed to the automaton and every anchor hit
+ * is then verified against the entire pattern (including its masks). Patterns that don't contain
+ * a single fully unmasked byte are checked at every offset, the same way the
+ * {@link MaskedByteSequenceByteMatcher} does.
+ * <P>
+ * Each {@link ByteMatch} produced by this matcher reports the pattern that matched, so search
+ * results can be attributed to (and later re-scanned with the settings of) the original pattern.
+ * Matches are returned in start order; patterns matching at the same offset are returned in the
+ * order they were given to this matcher.
+ */
+public class MultiPatternByteMatcher extends ByteMatcher {
+	private static final int ALPHABET_SIZE = 256;
+	private static final int[] NO_OUTPUT = new int[0];
+
+	private final List<MaskedByteSequenceByteMatcher> patterns;
+
+	// offset and length of the unmasked run within each pattern that is fed to the automaton
+	private final int[] anchorOffsets;
+	private final int[] anchorLengths;
+
+	// the index (exclusive) just past the end of the furthest anchor in any pattern
+	private int maxAnchorEnd;
+
+	// the automaton: transitions[state * 256 + byte] is the next state; outputs[state] holds the
+	// indexes of all patterns whose anchor ends at that state (including via suffix links)
+	private int[] transitions;
+	private int[][] outputs;
+
+	// patterns that have no fully unmasked bytes and must be tried at every offset
+	private final int[] unanchored;
+
+	/**
+	 * Constructor
+	 * @param input the input text used to create this matcher
+	 * @param patterns the patterns to search for
+	 * @param settings the {@link SearchSettings} used to create this matcher
+	 */
+	public MultiPatternByteMatcher(String input, List<MaskedByteSequenceByteMatcher> patterns,
+			SearchSettings settings) {
+		super(input, settings);
+		if (patterns.isEmpty()) {
+			throw new IllegalArgumentException("Must provide at least one pattern!");
+		}
+		this.patterns = List.copyOf(patterns);
+
+		int count = patterns.size();
+		anchorOffsets = new int[count];
+		anchorLengths = new int[count];
+		List<Integer> noAnchor = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			findAnchor(i);
+			if (anchorLengths[i] == 0) {
+				noAnchor.add(i);
+			}
+		}
+		unanchored = noAnchor.stream().mapToInt(Integer::intValue).toArray();
+		buildAutomaton();
+	}
+
+	/**
+	 * Returns the patterns searched for by this matcher.
+	 * @return the patterns searched for by this matcher
+	 */
+	public List<MaskedByteSequenceByteMatcher> getPatterns() {
+		return patterns;
+	}
+
+	@Override
+	public Iterable<ByteMatch> match(ExtendedByteSequence bytes) {
+		List<long[]> hits = new ArrayList<>();
+		int length = bytes.getLength();
+
+		// anchors can end past the primary sequence for matches that start within it
+		int end = Math.min(bytes.getExtendedLength(), length + maxAnchorEnd - 1);
+		int state = 0;
+		for (int i = 0; i < end; i++) {
+			state = transitions[state * ALPHABET_SIZE + (bytes.getByte(i) & 0xff)];
+			for (int patternIndex : outputs[state]) {
+				int start = i - anchorLengths[patternIndex] + 1 - anchorOffsets[patternIndex];
+				// matches starting before this sequence were found in the previous sequence
+				if (start >= 0 && start < length && isMatch(bytes, start, patternIndex)) {
+					hits.add(new long[] { start, patternIndex });
+				}
+			}
+		}
+
+		for (int patternIndex : unanchored) {
+			for (int start = 0; start < length; start++) {
+				if (isMatch(bytes, start, patternIndex)) {
+					hits.add(new long[] { start, patternIndex });
+				}
+			}
+		}
+
+		hits.sort(Comparator.<long[]> comparingLong(h -> h[0]).thenComparingLong(h -> h[1]));
+		List<ByteMatch> matches = new ArrayList<>(hits.size());
+		for (long[] hit : hits) {
+			MaskedByteSequenceByteMatcher pattern = patterns.get((int) hit[1]);
+			matches.add(new ByteMatch((int) hit[0], pattern.getBytes().length, pattern));
+		}
+		return matches;
+	}
+
+	@Override
+	public List<SearchAnchor> getSearchAnchors() {
+		if (unanchored.length > 0) {
+			return null;
+		}
+		return patterns.stream().map(MaskedByteSequenceByteMatcher::getSearchAnchor).toList();
+	}
+
+	@Override
+	public boolean isThreadSafe() {
+		return true;
+	}
+
+	@Override
+	public String getDescription() {
+		return patterns.size() + " patterns";
+	}
+
+	@Override
+	public String getToolTip() {
+		return patterns.stream()
+				.map(MaskedByteSequenceByteMatcher::getDescription)
+				.collect(Collectors.joining("\n"));
+	}
+
+	private boolean isMatch(ExtendedByteSequence bytes, int start, int patternIndex) {
+		MaskedByteSequenceByteMatcher pattern = patterns.get(patternIndex);
+		byte[] searchBytes = pattern.getBytes();
+		byte[] masks = pattern.getMask();
+		if (!bytes.hasAvailableBytes(start, searchBytes.length)) {
+			return false;
+		}
+		for (int i = 0; i < searchBytes.length; i++) {
+			if (searchBytes[i] != (bytes.getByte(start + i) & masks[i])) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private void findAnchor(int patternIndex) {
+		SearchAnchor anchor = patterns.get(patternIndex).getSearchAnchor();
+		if (anchor == null) {
+			return;
+		}
+		anchorOffsets[patternIndex] = anchor.offset();
+		anchorLengths[patternIndex] = anchor.bytes().length;
+		maxAnchorEnd = Math.max(maxAnchorEnd, anchor.offset() + anchor.bytes().length);
+	}
+
+	private void buildAutomaton() {
+		// build the trie of anchors; -1 marks a missing child
+		List<int[]> children = new ArrayList<>();
+		List<List<Integer>> stateOutputs = new ArrayList<>();
+		children.add(newState());
+		stateOutputs.add(new ArrayList<>());
+
+		for (int i = 0; i < patterns.size(); i++) {
+			if (anchorLengths[i] == 0) {
+				continue;
+			}
+			byte[] searchBytes = patterns.get(i).getBytes();
+			int state = 0;
+			for (int j = 0; j < anchorLengths[i]; j++) {
+				int b = searchBytes[anchorOffsets[i] + j] & 0xff;
+				int next = children.get(state)[b];
+				if (next < 0) {
+					next = children.size();
+					children.add(newState());
+					stateOutputs.add(new ArrayList<>());
+					children.get(state)[b] = next;
+				}
+				state = next;
+			}
+			stateOutputs.get(state).add(i);
+		}
+
+		// breadth first, turn the trie into a complete transition table using the failure links
+		int stateCount = children.size();
+		transitions = new int[stateCount * ALPHABET_SIZE];
+		int[] failure = new int[stateCount];
+		Deque<Integer> queue = new ArrayDeque<>();
+		int[] root = children.get(0);
+		for (int b = 0; b < ALPHABET_SIZE; b++) {
+			int child = root[b];
+			if (child < 0) {
+				transitions[b] = 0;
+				continue;
+			}
+			transitions[b] = child;
+			queue.add(child);
+		}
+
+		outputs = new int[stateCount][];
+		outputs[0] = NO_OUTPUT;
+		while (!queue.isEmpty()) {
+			int state = queue.remove();
+			List<Integer> out = stateOutputs.get(state);
+			// failure states are always shallower, so their outputs are already complete
+			for (int patternIndex : outputs[failure[state]]) {
+				out.add(patternIndex);
+			}
+			outputs[state] = out.isEmpty() ? NO_OUTPUT
+					: out.stream().mapToInt(Integer::intValue).sorted().toArray();
+
+			int[] stateChildren = children.get(state);
+			int base = state * ALPHABET_SIZE;
+			int failureBase = failure[state] * ALPHABET_SIZE;
+			for (int b = 0; b < ALPHABET_SIZE; b++) {
+				int child = stateChildren[b];
+				if (child < 0) {
+					transitions[base + b] = transitions[failureBase + b];
+					continue;
+				}
+				transitions[base + b] = child;
+				failure[child] = transitions[failureBase + b];
+				queue.add(child);
+			}
+		}
+	}
+
+	private static int[] newState() {
+		int[] state = new int[ALPHABET_SIZE];
+		Arrays.fill(state, -1);
+		return state;
+	}
+}
@@ -43,6 +43,11 @@ public class RegExByteMatcher extends ByteMatcher {
 		return new PatternMatchIterator(byteSequence);
 	}
 
+	@Override
+	public boolean isThreadSafe() {
+		return true;
+	}
+
 	@Override
 	public String getDescription() {
 		return "Reg Ex";
@@ -15,12 +15,19 @@
  */
 package ghidra.features.base.memsearch.searcher;
 
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Predicate;
 
+import generic.concurrent.GThreadPool;
+
 import ghidra.features.base.memsearch.bytesequence.*;
 import ghidra.features.base.memsearch.bytesource.AddressableByteSource;
 import ghidra.features.base.memsearch.matcher.ByteMatcher;
 import ghidra.features.base.memsearch.matcher.ByteMatcher.ByteMatch;
+import ghidra.features.base.memsearch.matcher.MultiPatternByteMatcher;
 import ghidra.program.model.address.*;
 import ghidra.util.datastruct.Accumulator;
 import ghidra.util.task.TaskMonitor;
@@ -31,14 +38,22 @@ import ghidra.util.task.TaskMonitor;
  * breaking large address ranges down into manageable sizes.
  * <P>
  * It is created with a specific byte source, matcher, address set, and search limit. Clients can
- * then either call the {@link #findAll(Accumulator, TaskMonitor)} method or use it to incrementally
+ * then either call the {@link #findAll(Accumulator, TaskMonitor)} (or
+ * {@link #findAllInParallel(Accumulator, TaskMonitor)}) method or use it to incrementally
  * search using {@link #findNext(Address, TaskMonitor)}, 
  * {@link #findPrevious(Address, TaskMonitor)}, or {@link #findOnce(Address, boolean, TaskMonitor)}.
+ * <P>
+ * To search for many patterns at once, use a {@link MultiPatternByteMatcher}. All patterns are
+ * then found in a single pass over the byte source and each resulting {@link MemoryMatch} reports
+ * the individual pattern that matched.
  */
 
 public class MemorySearcher {
 	private static final int DEFAULT_CHUNK_SIZE = 16 * 1024;
 	private static final int OVERLAP_SIZE = 100;
+	private static final String THREAD_POOL_NAME = "Memory Search";
+	private static final int MAX_PENDING_CHUNKS_PER_THREAD = 4;
+	private final AddressableByteSource byteSource;
 	private final AddressableByteSequence bytes1;
 	private final AddressableByteSequence bytes2;
 	private final ByteMatcher matcher;
@@ -46,7 +61,7 @@ public class MemorySearcher {
 
 	private Predicate<MemoryMatch> filter = r -> true;
 	private final int searchLimit;
-	private final AddressSetView searchSet;
+	private final AddressSetView addresses;
 
 	/**
 	 * Constructor
@@ -70,8 +85,9 @@ public class MemorySearcher {
 	 */
 	public MemorySearcher(AddressableByteSource byteSource, ByteMatcher matcher,
 			AddressSetView addresses, int searchLimit, int chunkSize) {
+		this.byteSource = byteSource;
 		this.matcher = matcher;
-		this.searchSet = addresses;
+		this.addresses = addresses;
 		this.searchLimit = searchLimit;
 		this.chunkSize = chunkSize;
 
@@ -98,9 +114,10 @@ public class MemorySearcher {
 	 * @return true if the search completed searching through the entire address set.
 	 */
 	public boolean findAll(Accumulator<MemoryMatch> accumulator, TaskMonitor monitor) {
-		monitor.initialize(searchSet.getNumAddresses(), "Searching...");
+		AddressSetView set = getSearchSet();
+		monitor.initialize(set.getNumAddresses(), "Searching...");
 
-		for (AddressRange range : searchSet.getAddressRanges()) {
+		for (AddressRange range : set.getAddressRanges()) {
 			if (!findAll(accumulator, range, monitor)) {
 				return false;
 			}
@@ -108,6 +125,73 @@ public class MemorySearcher {
 		return true;
 	}
 
+	/**
+	 * Same as {@link #findAll(Accumulator, TaskMonitor)}, except that the address set is split
+	 * into chunks that are read and matched concurrently by a shared thread pool. Matches are
+	 * still filtered and given to the accumulator on the calling thread, in address order, so the
+	 * results are identical to those of the sequential search. Once the search limit is reached
+	 * or the monitor is cancelled, any outstanding chunks are abandoned.
+	 * <P>
+	 * The byte source and byte matcher must support concurrent use (see
+	 * {@link #canSearchInParallel()}).
+	 * @param accumulator the accumulator for found matches
+	 * @param monitor the task monitor
+	 * @return true if the search completed searching through the entire address set.
+	 */
+	public boolean findAllInParallel(Accumulator<MemoryMatch> accumulator, TaskMonitor monitor) {
+		AddressSetView set = getSearchSet();
+		monitor.initialize(set.getNumAddresses(), "Searching...");
+
+		GThreadPool pool = GThreadPool.getSharedThreadPool(THREAD_POOL_NAME);
+		int maxPendingChunks = pool.getMaxThreadCount() * MAX_PENDING_CHUNKS_PER_THREAD;
+		AtomicBoolean stopped = new AtomicBoolean();
+		Deque<Future<ChunkResult>> pending = new ArrayDeque<>();
+		Iterator<AddressRange[]> chunks = new ChunkIterator(set);
+		try {
+			while (true) {
+				// keep a bounded number of chunks queued ahead of the one being merged
+				while (pending.size() < maxPendingChunks && chunks.hasNext()) {
+					AddressRange[] chunk = chunks.next();
+					pending.add(
+						pool.submit(() -> searchChunk(chunk[0], chunk[1], stopped, monitor)));
+				}
+				Future<ChunkResult> next = pending.poll();
+				if (next == null) {
+					return true;
+				}
+				ChunkResult result = getResult(next);
+				if (result == null || monitor.isCancelled()) {
+					return false;
+				}
+				for (MemoryMatch match : result.matches()) {
+					if (filter.test(match)) {
+						if (accumulator.size() >= searchLimit) {
+							return false;
+						}
+						accumulator.add(match);
+					}
+				}
+				// Reset the monitor message, since clients may change the message (such as the
+				// incremental table loader)
+				monitor.setMessage("Searching...");
+				monitor.incrementProgress(result.length());
+			}
+		}
+		finally {
+			stopped.set(true);
+			pending.forEach(f -> f.cancel(false));
+		}
+	}
+
+	/**
+	 * Returns true if {@link #findAllInParallel(Accumulator, TaskMonitor)} may be used, which
+	 * requires that both the byte source and the byte matcher declare themselves thread safe.
+	 * @return true if this searcher's byte source and matcher support concurrent use
+	 */
+	public boolean canSearchInParallel() {
+		return byteSource.isThreadSafe() && matcher.isThreadSafe();
+	}
+
 	/**
 	 * Searches forwards or backwards starting at the given address until a match is found or
 	 * the start or end of the address set is reached. It does not currently wrap the search.
@@ -132,10 +216,11 @@ public class MemorySearcher {
 	 */
 	public MemoryMatch findNext(Address start, TaskMonitor monitor) {
 
-		long numAddresses = searchSet.getNumAddresses() - searchSet.getAddressCountBefore(start);
+		AddressSetView set = getSearchSet();
+		long numAddresses = set.getNumAddresses() - set.getAddressCountBefore(start);
 		monitor.initialize(numAddresses, "Searching....");
 
-		for (AddressRange range : searchSet.getAddressRanges(start, true)) {
+		for (AddressRange range : set.getAddressRanges(start, true)) {
 			range = range.intersectRange(start, range.getMaxAddress());
 			MemoryMatch match = findFirst(range, monitor);
 			if (match != null) {
@@ -157,9 +242,10 @@ public class MemorySearcher {
 	 */
 	public MemoryMatch findPrevious(Address start, TaskMonitor monitor) {
 
-		monitor.initialize(searchSet.getAddressCountBefore(start) + 1, "Searching....");
+		AddressSetView set = getSearchSet();
+		monitor.initialize(set.getAddressCountBefore(start) + 1, "Searching....");
 
-		for (AddressRange range : searchSet.getAddressRanges(start, false)) {
+		for (AddressRange range : set.getAddressRanges(start, false)) {
 			MemoryMatch match = findLast(range, start, monitor);
 			if (match != null) {
 				return match;
@@ -246,7 +332,7 @@ public class MemorySearcher {
 		for (ByteMatch byteMatch : matcher.match(searchSequence)) {
 			Address address = searchBytes.getAddress(byteMatch.start());
 			byte[] bytes = searchSequence.getBytes(byteMatch.start(), byteMatch.length());
-			MemoryMatch match = new MemoryMatch(address, bytes, matcher);
+			MemoryMatch match = new MemoryMatch(address, bytes, getMatcher(byteMatch));
 			if (filter.test(match)) {
 				return match;
 			}
@@ -269,7 +355,7 @@ public class MemorySearcher {
 		for (ByteMatch byteMatch : matcher.match(searchSequence)) {
 			Address address = searchBytes.getAddress(byteMatch.start());
 			byte[] bytes = searchSequence.getBytes(byteMatch.start(), byteMatch.length());
-			MemoryMatch match = new MemoryMatch(address, bytes, matcher);
+			MemoryMatch match = new MemoryMatch(address, bytes, getMatcher(byteMatch));
 			if (filter.test(match)) {
 				last = match;
 			}
@@ -316,7 +402,7 @@ public class MemorySearcher {
 		for (ByteMatch byteMatch : matcher.match(searchSequence)) {
 			Address address = searchBytes.getAddress(byteMatch.start());
 			byte[] bytes = searchSequence.getBytes(byteMatch.start(), byteMatch.length());
-			MemoryMatch match = new MemoryMatch(address, bytes, matcher);
+			MemoryMatch match = new MemoryMatch(address, bytes, getMatcher(byteMatch));
 			if (filter.test(match)) {
 				if (accumulator.size() >= searchLimit) {
 					return false;
@@ -334,4 +420,115 @@ public class MemorySearcher {
 		monitor.incrementProgress(searchBytes.getLength());
 		return true;
 	}
+
+	private AddressSetView getSearchSet() {
+		// Byte sources that index their bytes may be able to exclude addresses up front. This is
+		// done for each search, since the bytes may have changed since the last search.
+		return byteSource.getSearchAddresses(addresses, matcher);
+	}
+
+	private ChunkResult searchChunk(AddressRange range, AddressRange extraRange,
+			AtomicBoolean stopped, TaskMonitor monitor) {
+		List<MemoryMatch> matches = new ArrayList<>();
+		int length = range.getBigLength().intValueExact();
+		if (stopped.get() || monitor.isCancelled()) {
+			return new ChunkResult(matches, length);
+		}
+
+		AddressableByteSequence searchBytes = new AddressableByteSequence(byteSource, length);
+		searchBytes.setRange(range);
+		AddressableByteSequence extra = new AddressableByteSequence(byteSource, OVERLAP_SIZE);
+		if (extraRange != null) {
+			extra.setRange(extraRange);
+		}
+
+		ExtendedByteSequence searchSequence =
+			new ExtendedByteSequence(searchBytes, extra, OVERLAP_SIZE);
+		for (ByteMatch byteMatch : matcher.match(searchSequence)) {
+			Address address = searchBytes.getAddress(byteMatch.start());
+			byte[] bytes = searchSequence.getBytes(byteMatch.start(), byteMatch.length());
+			matches.add(new MemoryMatch(address, bytes, getMatcher(byteMatch)));
+			if (stopped.get()) {
+				break;
+			}
+		}
+		return new ChunkResult(matches, length);
+	}
+
+	private ChunkResult getResult(Future<ChunkResult> future) {
+		try {
+			return future.get();
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return null;
+		}
+		catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException runtimeException) {
+				throw runtimeException;
+			}
+			if (cause instanceof Error error) {
+				throw error;
+			}
+			throw new RuntimeException(cause);
+		}
+	}
+
+	private ByteMatcher getMatcher(ByteMatch byteMatch) {
+		// multi-pattern matchers report which of their patterns matched
+		ByteMatcher componentMatcher = byteMatch.matcher();
+		return componentMatcher != null ? componentMatcher : matcher;
+	}
+
+//==================================================================================================
+// Inner classes
+//==================================================================================================
+
+	/**
+	 * The unfiltered matches found in one chunk, along with the chunk length for progress
+	 */
+	private record ChunkResult(List<MemoryMatch> matches, int length) {}
+
+	/**
+	 * Splits the search set into chunks. Each element is the chunk to search and the range of
+	 * extra bytes (if any) that matches starting in the chunk may extend into.
+	 */
+	private class ChunkIterator implements Iterator<AddressRange[]> {
+		private final Iterator<AddressRange> ranges;
+		private AddressRange range;
+		private AddressRangeIterator chunks;
+
+		ChunkIterator(AddressSetView set) {
+			ranges = set.getAddressRanges();
+		}
+
+		@Override
+		public boolean hasNext() {
+			while (chunks == null || !chunks.hasNext()) {
+				if (!ranges.hasNext()) {
+					return false;
+				}
+				range = ranges.next();
+				chunks = new AddressRangeSplitter(range, chunkSize, true);
+			}
+			return true;
+		}
+
+		@Override
+		public AddressRange[] next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			AddressRange chunk = chunks.next();
+			AddressRange extra = null;
+			Address chunkEnd = chunk.getMaxAddress();
+			if (chunkEnd.compareTo(range.getMaxAddress()) < 0) {
+				AddressRange remaining =
+					new AddressRangeImpl(chunkEnd.next(), range.getMaxAddress());
+				extra = new AddressRangeSplitter(remaining, OVERLAP_SIZE, true).next();
+			}
+			return new AddressRange[] { chunk, extra };
+		}
+	}
 }
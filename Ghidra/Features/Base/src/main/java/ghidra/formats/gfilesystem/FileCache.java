@@ -122,8 +122,8 @@ public class FileCache {
 		memCache.clear();
 	}
 
-	synchronized boolean hasEntry(String md5) {
-		FileCacheEntry fce = memCache.get(md5);
+	boolean hasEntry(String md5) {
+		FileCacheEntry fce = getMemCacheEntry(md5);
 		if (fce == null) {
 			fce = getFileByMD5(md5);
 		}
@@ -146,16 +146,20 @@ public class FileCache {
 	 * NULL if there is no matching file.
 	 * <p>
 	 * Tweaks the file's last modified time to implement a LRU.
+	 * <p>
+	 * Only the in-memory cache lookup is synchronized, the cache directory is accessed without
+	 * holding a lock so that concurrent extractions are not serialized by each other's file io.
+	 * Files are only ever added to the cache dir by atomically renaming a completed temp file.
 	 *
 	 * @param md5 md5 string.
 	 * @return {@link FileCacheEntry} with a File and it's md5 string or {@code null} if no
 	 * matching file exists in cache.
 	 */
-	synchronized FileCacheEntry getFileCacheEntry(String md5) {
+	FileCacheEntry getFileCacheEntry(String md5) {
 		if (md5 == null) {
 			return null;
 		}
-		FileCacheEntry fce = memCache.get(md5);
+		FileCacheEntry fce = getMemCacheEntry(md5);
 		if (fce == null) {
 			fce = getFileByMD5(md5);
 			if (fce != null) {
@@ -165,6 +169,10 @@ public class FileCache {
 		return fce;
 	}
 
+	private synchronized FileCacheEntry getMemCacheEntry(String md5) {
+		return memCache.get(md5);
+	}
+
 	synchronized void releaseFileCacheEntry(String md5) {
 		FileCacheEntry fce = memCache.get(md5);
 		if (fce != null) {
@@ -558,7 +566,7 @@ public class FileCache {
 			}
 			return (bytes != null)
 					? new RefPinningByteArrayProvider(this, fsrl)
-					: new ObfuscatedFileByteProvider(file, fsrl, AccessMode.READ);
+					: ObfuscatedMemoryMappedFileByteProvider.open(file, fsrl);
 		}
 
 		/**
@@ -896,6 +896,46 @@ public class FileSystemService {
 		return fsrl.withMD5(md5);
 	}
 
+	/**
+	 * Ensures that the contents of a file are present in the file cache, copying them from the
+	 * filesystem if necessary, so that {@link #getByteProvider(FSRL, boolean, TaskMonitor)}
+	 * can later return the file's bytes without accessing the filesystem.
+	 * <p>
+	 * The caller must have exclusive use of the filesystem while this method runs.
+	 *
+	 * @param fs {@link GFileSystem} containing the file
+	 * @param file {@link GFile} to cache
+	 * @param fqFSRL fully qualified {@link FSRL} of the file
+	 * @param monitor {@link TaskMonitor} to watch and update
+	 * @return the {@link FileCacheEntry} holding the file's bytes, which keeps them pinned in the
+	 * memory cache while referenced
+	 * @throws CancelledException if user cancels
+	 * @throws IOException if IO problem
+	 */
+	FileCacheEntry cacheFileContents(GFileSystem fs, GFile file, FSRL fqFSRL,
+			TaskMonitor monitor) throws CancelledException, IOException {
+		FileCacheEntry fce = fileCache.getFileCacheEntry(fqFSRL.getMD5());
+		if (fce != null) {
+			return fce;
+		}
+		try (ByteProvider bp = fs.getByteProvider(file, monitor)) {
+			if (bp == null) {
+				throw new IOException("Unable to get bytes for " + fqFSRL);
+			}
+			// the filesystem may have placed the bytes in the cache itself
+			fce = fileCache.getFileCacheEntry(fqFSRL.getMD5());
+			if (fce != null) {
+				return fce;
+			}
+			try (InputStream is = bp.getInputStream(0);
+					FileCacheEntryBuilder fceBuilder =
+						fileCache.createCacheEntryBuilder(bp.length())) {
+				FSUtilities.streamCopy(is, fceBuilder, monitor);
+				return fceBuilder.finish();
+			}
+		}
+	}
+
 	/**
 	 * Returns a list of all detected GFilesystem filesystem names.
 	 * <p>
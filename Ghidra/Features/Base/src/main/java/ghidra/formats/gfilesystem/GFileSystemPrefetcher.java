@@ -0,0 +1,233 @@
+/* ###
+ * IP: GHIDRA
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ghidra.formats.gfilesystem;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.*;
+
+import ghidra.formats.gfilesystem.FileCache.FileCacheEntry;
+import ghidra.util.Msg;
+import ghidra.util.exception.CancelledException;
+import ghidra.util.task.*;
+
+/**
+ * Walks the files of a {@link GFileSystem} on a background thread, extracting and hashing each
+ * file (see {@link FileSystemService#getFullyQualifiedFSRL(FSRL, TaskMonitor)}) ahead of the
+ * consumer of the files.
+ * <p>
+ * This allows a client that recursively processes the contents of containers to overlap the
+ * extraction of a container's files with its own processing of previously extracted files.
+ * Each nested container that is processed with its own prefetcher is extracted on its own
+ * thread, so recursively processing deeply nested containers keeps several threads busy.
+ * <p>
+ * {@link GFileSystem} implementations are not required to be thread-safe, so the prefetch
+ * thread is the only thread that may access the filesystem while the prefetcher is open.  The
+ * bytes of each file are copied into the file cache before the file is handed to the consumer,
+ * which can then open the file by its fully qualified {@link FSRL} (see
+ * {@link FileSystemService#getByteProvider(FSRL, boolean, TaskMonitor)}) without touching the
+ * filesystem.  The consumer must not otherwise use the filesystem (for example, to look up
+ * files or to start another prefetcher on it) until the prefetcher has been closed.  The
+ * thread-safe local filesystem is the exception: its files are not copied into the cache.
+ * <p>
+ * The caller is responsible for {@link #close() closing} this object before the filesystem is
+ * closed.
+ */
+public class GFileSystemPrefetcher implements Closeable {
+
+	/**
+	 * Default number of files that may be extracted ahead of the consumer
+	 */
+	public static final int DEFAULT_MAX_PREFETCHED = 16;
+
+	/**
+	 * A file that has been prefetched
+	 *
+	 * @param file the {@link GFile}
+	 * @param fqFSRL fully qualified {@link FSRL} of the file, or null if there was an error
+	 * @param error the error that prevented the file from being fully qualified, or null
+	 * @param cacheEntry the file cache entry holding the bytes of the file, or null if the file
+	 * was not copied into the cache; it keeps the bytes pinned in the memory cache until the
+	 * consumer is done with the file
+	 */
+	public record PrefetchedFile(GFile file, FSRL fqFSRL, IOException error,
+			FileCacheEntry cacheEntry) {}
+
+	private static final PrefetchedFile END = new PrefetchedFile(null, null, null, null);
+	private static final long OFFER_TIMEOUT_MS = 100;
+
+	private final FileSystemService fsService;
+	private final GFileSystem fs;
+	private final GFile startDir;
+	private final BlockingQueue<PrefetchedFile> queue;
+	private final TaskMonitor monitor;
+	private final TaskMonitorAdapter prefetchMonitor = new TaskMonitorAdapter(true);
+	private final CancelledListener cancelledListener = prefetchMonitor::cancel;
+	private final Thread prefetchThread;
+	private volatile Throwable prefetchError;
+	private boolean done;
+
+	/**
+	 * Creates a new prefetcher and starts extracting files.
+	 *
+	 * @param fsService {@link FileSystemService}
+	 * @param fs {@link GFileSystem} to iterate
+	 * @param startDir directory to start iterating at, or null for the root of the filesystem
+	 * @param maxPrefetched maximum number of files that may be extracted ahead of the consumer
+	 * @param monitor {@link TaskMonitor} of the consumer, which will cancel the prefetching
+	 * when cancelled
+	 */
+	public GFileSystemPrefetcher(FileSystemService fsService, GFileSystem fs, GFile startDir,
+			int maxPrefetched, TaskMonitor monitor) {
+		this.fsService = fsService;
+		this.fs = fs;
+		this.startDir = startDir;
+		this.queue = new ArrayBlockingQueue<>(Math.max(1, maxPrefetched));
+		this.monitor = monitor;
+		monitor.addCancelledListener(cancelledListener);
+		if (monitor.isCancelled()) {
+			prefetchMonitor.cancel();
+		}
+
+		prefetchThread = new Thread(this::prefetch, "Prefetch " + fs.getName());
+		prefetchThread.setDaemon(true);
+		prefetchThread.start();
+	}
+
+	/**
+	 * Returns the next prefetched file, waiting for it to be extracted if necessary.
+	 *
+	 * @return next {@link PrefetchedFile}, or null if there are no more files
+	 * @throws CancelledException if cancelled
+	 * @throws IOException if error iterating the filesystem
+	 */
+	public PrefetchedFile next() throws CancelledException, IOException {
+		if (done) {
+			return null;
+		}
+		PrefetchedFile result;
+		try {
+			result = queue.take();
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new CancelledException();
+		}
+		if (result == END) {
+			done = true;
+			monitor.checkCancelled();
+			checkPrefetchError();
+			return null;
+		}
+		return result;
+	}
+
+	/**
+	 * Stops extracting files and waits for the file currently being extracted, if any.
+	 */
+	@Override
+	public void close() {
+		monitor.removeCancelledListener(cancelledListener);
+		prefetchMonitor.cancel();
+		queue.clear();
+		try {
+			prefetchThread.join();
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private void checkPrefetchError() throws IOException {
+		Throwable t = prefetchError;
+		if (t instanceof IOException ioe) {
+			throw ioe;
+		}
+		if (t instanceof RuntimeException re) {
+			throw re;
+		}
+		if (t instanceof Error e) {
+			throw e;
+		}
+	}
+
+	private void prefetch() {
+		try {
+			for (GFile file : fs.files(startDir)) {
+				if (prefetchMonitor.isCancelled()) {
+					break;
+				}
+				PrefetchedFile prefetched;
+				try {
+					prefetched = prefetchFile(file);
+				}
+				catch (IOException e) {
+					prefetched = new PrefetchedFile(file, null, e, null);
+				}
+				if (!offer(prefetched)) {
+					break;
+				}
+			}
+		}
+		catch (CancelledException e) {
+			// stop prefetching
+		}
+		catch (Throwable t) {
+			Msg.debug(this, "Error prefetching files from " + fs.getName(), t);
+			prefetchError = t instanceof UncheckedIOException uioe ? uioe.getCause() : t;
+		}
+		finally {
+			// END must always be delivered so that a waiting consumer can't hang.  Files that
+			// have not been consumed are only discarded if the prefetch was cancelled.
+			if (!offer(END)) {
+				queue.clear();
+				queue.offer(END);
+			}
+		}
+	}
+
+	private PrefetchedFile prefetchFile(GFile file) throws CancelledException, IOException {
+		FSRL fqFSRL = fsService.getFullyQualifiedFSRL(file.getFSRL(), prefetchMonitor);
+		if (isThreadSafe(fs)) {
+			return new PrefetchedFile(file, fqFSRL, null, null);
+		}
+		FileCacheEntry cacheEntry =
+			fsService.cacheFileContents(fs, file, fqFSRL, prefetchMonitor);
+		if (!fqFSRL.isMD5Equal(cacheEntry.getMD5())) {
+			fqFSRL = fqFSRL.withMD5(cacheEntry.getMD5());
+		}
+		return new PrefetchedFile(file, fqFSRL, null, cacheEntry);
+	}
+
+	private static boolean isThreadSafe(GFileSystem fs) {
+		return fs instanceof LocalFileSystem || fs instanceof LocalFileSystemSub;
+	}
+
+	private boolean offer(PrefetchedFile prefetched) {
+		try {
+			while (!queue.offer(prefetched, OFFER_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+				if (prefetchMonitor.isCancelled()) {
+					return false;
+				}
+			}
+			return true;
+		}
+		catch (InterruptedException e) {
+			return false;
+		}
+	}
+}
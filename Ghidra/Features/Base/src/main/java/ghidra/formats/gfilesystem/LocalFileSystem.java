@@ -18,14 +18,13 @@ package ghidra.formats.gfilesystem;
 import static ghidra.formats.gfilesystem.fileinfo.FileAttributeType.*;
 
 import java.io.*;
-import java.nio.file.AccessMode;
 import java.util.*;
 
 import org.apache.commons.collections4.map.ReferenceMap;
 import org.apache.commons.io.FilenameUtils;
 
 import ghidra.app.util.bin.ByteProvider;
-import ghidra.app.util.bin.FileByteProvider;
+import ghidra.app.util.bin.MemoryMappedFileByteProvider;
 import ghidra.formats.gfilesystem.annotations.FileSystemInfo;
 import ghidra.formats.gfilesystem.factory.GFileSystemFactory;
 import ghidra.formats.gfilesystem.factory.GFileSystemFactoryIgnore;
@@ -266,7 +265,7 @@ public class LocalFileSystem implements GFileSystem, GFileHashProvider {
 
 	ByteProvider getByteProvider(FSRL fsrl, TaskMonitor monitor) throws IOException {
 		File f = getLocalFile(fsrl);
-		return new FileByteProvider(f, fsrl, AccessMode.READ);
+		return MemoryMappedFileByteProvider.open(f, fsrl);
 	}
 
 	@Override
@@ -25,6 +25,7 @@ import javax.swing.SwingConstants;
 import ghidra.app.util.bin.ByteProvider;
 import ghidra.app.util.opinion.*;
 import ghidra.formats.gfilesystem.*;
+import ghidra.formats.gfilesystem.GFileSystemPrefetcher.PrefetchedFile;
 import ghidra.formats.gfilesystem.crypto.CryptoSession;
 import ghidra.plugins.importer.batch.BatchGroup.BatchLoadConfig;
 import ghidra.util.Msg;
@@ -226,19 +227,36 @@ public class BatchInfo {
 				return true;
 			}
 
-			if (processAsFS(fsrl, taskMonitor)) {
-				return true;
-			}
-
-			if (processWithLoader(fsrl, taskMonitor)) {
-				return true;
-			}
+			return processFile(fsrl, taskMonitor);
+		}
+	}
 
-			// the file was not of interest, let it be removed from the cache
-			fsService.releaseFileCache(fsrl);
+	/**
+	 * Processes a file that is not a directory, as a nested filesystem or with a loader.
+	 * <p>
+	 * This does not access the filesystem that contains the file if the file's bytes are in
+	 * the file cache.
+	 *
+	 * @param fsrl fully qualified {@link FSRL} of the file
+	 * @param taskMonitor {@link TaskMonitor} to watch and update
+	 * @return true if the file was processed, false if it was not of interest
+	 * @throws CancelledException if user cancels
+	 * @throws IOException if io error while reading the file
+	 */
+	private boolean processFile(FSRL fsrl, TaskMonitor taskMonitor)
+			throws CancelledException, IOException {
+		if (processAsFS(fsrl, taskMonitor)) {
+			return true;
+		}
 
-			return false;
+		if (processWithLoader(fsrl, taskMonitor)) {
+			return true;
 		}
+
+		// the file was not of interest, let it be removed from the cache
+		fsService.releaseFileCache(fsrl);
+
+		return false;
 	}
 
 	private boolean shouldTerminateRecurse(FSRL fsrl) {
@@ -335,18 +353,23 @@ public class BatchInfo {
 	private void processFS(GFileSystem fs, GFile startDir, TaskMonitor taskMonitor)
 			throws CancelledException, IOException {
 
-		for (GFile file : fs.files(startDir)) {
-			taskMonitor.checkCancelled();
-			FSRL fqFSRL;
-			try {
-				fqFSRL = fsService.getFullyQualifiedFSRL(file.getFSRL(), taskMonitor);
-			}
-			catch (IOException e) {
-				Msg.warn(this, "Error getting info for " + file.getFSRL());
-				continue;
+		// files are extracted into the file cache in the background while previously extracted
+		// files are probed, which may recurse into nested containers with their own
+		// prefetchers.  The prefetch thread is the only thread that touches fs until the
+		// prefetcher is closed, so the files are processed using only their cached bytes.
+		try (GFileSystemPrefetcher prefetcher = new GFileSystemPrefetcher(fsService, fs,
+			startDir, GFileSystemPrefetcher.DEFAULT_MAX_PREFETCHED, taskMonitor)) {
+			PrefetchedFile prefetched;
+			while ((prefetched = prefetcher.next()) != null) {
+				taskMonitor.checkCancelled();
+				if (prefetched.fqFSRL() == null) {
+					Msg.warn(this, "Error getting info for " + prefetched.file().getFSRL());
+					continue;
+				}
+				// the iteration only returns files, never directories
+				processFile(prefetched.fqFSRL(), taskMonitor);
+				currentUASI.incRawFileCount();
 			}
-			doAddFile(fqFSRL, taskMonitor);
-			currentUASI.incRawFileCount();
 		}
 	}
 
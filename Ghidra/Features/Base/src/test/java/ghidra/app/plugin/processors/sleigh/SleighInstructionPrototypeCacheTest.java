@@ -0,0 +1,161 @@
+/* ###
+ * IP: GHIDRA
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ghidra.app.plugin.processors.sleigh;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+
+import org.junit.*;
+
+import generic.test.AbstractGenericTest;
+import ghidra.program.model.address.Address;
+import ghidra.program.model.lang.*;
+import ghidra.program.model.listing.Program;
+import ghidra.program.model.mem.DumbMemBufferImpl;
+import ghidra.program.model.mem.MemBuffer;
+import ghidra.test.ToyProgramBuilder;
+
+public class SleighInstructionPrototypeCacheTest extends AbstractGenericTest {
+
+	private ToyProgramBuilder builder;
+	private Program program;
+	private SleighLanguage language;
+	private File cacheFile;
+
+	@Before
+	public void setUp() throws Exception {
+		builder = new ToyProgramBuilder("Test", true, this);
+		builder.createMemory("B1", "1000", 0x100);
+		builder.addBytesFallthrough(0x1000);
+		builder.addBytesBranch(0x1002, 0x1010);
+		builder.addBytesReturn(0x1004);
+		builder.addBytesCall(0x1006, 0x1020);
+		program = builder.getProgram();
+		language = (SleighLanguage) program.getLanguage();
+		cacheFile = createTempFile("protocache");
+		cacheFile.delete();
+	}
+
+	@After
+	public void tearDown() {
+		program.release(this);
+		cacheFile.delete();
+	}
+
+	@Test
+	public void testTreeEncoding() throws Exception {
+		SleighInstructionPrototype proto = resolve(addr(0x1006));
+		int[] tree = SleighInstructionPrototypeCache.encodeTree(proto.getRootState());
+		ConstructState rootState =
+			SleighInstructionPrototypeCache.decodeTree(tree, language.getSymbolTable());
+		assertArrayEquals(tree, SleighInstructionPrototypeCache.encodeTree(rootState));
+		assertEquals(proto.dumpConstructorTree(), rootState.dumpConstructorTree());
+		assertEquals(proto.getRootState().hashCode(), rootState.hashCode());
+	}
+
+	@Test
+	public void testSaveAndRestore() throws Exception {
+		SleighInstructionPrototypeCache cache = createCache();
+		assertEquals(0, cache.size());
+
+		long[] offsets = { 0x1000, 0x1002, 0x1004, 0x1006 };
+		SleighInstructionPrototype[] protos = new SleighInstructionPrototype[offsets.length];
+		for (int i = 0; i < offsets.length; i++) {
+			Address addr = addr(offsets[i]);
+			MemBuffer buf = new DumbMemBufferImpl(program.getMemory(), addr);
+			ProcessorContext context = getContext(addr);
+			SleighInstructionPrototype newProto = new SleighInstructionPrototype(language, buf,
+				context, language.getContextCache(), false, null);
+			assertTrue(newProto.getResolvedByteCount() >= newProto.getRootState().getLength());
+			protos[i] = language.registerPrototype(newProto, buf, context);
+			cache.add(buf, getContextWords(context), newProto.getResolvedByteCount(), protos[i]);
+		}
+		assertEquals(offsets.length, cache.size());
+		cache.save();
+		assertTrue(cacheFile.isFile());
+
+		SleighInstructionPrototypeCache restoredCache = createCache();
+		assertEquals(offsets.length, restoredCache.size());
+		for (int i = 0; i < offsets.length; i++) {
+			Address addr = addr(offsets[i]);
+			MemBuffer buf = new DumbMemBufferImpl(program.getMemory(), addr);
+			ProcessorContext context = getContext(addr);
+			SleighInstructionPrototype proto =
+				restoredCache.getPrototype(buf, context, getContextWords(context), false);
+			assertSame(protos[i], proto);
+		}
+
+		// not cached in delay slot
+		Address addr = addr(0x1000);
+		ProcessorContext context = getContext(addr);
+		assertNull(restoredCache.getPrototype(new DumbMemBufferImpl(program.getMemory(), addr),
+			context, getContextWords(context), true));
+	}
+
+	@Test
+	public void testStaleCacheDiscarded() throws Exception {
+		SleighInstructionPrototypeCache cache = createCache();
+		Address addr = addr(0x1000);
+		MemBuffer buf = new DumbMemBufferImpl(program.getMemory(), addr);
+		ProcessorContext context = getContext(addr);
+		SleighInstructionPrototype proto = resolve(addr);
+		cache.add(buf, getContextWords(context), proto.getResolvedByteCount(), proto);
+		cache.save();
+
+		// simulate a recompiled .sla file
+		SleighLanguageDescription description =
+			(SleighLanguageDescription) language.getLanguageDescription();
+		File slaFile = description.getSlaFile().getFile(false);
+		long lastModified = slaFile.lastModified();
+		try {
+			slaFile.setLastModified(lastModified + 2000);
+			assertEquals(0, createCache().size());
+		}
+		finally {
+			slaFile.setLastModified(lastModified);
+		}
+	}
+
+	private SleighInstructionPrototypeCache createCache() {
+		SleighLanguageDescription description =
+			(SleighLanguageDescription) language.getLanguageDescription();
+		return new SleighInstructionPrototypeCache(language, description.getSlaFile(), cacheFile);
+	}
+
+	private SleighInstructionPrototype resolve(Address addr) throws Exception {
+		MemBuffer buf = new DumbMemBufferImpl(program.getMemory(), addr);
+		ProcessorContext context = getContext(addr);
+		SleighInstructionPrototype newProto = new SleighInstructionPrototype(language, buf,
+			context, language.getContextCache(), false, null);
+		return language.registerPrototype(newProto, buf, context);
+	}
+
+	private ProcessorContext getContext(Address addr) {
+		return new ProgramProcessorContext(program.getProgramContext(), addr);
+	}
+
+	private int[] getContextWords(ProcessorContext context) {
+		ContextCache contextCache = language.getContextCache();
+		int[] words = new int[contextCache.getContextSize()];
+		contextCache.getContext(context, words);
+		return words;
+	}
+
+	private Address addr(long offset) {
+		return program.getAddressFactory().getDefaultAddressSpace().getAddress(offset);
+	}
+}
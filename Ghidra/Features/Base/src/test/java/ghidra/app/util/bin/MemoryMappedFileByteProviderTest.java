@@ -0,0 +1,137 @@
+/* ###
+ * IP: GHIDRA
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ghidra.app.util.bin;
+
+import static org.junit.Assert.*;
+
+import java.io.*;
+import java.nio.file.AccessMode;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import generic.test.AbstractGenericTest;
+import ghidra.formats.gfilesystem.FSUtilities;
+import ghidra.util.exception.CancelledException;
+import ghidra.util.task.TaskMonitor;
+import utilities.util.FileUtilities;
+
+public class MemoryMappedFileByteProviderTest extends AbstractGenericTest {
+
+	private static final int CHUNK_SHIFT = 12;
+	private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+
+	/*
+	 * "NN 01 NN 03 NN 05 NN 07 NN 09"... (NN = blockNumber, 00-FF = offset in block)
+	 */
+	private byte[] patternedBytes(int bs, int count) {
+		byte[] bytes = new byte[bs * count];
+		for (int blockNum = 0; blockNum < count; blockNum++) {
+			int blockStart = blockNum * bs;
+			Arrays.fill(bytes, blockStart, blockStart + bs, (byte) blockNum);
+			for (int i = 1; i < bs; i += 2) {
+				bytes[i + blockStart] = (byte) (i % 256);
+			}
+		}
+		return bytes;
+	}
+
+	private File createPatternedFile(int bs, int count) throws IOException, CancelledException {
+		File file = createTempFileForTest("file1");
+		FSUtilities.copyByteProviderToFile(new ByteArrayProvider(patternedBytes(bs, count)), file,
+			TaskMonitor.DUMMY);
+		return file;
+	}
+
+	@Test
+	public void testSmallRead() throws IOException {
+		File file1 = createTempFileForTest("file1");
+		FileUtilities.writeStringToFile(file1, "testing\0second line\0");
+		try (ByteProvider bp = new MemoryMappedFileByteProvider(file1, null)) {
+			BinaryReader br = new BinaryReader(bp, true);
+			assertEquals("testing", br.readAsciiString(0));
+			assertEquals("second line", br.readAsciiString(8));
+			assertEquals(file1, bp.getFile());
+		}
+	}
+
+	@Test
+	public void testReadStraddleChunkBoundaries() throws IOException, CancelledException {
+		File file1 = createPatternedFile(CHUNK_SIZE, 5);
+		try (ByteProvider bp = new MemoryMappedFileByteProvider(file1, null, CHUNK_SHIFT)) {
+			BinaryReader br = new BinaryReader(bp, false /*BE*/);
+			assertEquals(5 * CHUNK_SIZE, bp.length());
+
+			assertEquals(0x0001, br.readUnsignedShort(0));
+			assertEquals(0x00ff0101, br.readUnsignedInt(CHUNK_SIZE - 2));
+			assertEquals(0x01ff0201, br.readUnsignedInt(2 * CHUNK_SIZE - 2));
+			assertEquals(0x04ff, br.readUnsignedShort(5 * CHUNK_SIZE - 2));
+
+			// read from 3 adjacent chunks
+			byte[] bytes = bp.readBytes(CHUNK_SIZE - 2, CHUNK_SIZE + 4);
+			byte[] expected = patternedBytes(CHUNK_SIZE, 5);
+			assertArrayEquals(Arrays.copyOfRange(expected, CHUNK_SIZE - 2, 2 * CHUNK_SIZE + 2),
+				bytes);
+		}
+	}
+
+	@Test
+	public void testPartialLastChunk() throws IOException, CancelledException {
+		File file1 = createPatternedFile(CHUNK_SIZE + 10, 1);
+		try (ByteProvider bp = new MemoryMappedFileByteProvider(file1, null, CHUNK_SHIFT)) {
+			assertEquals(CHUNK_SIZE + 10, bp.length());
+			assertEquals(9, bp.readByte(CHUNK_SIZE + 9));
+			assertFalse(bp.isValidIndex(CHUNK_SIZE + 10));
+			try {
+				bp.readBytes(CHUNK_SIZE, 11);
+				fail();
+			}
+			catch (IOException e) {
+				// expected
+			}
+		}
+	}
+
+	@Test
+	public void testEmptyFile() throws IOException {
+		File file1 = createTempFileForTest("file1");
+		FileUtilities.writeStringToFile(file1, "");
+		try (ByteProvider bp = new MemoryMappedFileByteProvider(file1, null)) {
+			assertEquals(0, bp.length());
+			assertEquals(0, bp.readBytes(0, 0).length);
+		}
+	}
+
+	@Test
+	public void testObfuscatedRead() throws IOException, CancelledException {
+		File file1 = createTempFileForTest("file1");
+		byte[] expected = patternedBytes(CHUNK_SIZE, 3);
+		try (OutputStream os = new ObfuscatedOutputStream(new FileOutputStream(file1))) {
+			os.write(expected);
+		}
+		try (ByteProvider bp =
+			new ObfuscatedMemoryMappedFileByteProvider(file1, null, CHUNK_SHIFT)) {
+			assertNull(bp.getFile());
+			assertArrayEquals(expected, bp.readBytes(0, expected.length));
+			assertArrayEquals(Arrays.copyOfRange(expected, CHUNK_SIZE - 3, CHUNK_SIZE + 7),
+				bp.readBytes(CHUNK_SIZE - 3, 10));
+			assertEquals(expected[CHUNK_SIZE + 1], bp.readByte(CHUNK_SIZE + 1));
+		}
+		try (ByteProvider bp = new ObfuscatedFileByteProvider(file1, null, AccessMode.READ)) {
+			assertArrayEquals(expected, bp.readBytes(0, expected.length));
+		}
+	}
+}
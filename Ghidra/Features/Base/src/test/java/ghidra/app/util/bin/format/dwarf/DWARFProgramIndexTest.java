@@ -0,0 +1,351 @@
+/* ###
+ * IP: GHIDRA
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ghidra.app.util.bin.format.dwarf;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.*;
+
+import org.junit.*;
+
+import generic.test.AbstractGenericTest;
+import ghidra.app.util.bin.ByteArrayProvider;
+import ghidra.app.util.bin.ByteProvider;
+import ghidra.app.util.bin.format.dwarf.sectionprovider.DWARFSectionNames;
+import ghidra.app.util.bin.format.dwarf.sectionprovider.DWARFSectionProvider;
+import ghidra.program.model.listing.Program;
+import ghidra.test.ToyProgramBuilder;
+import ghidra.util.datastruct.IntArrayList;
+import ghidra.util.datastruct.LongArrayList;
+import ghidra.util.task.TaskMonitor;
+
+/**
+ * Tests that indexing the DIE records of many compunits on the indexing threads produces the
+ * same indexes as reading the compunits one after another.
+ */
+public class DWARFProgramIndexTest extends AbstractGenericTest {
+
+	private static final int ABBR_COMPILE_UNIT = 1;
+	private static final int ABBR_COMPILE_UNIT_WITH_LINES = 2;
+	private static final int ABBR_BASE_TYPE = 3;
+	private static final int ABBR_STRUCT = 4;
+	private static final int ABBR_MEMBER = 5;
+	private static final int ABBR_SPECIFICATION = 6;
+
+	private ToyProgramBuilder builder;
+	private Program program;
+	private int transactionID;
+	private DWARFProgram dprog;
+
+	@Before
+	public void setUp() throws Exception {
+		builder = new ToyProgramBuilder("test", false, this);
+		program = builder.getProgram();
+		transactionID = program.startTransaction("Test");
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		if (dprog != null) {
+			dprog.close();
+		}
+		program.endTransaction(transactionID, false);
+		builder.dispose();
+	}
+
+	@Test
+	public void testManyCompUnits() throws Exception {
+		DebugInfoBuilder debugInfo = new DebugInfoBuilder();
+		for (int i = 0; i < 50; i++) {
+			addCompUnit(debugInfo, i, false);
+		}
+
+		dprog = createProgram(debugInfo, null);
+		dprog.init(TaskMonitor.DUMMY);
+
+		assertIndexes(debugInfo);
+		assertEquals(debugInfo.offsets.size() - debugInfo.aggrTargets.size(),
+			dprog.getTotalAggregateCount());
+	}
+
+	@Test
+	public void testUnreadableLineTableSkipsCompUnit() throws Exception {
+		DebugInfoBuilder debugInfo = new DebugInfoBuilder();
+		for (int i = 0; i < 10; i++) {
+			addCompUnit(debugInfo, i, i == 4);
+		}
+
+		// the line table offset of the 5th compunit is past the end of the line section
+		dprog = createProgram(debugInfo, new byte[4]);
+		dprog.init(TaskMonitor.DUMMY);
+
+		assertIndexes(debugInfo);
+
+		DWARFCompilationUnit cu = dprog.getCompilationUnits().get(4);
+		assertNull(cu.getLine());
+		long skippedOffset = debugInfo.cuChildOffsets.get(4);
+		assertNull(dprog.getDIEByOffset(skippedOffset));
+	}
+
+	private void addCompUnit(DebugInfoBuilder debugInfo, int cuNum, boolean badLineTable) {
+		debugInfo.startCompUnit("cu" + cuNum, badLineTable);
+		long intOffset = debugInfo.addBaseType("int", 4);
+		for (int structNum = 0; structNum < cuNum % 5; structNum++) {
+			long structOffset = debugInfo.startStruct("struct" + structNum, 4 * (cuNum % 3 + 1));
+			for (int memberNum = 0; memberNum < cuNum % 3 + 1; memberNum++) {
+				debugInfo.addMember("field" + memberNum, intOffset);
+			}
+			debugInfo.endChildren();
+			if (structNum % 2 == 1) {
+				debugInfo.addSpecification(structOffset);
+			}
+		}
+		debugInfo.addBaseType("char", 1);
+		debugInfo.endCompUnit();
+	}
+
+	private void assertIndexes(DebugInfoBuilder debugInfo) {
+		assertArrayEquals(debugInfo.offsets.toLongArray(), dprog.dieOffsets);
+		assertArrayEquals(debugInfo.parents.toArray(), dprog.parentIndexes);
+		assertArrayEquals(debugInfo.siblings.toArray(), dprog.siblingIndexes);
+
+		List<DWARFCompilationUnit> compUnits = dprog.getCompilationUnits();
+		assertEquals(debugInfo.cuNames.size(), compUnits.size());
+		for (int i = 0; i < compUnits.size(); i++) {
+			DWARFCompilationUnit cu = compUnits.get(i);
+			DIEAggregate cuDIEA = cu.getCompUnitDIEA();
+			assertNotNull(cuDIEA);
+			assertEquals(cu.getFirstDIEOffset(), cuDIEA.getOffset());
+			assertEquals(debugInfo.cuNames.get(i), cuDIEA.getName());
+		}
+
+		for (int i = 0; i < debugInfo.offsets.size(); i++) {
+			DebugInfoEntry die = dprog.getDIEByOffset(debugInfo.offsets.get(i));
+			assertEquals(i, die.getIndex());
+			assertSame(compUnits.get(debugInfo.cuNums.get(i)), die.getCompilationUnit());
+		}
+	}
+
+	private DWARFProgram createProgram(DebugInfoBuilder debugInfo, byte[] debugLine)
+			throws Exception {
+		Map<String, byte[]> sections = new HashMap<>();
+		sections.put(DWARFSectionNames.DEBUG_INFO, debugInfo.getBytes());
+		sections.put(DWARFSectionNames.DEBUG_ABBREV, createAbbreviations());
+		if (debugLine != null) {
+			sections.put(DWARFSectionNames.DEBUG_LINE, debugLine);
+		}
+		return new DWARFProgram(program, new DWARFImportOptions(), TaskMonitor.DUMMY,
+			new TestSectionProvider(sections));
+	}
+
+	private static byte[] createAbbreviations() {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		writeAbbreviation(out, ABBR_COMPILE_UNIT, DWARFTag.DW_TAG_compile_unit, true,
+			0x03 /* DW_AT_name */, 0x08 /* DW_FORM_string */,
+			0x13 /* DW_AT_language */, 0x0b /* DW_FORM_data1 */);
+		writeAbbreviation(out, ABBR_COMPILE_UNIT_WITH_LINES, DWARFTag.DW_TAG_compile_unit, true,
+			0x03 /* DW_AT_name */, 0x08 /* DW_FORM_string */,
+			0x10 /* DW_AT_stmt_list */, 0x17 /* DW_FORM_sec_offset */);
+		writeAbbreviation(out, ABBR_BASE_TYPE, DWARFTag.DW_TAG_base_type, false,
+			0x03 /* DW_AT_name */, 0x08 /* DW_FORM_string */,
+			0x0b /* DW_AT_byte_size */, 0x0b /* DW_FORM_data1 */);
+		writeAbbreviation(out, ABBR_STRUCT, DWARFTag.DW_TAG_structure_type, true,
+			0x03 /* DW_AT_name */, 0x08 /* DW_FORM_string */,
+			0x0b /* DW_AT_byte_size */, 0x0b /* DW_FORM_data1 */);
+		writeAbbreviation(out, ABBR_MEMBER, DWARFTag.DW_TAG_member, false,
+			0x03 /* DW_AT_name */, 0x08 /* DW_FORM_string */,
+			0x49 /* DW_AT_type */, 0x13 /* DW_FORM_ref4 */);
+		writeAbbreviation(out, ABBR_SPECIFICATION, DWARFTag.DW_TAG_structure_type, false,
+			0x47 /* DW_AT_specification */, 0x13 /* DW_FORM_ref4 */);
+		out.write(0);
+		return out.toByteArray();
+	}
+
+	private static void writeAbbreviation(ByteArrayOutputStream out, int code, DWARFTag tag,
+			boolean hasChildren, int... attrsAndForms) {
+		out.write(code);
+		out.write(tag.getId());
+		out.write(hasChildren ? 1 : 0);
+		for (int value : attrsAndForms) {
+			out.write(value);
+		}
+		out.write(0);
+		out.write(0);
+	}
+
+	/**
+	 * Writes DWARF 4 debug info records, and records the DIE indexes that reading the
+	 * compunits one after another produces
+	 */
+	private static class DebugInfoBuilder {
+		private ByteArrayOutputStream out = new ByteArrayOutputStream();
+		private List<long[]> cuRanges = new ArrayList<>();
+		private long cuStart;
+
+		private LongArrayList offsets = new LongArrayList();
+		private IntArrayList parents = new IntArrayList();
+		private IntArrayList siblings = new IntArrayList();
+		private IntArrayList cuNums = new IntArrayList();
+		private Set<Long> aggrTargets = new HashSet<>();
+		private List<String> cuNames = new ArrayList<>();
+		private LongArrayList cuChildOffsets = new LongArrayList();
+
+		private Deque<Integer> openDIEs = new ArrayDeque<>();
+		private boolean skipChildren;
+
+		void startCompUnit(String name, boolean badLineTable) {
+			cuStart = out.size();
+			writeInt(0); // unit_length, written by getBytes()
+			writeShort(4); // version
+			writeInt(0); // debug_abbrev_offset
+			out.write(8); // address_size
+
+			cuNames.add(name);
+			if (badLineTable) {
+				addDIE(ABBR_COMPILE_UNIT_WITH_LINES, true);
+				writeString(name);
+				writeInt(0x100);
+
+				// a compunit that can't be initialized is skipped after its root DIE
+				siblings.set(siblings.size() - 1, offsets.size());
+				skipChildren = true;
+			}
+			else {
+				addDIE(ABBR_COMPILE_UNIT, true);
+				writeString(name);
+				out.write(DWARFSourceLanguage.DW_LANG_C);
+			}
+			cuChildOffsets.add(out.size());
+		}
+
+		void endCompUnit() {
+			endChildren();
+			cuRanges.add(new long[] { cuStart, out.size() });
+			skipChildren = false;
+		}
+
+		long addBaseType(String name, int size) {
+			long offset = addDIE(ABBR_BASE_TYPE, false);
+			writeString(name);
+			out.write(size);
+			return offset;
+		}
+
+		long startStruct(String name, int size) {
+			long offset = addDIE(ABBR_STRUCT, true);
+			writeString(name);
+			out.write(size);
+			return offset;
+		}
+
+		void addMember(String name, long typeOffset) {
+			addDIE(ABBR_MEMBER, false);
+			writeString(name);
+			writeInt((int) (typeOffset - cuStart));
+		}
+
+		void addSpecification(long targetOffset) {
+			addDIE(ABBR_SPECIFICATION, false);
+			writeInt((int) (targetOffset - cuStart));
+			if (!skipChildren) {
+				aggrTargets.add(targetOffset);
+			}
+		}
+
+		void endChildren() {
+			out.write(0);
+			int index = openDIEs.pop();
+			if (!skipChildren) {
+				siblings.set(index, offsets.size());
+			}
+		}
+
+		byte[] getBytes() {
+			byte[] bytes = out.toByteArray();
+			ByteBuffer buffer = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+			for (long[] range : cuRanges) {
+				buffer.putInt((int) range[0], (int) (range[1] - range[0] - 4));
+			}
+			return bytes;
+		}
+
+		private long addDIE(int abbreviationCode, boolean hasChildren) {
+			long offset = out.size();
+			out.write(abbreviationCode);
+			if (!skipChildren) {
+				int index = offsets.size();
+				offsets.add(offset);
+				parents.add(openDIEs.isEmpty() ? -1 : openDIEs.peek());
+				siblings.add(index + 1);
+				cuNums.add(cuNames.size() - 1);
+				if (hasChildren) {
+					openDIEs.push(index);
+				}
+			}
+			else if (hasChildren) {
+				openDIEs.push(-1);
+			}
+			return offset;
+		}
+
+		private void writeString(String s) {
+			out.writeBytes(s.getBytes());
+			out.write(0);
+		}
+
+		private void writeShort(int value) {
+			out.write(value);
+			out.write(value >> 8);
+		}
+
+		private void writeInt(int value) {
+			writeShort(value);
+			writeShort(value >> 16);
+		}
+	}
+
+	private static class TestSectionProvider implements DWARFSectionProvider {
+		private Map<String, byte[]> sections;
+
+		TestSectionProvider(Map<String, byte[]> sections) {
+			this.sections = sections;
+		}
+
+		@Override
+		public boolean hasSection(String... sectionNames) {
+			for (String sectionName : sectionNames) {
+				if (!sections.containsKey(sectionName)) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		@Override
+		public ByteProvider getSectionAsByteProvider(String sectionName, TaskMonitor monitor) {
+			byte[] bytes = sections.get(sectionName);
+			return bytes != null ? new ByteArrayProvider(bytes) : null;
+		}
+
+		@Override
+		public void close() {
+			// nothing to close
+		}
+	}
+}
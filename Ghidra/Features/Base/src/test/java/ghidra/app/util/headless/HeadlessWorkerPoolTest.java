@@ -0,0 +1,138 @@
+/* ###
+ * IP: GHIDRA
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ghidra.app.util.headless;
+
+import static org.junit.Assert.*;
+
+import java.net.MalformedURLException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Test;
+
+import generic.test.AbstractGenericTest;
+import ghidra.app.util.headless.HeadlessSummary.FileResult;
+import ghidra.formats.gfilesystem.FSRL;
+
+public class HeadlessWorkerPoolTest extends AbstractGenericTest {
+
+	private HeadlessWorkerPool pool;
+	private HeadlessSummary summary = new HeadlessSummary(1);
+
+	@After
+	public void tearDown() {
+		if (pool != null) {
+			pool.dispose();
+		}
+	}
+
+	@Test
+	public void testAllTasksRunWithLimitedConcurrency() throws Exception {
+		pool = new HeadlessWorkerPool(3, 100);
+		AtomicInteger running = new AtomicInteger();
+		AtomicInteger maxRunning = new AtomicInteger();
+		AtomicInteger completed = new AtomicInteger();
+
+		for (int i = 0; i < 20; i++) {
+			pool.submit(newResult(), () -> {
+				int n = running.incrementAndGet();
+				maxRunning.accumulateAndGet(n, Math::max);
+				sleep(10);
+				running.decrementAndGet();
+				completed.incrementAndGet();
+			});
+		}
+		pool.waitForAll();
+
+		assertEquals(20, completed.get());
+		assertTrue(maxRunning.get() <= 3);
+	}
+
+	@Test
+	public void testSubmitBlocksUntilWorkerAvailable() throws Exception {
+		pool = new HeadlessWorkerPool(1, 100);
+		CountDownLatch release = new CountDownLatch(1);
+		CountDownLatch secondStarted = new CountDownLatch(1);
+
+		pool.submit(newResult(), () -> {
+			try {
+				release.await();
+			}
+			catch (InterruptedException e) {
+				// done
+			}
+		});
+
+		Thread submitter = new Thread(() -> {
+			try {
+				pool.submit(newResult(), secondStarted::countDown);
+			}
+			catch (Exception e) {
+				// fails the test below
+			}
+		});
+		submitter.start();
+
+		assertFalse(secondStarted.await(200, TimeUnit.MILLISECONDS));
+		release.countDown();
+		assertTrue(secondStarted.await(5, TimeUnit.SECONDS));
+		submitter.join();
+		pool.waitForAll();
+	}
+
+	@Test
+	public void testTaskAdmittedWhenIdleDespiteHeapLimit() throws Exception {
+		// a 1% heap limit can never be satisfied, but an idle pool must still make progress
+		pool = new HeadlessWorkerPool(2, 1);
+		AtomicInteger completed = new AtomicInteger();
+		for (int i = 0; i < 3; i++) {
+			pool.submit(newResult(), completed::incrementAndGet);
+		}
+		pool.waitForAll();
+		assertEquals(3, completed.get());
+	}
+
+	@Test
+	public void testTaskExceptionDoesNotStopPool() throws Exception {
+		pool = new HeadlessWorkerPool(2, 100);
+		AtomicInteger completed = new AtomicInteger();
+		FileResult failedResult = newResult();
+		pool.submit(failedResult, () -> {
+			// the file was imported, but processing failed afterwards
+			failedResult.start();
+			failedResult.finish(true);
+			throw new RuntimeException("expected");
+		});
+		pool.waitForAll();
+		assertFalse(failedResult.succeeded);
+
+		FileResult result = newResult();
+		pool.submit(result, () -> {
+			result.start();
+			completed.incrementAndGet();
+			result.finish(true);
+		});
+		pool.waitForAll();
+		assertEquals(1, completed.get());
+		assertTrue(result.succeeded);
+	}
+
+	private FileResult newResult() throws MalformedURLException {
+		return summary.addFile(FSRL.fromString("file:///test/file"), "/");
+	}
+}
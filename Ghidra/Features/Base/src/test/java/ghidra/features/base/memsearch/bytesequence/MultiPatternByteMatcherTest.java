@@ -0,0 +1,164 @@
+/* ###
+ * IP: GHIDRA
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ghidra.features.base.memsearch.bytesequence;
+
+import static org.junit.Assert.*;
+
+import java.util.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import ghidra.features.base.memsearch.matcher.ByteMatcher.ByteMatch;
+import ghidra.features.base.memsearch.matcher.MaskedByteSequenceByteMatcher;
+import ghidra.features.base.memsearch.matcher.MultiPatternByteMatcher;
+
+public class MultiPatternByteMatcherTest {
+
+	private ExtendedByteSequence byteSequence;
+
+	@Before
+	public void setUp() {
+
+		ByteSequence main = new ByteArrayByteSequence(makeBytes(1, 2, 3, 2, 4, 5, 2, 6, 2, 3, 2));
+		ByteSequence extra = new ByteArrayByteSequence(makeBytes(4, 1, 1, 3, 2, 4));
+
+		byteSequence = new ExtendedByteSequence(main, extra, 100);
+	}
+
+	@Test
+	public void testMultiplePatterns() {
+		MaskedByteSequenceByteMatcher p1 = pattern(makeBytes(3, 2, 4), null);
+		MaskedByteSequenceByteMatcher p2 = pattern(makeBytes(2, 3), null);
+		MaskedByteSequenceByteMatcher p3 = pattern(makeBytes(7, 7), null);
+		MultiPatternByteMatcher matcher = matcher(p1, p2, p3);
+
+		Iterator<ByteMatch> it = matcher.match(byteSequence).iterator();
+
+		assertEquals(new ByteMatch(1, 2, p2), it.next());
+		assertEquals(new ByteMatch(2, 3, p1), it.next());
+		assertEquals(new ByteMatch(8, 2, p2), it.next());
+		assertEquals(new ByteMatch(9, 3, p1), it.next());
+		assertFalse(it.hasNext());
+	}
+
+	@Test
+	public void testOverlappingAndNestedPatterns() {
+		// one pattern is a suffix of another, so it must be found via the failure links
+		MaskedByteSequenceByteMatcher p1 = pattern(makeBytes(2, 6, 2, 3), null);
+		MaskedByteSequenceByteMatcher p2 = pattern(makeBytes(2, 3), null);
+		MultiPatternByteMatcher matcher = matcher(p1, p2);
+
+		Iterator<ByteMatch> it = matcher.match(byteSequence).iterator();
+
+		assertEquals(new ByteMatch(1, 2, p2), it.next());
+		assertEquals(new ByteMatch(6, 4, p1), it.next());
+		assertEquals(new ByteMatch(8, 2, p2), it.next());
+		assertFalse(it.hasNext());
+	}
+
+	@Test
+	public void testMaskedPatterns() {
+		// anchored on the trailing unmasked byte
+		MaskedByteSequenceByteMatcher p1 =
+			pattern(makeBytes(2, 0, 2), makeBytes(0xff, 0x00, 0xff));
+		// no fully unmasked bytes at all
+		MaskedByteSequenceByteMatcher p2 = pattern(makeBytes(0, 4), makeBytes(0x00, 0x0f));
+		MultiPatternByteMatcher matcher = matcher(p1, p2);
+
+		Iterator<ByteMatch> it = matcher.match(byteSequence).iterator();
+
+		assertEquals(new ByteMatch(1, 3, p1), it.next());
+		assertEquals(new ByteMatch(3, 2, p2), it.next());
+		assertEquals(new ByteMatch(6, 3, p1), it.next());
+		assertEquals(new ByteMatch(8, 3, p1), it.next());
+		assertEquals(new ByteMatch(10, 2, p2), it.next());
+		assertFalse(it.hasNext());
+	}
+
+	@Test
+	public void testMatchesSameAsIndividualMatchers() {
+		Random random = new Random(1);
+		byte[] mainBytes = randomBytes(random, 2000);
+		byte[] extraBytes = randomBytes(random, 200);
+		ExtendedByteSequence sequence = new ExtendedByteSequence(
+			new ByteArrayByteSequence(mainBytes), new ByteArrayByteSequence(extraBytes), 100);
+
+		List<MaskedByteSequenceByteMatcher> patterns = new ArrayList<>();
+		for (int i = 0; i < 100; i++) {
+			// take patterns from the data to guarantee some hits
+			int length = 1 + random.nextInt(4);
+			int start = random.nextInt(mainBytes.length - length);
+			byte[] searchBytes = Arrays.copyOfRange(mainBytes, start, start + length);
+			byte[] masks = new byte[length];
+			for (int j = 0; j < length; j++) {
+				masks[j] = random.nextInt(4) == 0 ? (byte) 0xf0 : (byte) 0xff;
+				searchBytes[j] &= masks[j];
+			}
+			patterns.add(pattern(searchBytes, masks));
+		}
+
+		List<int[]> hits = new ArrayList<>();
+		for (int i = 0; i < patterns.size(); i++) {
+			for (ByteMatch match : patterns.get(i).match(sequence)) {
+				hits.add(new int[] { match.start(), i });
+			}
+		}
+		hits.sort(Comparator.<int[]> comparingInt(h -> h[0]).thenComparingInt(h -> h[1]));
+		List<ByteMatch> expected = new ArrayList<>();
+		for (int[] hit : hits) {
+			MaskedByteSequenceByteMatcher pattern = patterns.get(hit[1]);
+			expected.add(new ByteMatch(hit[0], pattern.getBytes().length, pattern));
+		}
+
+		List<ByteMatch> actual = new ArrayList<>();
+		new MultiPatternByteMatcher("", patterns, null).match(sequence).forEach(actual::add);
+		assertEquals(expected, actual);
+	}
+
+	@Test
+	public void testGetDescription() {
+		MultiPatternByteMatcher matcher =
+			matcher(pattern(makeBytes(1, 2), null), pattern(makeBytes(0xaa), null));
+		assertEquals("2 patterns", matcher.getDescription());
+		assertEquals("01 02\naa", matcher.getToolTip());
+	}
+
+	private MultiPatternByteMatcher matcher(MaskedByteSequenceByteMatcher... patterns) {
+		return new MultiPatternByteMatcher("", List.of(patterns), null);
+	}
+
+	private MaskedByteSequenceByteMatcher pattern(byte[] searchBytes, byte[] masks) {
+		return new MaskedByteSequenceByteMatcher("", searchBytes, masks, null);
+	}
+
+	private static byte[] randomBytes(Random random, int length) {
+		byte[] bytes = new byte[length];
+		for (int i = 0; i < length; i++) {
+			// use a small alphabet so that patterns match often
+			bytes[i] = (byte) (random.nextInt(4) * 0x11);
+		}
+		return bytes;
+	}
+
+	private static byte[] makeBytes(int... byteValues) {
+		byte[] bytes = new byte[byteValues.length];
+		for (int i = 0; i < bytes.length; i++) {
+			bytes[i] = (byte) byteValues[i];
+		}
+		return bytes;
+	}
+}
@@ -24,8 +24,7 @@ import org.junit.Test;
 
 import ghidra.features.base.memsearch.bytesource.AddressableByteSource;
 import ghidra.features.base.memsearch.bytesource.SearchRegion;
-import ghidra.features.base.memsearch.matcher.ByteMatcher;
-import ghidra.features.base.memsearch.matcher.RegExByteMatcher;
+import ghidra.features.base.memsearch.matcher.*;
 import ghidra.program.model.address.*;
 import ghidra.util.datastruct.Accumulator;
 import ghidra.util.datastruct.ListAccumulator;
@@ -222,6 +221,104 @@ public class MemSearcherTest {
 		assertMatch(312, "bob", it.next());
 	}
 
+	@Test
+	public void testFindAllMultiplePatterns() {
+		bytes = new TestByteSource(addr(0), "xbob xxxb obxx joex xxbo b");
+		MaskedByteSequenceByteMatcher bob =
+			new MaskedByteSequenceByteMatcher("bob", bytes("bob"), null);
+		MaskedByteSequenceByteMatcher joe =
+			new MaskedByteSequenceByteMatcher("joe", bytes("joe"), null);
+		ByteMatcher matcher = new MultiPatternByteMatcher("bob joe", List.of(bob, joe), null);
+		MemorySearcher searcher =
+			new MemorySearcher(bytes, matcher, addrs(), SEARCH_LIMIT, TINY_CHUNK_SIZE);
+		searcher.findAll(accumulator, monitor);
+		assertEquals(4, accumulator.size());
+		Iterator<MemoryMatch> it = accumulator.iterator();
+		assertMatch(1, "bob", bob, it.next());
+		assertMatch(7, "bob", bob, it.next());
+		assertMatch(12, "joe", joe, it.next());
+		assertMatch(18, "bob", bob, it.next());
+	}
+
+	@Test
+	public void testFindAllInParallelMultipleRanges() {
+		bytes = new TestByteSource(addr(0), "xbobxxxx");
+		bytes.addBytes(addr(100), "bobxxxxxx");
+		bytes.addBytes(addr(200), "xxxxxx");
+		bytes.addBytes(addr(300), "xxxx xxbo bxxx bob");
+		MemorySearcher searcher =
+			new MemorySearcher(bytes, bobMatcher, addrs(), SEARCH_LIMIT, TINY_CHUNK_SIZE);
+		assertTrue(searcher.findAllInParallel(accumulator, monitor));
+		assertEquals(4, accumulator.size());
+		Iterator<MemoryMatch> it = accumulator.iterator();
+		assertMatch(1, "bob", it.next());
+		assertMatch(100, "bob", it.next());
+		assertMatch(306, "bob", it.next());
+		assertMatch(312, "bob", it.next());
+	}
+
+	@Test
+	public void testFindAllInParallelSameAsSequential() {
+		StringBuilder buf = new StringBuilder();
+		Random random = new Random(1);
+		for (int i = 0; i < 5000; i++) {
+			buf.append(random.nextInt(3) == 0 ? 'b' : 'o');
+		}
+		bytes = new TestByteSource(addr(0), buf.toString());
+		bytes.addBytes(addr(10000), buf.reverse().toString());
+
+		MemorySearcher searcher =
+			new MemorySearcher(bytes, bobMatcher, addrs(), Integer.MAX_VALUE, 64);
+		searcher.setMatchFilter(r -> r.getAddress().getOffset() % 3 != 0);
+		ListAccumulator<MemoryMatch> expected = new ListAccumulator<>();
+		assertTrue(searcher.findAll(expected, monitor));
+		ListAccumulator<MemoryMatch> actual = new ListAccumulator<>();
+		assertTrue(searcher.findAllInParallel(actual, monitor));
+
+		assertTrue(expected.size() > 0);
+		assertEquals(expected.asList(), actual.asList());
+	}
+
+	@Test
+	public void testFindAllInParallelStopsAtSearchLimit() {
+		bytes = new TestByteSource(addr(0), "bob".repeat(1000));
+		MemorySearcher searcher =
+			new MemorySearcher(bytes, bobMatcher, addrs(), SEARCH_LIMIT, TINY_CHUNK_SIZE);
+		assertFalse(searcher.findAllInParallel(accumulator, monitor));
+		assertEquals(SEARCH_LIMIT, accumulator.size());
+		Iterator<MemoryMatch> it = accumulator.iterator();
+		for (int i = 0; i < SEARCH_LIMIT; i++) {
+			assertMatch(i * 3, "bob", it.next());
+		}
+	}
+
+	@Test
+	public void testCanSearchInParallel() {
+		bytes = new TestByteSource(addr(0), "xbobx");
+		assertTrue(new MemorySearcher(bytes, bobMatcher, addrs(), SEARCH_LIMIT)
+				.canSearchInParallel());
+
+		bytes.threadSafe = false;
+		assertFalse(new MemorySearcher(bytes, bobMatcher, addrs(), SEARCH_LIMIT)
+				.canSearchInParallel());
+	}
+
+	@Test
+	public void testSearchAddressesRefreshedForEachSearch() {
+		bytes = new TestByteSource(addr(0), "xbobxxxxbob");
+		bytes.searchAddresses = new AddressSet(addr(0), addr(4));
+		MemorySearcher searcher = new MemorySearcher(bytes, bobMatcher, addrs(), SEARCH_LIMIT);
+		assertTrue(searcher.findAll(accumulator, monitor));
+		assertEquals(1, accumulator.size());
+
+		// the byte source's index changed, such as after the bytes were modified
+		bytes.searchAddresses = null;
+		ListAccumulator<MemoryMatch> secondSearch = new ListAccumulator<>();
+		assertTrue(searcher.findAll(secondSearch, monitor));
+		assertEquals(2, secondSearch.size());
+		assertMatch(8, "bob", secondSearch.asList().get(1));
+	}
+
 	@Test
 	public void testNextWithFilter() {
 		bytes = new TestByteSource(addr(0), "xxbobxxxbob");
@@ -270,6 +367,12 @@ public class MemSearcherTest {
 		assertEqualBytes(bytes(matchString), match.getBytes());
 	}
 
+	private void assertMatch(int address, String matchString, ByteMatcher matcher,
+			MemoryMatch match) {
+		assertMatch(address, matchString, match);
+		assertSame(matcher, match.getByteMatcher());
+	}
+
 	private void assertEqualBytes(byte[] bytes1, byte[] bytes2) {
 		assertEquals(bytes1.length, bytes2.length);
 		for (int i = 0; i < bytes1.length; i++) {
@@ -286,6 +389,8 @@ public class MemSearcherTest {
 	private class TestByteSource implements AddressableByteSource {
 		private AddressSet set = new AddressSet();
 		private Map<Address, byte[]> map = new HashMap<>();
+		private boolean threadSafe = true;
+		private AddressSetView searchAddresses;
 
 		TestByteSource(Address address, String data) {
 			addBytes(address, data);
@@ -329,6 +434,16 @@ public class MemSearcherTest {
 		public void invalidate() {
 			// ignore
 		}
+
+		@Override
+		public boolean isThreadSafe() {
+			return threadSafe;
+		}
+
+		@Override
+		public AddressSetView getSearchAddresses(AddressSetView addresses, ByteMatcher matcher) {
+			return searchAddresses == null ? addresses : searchAddresses;
+		}
 	}
 
 	private Address addr(long offset) {
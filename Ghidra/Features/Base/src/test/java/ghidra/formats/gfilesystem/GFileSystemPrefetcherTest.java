@@ -0,0 +1,124 @@
+/* ###
+ * IP: GHIDRA
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ghidra.formats.gfilesystem;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import generic.test.AbstractGenericTest;
+import ghidra.app.util.bin.ByteProvider;
+import ghidra.formats.gfilesystem.FileCache.FileCacheEntry;
+import ghidra.formats.gfilesystem.GFileSystemPrefetcher.PrefetchedFile;
+import ghidra.util.exception.CancelledException;
+import ghidra.util.task.TaskMonitor;
+import ghidra.util.task.TaskMonitorAdapter;
+import utilities.util.FileUtilities;
+
+public class GFileSystemPrefetcherTest extends AbstractGenericTest {
+
+	private File testDir;
+	private FileSystemService fsService;
+	private LocalFileSystem localFS;
+	private GFile startDir;
+
+	@Before
+	public void setup() throws IOException {
+		File tmpDir = createTempDirectory("prefetcher_test");
+		fsService = new FileSystemService(new File(tmpDir, "cache"));
+		localFS = fsService.getLocalFS();
+
+		testDir = new File(tmpDir, "files");
+		File subDir = new File(testDir, "subdir");
+		FileUtilities.checkedMkdirs(subDir);
+		for (int i = 0; i < 10; i++) {
+			FileUtilities.writeStringToFile(new File(i < 5 ? testDir : subDir, "file" + i),
+				"contents " + i);
+		}
+		startDir = localFS.lookup(testDir.getPath());
+	}
+
+	@Test
+	public void testPrefetchAllFiles() throws IOException, CancelledException {
+		List<FSRL> expected = new ArrayList<>();
+		for (GFile file : localFS.files(startDir)) {
+			expected.add(fsService.getFullyQualifiedFSRL(file.getFSRL(), TaskMonitor.DUMMY));
+		}
+		assertEquals(10, expected.size());
+
+		List<FSRL> results = new ArrayList<>();
+		// small read-ahead forces the prefetch thread to wait for the consumer
+		try (GFileSystemPrefetcher prefetcher =
+			new GFileSystemPrefetcher(fsService, localFS, startDir, 2, TaskMonitor.DUMMY)) {
+			PrefetchedFile prefetched;
+			while ((prefetched = prefetcher.next()) != null) {
+				assertNull(prefetched.error());
+				results.add(prefetched.fqFSRL());
+			}
+			assertNull(prefetcher.next());
+		}
+		assertEquals(expected, results);
+		for (FSRL fsrl : results) {
+			assertNotNull(fsrl.getMD5());
+		}
+	}
+
+	@Test
+	public void testCacheFileContents() throws IOException, CancelledException {
+		GFile file = localFS.lookup(new File(testDir, "file0").getPath());
+		FSRL fqFSRL = fsService.getFullyQualifiedFSRL(file.getFSRL(), TaskMonitor.DUMMY);
+
+		FileCacheEntry cacheEntry =
+			fsService.cacheFileContents(localFS, file, fqFSRL, TaskMonitor.DUMMY);
+		assertEquals(fqFSRL.getMD5(), cacheEntry.getMD5());
+
+		// the cached bytes are returned without going back to the filesystem
+		try (ByteProvider bp = fsService.getByteProvider(fqFSRL, false, TaskMonitor.DUMMY)) {
+			assertFalse(bp instanceof RefdByteProvider);
+			assertEquals("contents 0", new String(bp.readBytes(0, bp.length())));
+		}
+	}
+
+	@Test
+	public void testCloseBeforeFinished() throws IOException, CancelledException {
+		try (GFileSystemPrefetcher prefetcher =
+			new GFileSystemPrefetcher(fsService, localFS, startDir, 1, TaskMonitor.DUMMY)) {
+			assertNotNull(prefetcher.next());
+		}
+	}
+
+	@Test
+	public void testCancel() throws IOException {
+		TaskMonitorAdapter monitor = new TaskMonitorAdapter(true);
+		try (GFileSystemPrefetcher prefetcher =
+			new GFileSystemPrefetcher(fsService, localFS, startDir, 1, monitor)) {
+			monitor.cancel();
+			while (prefetcher.next() != null) {
+				// consume files that were prefetched before cancel
+			}
+			fail();
+		}
+		catch (CancelledException e) {
+			// expected
+		}
+	}
+}
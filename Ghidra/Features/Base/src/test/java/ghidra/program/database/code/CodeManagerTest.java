@@ -18,12 +18,14 @@ package ghidra.program.database.code;
 import static org.junit.Assert.*;
 
 import java.math.BigInteger;
-import java.util.Iterator;
+import java.util.*;
 
 import org.junit.*;
 
 import generic.test.AbstractGenericTest;
 import generic.theme.GThemeDefaults.Colors.Palette;
+import ghidra.app.util.PseudoInstruction;
+import ghidra.framework.model.DomainObjectListener;
 import ghidra.program.database.ProgramDB;
 import ghidra.program.model.address.*;
 import ghidra.program.model.data.*;
@@ -35,6 +37,8 @@ import ghidra.program.model.symbol.RefType;
 import ghidra.program.model.symbol.Reference;
 import ghidra.program.model.util.CodeUnitInsertionException;
 import ghidra.program.model.util.PropertyMap;
+import ghidra.program.util.ProgramChangeRecord;
+import ghidra.program.util.ProgramEvent;
 import ghidra.test.ToyProgramBuilder;
 import ghidra.util.Lock;
 import ghidra.util.SaveableColor;
@@ -1036,6 +1040,93 @@ public class CodeManagerTest extends AbstractGenericTest {
 		}
 	}
 
+	@Test
+	public void testAddInstructionsInBulk() throws Exception {
+
+		for (int i = 0; i < 0x10; i++) {
+			builder.addBytesFallthrough(0x1000 + (2 * i));
+			builder.addBytesFallthrough(0x1100 + (2 * i));
+		}
+
+		InstructionSet instructionSet = new InstructionSet(program.getAddressFactory());
+		instructionSet.addBlock(createBlock(addr(0x1000), 0x10));
+		instructionSet.addBlock(createBlock(addr(0x1020), 0x10));
+		instructionSet.addBlock(createBlock(addr(0x1100), 0x10));
+
+		AddressSetView addedSet = listing.addInstructionsInBulk(instructionSet, false);
+
+		AddressSet expectedSet = new AddressSet(addr(0x1000), addr(0x103f));
+		expectedSet.add(addr(0x1100), addr(0x111f));
+		assertEquals(expectedSet, addedSet);
+		assertEquals(0x30, listing.getNumInstructions());
+
+		Instruction inst = listing.getInstructionAt(addr(0x1020));
+		assertNotNull(inst);
+		assertEquals("imm r0,#0x0", inst.toString());
+		assertEquals(addr(0x1022), inst.getFallThrough());
+
+		// adding the same instructions again should report duplicates and add nothing
+		instructionSet = new InstructionSet(program.getAddressFactory());
+		instructionSet.addBlock(createBlock(addr(0x1000), 0x10));
+		addedSet = listing.addInstructionsInBulk(instructionSet, false);
+		assertTrue(addedSet.isEmpty());
+		assertEquals(0x30, listing.getNumInstructions());
+	}
+
+	@Test
+	public void testAddInstructionsInBulkCombinesEvents() throws Exception {
+
+		for (int i = 0; i < 0x10; i++) {
+			builder.addBytesFallthrough(0x1000 + (2 * i));
+			builder.addBytesFallthrough(0x1100 + (2 * i));
+			builder.addBytesFallthrough(0x1200 + (2 * i));
+		}
+
+		program.flushEvents();
+		List<AddressRange> addedRanges = new ArrayList<>();
+		DomainObjectListener listener = ev -> ev.forEach(ProgramEvent.CODE_ADDED, rec -> {
+			ProgramChangeRecord programRec = (ProgramChangeRecord) rec;
+			addedRanges.add(new AddressRangeImpl(programRec.getStart(), programRec.getEnd()));
+		});
+		program.addListener(listener);
+
+		// the normal insert fires one event per instruction block
+		InstructionSet instructionSet = new InstructionSet(program.getAddressFactory());
+		instructionSet.addBlock(createBlock(addr(0x1000), 0x8));
+		instructionSet.addBlock(createBlock(addr(0x1010), 0x8));
+		listing.addInstructions(instructionSet, false);
+		program.flushEvents();
+		assertEquals(List.of(new AddressRangeImpl(addr(0x1000), addr(0x100f)),
+			new AddressRangeImpl(addr(0x1010), addr(0x101f))), addedRanges);
+
+		// the bulk insert fires one event per contiguous range added
+		addedRanges.clear();
+		instructionSet = new InstructionSet(program.getAddressFactory());
+		instructionSet.addBlock(createBlock(addr(0x1100), 0x8));
+		instructionSet.addBlock(createBlock(addr(0x1110), 0x8));
+		instructionSet.addBlock(createBlock(addr(0x1200), 0x10));
+		listing.addInstructionsInBulk(instructionSet, false);
+		program.flushEvents();
+		assertEquals(List.of(new AddressRangeImpl(addr(0x1100), addr(0x111f)),
+			new AddressRangeImpl(addr(0x1200), addr(0x121f))), addedRanges);
+
+		program.removeListener(listener);
+	}
+
+	private InstructionBlock createBlock(Address startAddr, int count) throws Exception {
+		InstructionBlock block = new InstructionBlock(startAddr);
+		Address addr = startAddr;
+		for (int i = 0; i < count; i++) {
+			MemBuffer buf = new DumbMemBufferImpl(mem, addr);
+			ProcessorContext context =
+				new ProgramProcessorContext(program.getProgramContext(), addr);
+			InstructionPrototype proto = program.getLanguage().parse(buf, context, false);
+			block.addInstruction(new PseudoInstruction(program, addr, proto, buf, context));
+			addr = addr.add(proto.getLength());
+		}
+		return block;
+	}
+
 	private Address addr(long l) {
 		return space.getAddress(l);
 	}
@@ -0,0 +1,122 @@
+/* ###
+ * IP: GHIDRA
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ghidra.program.database.symbol;
+
+import static org.junit.Assert.*;
+
+import java.util.*;
+
+import org.junit.*;
+
+import ghidra.program.database.ProgramDB;
+import ghidra.program.model.data.DataType;
+import ghidra.program.model.listing.Function;
+import ghidra.program.model.symbol.*;
+import ghidra.test.AbstractGhidraHeadlessIntegrationTest;
+import ghidra.test.ToyProgramBuilder;
+
+public class SymbolNameIndexTest extends AbstractGhidraHeadlessIntegrationTest {
+
+	private ToyProgramBuilder builder;
+	private ProgramDB program;
+	private SymbolTable symbolTable;
+
+	@Before
+	public void setUp() throws Exception {
+		System.setProperty(SymbolManager.NAME_INDEX_PROPERTY, "true");
+
+		builder = new ToyProgramBuilder("SymbolNameIndexTest", false);
+		builder.createMemory("test", "0x0", 0x2000);
+		builder.createLabel("0x100", "alphaBravo");
+		builder.createLabel("0x110", "AlphaCharlie");
+		builder.createLabel("0x120", "deltaEcho");
+		builder.createLabel("0x130", "echo*star");
+		program = builder.getProgram();
+		symbolTable = program.getSymbolTable();
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		System.clearProperty(SymbolManager.NAME_INDEX_PROPERTY);
+		builder.dispose();
+	}
+
+	@Test
+	public void testSearch() {
+		assertEquals(List.of("alphaBravo"), search("alpha*", true));
+		assertEquals(List.of("alphaBravo", "AlphaCharlie"), search("alpha*", false));
+		assertEquals(List.of("deltaEcho", "echo*star"), search("*echo*", false));
+		assertEquals(List.of("echo*star"), search("echo\\*s?ar", true));
+		assertEquals(List.of(), search("*zulu*", false));
+	}
+
+	@Test
+	public void testSearchAfterRename() throws Exception {
+		assertEquals(List.of("deltaEcho"), search("delta*", true));
+
+		Symbol symbol = symbolTable.getGlobalSymbols("deltaEcho").get(0);
+		builder.withTransaction(() -> {
+			try {
+				symbol.setName("foxtrotGolf", SourceType.USER_DEFINED);
+			}
+			catch (Exception e) {
+				failWithException("Unexpected exception", e);
+			}
+		});
+
+		assertEquals(List.of(), search("delta*", true));
+		assertEquals(List.of("foxtrotGolf"), search("*trot*", true));
+	}
+
+	@Test
+	public void testSearchAfterAddAndRemove() throws Exception {
+		assertEquals(List.of("alphaBravo"), search("*bravo", false));
+
+		builder.createLabel("0x140", "hotelBravo");
+		Symbol symbol = symbolTable.getGlobalSymbols("alphaBravo").get(0);
+		builder.withTransaction(() -> symbol.delete());
+
+		assertEquals(List.of("hotelBravo"), search("*bravo", false));
+	}
+
+	@Test
+	public void testSearchDefaultFunctionName() throws Exception {
+		Function function =
+			builder.createEmptyFunction(null, "0x200", 10, DataType.DEFAULT);
+		String name = function.getName();
+		assertTrue(name.startsWith("FUN_"));
+
+		assertEquals(List.of(name), search("FUN_*200", true));
+	}
+
+	@Test
+	public void testGetLiterals() {
+		assertEquals(List.of("abc", "de"), SymbolNameIndex.getLiterals("*abc?de*"));
+		assertEquals(List.of("a*b", "c"), SymbolNameIndex.getLiterals("a\\*b*c"));
+		assertEquals(List.of(), SymbolNameIndex.getLiterals("**"));
+
+		assertTrue(SymbolNameIndex.isIndexable("*abc*"));
+		assertFalse(SymbolNameIndex.isIndexable("ab*cd"));
+	}
+
+	private List<String> search(String query, boolean caseSensitive) {
+		List<String> names = new ArrayList<>();
+		for (Symbol symbol : symbolTable.getSymbolIterator(query, caseSensitive)) {
+			names.add(symbol.getName());
+		}
+		return names;
+	}
+}
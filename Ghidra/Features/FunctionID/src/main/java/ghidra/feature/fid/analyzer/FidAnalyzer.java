@@ -20,6 +20,7 @@ import ghidra.app.plugin.core.analysis.AutoAnalysisManager;
 import ghidra.app.services.*;
 import ghidra.app.util.importer.MessageLog;
 import ghidra.feature.fid.cmd.ApplyFidEntriesCommand;
+import ghidra.feature.fid.service.FidSearchCache;
 import ghidra.feature.fid.service.FidService;
 import ghidra.framework.options.Options;
 import ghidra.program.model.address.AddressSetView;
@@ -72,6 +73,17 @@ public class FidAnalyzer extends AbstractAnalyzer {
 			"this secondary threshold in order to be labeled by the analyzer";
 	private float multiScoreThreshold;
 
+	public static final String INCREMENTAL_SEARCH_OPTION_NAME = "Incremental Search";
+	private static final String INCREMENTAL_SEARCH_OPTION_DESCRIPTION =
+		"If checked, when the analyzer runs again it only searches for the functions whose " +
+			"hashes, or the hashes of their callers and callees, have changed since it last ran. " +
+			"The previous matches are used for all other functions.";
+	private static final boolean INCREMENTAL_SEARCH_DEFAULT = true;
+	private boolean incrementalSearch = INCREMENTAL_SEARCH_DEFAULT;
+
+	// the results of the last search of the program, used by incremental searches
+	private FidSearchCache searchCache = new FidSearchCache();
+
 //==================================================================================================
 // Old Option Names - Should stick around for multiple major versions after 10.2
 //==================================================================================================
@@ -135,8 +147,12 @@ public class FidAnalyzer extends AbstractAnalyzer {
 		}
 
 		ApplyFidEntriesCommand cmd;
+		if (!incrementalSearch) {
+			searchCache.clear();
+		}
 		cmd = new ApplyFidEntriesCommand(set, scoreThreshold, multiScoreThreshold,
-			alwaysApplyFidLabels, createBookmarksEnabled);
+			alwaysApplyFidLabels, createBookmarksEnabled,
+			incrementalSearch ? searchCache : null);
 		cmd.applyTo(program, monitor);
 
 		// Name Change can change the nature of a function from a system
@@ -175,6 +191,8 @@ public class FidAnalyzer extends AbstractAnalyzer {
 			APPLY_ALL_FID_LABELS_OPTION_DESCRIPTION);
 		options.registerOption(OPTION_NAME_CREATE_BOOKMARKS, createBookmarksEnabled, null,
 			OPTION_DESCRIPTION_CREATE_BOOKMARKS);
+		options.registerOption(INCREMENTAL_SEARCH_OPTION_NAME, INCREMENTAL_SEARCH_DEFAULT, null,
+			INCREMENTAL_SEARCH_OPTION_DESCRIPTION);
 	}
 
 	@Override
@@ -192,6 +210,8 @@ public class FidAnalyzer extends AbstractAnalyzer {
 			options.getBoolean(APPLY_ALL_FID_LABELS_OPTION_NAME, APPLY_ALL_FID_LABELS_DEFAULT);
 		createBookmarksEnabled =
 			options.getBoolean(OPTION_NAME_CREATE_BOOKMARKS, createBookmarksEnabled);
+		incrementalSearch =
+			options.getBoolean(INCREMENTAL_SEARCH_OPTION_NAME, INCREMENTAL_SEARCH_DEFAULT);
 	}
 
 }
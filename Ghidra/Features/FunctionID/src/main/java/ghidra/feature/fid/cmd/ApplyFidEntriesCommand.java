@@ -46,14 +46,34 @@ public class ApplyFidEntriesCommand extends BackgroundCommand<Program> {
 	private float scoreThreshold;
 	private float multiNameScoreThreshold;
 	private boolean createBookmarksEnabled;
+	private FidSearchCache searchCache;
 
 	public ApplyFidEntriesCommand(AddressSetView set, float scoreThreshold, float multiThreshold,
 			boolean alwaysApplyFidLabels, boolean createBookmarksEnabled) {
+		this(set, scoreThreshold, multiThreshold, alwaysApplyFidLabels, createBookmarksEnabled,
+			null);
+	}
+
+	/**
+	 * Constructor for a command that only searches for the functions that have changed since
+	 * the search that produced the given cache (see {@link FidSearchCache})
+	 * @param set the address set being analyzed
+	 * @param scoreThreshold the score a match must meet to be applied
+	 * @param multiThreshold the score each of multiple conflicting matches must meet
+	 * @param alwaysApplyFidLabels true to apply labels even if user or imported labels exist
+	 * @param createBookmarksEnabled true to create bookmarks for the matched functions
+	 * @param searchCache the results of the previous search of the program, or null to search
+	 * all functions
+	 */
+	public ApplyFidEntriesCommand(AddressSetView set, float scoreThreshold, float multiThreshold,
+			boolean alwaysApplyFidLabels, boolean createBookmarksEnabled,
+			FidSearchCache searchCache) {
 		super("ApplyFidEntriesCommand", true, true, false);
 		this.scoreThreshold = scoreThreshold;
 		this.multiNameScoreThreshold = multiThreshold;
 		this.alwaysApplyFidLabels = alwaysApplyFidLabels;
 		this.createBookmarksEnabled = createBookmarksEnabled;
+		this.searchCache = searchCache;
 	}
 
 	@Override
@@ -68,7 +88,8 @@ public class ApplyFidEntriesCommand extends BackgroundCommand<Program> {
 
 			monitor.setMessage("FID Analysis");
 			List<FidSearchResult> processProgram =
-				service.processProgram(program, fidQueryService, scoreThreshold, monitor);
+				service.processProgram(program, fidQueryService, scoreThreshold, searchCache,
+					monitor);
 			if (processProgram == null) {
 				return false;
 			}
@@ -44,6 +44,7 @@ public class FidDB implements Closeable {
 	private StringsTable stringsTable;
 	private FunctionsTable functionsTable;
 	private RelationsTable relationsTable;
+	private volatile FidHashFilter hashFilter;
 	private long openTransaction;
 
 	private boolean openForUpdate;
@@ -150,6 +151,26 @@ public class FidDB implements Closeable {
 		relationsTable = new RelationsTable(handle);
 	}
 
+	/**
+	 * Attaches the filter that answers hash lookups for hashes that are not in this database
+	 * without searching the functions table.  The filter is mapped from the user cache
+	 * directory, or built and saved there if this version of the database has not been seen
+	 * before.  Does nothing if this database is open for update, since the filter would not
+	 * reflect new functions.
+	 */
+	void attachHashFilter() {
+		if (openForUpdate || hashFilter != null || functionsTable == null) {
+			return;
+		}
+		try {
+			hashFilter = FidHashFilter.load(fidFile.getFile(), FidHashFilter.getCacheDirectory(),
+				functionsTable);
+		}
+		catch (IOException e) {
+			Msg.error(this, "Serious problem building FID hash filter", e);
+		}
+	}
+
 	/**
 	 * @return name of underlying FidFile.
 	 */
@@ -202,6 +223,7 @@ public class FidDB implements Closeable {
 			librariesTable = null;
 			stringsTable = null;
 			functionsTable = null;
+			hashFilter = null;
 			relationsTable = null;
 		}
 	}
@@ -326,6 +348,10 @@ public class FidDB implements Closeable {
 	 * @return a list of function records that match the hash value
 	 */
 	public List<FunctionRecord> findFunctionsBySpecificHash(long specificHash) {
+		FidHashFilter filter = hashFilter;
+		if (filter != null && !filter.containsSpecificHash(specificHash)) {
+			return Collections.emptyList();
+		}
 		try {
 			List<FunctionRecord> list =
 				functionsTable.getFunctionRecordsBySpecificHash(specificHash);
@@ -343,6 +369,10 @@ public class FidDB implements Closeable {
 	 * @return a list of function records that match the hash value
 	 */
 	public List<FunctionRecord> findFunctionsByFullHash(long fullHash) {
+		FidHashFilter filter = hashFilter;
+		if (filter != null && !filter.containsFullHash(fullHash)) {
+			return Collections.emptyList();
+		}
 		try {
 			List<FunctionRecord> list = functionsTable.getFunctionRecordsByFullHash(fullHash);
 			return list;
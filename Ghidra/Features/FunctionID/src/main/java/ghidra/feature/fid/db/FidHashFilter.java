@@ -0,0 +1,321 @@
+/* ###
+ * IP: GHIDRA
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ghidra.feature.fid.db;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.*;
+import java.util.Arrays;
+
+import ghidra.framework.Application;
+import ghidra.framework.OperatingSystem;
+import ghidra.framework.Platform;
+import ghidra.util.Msg;
+
+/**
+ * The sorted set of full hashes and specific hashes found in a Fid database.  Most hash lookups
+ * made while searching a program do not match any function, and the filter answers those
+ * lookups without touching the database indexes (or, for specific hashes, without scanning
+ * the whole functions table).
+ * <p>
+ * The filter is built once by reading the functions table and then saved to a file in the user
+ * cache directory, keyed by the database file's path, modification time and length.  Later
+ * attaches of the same database map that file into memory rather than reading the table again,
+ * so that several large databases can be attached without holding their hashes on the heap.
+ * On Windows, where a mapped file can't be replaced until the mapping is garbage collected, the
+ * saved file is read onto the heap instead.
+ * <p>
+ * The filter only reflects the contents of the database at the time it was built, so it must
+ * not be used with a database that is open for update.
+ */
+class FidHashFilter {
+	static final String CACHE_DIR = "fidhash";
+	static final String CACHE_FILE_EXTENSION = ".fidh";
+
+	private static final long MAGIC = 0x4649444841534831L; // "FIDHASH1"
+	private static final long VERSION = 1;
+
+	// magic, version, source modification time, source length, full count, specific count
+	private static final int HEADER_LONGS = 6;
+	private static final int HEADER_BYTES = HEADER_LONGS * Long.BYTES;
+
+	private static final boolean MAP_FILES =
+		Platform.CURRENT_PLATFORM.getOperatingSystem() != OperatingSystem.WINDOWS;
+
+	private final LongBuffer fullHashes;
+	private final LongBuffer specificHashes;
+
+	private FidHashFilter(LongBuffer fullHashes, LongBuffer specificHashes) {
+		this.fullHashes = fullHashes;
+		this.specificHashes = specificHashes;
+	}
+
+	/**
+	 * Creates a filter, held on the heap, over the given hashes
+	 * @param fullHashes the full hashes, in any order and possibly with duplicates
+	 * @param specificHashes the specific hashes, in any order and possibly with duplicates
+	 * @return the filter
+	 */
+	static FidHashFilter create(long[] fullHashes, long[] specificHashes) {
+		return new FidHashFilter(LongBuffer.wrap(sortUnique(fullHashes)),
+			LongBuffer.wrap(sortUnique(specificHashes)));
+	}
+
+	/**
+	 * Returns the filter for a database file, mapping it from the cache directory if it has
+	 * already been built for the current version of the file, or otherwise building it from
+	 * the functions table and saving it to the cache directory for next time.
+	 * @param dbFile the database file
+	 * @param cacheDir the directory in which filters are saved
+	 * @param functionsTable the functions table of the open database
+	 * @return the filter
+	 * @throws IOException if the functions table can't be read
+	 */
+	static FidHashFilter load(File dbFile, File cacheDir, FunctionsTable functionsTable)
+			throws IOException {
+		long sourceModified = dbFile.lastModified();
+		long sourceLength = dbFile.length();
+		File cacheFile = getCacheFile(dbFile, cacheDir);
+		try {
+			FidHashFilter filter = read(cacheFile, sourceModified, sourceLength);
+			if (filter != null) {
+				return filter;
+			}
+		}
+		catch (IOException e) {
+			Msg.warn(FidHashFilter.class, "Failed to read FID hash filter " + cacheFile, e);
+		}
+
+		FidHashFilter filter = functionsTable.createHashFilter();
+		try {
+			filter.write(cacheFile, sourceModified, sourceLength);
+			if (MAP_FILES) {
+				FidHashFilter mappedFilter = read(cacheFile, sourceModified, sourceLength);
+				if (mappedFilter != null) {
+					return mappedFilter;
+				}
+			}
+		}
+		catch (IOException e) {
+			Msg.warn(FidHashFilter.class, "Failed to save FID hash filter " + cacheFile, e);
+		}
+		return filter;
+	}
+
+	/**
+	 * Returns the directory in which filters are saved
+	 * @return the cache directory
+	 */
+	static File getCacheDirectory() {
+		return new File(Application.getUserCacheDirectory(), CACHE_DIR);
+	}
+
+	/**
+	 * Returns the file in which the filter for a database file is saved
+	 * @param dbFile the database file
+	 * @param cacheDir the directory in which filters are saved
+	 * @return the cache file
+	 */
+	static File getCacheFile(File dbFile, File cacheDir) {
+		String path = dbFile.getAbsolutePath();
+		String name = dbFile.getName() + "-" + Integer.toHexString(path.hashCode());
+		return new File(cacheDir, name + CACHE_FILE_EXTENSION);
+	}
+
+	/**
+	 * Reads a saved filter, mapping its hashes into memory except on Windows
+	 * @param cacheFile the saved filter
+	 * @param sourceModified the current modification time of the database file
+	 * @param sourceLength the current length of the database file
+	 * @return the filter, or null if there is no saved filter for the current version of the
+	 * database file
+	 * @throws IOException if the file can't be read
+	 */
+	static FidHashFilter read(File cacheFile, long sourceModified, long sourceLength)
+			throws IOException {
+		return read(cacheFile, sourceModified, sourceLength, MAP_FILES);
+	}
+
+	/**
+	 * Reads a saved filter
+	 * @param cacheFile the saved filter
+	 * @param sourceModified the current modification time of the database file
+	 * @param sourceLength the current length of the database file
+	 * @param map true to map the hashes into memory, false to read them onto the heap
+	 * @return the filter, or null if there is no saved filter for the current version of the
+	 * database file
+	 * @throws IOException if the file can't be read
+	 */
+	static FidHashFilter read(File cacheFile, long sourceModified, long sourceLength, boolean map)
+			throws IOException {
+		if (!cacheFile.isFile()) {
+			return null;
+		}
+		try (FileChannel channel = FileChannel.open(cacheFile.toPath(), StandardOpenOption.READ)) {
+			long size = channel.size();
+			if (size < HEADER_BYTES || size % Long.BYTES != 0 ||
+				size - HEADER_BYTES > Integer.MAX_VALUE) {
+				return null;
+			}
+			// the header is checked before mapping, so that a stale filter which is about to be
+			// replaced is not left mapped
+			ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+			readFully(channel, header, 0);
+			LongBuffer headerLongs = header.flip().asLongBuffer();
+			if (headerLongs.get(0) != MAGIC || headerLongs.get(1) != VERSION ||
+				headerLongs.get(2) != sourceModified || headerLongs.get(3) != sourceLength) {
+				return null;
+			}
+			long fullCount = headerLongs.get(4);
+			long specificCount = headerLongs.get(5);
+			if (fullCount < 0 || specificCount < 0 ||
+				HEADER_LONGS + fullCount + specificCount != size / Long.BYTES) {
+				return null;
+			}
+
+			LongBuffer hashes;
+			if (map) {
+				// the mapping remains valid after the channel is closed
+				hashes = channel.map(MapMode.READ_ONLY, HEADER_BYTES, size - HEADER_BYTES)
+						.asLongBuffer();
+			}
+			else {
+				ByteBuffer buffer = ByteBuffer.allocate((int) (size - HEADER_BYTES));
+				readFully(channel, buffer, HEADER_BYTES);
+				hashes = buffer.flip().asLongBuffer();
+			}
+			return new FidHashFilter(hashes.slice(0, (int) fullCount),
+				hashes.slice((int) fullCount, (int) specificCount));
+		}
+	}
+
+	/**
+	 * Saves this filter, replacing any filter previously saved to the same file
+	 * @param cacheFile the file to save to
+	 * @param sourceModified the modification time of the database file
+	 * @param sourceLength the length of the database file
+	 * @throws IOException if the file can't be written
+	 */
+	void write(File cacheFile, long sourceModified, long sourceLength) throws IOException {
+		File cacheDir = cacheFile.getParentFile();
+		if (!cacheDir.isDirectory() && !cacheDir.mkdirs()) {
+			throw new IOException("Failed to create directory " + cacheDir);
+		}
+		File tempFile = File.createTempFile(cacheFile.getName(), ".tmp", cacheDir);
+		try {
+			try (DataOutputStream out = new DataOutputStream(
+				new BufferedOutputStream(new FileOutputStream(tempFile)))) {
+				out.writeLong(MAGIC);
+				out.writeLong(VERSION);
+				out.writeLong(sourceModified);
+				out.writeLong(sourceLength);
+				out.writeLong(fullHashes.limit());
+				out.writeLong(specificHashes.limit());
+				writeHashes(out, fullHashes);
+				writeHashes(out, specificHashes);
+			}
+			Files.move(tempFile.toPath(), cacheFile.toPath(),
+				StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		}
+		finally {
+			tempFile.delete();
+		}
+	}
+
+	/**
+	 * Returns true if the database contains a function with the given full hash
+	 * @param fullHash the full hash
+	 * @return false if the database does not contain such a function
+	 */
+	boolean containsFullHash(long fullHash) {
+		return contains(fullHashes, fullHash);
+	}
+
+	/**
+	 * Returns true if the database contains a function with the given specific hash
+	 * @param specificHash the specific hash
+	 * @return false if the database does not contain such a function
+	 */
+	boolean containsSpecificHash(long specificHash) {
+		return contains(specificHashes, specificHash);
+	}
+
+	/**
+	 * Returns the number of distinct full hashes in the filter
+	 * @return the number of full hashes
+	 */
+	int getFullHashCount() {
+		return fullHashes.limit();
+	}
+
+	/**
+	 * Returns the number of distinct specific hashes in the filter
+	 * @return the number of specific hashes
+	 */
+	int getSpecificHashCount() {
+		return specificHashes.limit();
+	}
+
+	private static boolean contains(LongBuffer hashes, long hash) {
+		// only absolute gets are used, so the buffer may be shared by several threads
+		int low = 0;
+		int high = hashes.limit() - 1;
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			long midHash = hashes.get(mid);
+			if (midHash < hash) {
+				low = mid + 1;
+			}
+			else if (midHash > hash) {
+				high = mid - 1;
+			}
+			else {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static void readFully(FileChannel channel, ByteBuffer buffer, long position)
+			throws IOException {
+		while (buffer.hasRemaining()) {
+			if (channel.read(buffer, position + buffer.position()) < 0) {
+				throw new EOFException();
+			}
+		}
+	}
+
+	private static void writeHashes(DataOutputStream out, LongBuffer hashes) throws IOException {
+		for (int i = 0; i < hashes.limit(); i++) {
+			out.writeLong(hashes.get(i));
+		}
+	}
+
+	private static long[] sortUnique(long[] hashes) {
+		long[] sorted = hashes.clone();
+		Arrays.sort(sorted);
+		int count = 0;
+		for (int i = 0; i < sorted.length; i++) {
+			if (count == 0 || sorted[count - 1] != sorted[i]) {
+				sorted[count++] = sorted[i];
+			}
+		}
+		return Arrays.copyOf(sorted, count);
+	}
+}
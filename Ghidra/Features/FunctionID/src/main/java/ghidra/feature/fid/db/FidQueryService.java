@@ -37,7 +37,9 @@ public class FidQueryService implements Closeable {
 		for (FidFile fidFile : fidFiles) {
 			if (fidFile.isActive() && (language == null || fidFile.canProcessLanguage(language))) {
 				// NOTE: assumes fidFiles have been pre-checked for version compatibility
-				fidDbList.add(fidFile.getFidDB(openForUpdate));
+				FidDB fidDb = fidFile.getFidDB(openForUpdate);
+				fidDb.attachHashFilter();
+				fidDbList.add(fidDb);
 			}
 		}
 	}
@@ -163,6 +165,47 @@ public class FidQueryService implements Closeable {
 		return result;
 	}
 
+	/**
+	 * Returns the function records that have each of the provided full hashes, searching across
+	 * all attached databases.  This is equivalent to calling {@link #findFunctionsByFullHash(long)}
+	 * for each hash, but each database is searched in hash order, which keeps the index
+	 * lookups local.
+	 * @param fullHashes the hash values
+	 * @return a map from each hash value to the list of function records that match it; hash
+	 * values with no matching records are not included
+	 */
+	public Map<Long, List<FunctionRecord>> findFunctionsByFullHashes(Collection<Long> fullHashes) {
+		long[] sortedHashes = fullHashes.stream().mapToLong(Long::longValue).sorted().toArray();
+		Map<Long, List<FunctionRecord>> result = new HashMap<>();
+		for (FidDB fidDb : fidDbList) {
+			long previousHash = 0;
+			for (int i = 0; i < sortedHashes.length; i++) {
+				long fullHash = sortedHashes[i];
+				if (i > 0 && fullHash == previousHash) {
+					continue; // duplicate hash
+				}
+				previousHash = fullHash;
+				List<FunctionRecord> list = fidDb.findFunctionsByFullHash(fullHash);
+				if (list != null && !list.isEmpty()) {
+					result.computeIfAbsent(fullHash, h -> new ArrayList<>()).addAll(list);
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the paths of the attached databases
+	 * @return the database paths
+	 */
+	public List<String> getFidDbPaths() {
+		List<String> paths = new ArrayList<>();
+		for (FidDB fidDb : fidDbList) {
+			paths.add(fidDb.getPath());
+		}
+		return paths;
+	}
+
 	/**
 	 * Returns all the function records that have the provided full hash, searching across all
 	 * attached databases.
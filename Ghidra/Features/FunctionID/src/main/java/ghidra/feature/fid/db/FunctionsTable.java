@@ -101,6 +101,28 @@ public class FunctionsTable {
 		return null;
 	}
 
+	/**
+	 * Creates a filter over the full and specific hashes of all the function records.
+	 * This reads every record in the table, so the result should be retained.
+	 * @return the hash filter
+	 * @throws IOException if database iteration encounters an error
+	 */
+	FidHashFilter createHashFilter() throws IOException {
+		int count = table.getRecordCount();
+		long[] fullHashes = new long[count];
+		long[] specificHashes = new long[count];
+		int i = 0;
+		RecordIterator iterator = table.iterator();
+		while (iterator.hasNext() && i < count) {
+			DBRecord record = iterator.next();
+			fullHashes[i] = record.getLongValue(FULL_HASH_COL);
+			specificHashes[i] = record.getLongValue(SPECIFIC_HASH_COL);
+			i++;
+		}
+		return FidHashFilter.create(Arrays.copyOf(fullHashes, i),
+			Arrays.copyOf(specificHashes, i));
+	}
+
 	/**
 	 * Returns all the function records that have the provided specific hash.
 	 * This is implemented without an index, so it is inefficient.
@@ -27,6 +27,9 @@ import ghidra.util.datastruct.LRUMap;
  * 
  * NOTE: The function is passed to the factory to create and cache the hash, however the
  * function hashes are keyed by the entry point of the function.
+ * 
+ * This factory may be used concurrently if the delegate factory is thread-safe.  Hashes are
+ * computed outside of the cache lock, so the same hash may occasionally be computed twice.
  */
 public class FIDFixedSizeMRUCachingFactory implements Factory<Function, FidHashQuad> {
 
@@ -43,7 +46,10 @@ public class FIDFixedSizeMRUCachingFactory implements Factory<Function, FidHashQ
 		// Use the entry point of the function as the key, instead of the function
 		Address entryPoint = func.getEntryPoint();
 
-		FidHashQuad value = cache.get(entryPoint);
+		FidHashQuad value;
+		synchronized (cache) {
+			value = cache.get(entryPoint);
+		}
 		if (value != null) {
 			return value;
 		}
@@ -52,7 +58,9 @@ public class FIDFixedSizeMRUCachingFactory implements Factory<Function, FidHashQ
 		if (value == null) {
 			return null;
 		}
-		cache.put(entryPoint, value);
+		synchronized (cache) {
+			cache.put(entryPoint, value);
+		}
 		return value;
 	}
 }
@@ -15,6 +15,8 @@
  */
 package ghidra.feature.fid.service;
 
+import java.util.function.Supplier;
+
 import generic.cache.Factory;
 import ghidra.feature.fid.hash.FidHashQuad;
 import ghidra.feature.fid.hash.FidHasher;
@@ -24,18 +26,20 @@ import ghidra.program.model.mem.MemoryAccessException;
 /**
  * A factory for caching FID function hashes.  Greatly speeds up processing by memoizing hash
  * values for functions which are used repeatedly in different contexts.
+ * <p>
+ * Hashers are not thread-safe, so each thread that uses this factory is given its own hasher.
  */
 class FidHasherFactory implements Factory<Function, FidHashQuad> {
-	private final FidHasher hasher;
+	private final ThreadLocal<FidHasher> hasher;
 
-	public FidHasherFactory(FidHasher hasher) {
-		this.hasher = hasher;
+	public FidHasherFactory(Supplier<FidHasher> hasherSupplier) {
+		this.hasher = ThreadLocal.withInitial(hasherSupplier);
 	}
 
 	@Override
 	public FidHashQuad get(Function function) {
 		try {
-			return hasher.hash(function);
+			return hasher.get().hash(function);
 		}
 		catch (MemoryAccessException e) {
 			return null;
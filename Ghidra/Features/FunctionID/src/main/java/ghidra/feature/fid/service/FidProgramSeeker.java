@@ -16,7 +16,9 @@
 package ghidra.feature.fid.service;
 
 import java.util.*;
+import java.util.function.Supplier;
 
+import generic.concurrent.*;
 import ghidra.feature.fid.db.*;
 import ghidra.feature.fid.hash.FidHashQuad;
 import ghidra.feature.fid.hash.FidHasher;
@@ -50,28 +52,57 @@ public class FidProgramSeeker {
 
 	private final int MAX_CACHE_SIZE = 2000000; // Maximum number of FidQuadHash cached
 
+	private static final String THREAD_POOL_NAME = "FID Program Seeker";
+
 	private final float scoreThreshold; // Code unit score a function must achieve to be considered a match
 	private final int mediumHashCodeUnitLengthLimit;
 	private final FidQueryService fidQueryService;
 	private final Program program;
 	private final FIDFixedSizeMRUCachingFactory cacheFactory;
+	private final boolean parallel;
 
 	/**
-	 * Creates a seek object.
-	 * @param controller the FID database service
+	 * Creates a seek object that searches functions one at a time.
+	 * @param fidQueryService the FID database service
 	 * @param program the program for which to resolve names
 	 * @param hasher the FID hasher
 	 * @param shortHashCodeUnitLength the short hash size
 	 * @param mediumHashCodeUnitLengthLimit the medium hash size
+	 * @param scoreThreshold the code unit score a function must achieve to be considered a match
 	 */
 	public FidProgramSeeker(FidQueryService fidQueryService, Program program, FidHasher hasher,
 			byte shortHashCodeUnitLength, byte mediumHashCodeUnitLengthLimit,
 			float scoreThreshold) {
+		this(fidQueryService, program, () -> hasher, false, mediumHashCodeUnitLengthLimit,
+			scoreThreshold);
+	}
+
+	/**
+	 * Creates a seek object that hashes and searches functions in parallel.  Each thread
+	 * obtains its own hasher from the given supplier, since hashers are not thread-safe.
+	 * @param fidQueryService the FID database service
+	 * @param program the program for which to resolve names
+	 * @param hasherSupplier supplies a new FID hasher for each thread
+	 * @param shortHashCodeUnitLength the short hash size
+	 * @param mediumHashCodeUnitLengthLimit the medium hash size
+	 * @param scoreThreshold the code unit score a function must achieve to be considered a match
+	 */
+	public FidProgramSeeker(FidQueryService fidQueryService, Program program,
+			Supplier<FidHasher> hasherSupplier, byte shortHashCodeUnitLength,
+			byte mediumHashCodeUnitLengthLimit, float scoreThreshold) {
+		this(fidQueryService, program, hasherSupplier, true, mediumHashCodeUnitLengthLimit,
+			scoreThreshold);
+	}
+
+	private FidProgramSeeker(FidQueryService fidQueryService, Program program,
+			Supplier<FidHasher> hasherSupplier, boolean parallel,
+			byte mediumHashCodeUnitLengthLimit, float scoreThreshold) {
 		this.fidQueryService = fidQueryService;
 		this.program = program;
 		this.scoreThreshold = scoreThreshold;
 		this.mediumHashCodeUnitLengthLimit = mediumHashCodeUnitLengthLimit;
-		FidHasherFactory factory = new FidHasherFactory(hasher);
+		this.parallel = parallel;
+		FidHasherFactory factory = new FidHasherFactory(hasherSupplier);
 		int cacheSize = program.getFunctionManager().getFunctionCount();
 		cacheSize = (cacheSize < 100) ? 100 : cacheSize;
 		cacheSize = (cacheSize > MAX_CACHE_SIZE) ? MAX_CACHE_SIZE : cacheSize;
@@ -202,16 +233,18 @@ public class FidProgramSeeker {
 	}
 
 	/**
-	 * Given HashFamily for a function, lookup possible matches and mint FidSearchResult objects
+	 * Given HashFamily for a function, score the possible matches and mint FidSearchResult objects
 	 * @param function the function
 	 * @param family the hash family
+	 * @param functionsByFullHash the function records with the same full hash as the function
 	 * @param monitor a task monitor
 	 * @return the FidSearchResult describing any discovered matches
 	 * @throws CancelledException if the user cancels
 	 */
 	private FidSearchResult processMatches(Function function, HashFamily family,
-			TaskMonitor monitor) throws CancelledException {
-		List<HashMatch> hashMatches = lookupFamily(family, monitor);
+			List<FunctionRecord> functionsByFullHash, TaskMonitor monitor)
+			throws CancelledException {
+		List<HashMatch> hashMatches = lookupFamily(family, functionsByFullHash, monitor);
 		FidSearchResult searchResult = null;
 		if (!hashMatches.isEmpty()) {
 			if (hashMatches.size() == 1) {
@@ -372,19 +405,18 @@ public class FidProgramSeeker {
 	}
 
 	/**
-	 * Given a hash family, find raw matches in the FID service.
+	 * Given a hash family, score the raw matches found in the FID service.
 	 * @param family the hash family
+	 * @param functionsByFullHash the function records with the same full hash as the family
 	 * @param monitor a task monitor
 	 * @return a list of matches
 	 * @throws CancelledException if the user cancels
 	 */
-	private List<HashMatch> lookupFamily(HashFamily family, TaskMonitor monitor)
+	private List<HashMatch> lookupFamily(HashFamily family,
+			List<FunctionRecord> functionsByFullHash, TaskMonitor monitor)
 			throws CancelledException {
 		ArrayList<HashMatch> result = new ArrayList<HashMatch>();
 
-		List<FunctionRecord> functionsByFullHash =
-			fidQueryService.findFunctionsByFullHash(family.getHash().getFullHash());
-
 		for (FunctionRecord functionRecord : functionsByFullHash) {
 			monitor.checkCancelled();
 			HashMatch match = scoreMatch(functionRecord, family, monitor);
@@ -411,7 +443,9 @@ public class FidProgramSeeker {
 		HashFamily family = getFamily(function, monitor);
 		FidSearchResult fidResult = null;
 		if (family != null) {
-			fidResult = processMatches(function, family, monitor);
+			List<FunctionRecord> functionsByFullHash =
+				fidQueryService.findFunctionsByFullHash(family.getHash().getFullHash());
+			fidResult = processMatches(function, family, functionsByFullHash, monitor);
 			if (fidResult == null) {
 				fidResult = new FidSearchResult(function, family.getHash(), null);
 			}
@@ -426,30 +460,183 @@ public class FidProgramSeeker {
 	 * @throws CancelledException if the user cancels
 	 */
 	public List<FidSearchResult> search(TaskMonitor monitor) throws CancelledException {
-		List<FidSearchResult> result = new LinkedList<FidSearchResult>();
+		return search(null, monitor);
+	}
+
+	/**
+	 * Searches the database for function names.  If a search cache is given, the functions
+	 * whose hash families have not changed since the cached search are not searched again;
+	 * their cached matches are returned instead.  The cache is updated with the results of
+	 * this search.
+	 * <p>
+	 * Unless this seeker was created to search functions one at a time, the functions are
+	 * hashed and searched in parallel.  The results are returned in function address order
+	 * regardless.
+	 * @param searchCache the results of a previous search of this program, or null
+	 * @param monitor a task monitor
+	 * @return the results of all the searching
+	 * @throws CancelledException if the user cancels
+	 */
+	public List<FidSearchResult> search(FidSearchCache searchCache, TaskMonitor monitor)
+			throws CancelledException {
 
 		FunctionManager functionManager = program.getFunctionManager();
-		monitor.initialize(functionManager.getFunctionCount());
-		FunctionIterator functions = functionManager.getFunctions(true);
-		for (Function function : functions) {
+		List<Function> functions = new ArrayList<>(functionManager.getFunctionCount());
+		for (Function function : functionManager.getFunctions(true)) {
 			monitor.checkCancelled();
-			monitor.incrementProgress(1);
-			try {
-				HashFamily family = getFamily(function, monitor);
-				if (family != null) {
-					FidSearchResult searchResult = processMatches(function, family, monitor);
-					if (searchResult != null) {
-						result.add(searchResult);
-					}
+			functions.add(function);
+		}
+
+		// hash every function up front, so that building the families only reads the cache
+		monitor.setMessage("FID Analysis: hashing functions");
+		forEachFunction(functions, (index, function, m) -> cacheFactory.get(function), monitor);
+
+		monitor.setMessage("FID Analysis: building hash families");
+		HashFamily[] families = new HashFamily[functions.size()];
+		forEachFunction(functions, (index, function, m) -> {
+			families[index] = getFamily(function, m);
+		}, monitor);
+
+		// reuse the results of the functions whose families have not changed
+		@SuppressWarnings("unchecked")
+		List<FidMatch>[] cachedMatches = new List[functions.size()];
+		Set<Long> fullHashes = new HashSet<>();
+		if (searchCache != null) {
+			searchCache.startSearch(fidQueryService, scoreThreshold);
+		}
+		for (int i = 0; i < functions.size(); i++) {
+			monitor.checkCancelled();
+			if (families[i] == null) {
+				continue;
+			}
+			if (searchCache != null) {
+				cachedMatches[i] =
+					searchCache.getMatches(functions.get(i), families[i], fidQueryService);
+			}
+			if (cachedMatches[i] == null) {
+				fullHashes.add(families[i].getHash().getFullHash());
+			}
+		}
+
+		monitor.setMessage("FID Analysis: looking up hashes");
+		Map<Long, List<FunctionRecord>> functionsByFullHash =
+			fidQueryService.findFunctionsByFullHashes(fullHashes);
+
+		monitor.setMessage("FID Analysis: scoring matches");
+		FidSearchResult[] searchResults = new FidSearchResult[functions.size()];
+		forEachFunction(functions, (index, function, m) -> {
+			HashFamily family = families[index];
+			if (family == null) {
+				return;
+			}
+			if (cachedMatches[index] != null) {
+				if (!cachedMatches[index].isEmpty()) {
+					searchResults[index] =
+						new FidSearchResult(function, family.getHash(), cachedMatches[index]);
 				}
+				return;
 			}
-			catch (MemoryAccessException e) {
-				Msg.showError(this, null, "Memory Access Exception",
-					"Internal error, degenerate unhashable function");
+			List<FunctionRecord> candidates =
+				functionsByFullHash.getOrDefault(family.getHash().getFullHash(), List.of());
+			searchResults[index] = processMatches(function, family, candidates, m);
+		}, monitor);
+
+		List<FidSearchResult> result = new LinkedList<FidSearchResult>();
+		Set<Address> entryPoints = new HashSet<>();
+		for (int i = 0; i < functions.size(); i++) {
+			if (searchResults[i] != null) {
+				result.add(searchResults[i]);
+			}
+			if (searchCache != null && families[i] != null) {
+				entryPoints.add(families[i].getAddress());
+				if (cachedMatches[i] == null) {
+					searchCache.put(families[i],
+						searchResults[i] == null ? null : searchResults[i].matches);
+				}
 			}
 		}
+		if (searchCache != null) {
+			searchCache.retainAll(entryPoints);
+		}
 
 		return result;
 	}
 
+	/**
+	 * Performs a task for each of the given functions, in parallel unless this seeker was
+	 * created to search functions one at a time.  A function that cannot be hashed is reported
+	 * and skipped.
+	 * @param functions the functions
+	 * @param task the task
+	 * @param monitor a task monitor
+	 * @throws CancelledException if the user cancels
+	 */
+	private void forEachFunction(List<Function> functions, FunctionTask task,
+			TaskMonitor monitor) throws CancelledException {
+
+		if (!parallel) {
+			monitor.initialize(functions.size());
+			for (int i = 0; i < functions.size(); i++) {
+				monitor.checkCancelled();
+				monitor.incrementProgress(1);
+				runTask(task, i, functions.get(i), monitor);
+			}
+			return;
+		}
+
+		List<Integer> indices = new ArrayList<>(functions.size());
+		for (int i = 0; i < functions.size(); i++) {
+			indices.add(i);
+		}
+
+		QCallback<Integer, Object> callback = (index, m) -> {
+			m.checkCancelled();
+			runTask(task, index, functions.get(index), m);
+			return null;
+		};
+
+		monitor.initialize(functions.size());
+
+		// @formatter:off
+		ConcurrentQ<Integer, Object> queue = new ConcurrentQBuilder<Integer, Object>()
+			.setThreadPool(GThreadPool.getPrivateThreadPool(THREAD_POOL_NAME))
+			.setMonitor(monitor)
+			.build(callback);
+		// @formatter:on
+
+		queue.add(indices);
+		try {
+			queue.waitUntilDone();
+		}
+		catch (CancelledException | InterruptedException e) {
+			throw new CancelledException();
+		}
+		catch (Exception e) {
+			monitor.checkCancelled(); // cancelling may cause other exceptions in the tasks
+			throw (e instanceof RuntimeException re) ? re : new RuntimeException(e);
+		}
+		finally {
+			queue.dispose();
+		}
+		monitor.checkCancelled();
+	}
+
+	private void runTask(FunctionTask task, int index, Function function, TaskMonitor monitor)
+			throws CancelledException {
+		try {
+			task.run(index, function, monitor);
+		}
+		catch (MemoryAccessException e) {
+			Msg.showError(this, null, "Memory Access Exception",
+				"Internal error, degenerate unhashable function");
+		}
+	}
+
+	/**
+	 * A task performed for each function of the program being searched
+	 */
+	private interface FunctionTask {
+		void run(int index, Function function, TaskMonitor monitor)
+				throws MemoryAccessException, CancelledException;
+	}
 }
@@ -0,0 +1,146 @@
+/* ###
+ * IP: GHIDRA
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ghidra.feature.fid.service;
+
+import java.io.File;
+import java.util.*;
+
+import ghidra.feature.fid.db.*;
+import ghidra.feature.fid.plugin.HashLookupListMode;
+import ghidra.program.model.address.Address;
+import ghidra.program.model.listing.Function;
+
+/**
+ * Retains the results of the searches made by a {@link FidProgramSeeker} so that a later search
+ * of the same program only needs to search for the functions whose hash family (the hashes of
+ * the function, its parents and its children) has changed.  The matches for any other function
+ * will be the same as before, as long as the same FID databases and score threshold are used.
+ * If either of those change, the retained results are discarded.
+ * <p>
+ * Matches are retained by function record ID, rather than by record, since the records of a
+ * previous search belong to a {@link FidQueryService} that will have been closed.
+ * <p>
+ * A cache should only be used with a single program.
+ */
+public class FidSearchCache {
+
+	private final Map<Address, CachedSearch> searches = new HashMap<>();
+	private List<String> databaseKeys = List.of();
+	private float scoreThreshold = Float.NaN;
+
+	/**
+	 * Prepare this cache for a new search, discarding the retained results if the search uses
+	 * different databases or a different score threshold than the last search
+	 * @param fidQueryService the FID databases used by the new search
+	 * @param newScoreThreshold the score threshold used by the new search
+	 */
+	void startSearch(FidQueryService fidQueryService, float newScoreThreshold) {
+		List<String> keys = new ArrayList<>();
+		for (String path : fidQueryService.getFidDbPaths()) {
+			// include the modification time so that changes to a database are noticed
+			keys.add(path + "@" + new File(path).lastModified());
+		}
+		if (!keys.equals(databaseKeys) || Float.compare(newScoreThreshold, scoreThreshold) != 0) {
+			searches.clear();
+			databaseKeys = keys;
+			scoreThreshold = newScoreThreshold;
+		}
+	}
+
+	/**
+	 * Returns the matches found for the given function by the last search, if its hash family
+	 * has not changed
+	 * @param function the function
+	 * @param family the current hash family of the function
+	 * @param fidQueryService the FID databases used by the current search
+	 * @return the matches, which may be empty, or null if the function must be searched
+	 */
+	List<FidMatch> getMatches(Function function, HashFamily family,
+			FidQueryService fidQueryService) {
+		CachedSearch search = searches.get(function.getEntryPoint());
+		if (search == null || !search.family.isEquivalent(family)) {
+			return null;
+		}
+
+		List<FidMatch> matches = new ArrayList<>(search.matches.size());
+		for (CachedMatch cachedMatch : search.matches) {
+			FunctionRecord functionRecord = fidQueryService.getFunctionByID(cachedMatch.functionID);
+			if (functionRecord == null) {
+				return null;
+			}
+			HashMatch hashMatch = new HashMatch(functionRecord, cachedMatch.primaryScore,
+				cachedMatch.mode, cachedMatch.childScore, cachedMatch.parentScore);
+			LibraryRecord library = fidQueryService.getLibraryForFunction(functionRecord);
+			matches.add(new FidMatchImpl(library, function.getEntryPoint(), hashMatch));
+		}
+		return matches;
+	}
+
+	/**
+	 * Retain the matches found for a function
+	 * @param family the hash family of the function
+	 * @param matches the matches, or null if there are none
+	 */
+	void put(HashFamily family, List<FidMatch> matches) {
+		List<CachedMatch> cachedMatches = new ArrayList<>();
+		if (matches != null) {
+			for (FidMatch match : matches) {
+				cachedMatches.add(new CachedMatch(match));
+			}
+		}
+		searches.put(family.getAddress(), new CachedSearch(family, cachedMatches));
+	}
+
+	/**
+	 * Discard the results for any function that is not in the given set, such as functions that
+	 * have been removed or could not be hashed
+	 * @param entryPoints the entry points of the functions whose results should be kept
+	 */
+	void retainAll(Set<Address> entryPoints) {
+		searches.keySet().retainAll(entryPoints);
+	}
+
+	/**
+	 * Discard all retained results
+	 */
+	public void clear() {
+		searches.clear();
+		databaseKeys = List.of();
+		scoreThreshold = Float.NaN;
+	}
+
+	/**
+	 * Returns the number of functions whose results are retained
+	 * @return the number of functions
+	 */
+	public int size() {
+		return searches.size();
+	}
+
+	private record CachedSearch(HashFamily family, List<CachedMatch> matches) {
+		// the results of searching for a single function
+	}
+
+	private record CachedMatch(long functionID, float primaryScore, HashLookupListMode mode,
+			float childScore, float parentScore) {
+
+		CachedMatch(FidMatch match) {
+			this(match.getFunctionRecord().getID(), match.getPrimaryFunctionCodeUnitScore(),
+				match.getPrimaryFunctionMatchMode(), match.getChildFunctionCodeUnitScore(),
+				match.getParentFunctionCodeUnitScore());
+		}
+	}
+}
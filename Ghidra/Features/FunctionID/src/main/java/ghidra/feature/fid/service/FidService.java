@@ -163,9 +163,9 @@ public class FidService {
 
 	public FidProgramSeeker getProgramSeeker(Program program, FidQueryService fidQueryService,
 			float scoreThreshold) throws VersionException, IOException {
-		FidHasher fidHasher = getHasher(program);
-		FidProgramSeeker seeker = new FidProgramSeeker(fidQueryService, program, fidHasher,
-			getShortHashCodeUnitLength(), getMediumHashCodeUnitLengthLimit(), scoreThreshold);
+		FidProgramSeeker seeker =
+			new FidProgramSeeker(fidQueryService, program, () -> getHasher(program),
+				getShortHashCodeUnitLength(), getMediumHashCodeUnitLengthLimit(), scoreThreshold);
 		return seeker;
 	}
 
@@ -216,8 +216,28 @@ public class FidService {
 	public List<FidSearchResult> processProgram(Program program, FidQueryService queryService,
 			float scoreThreshold, TaskMonitor monitor)
 			throws CancelledException, VersionException, IOException {
+		return processProgram(program, queryService, scoreThreshold, null, monitor);
+	}
+
+	/**
+	 * Searches the database to find results for a program, only searching for the functions
+	 * that have changed since the search that produced the given cache.
+	 * @param program the program to process
+	 * @param queryService holds the current set of databases to query
+	 * @param scoreThreshold is the (codeUnit) threshold matches must meet to be reported
+	 * @param searchCache the results of the previous search of the program, or null to search
+	 * all functions; the cache is updated with the results of this search
+	 * @param monitor a task monitor
+	 * @return a list of the FID search results
+	 * @throws CancelledException if the user cancels
+	 * @throws IOException 
+	 * @throws VersionException 
+	 */
+	public List<FidSearchResult> processProgram(Program program, FidQueryService queryService,
+			float scoreThreshold, FidSearchCache searchCache, TaskMonitor monitor)
+			throws CancelledException, VersionException, IOException {
 		FidProgramSeeker seeker = getProgramSeeker(program, queryService, scoreThreshold);
-		List<FidSearchResult> searchResult = seeker.search(monitor);
+		List<FidSearchResult> searchResult = seeker.search(searchCache, monitor);
 		return searchResult;
 	}
 
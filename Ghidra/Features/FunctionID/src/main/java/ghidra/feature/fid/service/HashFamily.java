@@ -15,8 +15,7 @@
  */
 package ghidra.feature.fid.service;
 
-import java.util.Collection;
-import java.util.LinkedHashMap;
+import java.util.*;
 
 import ghidra.feature.fid.hash.FidHashQuad;
 import ghidra.program.model.address.Address;
@@ -64,4 +63,37 @@ public class HashFamily {
 	public Collection<FidHashQuad> getChildren() {
 		return children.values();
 	}
+
+	/**
+	 * Returns true if the given family has the same hashes as this family, in which case a
+	 * search for either family will produce the same matches.  The addresses of the
+	 * families are not compared.
+	 * @param other the other family
+	 * @return true if the families have the same hashes
+	 */
+	boolean isEquivalent(HashFamily other) {
+		return isSameHash(hash, other.hash) && isSameHashes(parents, other.parents) &&
+			isSameHashes(children, other.children);
+	}
+
+	private static boolean isSameHashes(Map<Long, FidHashQuad> hashes,
+			Map<Long, FidHashQuad> otherHashes) {
+		if (hashes.size() != otherHashes.size()) {
+			return false;
+		}
+		for (FidHashQuad quad : hashes.values()) {
+			FidHashQuad otherQuad = otherHashes.get(quad.getFullHash());
+			if (otherQuad == null || !isSameHash(quad, otherQuad)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean isSameHash(FidHashQuad quad, FidHashQuad otherQuad) {
+		return quad.getFullHash() == otherQuad.getFullHash() &&
+			quad.getSpecificHash() == otherQuad.getSpecificHash() &&
+			quad.getCodeUnitSize() == otherQuad.getCodeUnitSize() &&
+			quad.getSpecificHashAdditionalSize() == otherQuad.getSpecificHashAdditionalSize();
+	}
 }
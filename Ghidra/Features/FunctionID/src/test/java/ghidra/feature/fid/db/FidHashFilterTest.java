@@ -0,0 +1,133 @@
+/* ###
+ * IP: GHIDRA
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ghidra.feature.fid.db;
+
+import static org.junit.Assert.*;
+
+import java.io.*;
+
+import org.junit.Test;
+
+import generic.test.AbstractGenericTest;
+
+public class FidHashFilterTest extends AbstractGenericTest {
+
+	@Test
+	public void testContains() {
+		FidHashFilter filter = FidHashFilter.create(new long[] { 30, -5, 10, 30, Long.MAX_VALUE },
+			new long[] { 7, 7, Long.MIN_VALUE });
+
+		assertEquals(4, filter.getFullHashCount());
+		assertEquals(2, filter.getSpecificHashCount());
+
+		assertTrue(filter.containsFullHash(-5));
+		assertTrue(filter.containsFullHash(30));
+		assertTrue(filter.containsFullHash(Long.MAX_VALUE));
+		assertFalse(filter.containsFullHash(0));
+		assertFalse(filter.containsFullHash(7));
+
+		assertTrue(filter.containsSpecificHash(7));
+		assertTrue(filter.containsSpecificHash(Long.MIN_VALUE));
+		assertFalse(filter.containsSpecificHash(30));
+	}
+
+	@Test
+	public void testEmpty() {
+		FidHashFilter filter = FidHashFilter.create(new long[0], new long[0]);
+		assertFalse(filter.containsFullHash(0));
+		assertFalse(filter.containsSpecificHash(0));
+	}
+
+	@Test
+	public void testWriteAndRead() throws IOException {
+		File cacheDir = createTempDirectory("FidHashFilterTest");
+		File cacheFile = FidHashFilter.getCacheFile(new File(cacheDir, "test.fidb"), cacheDir);
+		assertNull(FidHashFilter.read(cacheFile, 100, 200));
+
+		FidHashFilter filter =
+			FidHashFilter.create(new long[] { 3, 1, 2 }, new long[] { 20, 10, 10 });
+		filter.write(cacheFile, 100, 200);
+
+		FidHashFilter mappedFilter = FidHashFilter.read(cacheFile, 100, 200);
+		assertNotNull(mappedFilter);
+		assertEquals(3, mappedFilter.getFullHashCount());
+		assertEquals(2, mappedFilter.getSpecificHashCount());
+		assertTrue(mappedFilter.containsFullHash(1));
+		assertTrue(mappedFilter.containsFullHash(3));
+		assertFalse(mappedFilter.containsFullHash(10));
+		assertTrue(mappedFilter.containsSpecificHash(10));
+		assertTrue(mappedFilter.containsSpecificHash(20));
+		assertFalse(mappedFilter.containsSpecificHash(2));
+
+		// a saved filter is not used once the database file has changed
+		assertNull(FidHashFilter.read(cacheFile, 101, 200));
+		assertNull(FidHashFilter.read(cacheFile, 100, 201));
+	}
+
+	@Test
+	public void testReadOntoHeap() throws IOException {
+		File cacheDir = createTempDirectory("FidHashFilterTest");
+		File cacheFile = FidHashFilter.getCacheFile(new File(cacheDir, "test.fidb"), cacheDir);
+		FidHashFilter.create(new long[] { 3, 1, 2 }, new long[] { 20, 10, 10 })
+				.write(cacheFile, 100, 200);
+
+		FidHashFilter heapFilter = FidHashFilter.read(cacheFile, 100, 200, false);
+		assertNotNull(heapFilter);
+		assertEquals(3, heapFilter.getFullHashCount());
+		assertEquals(2, heapFilter.getSpecificHashCount());
+		assertTrue(heapFilter.containsFullHash(2));
+		assertFalse(heapFilter.containsFullHash(20));
+		assertTrue(heapFilter.containsSpecificHash(20));
+		assertFalse(heapFilter.containsSpecificHash(3));
+
+		// the file is not held open, so it can be replaced
+		FidHashFilter.create(new long[] { 4 }, new long[0]).write(cacheFile, 100, 200);
+		heapFilter = FidHashFilter.read(cacheFile, 100, 200, false);
+		assertEquals(1, heapFilter.getFullHashCount());
+		assertTrue(heapFilter.containsFullHash(4));
+		assertNull(FidHashFilter.read(cacheFile, 101, 200, false));
+	}
+
+	@Test
+	public void testStaleFilterReplaced() throws IOException {
+		File cacheDir = createTempDirectory("FidHashFilterTest");
+		File cacheFile = FidHashFilter.getCacheFile(new File(cacheDir, "test.fidb"), cacheDir);
+		FidHashFilter.create(new long[] { 1 }, new long[] { 2 }).write(cacheFile, 100, 200);
+
+		// the database changed, so its filter is rebuilt and saved over the stale one
+		assertNull(FidHashFilter.read(cacheFile, 101, 200));
+		FidHashFilter.create(new long[] { 5, 6 }, new long[] { 7 }).write(cacheFile, 101, 200);
+
+		FidHashFilter filter = FidHashFilter.read(cacheFile, 101, 200);
+		assertNotNull(filter);
+		assertEquals(2, filter.getFullHashCount());
+		assertTrue(filter.containsFullHash(6));
+		assertFalse(filter.containsFullHash(1));
+		assertNull(FidHashFilter.read(cacheFile, 100, 200));
+	}
+
+	@Test
+	public void testTruncatedFilterIgnored() throws IOException {
+		File cacheDir = createTempDirectory("FidHashFilterTest");
+		File cacheFile = FidHashFilter.getCacheFile(new File(cacheDir, "test.fidb"), cacheDir);
+		FidHashFilter.create(new long[] { 1, 2, 3 }, new long[] { 4 }).write(cacheFile, 100, 200);
+		try (RandomAccessFile raf = new RandomAccessFile(cacheFile, "rw")) {
+			raf.setLength(raf.length() - Long.BYTES);
+		}
+		assertNull(FidHashFilter.read(cacheFile, 100, 200, true));
+		assertNull(FidHashFilter.read(cacheFile, 100, 200, false));
+	}
+}
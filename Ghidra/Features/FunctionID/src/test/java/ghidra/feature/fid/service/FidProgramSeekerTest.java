@@ -0,0 +1,284 @@
+/* ###
+ * IP: GHIDRA
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ghidra.feature.fid.service;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.util.*;
+
+import org.junit.*;
+
+import generic.hash.FNV1a64MessageDigestFactory;
+import generic.test.AbstractGenericTest;
+import ghidra.feature.fid.db.*;
+import ghidra.feature.fid.hash.*;
+import ghidra.program.model.address.Address;
+import ghidra.program.model.lang.Language;
+import ghidra.program.model.listing.Function;
+import ghidra.program.model.listing.Program;
+import ghidra.test.ToyProgramBuilder;
+import ghidra.util.task.TaskMonitor;
+
+public class FidProgramSeekerTest extends AbstractGenericTest {
+
+	private static final float SCORE_THRESHOLD = 4;
+
+	private static final String CALLER = "0x1000";
+	private static final String CALLEE = "0x1020";
+	private static final int OTHER_COUNT = 8;
+
+	private ToyProgramBuilder builder;
+	private Program program;
+	private File fidDbFile;
+	private FidQueryService fidQueryService;
+
+	@Before
+	public void setUp() throws Exception {
+		builder = new ToyProgramBuilder("test", true, this);
+		builder.createMemory("ram", "0x1000", 0x200);
+
+		// the caller calls the callee; the other functions are not related
+		builder.addBytesLoad(0x1000, 1, 2);
+		builder.addBytesLoad(0x1002, 2, 3);
+		builder.addBytesCall(0x1004, 0x1020);
+		builder.addBytesLoad(0x1006, 3, 4);
+		builder.addBytesReturn(0x1008);
+		addCallee(1);
+		for (int i = 0; i < OTHER_COUNT; i++) {
+			long offset = 0x1040 + i * 0x20;
+			builder.addBytesLoad(offset, i, i + 1);
+			builder.addBytesLoad(offset + 2, i + 1, i + 2);
+			builder.addBytesStore(offset + 4, i, i + 2);
+			builder.addBytesStore(offset + 6, i + 2, i);
+			builder.addBytesReturn(offset + 8);
+		}
+		builder.disassemble("0x1000", 0x40 + OTHER_COUNT * 0x20);
+		builder.createFunction(CALLER);
+		builder.createFunction(CALLEE);
+		for (int i = 0; i < OTHER_COUNT; i++) {
+			builder.createFunction("0x" + Long.toHexString(0x1040 + i * 0x20));
+		}
+		program = builder.getProgram();
+
+		fidDbFile = createTempFile("FidProgramSeekerTest", ".fidb");
+		fidDbFile.delete();
+		FidFileManager.getInstance().createNewFidDatabase(fidDbFile);
+		populateDatabase();
+		fidQueryService = FidFileManager.getInstance().openFidQueryService(null, false);
+	}
+
+	@After
+	public void tearDown() {
+		if (fidQueryService != null) {
+			fidQueryService.close();
+		}
+		FidFile fidFile = getFidFile();
+		if (fidFile != null) {
+			FidFileManager.getInstance().removeUserFile(fidFile);
+		}
+		builder.dispose();
+	}
+
+	@Test
+	public void testCachedSearchMatchesFreshSearch() throws Exception {
+		CountingSearchCache cache = new CountingSearchCache();
+		List<String> first = describe(createSeeker(SCORE_THRESHOLD).search(cache, monitor()));
+		assertEquals(0, cache.hits);
+		assertEquals(OTHER_COUNT + 2, cache.size());
+
+		List<String> second = describe(createSeeker(SCORE_THRESHOLD).search(cache, monitor()));
+		assertEquals(OTHER_COUNT + 2, cache.hits);
+
+		List<String> fresh = describe(createSeeker(SCORE_THRESHOLD).search(monitor()));
+		assertEquals(fresh, first);
+		assertEquals(fresh, second);
+		assertEquals(OTHER_COUNT + 2, fresh.size());
+	}
+
+	@Test
+	public void testChangedCalleeRescoresCaller() throws Exception {
+		CountingSearchCache cache = new CountingSearchCache();
+		List<FidSearchResult> results = createSeeker(SCORE_THRESHOLD).search(cache, monitor());
+		FidMatch callerMatch = getMatch(results, CALLER);
+		assertEquals(5, callerMatch.getChildFunctionCodeUnitScore(), 0);
+		assertNotNull(getMatch(results, CALLEE));
+
+		// the callee no longer matches its function record, so the caller loses its child score
+		builder.clearCodeUnits(CALLEE, "0x1029", false);
+		addCallee(9);
+		builder.disassemble(CALLEE, 10);
+
+		cache.hits = 0;
+		results = createSeeker(SCORE_THRESHOLD).search(cache, monitor());
+		assertEquals(OTHER_COUNT, cache.hits);
+		callerMatch = getMatch(results, CALLER);
+		assertEquals(0, callerMatch.getChildFunctionCodeUnitScore(), 0);
+		assertNull(getMatch(results, CALLEE));
+
+		List<String> fresh = describe(createSeeker(SCORE_THRESHOLD).search(monitor()));
+		assertEquals(fresh, describe(results));
+	}
+
+	@Test
+	public void testDatabaseChangeClearsCache() throws Exception {
+		CountingSearchCache cache = new CountingSearchCache();
+		createSeeker(SCORE_THRESHOLD).search(cache, monitor());
+
+		// as if the database had been rebuilt since the last search
+		assertTrue(fidDbFile.setLastModified(fidDbFile.lastModified() + 2000));
+		List<String> results = describe(createSeeker(SCORE_THRESHOLD).search(cache, monitor()));
+		assertEquals(0, cache.hits);
+		assertEquals(describe(createSeeker(SCORE_THRESHOLD).search(monitor())), results);
+
+		createSeeker(SCORE_THRESHOLD).search(cache, monitor());
+		assertEquals(OTHER_COUNT + 2, cache.hits);
+	}
+
+	@Test
+	public void testThresholdChangeClearsCache() throws Exception {
+		CountingSearchCache cache = new CountingSearchCache();
+		createSeeker(SCORE_THRESHOLD).search(cache, monitor());
+
+		// only the caller, with its child score, reaches the higher threshold
+		List<FidSearchResult> results = createSeeker(8).search(cache, monitor());
+		assertEquals(0, cache.hits);
+		assertEquals(1, results.size());
+		assertNotNull(getMatch(results, CALLER));
+
+		results = createSeeker(SCORE_THRESHOLD).search(cache, monitor());
+		assertEquals(0, cache.hits);
+		assertEquals(OTHER_COUNT + 2, results.size());
+	}
+
+	@Test
+	public void testParallelSearchOrderMatchesSerialSearch() throws Exception {
+		FidProgramSeeker serialSeeker = new FidProgramSeeker(fidQueryService, program,
+			createHasher(), FidService.SHORT_HASH_CODE_UNIT_LENGTH,
+			FidService.MEDIUM_HASH_CODE_UNIT_LENGTH, SCORE_THRESHOLD);
+		List<FidSearchResult> serial = serialSeeker.search(monitor());
+		List<FidSearchResult> parallel = createSeeker(SCORE_THRESHOLD).search(monitor());
+
+		assertEquals(describe(serial), describe(parallel));
+		Address previous = null;
+		for (FidSearchResult result : parallel) {
+			Address entryPoint = result.function.getEntryPoint();
+			assertTrue(previous == null || previous.compareTo(entryPoint) < 0);
+			previous = entryPoint;
+		}
+	}
+
+	private void addCallee(int register) throws Exception {
+		builder.addBytesStore(0x1020, register, 2);
+		builder.addBytesStore(0x1022, 2, 3);
+		builder.addBytesStore(0x1024, 3, 4);
+		builder.addBytesStore(0x1026, 4, 5);
+		builder.addBytesReturn(0x1028);
+	}
+
+	/**
+	 * Adds a function record for each function of the program, and a call relation from the
+	 * caller to the callee
+	 * @throws Exception if the database can't be updated
+	 */
+	private void populateDatabase() throws Exception {
+		FidFile fidFile = getFidFile();
+		Language language = program.getLanguage();
+		FidHasher hasher = createHasher();
+		try (FidDB fidDb = fidFile.getFidDB(true)) {
+			LibraryRecord library = fidDb.createNewLibrary("test", "1.0", "default", "11",
+				language.getLanguageID(), language.getVersion(), language.getMinorVersion(),
+				program.getCompilerSpec().getCompilerSpecID());
+			Map<Address, FunctionRecord> records = new HashMap<>();
+			for (Function function : program.getFunctionManager().getFunctions(true)) {
+				FidHashQuad hash = hasher.hash(function);
+				records.put(function.getEntryPoint(),
+					fidDb.createNewFunction(library, hash, "lib_" + function.getName(),
+						function.getEntryPoint().getOffset(), "/test", false));
+			}
+			fidDb.createRelation(records.get(builder.addr(CALLER)),
+				records.get(builder.addr(CALLEE)), RelationType.INTER_LIBRARY_CALL);
+			fidDb.saveDatabase("populated", TaskMonitor.DUMMY);
+		}
+	}
+
+	private FidFile getFidFile() {
+		for (FidFile fidFile : FidFileManager.getInstance().getFidFiles()) {
+			if (fidFile.getPath().equals(fidDbFile.getAbsolutePath())) {
+				return fidFile;
+			}
+		}
+		return null;
+	}
+
+	private FidProgramSeeker createSeeker(float scoreThreshold) {
+		return new FidProgramSeeker(fidQueryService, program, () -> createHasher(),
+			FidService.SHORT_HASH_CODE_UNIT_LENGTH, FidService.MEDIUM_HASH_CODE_UNIT_LENGTH,
+			scoreThreshold);
+	}
+
+	private static FidHasher createHasher() {
+		return new MessageDigestFidHasher(new FunctionBodyFunctionExtentGenerator(),
+			FidService.SHORT_HASH_CODE_UNIT_LENGTH, new FNV1a64MessageDigestFactory(), List.of());
+	}
+
+	private FidMatch getMatch(List<FidSearchResult> results, String entryPoint) {
+		for (FidSearchResult result : results) {
+			if (result.function.getEntryPoint().equals(builder.addr(entryPoint))) {
+				assertEquals(1, result.matches.size());
+				return result.matches.get(0);
+			}
+		}
+		return null;
+	}
+
+	private static List<String> describe(List<FidSearchResult> results) {
+		List<String> descriptions = new ArrayList<>();
+		for (FidSearchResult result : results) {
+			StringBuilder buf = new StringBuilder();
+			buf.append(result.function.getEntryPoint());
+			for (FidMatch match : result.matches) {
+				buf.append(' ').append(match.getFunctionRecord().getName());
+				buf.append(' ').append(match.getPrimaryFunctionCodeUnitScore());
+				buf.append(' ').append(match.getChildFunctionCodeUnitScore());
+				buf.append(' ').append(match.getParentFunctionCodeUnitScore());
+			}
+			descriptions.add(buf.toString());
+		}
+		return descriptions;
+	}
+
+	private static TaskMonitor monitor() {
+		return TaskMonitor.DUMMY;
+	}
+
+	/**
+	 * Counts the functions whose matches are taken from the cache
+	 */
+	private static class CountingSearchCache extends FidSearchCache {
+		private int hits;
+
+		@Override
+		List<FidMatch> getMatches(Function function, HashFamily family,
+				FidQueryService queryService) {
+			List<FidMatch> matches = super.getMatches(function, family, queryService);
+			if (matches != null) {
+				hits++;
+			}
+			return matches;
+		}
+	}
+}
@@ -0,0 +1,89 @@
+/* ###
+ * IP: GHIDRA
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ghidra.feature.fid.service;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import generic.test.AbstractGenericTest;
+import ghidra.feature.fid.hash.FidHashQuad;
+import ghidra.program.model.address.Address;
+import ghidra.program.model.address.GenericAddressSpace;
+
+public class HashFamilyTest extends AbstractGenericTest {
+
+	private GenericAddressSpace space = new GenericAddressSpace("ram", 32, 1, 0);
+
+	@Test
+	public void testEquivalentFamilies() {
+		HashFamily family1 = createFamily(0x1000, quad(1, 10));
+		family1.addParent(quad(2, 20));
+		family1.addChild(quad(3, 30));
+		family1.addChild(quad(4, 40));
+
+		// the order of the relatives and the address of the function do not matter
+		HashFamily family2 = createFamily(0x2000, quad(1, 10));
+		family2.addChild(quad(4, 40));
+		family2.addChild(quad(3, 30));
+		family2.addParent(quad(2, 20));
+
+		assertTrue(family1.isEquivalent(family2));
+		assertTrue(family2.isEquivalent(family1));
+	}
+
+	@Test
+	public void testDifferentFamilies() {
+		HashFamily family = createFamily(0x1000, quad(1, 10));
+		family.addParent(quad(2, 20));
+		family.addChild(quad(3, 30));
+
+		HashFamily differentHash = createFamily(0x1000, quad(5, 10));
+		differentHash.addParent(quad(2, 20));
+		differentHash.addChild(quad(3, 30));
+		assertFalse(family.isEquivalent(differentHash));
+
+		HashFamily differentParentSize = createFamily(0x1000, quad(1, 10));
+		differentParentSize.addParent(quad(2, 21));
+		differentParentSize.addChild(quad(3, 30));
+		assertFalse(family.isEquivalent(differentParentSize));
+
+		HashFamily extraChild = createFamily(0x1000, quad(1, 10));
+		extraChild.addParent(quad(2, 20));
+		extraChild.addChild(quad(3, 30));
+		extraChild.addChild(quad(4, 40));
+		assertFalse(family.isEquivalent(extraChild));
+
+		HashFamily childAsParent = createFamily(0x1000, quad(1, 10));
+		childAsParent.addParent(quad(3, 30));
+		childAsParent.addChild(quad(2, 20));
+		assertFalse(family.isEquivalent(childAsParent));
+	}
+
+	private HashFamily createFamily(long offset, FidHashQuad hash) {
+		Address address = space.getAddress(offset);
+		return new HashFamily(address, hash);
+	}
+
+	private static FidHashQuad quad(long fullHash, int codeUnitSize) {
+		return new TestHashQuad((short) codeUnitSize, fullHash, (byte) 0, fullHash * 31);
+	}
+
+	private record TestHashQuad(short getCodeUnitSize, long getFullHash,
+			byte getSpecificHashAdditionalSize, long getSpecificHash) implements FidHashQuad {
+		// simple hash values
+	}
+}
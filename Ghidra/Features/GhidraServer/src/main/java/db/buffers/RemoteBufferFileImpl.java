@@ -311,7 +311,8 @@ public class RemoteBufferFileImpl extends UnicastRemoteObject
 		InputBlockStream inputBlockStream = bufferFile.getInputBlockStream();
 		RemoteInputBlockStreamHandle streamHandle =
 			new RemoteInputBlockStreamHandle(blockStreamServer, inputBlockStream);
-		if (!blockStreamServer.registerBlockStream(streamHandle, inputBlockStream)) {
+		if (!blockStreamServer.registerBlockStream(streamHandle, inputBlockStream,
+			owner.getRepository().getName())) {
 			throw new IOException("request failed: block stream server not running");
 		}
 		return streamHandle;
@@ -324,7 +325,8 @@ public class RemoteBufferFileImpl extends UnicastRemoteObject
 		OutputBlockStream outputBlockStream = bufferFile.getOutputBlockStream(blockCount);
 		RemoteOutputBlockStreamHandle streamHandle = new RemoteOutputBlockStreamHandle(
 			blockStreamServer, blockCount, outputBlockStream.getBlockSize());
-		if (!blockStreamServer.registerBlockStream(streamHandle, outputBlockStream)) {
+		if (!blockStreamServer.registerBlockStream(streamHandle, outputBlockStream,
+			owner.getRepository().getName())) {
 			throw new IOException("request failed: block stream server not running");
 		}
 		return streamHandle;
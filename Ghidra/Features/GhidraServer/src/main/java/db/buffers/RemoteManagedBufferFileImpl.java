@@ -115,7 +115,8 @@ public class RemoteManagedBufferFileImpl extends RemoteBufferFileImpl
 		InputBlockStream inputBlockStream = managedBufferFile.getInputBlockStream(changeMapData);
 		RemoteInputBlockStreamHandle streamHandle =
 			new RemoteInputBlockStreamHandle(blockStreamServer, inputBlockStream);
-		if (!blockStreamServer.registerBlockStream(streamHandle, inputBlockStream)) {
+		if (!blockStreamServer.registerBlockStream(streamHandle, inputBlockStream,
+			owner.getRepository().getName())) {
 			throw new IOException("request failed: block stream server not running");
 		}
 		return streamHandle;
@@ -0,0 +1,127 @@
+/* ###
+ * IP: GHIDRA
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ghidra.server.metrics;
+
+import java.util.Map;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <code>Histogram</code> is a thread-safe histogram with fixed bucket upper bounds.  Values
+ * greater than the largest bound are counted within an overflow bucket.  Percentiles are
+ * estimated from the bucket counts.
+ */
+class Histogram {
+
+	private final long[] bounds;
+	private final String unit;
+	private final LongAdder[] buckets;
+	private final LongAdder count = new LongAdder();
+	private final LongAdder total = new LongAdder();
+	private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+	/**
+	 * Construct a histogram
+	 * @param unit unit suffix used when naming buckets (e.g., "ms")
+	 * @param bounds inclusive bucket upper bounds in increasing order
+	 */
+	Histogram(String unit, long... bounds) {
+		this.unit = unit;
+		this.bounds = bounds;
+		buckets = new LongAdder[bounds.length + 1];
+		for (int i = 0; i < buckets.length; i++) {
+			buckets[i] = new LongAdder();
+		}
+	}
+
+	/**
+	 * Record a value
+	 * @param value value to be recorded
+	 */
+	void record(long value) {
+		int index = 0;
+		while (index < bounds.length && value > bounds[index]) {
+			++index;
+		}
+		buckets[index].increment();
+		count.increment();
+		total.add(value);
+		max.accumulate(value);
+	}
+
+	long getCount() {
+		return count.sum();
+	}
+
+	long getTotal() {
+		return total.sum();
+	}
+
+	long getMax() {
+		return max.get();
+	}
+
+	/**
+	 * Estimate a percentile of the recorded values.  The estimate is the upper bound of the
+	 * bucket which contains the value of that rank, limited by the largest recorded value.
+	 * Values within the overflow bucket are estimated by the largest recorded value.
+	 * @param percentile percentile between 0 and 100
+	 * @return estimated percentile value, 0 if no values have been recorded
+	 */
+	long getPercentile(double percentile) {
+		if (percentile < 0 || percentile > 100) {
+			throw new IllegalArgumentException("invalid percentile: " + percentile);
+		}
+		long[] counts = new long[buckets.length];
+		long n = 0;
+		for (int i = 0; i < buckets.length; i++) {
+			counts[i] = buckets[i].sum();
+			n += counts[i];
+		}
+		if (n == 0) {
+			return 0;
+		}
+		long rank = Math.max(1, (long) Math.ceil(percentile / 100 * n));
+		long maxValue = getMax();
+		long cumulative = 0;
+		for (int i = 0; i < bounds.length; i++) {
+			cumulative += counts[i];
+			if (cumulative >= rank) {
+				return Math.min(bounds[i], maxValue);
+			}
+		}
+		return maxValue;
+	}
+
+	/**
+	 * Add the count, total, max, estimated percentiles and bucket counts of this histogram to a metrics map
+	 * @param prefix metric name prefix
+	 * @param metrics map to which metrics are added
+	 */
+	void addMetrics(String prefix, Map<String, Long> metrics) {
+		metrics.put(prefix + ".count", getCount());
+		metrics.put(prefix + ".total", getTotal());
+		metrics.put(prefix + ".max", getMax());
+		metrics.put(prefix + ".p50", getPercentile(50));
+		metrics.put(prefix + ".p90", getPercentile(90));
+		metrics.put(prefix + ".p99", getPercentile(99));
+		for (int i = 0; i < bounds.length; i++) {
+			metrics.put(prefix + ".le_" + bounds[i] + unit, buckets[i].sum());
+		}
+		metrics.put(prefix + ".gt_" + bounds[bounds.length - 1] + unit,
+			buckets[bounds.length].sum());
+	}
+}
@@ -0,0 +1,64 @@
+/* ###
+ * IP: GHIDRA
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ghidra.server.metrics;
+
+/**
+ * <code>OperationTimer</code> times a single server operation and records it with
+ * {@link ServerMetrics} when closed.  If the operation must wait for a repository lock,
+ * {@link #lockAcquired()} should be invoked once the lock has been obtained so that the
+ * lock wait time is also recorded.
+ * <pre>
+ *   try (OperationTimer timer = ServerMetrics.startOperation("checkout", repoName, user, path)) {
+ *       synchronized (syncObject) {
+ *           timer.lockAcquired();
+ *           ...
+ *       }
+ *   }
+ * </pre>
+ */
+public class OperationTimer implements AutoCloseable {
+
+	private final ServerMetrics metrics;
+	final String operation;
+	final String repositoryName;
+	final String user;
+	final String path;
+	final long startTime = System.nanoTime();
+	long lockWaitNanos = -1;
+
+	OperationTimer(ServerMetrics metrics, String operation, String repositoryName, String user,
+			String path) {
+		this.metrics = metrics;
+		this.operation = operation;
+		this.repositoryName = repositoryName;
+		this.user = user;
+		this.path = path;
+	}
+
+	/**
+	 * Mark the point at which the repository lock was acquired.
+	 */
+	public void lockAcquired() {
+		if (lockWaitNanos < 0) {
+			lockWaitNanos = System.nanoTime() - startTime;
+		}
+	}
+
+	@Override
+	public void close() {
+		metrics.operationCompleted(this, System.nanoTime());
+	}
+}
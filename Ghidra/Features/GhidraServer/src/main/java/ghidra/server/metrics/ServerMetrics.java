@@ -0,0 +1,303 @@
+/* ###
+ * IP: GHIDRA
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ghidra.server.metrics;
+
+import java.io.*;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.*;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import ghidra.server.RepositoryManager;
+import ghidra.server.stream.BlockStreamServer;
+import ghidra.server.stream.BlockStreamStatistics;
+import ghidra.util.timer.GTimer;
+import ghidra.util.timer.GTimerMonitor;
+
+/**
+ * <code>ServerMetrics</code> records the number and latency of repository operations
+ * performed by the Ghidra Server, the time spent waiting for repository locks and the size of
+ * the databases opened by clients.  Block stream transfer statistics are obtained from the
+ * {@link BlockStreamServer}.
+ * <p>
+ * Metrics may be exported periodically to a metrics file (see {@link #METRICS_FILE_PROPERTY})
+ * and are available via JMX as the <code>{@value #OBJECT_NAME}</code> MXBean.  Operations
+ * which take longer than the slow operation threshold (see {@link #SLOW_OPERATION_PROPERTY})
+ * are logged.
+ */
+public class ServerMetrics implements ServerMetricsMXBean {
+
+	private static final Logger log = LogManager.getLogger(ServerMetrics.class);
+
+	/**
+	 * System property which specifies the file to which metrics are periodically written.
+	 * A relative path is relative to the repositories root directory.  If not specified
+	 * a metrics file is not written.
+	 */
+	public static final String METRICS_FILE_PROPERTY = "ghidra.server.metrics.file";
+
+	/**
+	 * System property which specifies the period in seconds at which the metrics file is
+	 * written (default is 60).
+	 */
+	public static final String METRICS_PERIOD_PROPERTY = "ghidra.server.metrics.period";
+
+	/**
+	 * System property which specifies if the metrics MXBean should be registered with the
+	 * platform MBean server (default is true).
+	 */
+	public static final String JMX_ENABLED_PROPERTY = "ghidra.server.metrics.jmx";
+
+	/**
+	 * System property which specifies the elapsed time in milliseconds at or above which an
+	 * operation is logged as slow (default is 5000).  A value of 0 disables the slow
+	 * operation log.
+	 */
+	public static final String SLOW_OPERATION_PROPERTY = "ghidra.server.slowOperationMillis";
+
+	public static final String OBJECT_NAME = "ghidra.server:type=ServerMetrics";
+
+	private static final int DEFAULT_METRICS_PERIOD_SECONDS = 60;
+	private static final long DEFAULT_SLOW_OPERATION_MS = 5000;
+
+	private static final long[] LATENCY_BOUNDS_MS =
+		{ 1, 5, 10, 50, 100, 500, 1000, 5000, 10000, 60000 };
+	private static final long[] SIZE_BOUNDS_KB =
+		{ 1024, 10 * 1024, 100 * 1024, 1024 * 1024, 10 * 1024 * 1024 };
+
+	private static final ServerMetrics serverMetrics = new ServerMetrics();
+
+	/**
+	 * Get the ServerMetrics singleton instance
+	 * @return server metrics
+	 */
+	public static ServerMetrics getServerMetrics() {
+		return serverMetrics;
+	}
+
+	/**
+	 * Start timing a repository operation.  The returned timer must be closed when the
+	 * operation completes.
+	 * @param operation operation name
+	 * @param repositoryName repository name (may be null)
+	 * @param user user performing operation (may be null)
+	 * @param path repository file or folder path (may be null)
+	 * @return operation timer
+	 */
+	public static OperationTimer startOperation(String operation, String repositoryName,
+			String user, String path) {
+		return new OperationTimer(serverMetrics, operation, repositoryName, user, path);
+	}
+
+	private static class OperationStatistics {
+		final Histogram latency = new Histogram("ms", LATENCY_BOUNDS_MS);
+		final LongAdder lockWaitMillis = new LongAdder();
+	}
+
+	private final Map<String, OperationStatistics> operationMap = new ConcurrentHashMap<>();
+	private final Histogram databaseSizes = new Histogram("KB", SIZE_BOUNDS_KB);
+	private final LongAdder slowOperationCount = new LongAdder();
+
+	private volatile long slowOperationMillis =
+		Math.max(0, Long.getLong(SLOW_OPERATION_PROPERTY, DEFAULT_SLOW_OPERATION_MS));
+
+	private File metricsFile;
+	private GTimerMonitor writeTimerMonitor;
+	private ObjectName objectName;
+
+	private ServerMetrics() {
+		// singleton
+	}
+
+	/**
+	 * Record the size of a database opened by a client (e.g., for checkout or update).
+	 * @param bytes database size in bytes
+	 */
+	public void recordDatabaseOpened(long bytes) {
+		databaseSizes.record(bytes / 1024);
+	}
+
+	void operationCompleted(OperationTimer timer, long endTime) {
+		long elapsedMs = (endTime - timer.startTime) / 1_000_000;
+		long lockWaitMs = timer.lockWaitNanos < 0 ? 0 : timer.lockWaitNanos / 1_000_000;
+
+		OperationStatistics stats =
+			operationMap.computeIfAbsent(timer.operation, op -> new OperationStatistics());
+		stats.latency.record(elapsedMs);
+		stats.lockWaitMillis.add(lockWaitMs);
+
+		long threshold = slowOperationMillis;
+		if (threshold > 0 && elapsedMs >= threshold) {
+			slowOperationCount.increment();
+			StringBuilder buf = new StringBuilder("Slow operation: ");
+			buf.append(timer.operation);
+			if (timer.repositoryName != null) {
+				buf.append(" [");
+				buf.append(timer.repositoryName);
+				buf.append("]");
+			}
+			if (timer.path != null) {
+				buf.append(timer.path);
+			}
+			if (timer.user != null) {
+				buf.append(" (");
+				buf.append(timer.user);
+				buf.append(")");
+			}
+			buf.append(" took ");
+			buf.append(elapsedMs);
+			buf.append(" ms, lock wait ");
+			buf.append(lockWaitMs);
+			buf.append(" ms");
+			log.warn(buf.toString());
+		}
+	}
+
+	/**
+	 * Start exporting metrics as configured by the metrics system properties.
+	 * @param rootDir repositories root directory against which a relative metrics file
+	 * path is resolved
+	 */
+	public synchronized void start(File rootDir) {
+		String metricsFilePath = System.getProperty(METRICS_FILE_PROPERTY);
+		if (metricsFilePath != null && !metricsFilePath.isBlank()) {
+			metricsFile = new File(metricsFilePath);
+			if (!metricsFile.isAbsolute()) {
+				metricsFile = new File(rootDir, metricsFilePath);
+			}
+			long period = 1000L * Math.max(1,
+				Integer.getInteger(METRICS_PERIOD_PROPERTY, DEFAULT_METRICS_PERIOD_SECONDS));
+			writeTimerMonitor =
+				GTimer.scheduleRepeatingRunnable(period, period, this::writeMetricsFileQuietly);
+			log.info("Writing server metrics to " + metricsFile + " every " + (period / 1000) +
+				" seconds");
+		}
+		if (Boolean.parseBoolean(System.getProperty(JMX_ENABLED_PROPERTY, "true"))) {
+			try {
+				ObjectName name = new ObjectName(OBJECT_NAME);
+				ManagementFactory.getPlatformMBeanServer().registerMBean(this, name);
+				objectName = name;
+			}
+			catch (JMException e) {
+				log.error("Failed to register server metrics MXBean: " + e.getMessage());
+			}
+		}
+		if (slowOperationMillis > 0) {
+			log.info("Logging operations which take " + slowOperationMillis + " ms or longer");
+		}
+	}
+
+	/**
+	 * Stop exporting metrics.  The metrics file, if configured, is written a final time.
+	 */
+	public synchronized void stop() {
+		if (writeTimerMonitor != null) {
+			writeTimerMonitor.cancel();
+			writeTimerMonitor = null;
+			writeMetricsFileQuietly();
+		}
+		metricsFile = null;
+		if (objectName != null) {
+			try {
+				ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+			}
+			catch (JMException e) {
+				// ignore
+			}
+			objectName = null;
+		}
+	}
+
+	@Override
+	public SortedMap<String, Long> getMetrics() {
+		SortedMap<String, Long> metrics = new TreeMap<>();
+		for (Map.Entry<String, OperationStatistics> entry : operationMap.entrySet()) {
+			String prefix = "operation." + entry.getKey();
+			OperationStatistics stats = entry.getValue();
+			stats.latency.addMetrics(prefix + ".latency", metrics);
+			metrics.put(prefix + ".lockWaitMillis", stats.lockWaitMillis.sum());
+		}
+		metrics.put("operation.slowCount", slowOperationCount.sum());
+		databaseSizes.addMetrics("database.openedSize", metrics);
+
+		BlockStreamServer streamServer = BlockStreamServer.getBlockStreamServer();
+		metrics.put("stream.activeTransfers", (long) streamServer.getActiveTransferCount());
+		for (BlockStreamStatistics stats : streamServer.getStatistics()) {
+			String prefix = "stream." + stats.getRepositoryName();
+			metrics.put(prefix + ".transfers", stats.getTransferCount());
+			metrics.put(prefix + ".failures", stats.getFailureCount());
+			metrics.put(prefix + ".bytes", stats.getByteCount());
+			metrics.put(prefix + ".millis", stats.getTransferMillis());
+			metrics.put(prefix + ".bytesPerSecond", stats.getThroughput());
+		}
+
+		Runtime runtime = Runtime.getRuntime();
+		metrics.put("jvm.heapUsed", runtime.totalMemory() - runtime.freeMemory());
+		metrics.put("jvm.heapMax", runtime.maxMemory());
+		return metrics;
+	}
+
+	@Override
+	public long getSlowOperationThresholdMillis() {
+		return slowOperationMillis;
+	}
+
+	@Override
+	public void setSlowOperationThresholdMillis(long millis) {
+		slowOperationMillis = Math.max(0, millis);
+		RepositoryManager.log(null, null, "slow operation threshold set to " + millis + " ms",
+			null);
+	}
+
+	@Override
+	public synchronized void writeMetricsFile() throws IOException {
+		if (metricsFile == null) {
+			return;
+		}
+		StringBuilder buf = new StringBuilder();
+		buf.append("# Ghidra Server metrics ");
+		buf.append(new Date());
+		buf.append('\n');
+		for (Map.Entry<String, Long> entry : getMetrics().entrySet()) {
+			buf.append(entry.getKey());
+			buf.append('=');
+			buf.append(entry.getValue());
+			buf.append('\n');
+		}
+		// write to a temporary file first so that readers never observe a partial file
+		Path path = metricsFile.toPath();
+		Path tmpPath = path.resolveSibling(path.getFileName() + ".tmp");
+		Files.writeString(tmpPath, buf, StandardCharsets.UTF_8);
+		Files.move(tmpPath, path, StandardCopyOption.REPLACE_EXISTING,
+			StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	private void writeMetricsFileQuietly() {
+		try {
+			writeMetricsFile();
+		}
+		catch (IOException e) {
+			log.error("Failed to write server metrics file: " + e.getMessage());
+		}
+	}
+}
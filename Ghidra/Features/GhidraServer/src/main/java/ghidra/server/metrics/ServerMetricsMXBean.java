@@ -0,0 +1,50 @@
+/* ###
+ * IP: GHIDRA
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ghidra.server.metrics;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * <code>ServerMetricsMXBean</code> is the JMX management interface for {@link ServerMetrics}.
+ */
+public interface ServerMetricsMXBean {
+
+	/**
+	 * Get all server metrics as name/value pairs.  These are the same values which are
+	 * written to the metrics file.
+	 * @return metrics sorted by name
+	 */
+	Map<String, Long> getMetrics();
+
+	/**
+	 * Get the elapsed time at or above which an operation is logged as slow
+	 * @return slow operation threshold in milliseconds, 0 if disabled
+	 */
+	long getSlowOperationThresholdMillis();
+
+	/**
+	 * Set the elapsed time at or above which an operation is logged as slow
+	 * @param millis slow operation threshold in milliseconds, 0 to disable
+	 */
+	void setSlowOperationThresholdMillis(long millis);
+
+	/**
+	 * Immediately write the metrics file if one has been configured
+	 * @throws IOException if an IO error occurs
+	 */
+	void writeMetricsFile() throws IOException;
+}
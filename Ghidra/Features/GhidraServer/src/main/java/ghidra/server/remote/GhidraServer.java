@@ -49,6 +49,7 @@ import ghidra.net.ApplicationKeyManagerFactory;
 import ghidra.net.SSLContextInitializer;
 import ghidra.server.RepositoryManager;
 import ghidra.server.UserManager;
+import ghidra.server.metrics.ServerMetrics;
 import ghidra.server.security.*;
 import ghidra.server.stream.BlockStreamServer;
 import ghidra.server.stream.RemoteBlockStreamHandle;
@@ -226,6 +227,8 @@ public class GhidraServer extends UnicastRemoteObject implements GhidraServerHan
 				bindAddress, null, null, authMode == PKI_LOGIN);
 		}
 		blockStreamServer.startServer(streamServerSocket, initRemoteAccessHostname());
+
+		ServerMetrics.getServerMetrics().start(rootDir);
 	}
 
 	@Override
@@ -394,6 +397,7 @@ public class GhidraServer extends UnicastRemoteObject implements GhidraServerHan
 		catch (NoSuchObjectException e) {
 			// don't care?
 		}
+		ServerMetrics.getServerMetrics().stop();
 		if (mgr != null) {
 			mgr.dispose();
 			mgr = null;
@@ -782,7 +786,9 @@ public class GhidraServer extends UnicastRemoteObject implements GhidraServerHan
 			log.info("   RMI SSL port: " + ServerPortFactory.getRMISSLPort());
 			log.info("   Block Stream port: " + ServerPortFactory.getStreamPort());
 			log.info("   Block Stream compression: " +
-				(RemoteBlockStreamHandle.enableCompressedSerializationOutput ? "enabled"
+				(RemoteBlockStreamHandle.enableCompressedSerializationOutput
+						? "enabled (level " + RemoteBlockStreamHandle.compressionLevel + ", " +
+							RemoteBlockStreamHandle.compressionThreads + " threads)"
 						: "disabled"));
 //			log.info("   Class server port: " + ??);
 			log.info("   Root: " + rootPath);
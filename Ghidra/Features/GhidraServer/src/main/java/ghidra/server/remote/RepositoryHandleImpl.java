@@ -28,6 +28,8 @@ import ghidra.framework.remote.*;
 import ghidra.framework.store.*;
 import ghidra.server.Repository;
 import ghidra.server.RepositoryManager;
+import ghidra.server.metrics.OperationTimer;
+import ghidra.server.metrics.ServerMetrics;
 import ghidra.server.store.RepositoryFile;
 import ghidra.server.store.RepositoryFolder;
 import ghidra.util.InvalidNameException;
@@ -163,6 +165,14 @@ public class RepositoryHandleImpl extends UnicastRemoteObject
 		}
 	}
 
+	private OperationTimer startOperation(String operation, String path) {
+		return ServerMetrics.startOperation(operation, repository.getName(), currentUser, path);
+	}
+
+	private OperationTimer startOperation(String operation, String parentPath, String itemName) {
+		return startOperation(operation, getPathname(parentPath, itemName));
+	}
+
 	private void validate() throws RemoteException {
 		if (!isValid) {
 			throw new RemoteException("bad repository handle");
@@ -297,63 +307,75 @@ public class RepositoryHandleImpl extends UnicastRemoteObject
 
 	@Override
 	public String[] getSubfolderList(String folderPath) throws IOException {
-		synchronized (syncObject) {
-			validate();
-			RepositoryFolder folder;
-			try {
-				folder = repository.getFolder(currentUser, folderPath, false);
-			}
-			catch (InvalidNameException e) {
-				throw new AssertException();
-			}
-			if (folder == null) {
-				return new String[0];
-			}
-			RepositoryFolder[] subfolders = folder.getFolders();
-			String[] subfolderNames = new String[subfolders.length];
-			for (int i = 0; i < subfolders.length; i++) {
-				subfolderNames[i] = subfolders[i].getName();
+		try (OperationTimer timer = startOperation("getSubfolderList", folderPath)) {
+			synchronized (syncObject) {
+				timer.lockAcquired();
+				validate();
+				RepositoryFolder folder;
+				try {
+					folder = repository.getFolder(currentUser, folderPath, false);
+				}
+				catch (InvalidNameException e) {
+					throw new AssertException();
+				}
+				if (folder == null) {
+					return new String[0];
+				}
+				RepositoryFolder[] subfolders = folder.getFolders();
+				String[] subfolderNames = new String[subfolders.length];
+				for (int i = 0; i < subfolders.length; i++) {
+					subfolderNames[i] = subfolders[i].getName();
+				}
+				return subfolderNames;
 			}
-			return subfolderNames;
 		}
 	}
 
 	@Override
 	public int getItemCount() throws IOException {
-		synchronized (syncObject) {
-			validate();
-			return repository.getItemCount();
+		try (OperationTimer timer = startOperation("getItemCount", null)) {
+			synchronized (syncObject) {
+				timer.lockAcquired();
+				validate();
+				return repository.getItemCount();
+			}
 		}
 	}
 
 	@Override
 	public RepositoryItem[] getItemList(String folderPath) throws IOException {
-		synchronized (syncObject) {
-			validate();
-			try {
-				RepositoryFolder folder = repository.getFolder(currentUser, folderPath, false);
-				if (folder == null) {
-					return new RepositoryItem[0];
+		try (OperationTimer timer = startOperation("getItemList", folderPath)) {
+			synchronized (syncObject) {
+				timer.lockAcquired();
+				validate();
+				try {
+					RepositoryFolder folder = repository.getFolder(currentUser, folderPath, false);
+					if (folder == null) {
+						return new RepositoryItem[0];
+					}
+					RepositoryFile[] files = folder.getFiles();
+					RepositoryItem[] items = new RepositoryItem[files.length];
+					for (int i = 0; i < files.length; i++) {
+						items[i] = files[i].getItem();
+					}
+					return items;
 				}
-				RepositoryFile[] files = folder.getFiles();
-				RepositoryItem[] items = new RepositoryItem[files.length];
-				for (int i = 0; i < files.length; i++) {
-					items[i] = files[i].getItem();
+				catch (InvalidNameException e) {
+					throw new AssertException();
 				}
-				return items;
-			}
-			catch (InvalidNameException e) {
-				throw new AssertException();
 			}
 		}
 	}
 
 	@Override
 	public RepositoryItem getItem(String folderPath, String name) throws IOException {
-		synchronized (syncObject) {
-			validate();
-			RepositoryFile rf = getFile(folderPath, name);
-			return rf != null ? rf.getItem() : null;
+		try (OperationTimer timer = startOperation("getItem", folderPath, name)) {
+			synchronized (syncObject) {
+				timer.lockAcquired();
+				validate();
+				RepositoryFile rf = getFile(folderPath, name);
+				return rf != null ? rf.getItem() : null;
+			}
 		}
 	}
 
@@ -385,68 +407,85 @@ public class RepositoryHandleImpl extends UnicastRemoteObject
 	public RemoteManagedBufferFileHandle createDatabase(String parentPath, String itemName,
 			String fileID, int bufferSize, String contentType, String projectPath)
 			throws InvalidNameException, IOException {
-		synchronized (syncObject) {
-			validate();
-			repository.validateWritePrivilege(currentUser);
-			RepositoryFolder folder = repository.getFolder(currentUser, parentPath, true);
-			if (folder == null) {
-				throw new IOException("Failed to create repository Folder " + parentPath);
+		try (OperationTimer timer = startOperation("createDatabase", parentPath, itemName)) {
+			synchronized (syncObject) {
+				timer.lockAcquired();
+				validate();
+				repository.validateWritePrivilege(currentUser);
+				RepositoryFolder folder = repository.getFolder(currentUser, parentPath, true);
+				if (folder == null) {
+					throw new IOException("Failed to create repository Folder " + parentPath);
+				}
+				LocalManagedBufferFile bf = folder.createDatabase(itemName, fileID, bufferSize,
+					contentType, currentUser, projectPath);
+				return new RemoteManagedBufferFileImpl(bf, this, getPathname(parentPath, itemName));
 			}
-			LocalManagedBufferFile bf = folder.createDatabase(itemName, fileID, bufferSize,
-				contentType, currentUser, projectPath);
-			return new RemoteManagedBufferFileImpl(bf, this, getPathname(parentPath, itemName));
 		}
 	}
 
 	@Override
 	public RemoteManagedBufferFileImpl openDatabase(String parentPath, String itemName, int version,
 			int minChangeDataVer) throws IOException {
-		synchronized (syncObject) {
-			validate();
-			RepositoryFile rf = getFile(parentPath, itemName);
-			if (rf == null) {
-				throw new FileNotFoundException(itemName + " not found in repository");
+		try (OperationTimer timer = startOperation("openDatabase", parentPath, itemName)) {
+			synchronized (syncObject) {
+				timer.lockAcquired();
+				validate();
+				RepositoryFile rf = getFile(parentPath, itemName);
+				if (rf == null) {
+					throw new FileNotFoundException(itemName + " not found in repository");
+				}
+				LocalManagedBufferFile bf = rf.openDatabase(version, minChangeDataVer, currentUser);
+				recordDatabaseOpened(bf);
+				return new RemoteManagedBufferFileImpl(bf, this, getPathname(parentPath, itemName));
 			}
-			LocalManagedBufferFile bf = rf.openDatabase(version, minChangeDataVer, currentUser);
-			return new RemoteManagedBufferFileImpl(bf, this, getPathname(parentPath, itemName));
 		}
 	}
 
 	@Override
 	public RemoteManagedBufferFileImpl openDatabase(String parentPath, String itemName,
 			long checkoutId) throws IOException {
-		synchronized (syncObject) {
-			validate();
-			RepositoryFile rf = getFile(parentPath, itemName);
-			if (rf == null) {
-				throw new FileNotFoundException(itemName + " not found in repository");
+		try (OperationTimer timer = startOperation("openDatabase", parentPath, itemName)) {
+			synchronized (syncObject) {
+				timer.lockAcquired();
+				validate();
+				RepositoryFile rf = getFile(parentPath, itemName);
+				if (rf == null) {
+					throw new FileNotFoundException(itemName + " not found in repository");
+				}
+				LocalManagedBufferFile bf = rf.openDatabase(checkoutId, currentUser);
+				recordDatabaseOpened(bf);
+				return new RemoteManagedBufferFileImpl(bf, this, getPathname(parentPath, itemName));
 			}
-			LocalManagedBufferFile bf = rf.openDatabase(checkoutId, currentUser);
-			return new RemoteManagedBufferFileImpl(bf, this, getPathname(parentPath, itemName));
 		}
 	}
 
 	@Override
 	public Version[] getVersions(String parentPath, String itemName) throws IOException {
-		synchronized (syncObject) {
-			validate();
-			RepositoryFile rf = getFile(parentPath, itemName);
-			if (rf == null) {
-				throw new FileNotFoundException(itemName + " not found in repository");
+		try (OperationTimer timer = startOperation("getVersions", parentPath, itemName)) {
+			synchronized (syncObject) {
+				timer.lockAcquired();
+				validate();
+				RepositoryFile rf = getFile(parentPath, itemName);
+				if (rf == null) {
+					throw new FileNotFoundException(itemName + " not found in repository");
+				}
+				return rf.getVersions(currentUser);
 			}
-			return rf.getVersions(currentUser);
 		}
 	}
 
 	@Override
 	public void deleteItem(String parentPath, String itemName, int version) throws IOException {
-		synchronized (syncObject) {
-			validate();
-			repository.validateWritePrivilege(currentUser);
-			checkFileInUse(parentPath, itemName);
-			RepositoryFile rf = getFile(parentPath, itemName);
-			if (rf != null) {
-				rf.delete(version, currentUser);
+		try (OperationTimer timer = startOperation("deleteItem", parentPath, itemName)) {
+			synchronized (syncObject) {
+				timer.lockAcquired();
+				validate();
+				repository.validateWritePrivilege(currentUser);
+				checkFileInUse(parentPath, itemName);
+				RepositoryFile rf = getFile(parentPath, itemName);
+				if (rf != null) {
+					rf.delete(version, currentUser);
+				}
 			}
 		}
 	}
@@ -454,15 +493,18 @@ public class RepositoryHandleImpl extends UnicastRemoteObject
 	@Override
 	public void moveFolder(String oldParentPath, String newParentPath, String oldFolderName,
 			String newFolderName) throws InvalidNameException, IOException {
-		synchronized (syncObject) {
-			validate();
-			repository.validateWritePrivilege(currentUser);
-			checkFolderInUse(oldParentPath, oldFolderName);
-			RepositoryFolder folder = repository.getFolder(currentUser,
-				oldParentPath + FileSystem.SEPARATOR + oldFolderName, false);
-			RepositoryFolder newParent = repository.getFolder(currentUser, newParentPath, true);
-			if (folder != null) {
-				folder.moveTo(newParent, newFolderName, currentUser);
+		try (OperationTimer timer = startOperation("moveFolder", oldParentPath, oldFolderName)) {
+			synchronized (syncObject) {
+				timer.lockAcquired();
+				validate();
+				repository.validateWritePrivilege(currentUser);
+				checkFolderInUse(oldParentPath, oldFolderName);
+				RepositoryFolder folder = repository.getFolder(currentUser,
+					oldParentPath + FileSystem.SEPARATOR + oldFolderName, false);
+				RepositoryFolder newParent = repository.getFolder(currentUser, newParentPath, true);
+				if (folder != null) {
+					folder.moveTo(newParent, newFolderName, currentUser);
+				}
 			}
 		}
 	}
@@ -470,19 +512,22 @@ public class RepositoryHandleImpl extends UnicastRemoteObject
 	@Override
 	public void moveItem(String oldParentPath, String newParentPath, String oldItemName,
 			String newItemName) throws InvalidNameException, IOException {
-		synchronized (syncObject) {
-			validate();
-			repository.validateWritePrivilege(currentUser);
-			checkFileInUse(oldParentPath, oldItemName);
-			RepositoryFile rf = getFile(oldParentPath, oldItemName);
-			if (rf == null) {
-				throw new FileNotFoundException(oldItemName + " not found in repository");
-			}
-			RepositoryFolder folder = repository.getFolder(currentUser, newParentPath, true);
-			if (folder == null) {
-				throw new IOException("Failed to create repository Folder " + newParentPath);
+		try (OperationTimer timer = startOperation("moveItem", oldParentPath, oldItemName)) {
+			synchronized (syncObject) {
+				timer.lockAcquired();
+				validate();
+				repository.validateWritePrivilege(currentUser);
+				checkFileInUse(oldParentPath, oldItemName);
+				RepositoryFile rf = getFile(oldParentPath, oldItemName);
+				if (rf == null) {
+					throw new FileNotFoundException(oldItemName + " not found in repository");
+				}
+				RepositoryFolder folder = repository.getFolder(currentUser, newParentPath, true);
+				if (folder == null) {
+					throw new IOException("Failed to create repository Folder " + newParentPath);
+				}
+				rf.moveTo(folder, newItemName, currentUser);
 			}
-			rf.moveTo(folder, newItemName, currentUser);
 		}
 	}
 
@@ -540,31 +585,38 @@ public class RepositoryHandleImpl extends UnicastRemoteObject
 	@Override
 	public ItemCheckoutStatus checkout(String parentPath, String itemName,
 			CheckoutType checkoutType, String projectPath) throws IOException {
-		synchronized (syncObject) {
-			validate();
-			repository.validateWritePrivilege(currentUser);
-			RepositoryFile rf = getFile(parentPath, itemName);
-			if (rf == null) {
-				throw new FileNotFoundException(itemName + " not found in repository");
-			}
-			ItemCheckoutStatus checkoutStatus = rf.checkout(checkoutType, currentUser, projectPath);
-			if (checkoutStatus != null &&
-				checkoutStatus.getCheckoutType() == CheckoutType.TRANSIENT) {
-				addTransientCheckout(rf.getPathname(), checkoutStatus);
+		try (OperationTimer timer = startOperation("checkout", parentPath, itemName)) {
+			synchronized (syncObject) {
+				timer.lockAcquired();
+				validate();
+				repository.validateWritePrivilege(currentUser);
+				RepositoryFile rf = getFile(parentPath, itemName);
+				if (rf == null) {
+					throw new FileNotFoundException(itemName + " not found in repository");
+				}
+				ItemCheckoutStatus checkoutStatus =
+					rf.checkout(checkoutType, currentUser, projectPath);
+				if (checkoutStatus != null &&
+					checkoutStatus.getCheckoutType() == CheckoutType.TRANSIENT) {
+					addTransientCheckout(rf.getPathname(), checkoutStatus);
+				}
+				return checkoutStatus;
 			}
-			return checkoutStatus;
 		}
 	}
 
 	@Override
 	public void updateCheckoutVersion(String parentPath, String itemName, long checkoutId,
 			int checkoutVersion) throws IOException {
-		synchronized (syncObject) {
-			validate();
-			repository.validateWritePrivilege(currentUser);
-			RepositoryFile rf = getFile(parentPath, itemName);
-			if (rf != null) {
-				rf.updateCheckoutVersion(checkoutId, checkoutVersion, currentUser);
+		try (OperationTimer timer = startOperation("updateCheckoutVersion", parentPath, itemName)) {
+			synchronized (syncObject) {
+				timer.lockAcquired();
+				validate();
+				repository.validateWritePrivilege(currentUser);
+				RepositoryFile rf = getFile(parentPath, itemName);
+				if (rf != null) {
+					rf.updateCheckoutVersion(checkoutId, checkoutVersion, currentUser);
+				}
 			}
 		}
 	}
@@ -572,12 +624,15 @@ public class RepositoryHandleImpl extends UnicastRemoteObject
 	@Override
 	public void terminateCheckout(String parentPath, String itemName, long checkoutId,
 			boolean notify) throws IOException {
-		synchronized (syncObject) {
-			validate(); // relax read-only restriction
-			RepositoryFile rf = getFile(parentPath, itemName);
-			if (rf != null) {
-				rf.terminateCheckout(checkoutId, currentUser, notify);
-				removeTransientCheckout(rf.getPathname(), checkoutId);
+		try (OperationTimer timer = startOperation("terminateCheckout", parentPath, itemName)) {
+			synchronized (syncObject) {
+				timer.lockAcquired();
+				validate(); // relax read-only restriction
+				RepositoryFile rf = getFile(parentPath, itemName);
+				if (rf != null) {
+					rf.terminateCheckout(checkoutId, currentUser, notify);
+					removeTransientCheckout(rf.getPathname(), checkoutId);
+				}
 			}
 		}
 	}
@@ -585,99 +640,125 @@ public class RepositoryHandleImpl extends UnicastRemoteObject
 	@Override
 	public ItemCheckoutStatus getCheckout(String parentPath, String itemName, long checkoutId)
 			throws IOException {
-		synchronized (syncObject) {
-			validate();
-			RepositoryFile rf = getFile(parentPath, itemName);
-			if (rf == null) {
-				throw new FileNotFoundException(itemName + " not found in repository");
+		try (OperationTimer timer = startOperation("getCheckout", parentPath, itemName)) {
+			synchronized (syncObject) {
+				timer.lockAcquired();
+				validate();
+				RepositoryFile rf = getFile(parentPath, itemName);
+				if (rf == null) {
+					throw new FileNotFoundException(itemName + " not found in repository");
+				}
+				return rf.getCheckout(checkoutId, currentUser);
 			}
-			return rf.getCheckout(checkoutId, currentUser);
 		}
 	}
 
 	@Override
 	public ItemCheckoutStatus[] getCheckouts(String parentPath, String itemName)
 			throws IOException {
-		synchronized (syncObject) {
-			validate();
-			RepositoryFile rf = getFile(parentPath, itemName);
-			if (rf == null) {
-				throw new FileNotFoundException(itemName + " not found in repository");
+		try (OperationTimer timer = startOperation("getCheckouts", parentPath, itemName)) {
+			synchronized (syncObject) {
+				timer.lockAcquired();
+				validate();
+				RepositoryFile rf = getFile(parentPath, itemName);
+				if (rf == null) {
+					throw new FileNotFoundException(itemName + " not found in repository");
+				}
+				return rf.getCheckouts(currentUser);
 			}
-			return rf.getCheckouts(currentUser);
 		}
 	}
 
 	@Override
 	public boolean folderExists(String folderPath) throws IOException {
-		synchronized (syncObject) {
-			validate();
-			try {
-				return (repository.getFolder(currentUser, folderPath, false) != null);
-			}
-			catch (InvalidNameException e) {
-				throw new AssertException();
+		try (OperationTimer timer = startOperation("folderExists", folderPath)) {
+			synchronized (syncObject) {
+				timer.lockAcquired();
+				validate();
+				try {
+					return (repository.getFolder(currentUser, folderPath, false) != null);
+				}
+				catch (InvalidNameException e) {
+					throw new AssertException();
+				}
 			}
 		}
 	}
 
 	@Override
 	public boolean fileExists(String parentPath, String itemName) throws IOException {
-		synchronized (syncObject) {
-			validate();
-			RepositoryFile rf;
-			try {
-				rf = getFile(parentPath, itemName);
-			}
-			catch (FileNotFoundException e) {
-				return false;
+		try (OperationTimer timer = startOperation("fileExists", parentPath, itemName)) {
+			synchronized (syncObject) {
+				timer.lockAcquired();
+				validate();
+				RepositoryFile rf;
+				try {
+					rf = getFile(parentPath, itemName);
+				}
+				catch (FileNotFoundException e) {
+					return false;
+				}
+				return rf != null;
 			}
-			return rf != null;
 		}
 	}
 
 	@Override
 	public long getLength(String parentPath, String itemName) throws IOException {
-		synchronized (syncObject) {
-			validate();
-			RepositoryFile rf;
-			try {
-				rf = getFile(parentPath, itemName);
-				if (rf == null) {
+		try (OperationTimer timer = startOperation("getLength", parentPath, itemName)) {
+			synchronized (syncObject) {
+				timer.lockAcquired();
+				validate();
+				RepositoryFile rf;
+				try {
+					rf = getFile(parentPath, itemName);
+					if (rf == null) {
+						return 0;
+					}
+					return rf.length();
+				}
+				catch (FileNotFoundException e) {
 					return 0;
 				}
-				return rf.length();
-			}
-			catch (FileNotFoundException e) {
-				return 0;
 			}
 		}
 	}
 
 	@Override
 	public boolean hasCheckouts(String parentPath, String itemName) throws IOException {
-		synchronized (syncObject) {
-			validate();
-			RepositoryFile rf = getFile(parentPath, itemName);
-			if (rf == null) {
-				throw new FileNotFoundException(itemName + " not found in repository");
+		try (OperationTimer timer = startOperation("hasCheckouts", parentPath, itemName)) {
+			synchronized (syncObject) {
+				timer.lockAcquired();
+				validate();
+				RepositoryFile rf = getFile(parentPath, itemName);
+				if (rf == null) {
+					throw new FileNotFoundException(itemName + " not found in repository");
+				}
+				return rf.hasCheckouts();
 			}
-			return rf.hasCheckouts();
 		}
 	}
 
 	@Override
 	public boolean isCheckinActive(String parentPath, String itemName) throws IOException {
-		synchronized (syncObject) {
-			validate();
-			RepositoryFile rf = getFile(parentPath, itemName);
-			if (rf == null) {
-				throw new FileNotFoundException(itemName + " not found in repository");
+		try (OperationTimer timer = startOperation("isCheckinActive", parentPath, itemName)) {
+			synchronized (syncObject) {
+				timer.lockAcquired();
+				validate();
+				RepositoryFile rf = getFile(parentPath, itemName);
+				if (rf == null) {
+					throw new FileNotFoundException(itemName + " not found in repository");
+				}
+				return rf.isCheckinActive();
 			}
-			return rf.isCheckinActive();
 		}
 	}
 
+	private static void recordDatabaseOpened(LocalManagedBufferFile bf) {
+		ServerMetrics.getServerMetrics()
+				.recordDatabaseOpened((long) bf.getIndexCount() * bf.getBufferSize());
+	}
+
 	private static String getPathname(String parentPath, String itemName) {
 		StringBuffer path = new StringBuffer(parentPath);
 		if (path.charAt(path.length() - 1) != FileSystem.SEPARATOR_CHAR) {
@@ -18,6 +18,8 @@ package ghidra.server.stream;
 import java.io.*;
 import java.net.*;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -38,7 +40,11 @@ import ghidra.util.timer.GTimerMonitor;
  * <code>java.rmi.server.hostname</code> which is set via the GhidraServer -ip command
  * line option.
  * <p>
- * The server will run in its own thread with each accepted connection running in another thread.
+ * The server will run in its own thread with each accepted connection serviced by a virtual
+ * thread.  The number of concurrent block stream transfers is limited by the
+ * {@value #MAX_TRANSFERS_PROPERTY} property.  Connections which exceed this limit wait for an
+ * active transfer to complete.  Transfer statistics are accumulated per repository
+ * (see {@link #getStatistics()}).
  */
 public class BlockStreamServer extends Thread {
 
@@ -51,6 +57,16 @@ public class BlockStreamServer extends Thread {
 	private static int MAX_AGE_MS = 30000;
 	private static int CLEANUP_PERIOD = 30000;
 
+	/**
+	 * System property which specifies the maximum number of block stream transfers which
+	 * may be serviced concurrently (default is 64).
+	 */
+	public static final String MAX_TRANSFERS_PROPERTY = "ghidra.server.stream.maxTransfers";
+
+	private static final int DEFAULT_MAX_TRANSFERS = 64;
+
+	private static final String UNKNOWN_REPOSITORY = "<unknown>";
+
 	/**
 	 * Get the BlockStreamServer singleton instance.  This is intended for use on 
 	 * the server-side only.  The servers TCP port is determined by the {@link ServerPortFactory}
@@ -68,6 +84,12 @@ public class BlockStreamServer extends Thread {
 
 	private Map<Long, BlockStreamRegistration> blockStreamMap = new HashMap<>();
 
+	private final int maxTransfers =
+		Math.max(1, Integer.getInteger(MAX_TRANSFERS_PROPERTY, DEFAULT_MAX_TRANSFERS));
+	private final Semaphore transferPermits = new Semaphore(maxTransfers);
+
+	private final Map<String, BlockStreamStatistics> statisticsMap = new ConcurrentHashMap<>();
+
 	private long nextStreamID = System.currentTimeMillis();
 
 	private String hostname;
@@ -123,13 +145,16 @@ public class BlockStreamServer extends Thread {
 
 		final RemoteBlockStreamHandle<?> streamHandle;
 		final BlockStream blockStream;
+		final String repositoryName;
 
 		final long timestamp = System.currentTimeMillis();
 		HandlerConnectionState state = HandlerConnectionState.INIT;
 
-		BlockStreamRegistration(RemoteBlockStreamHandle<?> streamHandle, BlockStream blockStream) {
+		BlockStreamRegistration(RemoteBlockStreamHandle<?> streamHandle, BlockStream blockStream,
+				String repositoryName) {
 			this.streamHandle = streamHandle;
 			this.blockStream = blockStream;
+			this.repositoryName = repositoryName;
 		}
 	}
 
@@ -143,6 +168,21 @@ public class BlockStreamServer extends Thread {
 	 */
 	public boolean registerBlockStream(RemoteBlockStreamHandle<?> streamHandle,
 			BlockStream blockStream) {
+		return registerBlockStream(streamHandle, blockStream, null);
+	}
+
+	/**
+	 * Register a new block stream to be serviced.  A block stream registration 
+	 * will permit the server to associate an in-bound client connection with the 
+	 * appropriate block stream.
+	 * @param streamHandle the remote block stream handle
+	 * @param blockStream the associated block stream data source/sink
+	 * @param repositoryName name of repository whose transfer statistics should include
+	 * this block stream (may be null)
+	 * @return true if registration succeeded, false if server is not running
+	 */
+	public boolean registerBlockStream(RemoteBlockStreamHandle<?> streamHandle,
+			BlockStream blockStream, String repositoryName) {
 		synchronized (blockStreamMap) {
 			if (!running) {
 				return false;
@@ -155,11 +195,40 @@ public class BlockStreamServer extends Thread {
 				throw new IllegalArgumentException("stream handle previously registered/used");
 			}
 
-			blockStreamMap.put(streamID, new BlockStreamRegistration(streamHandle, blockStream));
+			blockStreamMap.put(streamID, new BlockStreamRegistration(streamHandle, blockStream,
+				repositoryName != null ? repositoryName : UNKNOWN_REPOSITORY));
 			return true;
 		}
 	}
 
+	/**
+	 * Get the block stream transfer statistics accumulated for each repository since the
+	 * server was started.
+	 * @return transfer statistics sorted by repository name
+	 */
+	public List<BlockStreamStatistics> getStatistics() {
+		List<BlockStreamStatistics> list = new ArrayList<>(statisticsMap.values());
+		list.sort(Comparator.comparing(BlockStreamStatistics::getRepositoryName));
+		return list;
+	}
+
+	/**
+	 * Get the maximum number of block stream transfers which may be serviced concurrently
+	 * @return maximum concurrent transfer count
+	 * @see #MAX_TRANSFERS_PROPERTY
+	 */
+	public int getMaxTransfers() {
+		return maxTransfers;
+	}
+
+	/**
+	 * Get the number of block stream transfers which are currently being serviced
+	 * @return active transfer count
+	 */
+	public int getActiveTransferCount() {
+		return maxTransfers - transferPermits.availablePermits();
+	}
+
 	/**
 	 * Cleanup unused block stream registrations which are too old
 	 * @param cleanupAll if true all requests will be cleaned-up due to server shutdown
@@ -205,7 +274,8 @@ public class BlockStreamServer extends Thread {
 		hostname = host;
 		running = true;
 
-		log.info("Starting Block Stream Server...");
+		log.info("Starting Block Stream Server (max concurrent transfers: " + maxTransfers +
+			")...");
 
 		cleanupTimerMonitor = GTimer.scheduleRepeatingRunnable(CLEANUP_PERIOD, CLEANUP_PERIOD,
 			() -> cleanupStaleRequests(false));
@@ -227,6 +297,9 @@ public class BlockStreamServer extends Thread {
 			catch (IOException e) {
 				// ignore
 			}
+			for (BlockStreamStatistics stats : getStatistics()) {
+				log.info("Block stream transfers for " + stats);
+			}
 			log.info("Shutdown Block Stream Server completed");
 			interrupt();
 		}
@@ -240,7 +313,10 @@ public class BlockStreamServer extends Thread {
 			try {
 				socket = serverSocket.accept();
 				BlockStreamHandler handler = new BlockStreamHandler(socket);
-				handler.start();
+				Thread.ofVirtual()
+						.name("BlockStreamHandler-" + socket.getInetAddress() + "-" +
+							socket.getPort())
+						.start(handler);
 			}
 			catch (InterruptedIOException e) {
 				// ignore
@@ -267,10 +343,10 @@ public class BlockStreamServer extends Thread {
 
 	/**
 	 * <code>BlockStreamHandler</code> services a block stream request in a dedicated 
-	 * thread.  When first started the stream request header will be read from the socket
+	 * virtual thread.  When first started the stream request header will be read from the socket
 	 * and the associated registered block stream identified.
 	 */
-	private class BlockStreamHandler extends Thread {
+	private class BlockStreamHandler implements Runnable {
 
 		private Socket socket;
 		private BlockStreamRegistration registration;
@@ -280,13 +356,14 @@ public class BlockStreamServer extends Thread {
 		 * @param socket accepted/connected socket
 		 */
 		BlockStreamHandler(Socket socket) {
-			super("BlockStreamHandler-" + socket.getInetAddress() + "-" + socket.getPort());
 			this.socket = socket;
 		}
 
 		@Override
 		public void run() {
 			boolean success = false;
+			boolean permitAcquired = false;
+			long startTime = 0;
 			try {
 				StreamRequest streamRequest = readStreamRequest();
 
@@ -305,11 +382,22 @@ public class BlockStreamServer extends Thread {
 
 				registration.state = HandlerConnectionState.CONNECTED;
 
+				if (!transferPermits.tryAcquire()) {
+					log.debug("block stream transfer limit reached, " + socket.getInetAddress() +
+						" waiting for active transfer to complete");
+					transferPermits.acquire();
+				}
+				permitAcquired = true;
+				startTime = System.nanoTime();
+
 				// serveBlockStream blocks until transfer complete
 				registration.streamHandle.serveBlockStream(socket, registration.blockStream);
 				registration.blockStream.close();
 				success = true;
 			}
+			catch (InterruptedException e) {
+				log.error("file block stream interrupted for " + socket.getInetAddress());
+			}
 			catch (IOException e) {
 				if (registration != null &&
 					registration.state == HandlerConnectionState.READ_HEADER_TIMEOUT) {
@@ -322,6 +410,10 @@ public class BlockStreamServer extends Thread {
 				}
 			}
 			finally {
+				if (permitAcquired) {
+					transferPermits.release();
+					transferCompleted(registration, System.nanoTime() - startTime, success);
+				}
 				if (!success && (registration != null) &&
 					(registration.blockStream instanceof InputBlockStream)) {
 					// ensure input stream is closed since it can be terminated by client, 
@@ -347,6 +439,26 @@ public class BlockStreamServer extends Thread {
 			}
 		}
 
+		/**
+		 * Record the completion of a block stream transfer within the repository statistics
+		 * @param reg block stream registration
+		 * @param nanos elapsed transfer time in nanoseconds
+		 * @param success true if transfer was successful
+		 */
+		private void transferCompleted(BlockStreamRegistration reg, long nanos,
+				boolean success) {
+			int blockCount = reg.streamHandle.getBlocksTransferred();
+			long bytes = reg.streamHandle.getBytesTransferred();
+			statisticsMap.computeIfAbsent(reg.repositoryName, BlockStreamStatistics::new)
+					.transferCompleted(blockCount, bytes, nanos, success);
+			if (success && log.isDebugEnabled()) {
+				long ms = nanos / 1_000_000;
+				log.debug("block stream transfer for " + reg.repositoryName + " (" +
+					socket.getInetAddress() + "): " + blockCount + " blocks, " + (bytes / 1024) +
+					" KB in " + ms + " ms");
+			}
+		}
+
 		/**
 		 * Read the stream request header which must be the first input 
 		 * received from the client.
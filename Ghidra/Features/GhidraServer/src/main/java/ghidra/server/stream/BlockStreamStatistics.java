@@ -0,0 +1,120 @@
+/* ###
+ * IP: GHIDRA
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ghidra.server.stream;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <code>BlockStreamStatistics</code> accumulates the block stream transfers performed by the
+ * {@link BlockStreamServer} for a single repository.  Byte counts reflect the uncompressed
+ * block data, including the index of each block, which was actually transferred.  Blocks
+ * transferred before a transfer failed are included.
+ */
+public class BlockStreamStatistics {
+
+	private final String repositoryName;
+
+	private final LongAdder transferCount = new LongAdder();
+	private final LongAdder failureCount = new LongAdder();
+	private final LongAdder blockCount = new LongAdder();
+	private final LongAdder byteCount = new LongAdder();
+	private final LongAdder transferNanos = new LongAdder();
+
+	BlockStreamStatistics(String repositoryName) {
+		this.repositoryName = repositoryName;
+	}
+
+	/**
+	 * Record a completed block stream transfer
+	 * @param blocks number of blocks actually transferred
+	 * @param bytes number of block data bytes actually transferred
+	 * @param nanos elapsed transfer time in nanoseconds
+	 * @param success true if transfer completed successfully
+	 */
+	void transferCompleted(int blocks, long bytes, long nanos, boolean success) {
+		transferCount.increment();
+		if (!success) {
+			failureCount.increment();
+		}
+		blockCount.add(blocks);
+		byteCount.add(bytes);
+		transferNanos.add(nanos);
+	}
+
+	/**
+	 * Get the name of the repository whose transfers are tracked
+	 * @return repository name
+	 */
+	public String getRepositoryName() {
+		return repositoryName;
+	}
+
+	/**
+	 * Get the number of transfers which have been performed
+	 * @return transfer count including failed transfers
+	 */
+	public long getTransferCount() {
+		return transferCount.sum();
+	}
+
+	/**
+	 * Get the number of transfers which failed or were cancelled
+	 * @return failed transfer count
+	 */
+	public long getFailureCount() {
+		return failureCount.sum();
+	}
+
+	/**
+	 * Get the number of blocks transferred, including those of failed transfers
+	 * @return block count
+	 */
+	public long getBlockCount() {
+		return blockCount.sum();
+	}
+
+	/**
+	 * Get the number of block data bytes transferred, including those of failed transfers
+	 * @return byte count
+	 */
+	public long getByteCount() {
+		return byteCount.sum();
+	}
+
+	/**
+	 * Get the total time spent performing transfers, including failed transfers
+	 * @return elapsed transfer time in milliseconds
+	 */
+	public long getTransferMillis() {
+		return transferNanos.sum() / 1_000_000;
+	}
+
+	/**
+	 * Get the average throughput of all transfers
+	 * @return throughput in bytes per second, 0 if no data has been transferred
+	 */
+	public long getThroughput() {
+		long nanos = transferNanos.sum();
+		return nanos == 0 ? 0 : (long) (byteCount.sum() * 1e9 / nanos);
+	}
+
+	@Override
+	public String toString() {
+		return repositoryName + ": " + getTransferCount() + " transfers (" + getFailureCount() +
+			" failed), " + (getByteCount() / 1024) + " KB in " + getTransferMillis() + " ms (" +
+			(getThroughput() / 1024) + " KB/s)";
+	}
+}
@@ -0,0 +1,198 @@
+/* ###
+ * IP: GHIDRA
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ghidra.server.stream;
+
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.zip.*;
+
+import generic.concurrent.GThreadPool;
+
+/**
+ * <code>ParallelDeflaterOutputStream</code> compresses data on multiple threads while
+ * producing a single zlib stream which may be read with a standard {@link InflaterInputStream}.
+ * <p>
+ * Data is split into fixed size chunks which are deflated independently.  Each chunk ends with
+ * a sync flush so that it ends on a byte boundary and the compressed chunks can simply be
+ * concatenated.  The stream is written as a zlib header, the compressed chunks in order, a final
+ * empty block, and the Adler-32 checksum of all of the data.
+ * <p>
+ * Chunks are compressed by a thread pool which is shared by all streams.  The pool is limited to
+ * the number of threads given to the most recently constructed stream, and each stream
+ * compresses up to twice that many chunks ahead of the underlying stream.
+ * <p>
+ * Since chunks do not share a dictionary, the output is slightly larger than that of a
+ * {@link DeflaterOutputStream} at the same level.
+ */
+class ParallelDeflaterOutputStream extends FilterOutputStream {
+
+	static final int DEFAULT_CHUNK_SIZE = 128 * 1024;
+
+	private static final String POOL_NAME = "Block Stream Compression";
+
+	// deflate method with 32K window, followed by a header check value (the level is informational)
+	private static final byte[] ZLIB_HEADER = { 0x78, (byte) 0x9c };
+
+	// final fixed-Huffman block containing only the end-of-block code
+	private static final byte[] FINAL_EMPTY_BLOCK = { 0x03, 0x00 };
+
+	private final GThreadPool pool;
+	private final int level;
+	private final int maxPending;
+	private final Deque<Future<byte[]>> pending = new ArrayDeque<>();
+	private final Adler32 adler = new Adler32();
+
+	private byte[] chunk;
+	private int chunkLength;
+	private boolean headerWritten;
+	private boolean finished;
+
+	/**
+	 * Construct a parallel deflater output stream.
+	 * @param out underlying output stream
+	 * @param level deflate level (0-9)
+	 * @param chunkSize size of the chunks which are compressed independently
+	 * @param threads maximum number of threads used to compress chunks
+	 */
+	ParallelDeflaterOutputStream(OutputStream out, int level, int chunkSize, int threads) {
+		super(out);
+		this.level = level;
+		this.maxPending = 2 * Math.max(1, threads);
+		this.chunk = new byte[chunkSize];
+		pool = GThreadPool.getSharedThreadPool(POOL_NAME);
+		pool.setMaxThreadCount(threads);
+	}
+
+	@Override
+	public void write(int b) throws IOException {
+		write(new byte[] { (byte) b }, 0, 1);
+	}
+
+	@Override
+	public void write(byte[] b, int off, int len) throws IOException {
+		Objects.checkFromIndexSize(off, len, b.length);
+		if (finished) {
+			throw new IOException("write beyond end of stream");
+		}
+		while (len > 0) {
+			int n = Math.min(len, chunk.length - chunkLength);
+			System.arraycopy(b, off, chunk, chunkLength, n);
+			chunkLength += n;
+			off += n;
+			len -= n;
+			if (chunkLength == chunk.length) {
+				submitChunk();
+			}
+		}
+	}
+
+	/**
+	 * Finishes writing compressed data to the underlying stream without closing it.
+	 * @throws IOException if an I/O error has occurred
+	 */
+	public void finish() throws IOException {
+		if (finished) {
+			return;
+		}
+		if (chunkLength > 0) {
+			submitChunk();
+		}
+		writeHeader();
+		while (!pending.isEmpty()) {
+			writeChunk(pending.removeFirst());
+		}
+		out.write(FINAL_EMPTY_BLOCK);
+		long checksum = adler.getValue();
+		out.write(new byte[] { (byte) (checksum >> 24), (byte) (checksum >> 16),
+			(byte) (checksum >> 8), (byte) checksum });
+		finished = true;
+	}
+
+	@Override
+	public void close() throws IOException {
+		try {
+			finish();
+		}
+		finally {
+			for (Future<byte[]> future : pending) {
+				future.cancel(true);
+			}
+			pending.clear();
+			out.close();
+		}
+	}
+
+	private void submitChunk() throws IOException {
+		writeHeader();
+		byte[] data = chunk;
+		int length = chunkLength;
+		adler.update(data, 0, length);
+		pending.add(pool.submit(() -> deflate(data, length, level)));
+		chunk = new byte[chunk.length];
+		chunkLength = 0;
+		while (pending.size() > maxPending) {
+			writeChunk(pending.removeFirst());
+		}
+	}
+
+	private void writeHeader() throws IOException {
+		if (!headerWritten) {
+			out.write(ZLIB_HEADER);
+			headerWritten = true;
+		}
+	}
+
+	private void writeChunk(Future<byte[]> future) throws IOException {
+		try {
+			out.write(future.get());
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("compression interrupted");
+		}
+		catch (ExecutionException e) {
+			throw new IOException("compression failed", e.getCause());
+		}
+	}
+
+	/**
+	 * Deflate data as a sequence of non-final raw deflate blocks ending on a byte boundary.
+	 * @param data data to compress
+	 * @param length length of data
+	 * @param level deflate level
+	 * @return compressed data
+	 */
+	static byte[] deflate(byte[] data, int length, int level) {
+		Deflater deflater = new Deflater(level, true);
+		try {
+			deflater.setInput(data, 0, length);
+			ByteArrayOutputStream compressed = new ByteArrayOutputStream(length / 2 + 64);
+			byte[] buf = new byte[16 * 1024];
+			int n;
+			do {
+				n = deflater.deflate(buf, 0, buf.length, Deflater.SYNC_FLUSH);
+				compressed.write(buf, 0, n);
+			}
+			while (n == buf.length);
+			return compressed.toByteArray();
+		}
+		finally {
+			deflater.end();
+		}
+	}
+}
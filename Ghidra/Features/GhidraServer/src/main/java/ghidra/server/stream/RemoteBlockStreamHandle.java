@@ -18,6 +18,8 @@ package ghidra.server.stream;
 import java.io.*;
 import java.net.Socket;
 import java.security.SecureRandom;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
 
 import javax.net.SocketFactory;
 import javax.net.ssl.SSLSocketFactory;
@@ -54,6 +56,26 @@ public abstract class RemoteBlockStreamHandle<T extends BlockStream> implements
 	public static boolean enableCompressedSerializationOutput = Boolean.parseBoolean(
 		System.getProperty(DataBuffer.COMPRESSED_SERIAL_OUTPUT_PROPERTY, "false"));
 
+	/**
+	 * System property which specifies the deflate level (0-9) used to compress block streams
+	 * when compression is enabled (default is {@link Deflater#BEST_SPEED}).
+	 */
+	public static final String COMPRESSION_LEVEL_PROPERTY = "ghidra.server.stream.compressionLevel";
+
+	/**
+	 * System property which specifies the maximum number of threads used to compress outgoing
+	 * block streams (default is the number of available processors).  The threads are shared
+	 * by all streams being sent at the same time.  A value of 1 compresses on the sending thread.
+	 */
+	public static final String COMPRESSION_THREADS_PROPERTY =
+		"ghidra.server.stream.compressionThreads";
+
+	public static int compressionLevel =
+		Integer.getInteger(COMPRESSION_LEVEL_PROPERTY, Deflater.BEST_SPEED);
+
+	public static int compressionThreads = Integer.getInteger(COMPRESSION_THREADS_PROPERTY,
+		Runtime.getRuntime().availableProcessors());
+
 	public static final String HEADER_PREFIX = "@stream:";
 	public static final String HEADER_SUFFIX = "@";
 	public static final int HEADER_LENGTH =
@@ -74,6 +96,10 @@ public abstract class RemoteBlockStreamHandle<T extends BlockStream> implements
 
 	private boolean connectionPending = true;
 
+	// blocks and bytes actually transferred by serveBlockStream (server-side only)
+	private transient int blocksTransferred;
+	private transient long bytesTransferred;
+
 	/**
 	 * Abstract RemoteBlockStreamHandle constructor
 	 * @param server block stream server instance
@@ -125,6 +151,34 @@ public abstract class RemoteBlockStreamHandle<T extends BlockStream> implements
 		return blockCount;
 	}
 
+	/**
+	 * Get the number of blocks which have been transferred by
+	 * {@link #serveBlockStream(Socket, BlockStream)}.  This is less than the
+	 * {@link #getBlockCount() block count} if the transfer failed.
+	 * @return number of blocks transferred
+	 */
+	int getBlocksTransferred() {
+		return blocksTransferred;
+	}
+
+	/**
+	 * Get the number of uncompressed bytes, including the index of each block, which have been
+	 * transferred by {@link #serveBlockStream(Socket, BlockStream)}
+	 * @return number of bytes transferred
+	 */
+	long getBytesTransferred() {
+		return bytesTransferred;
+	}
+
+	/**
+	 * Record a block which has been transferred by {@link #serveBlockStream(Socket, BlockStream)}
+	 * @param length number of uncompressed bytes transferred for the block
+	 */
+	protected void blockTransferred(int length) {
+		++blocksTransferred;
+		bytesTransferred += length;
+	}
+
 	/**
 	 * Get the raw block size
 	 * @return block size
@@ -141,6 +195,38 @@ public abstract class RemoteBlockStreamHandle<T extends BlockStream> implements
 		return (getBlockSize() + 4) * 12;
 	}
 
+	/**
+	 * Wrap the specified socket output stream with a compressing output stream.
+	 * When multiple compression threads are permitted, blocks are compressed on multiple
+	 * threads ahead of the socket.  Either way, the compressed data is a single zlib stream.
+	 * @param out socket output stream
+	 * @return compressing output stream which must be finished with
+	 * {@link #finishCompressedOutput(OutputStream)}
+	 */
+	protected OutputStream getCompressedOutputStream(OutputStream out) {
+		if (compressionThreads > 1) {
+			int chunkSize = Math.max(ParallelDeflaterOutputStream.DEFAULT_CHUNK_SIZE,
+				getBlockSize() + 4);
+			return new ParallelDeflaterOutputStream(out, compressionLevel, chunkSize,
+				compressionThreads);
+		}
+		return new DeflaterOutputStream(out, new Deflater(compressionLevel));
+	}
+
+	/**
+	 * Force all compressed data to be written to the underlying stream without closing it.
+	 * @param out output stream returned by {@link #getCompressedOutputStream(OutputStream)}
+	 * @throws IOException if an I/O error occurs
+	 */
+	protected static void finishCompressedOutput(OutputStream out) throws IOException {
+		if (out instanceof ParallelDeflaterOutputStream parallelOut) {
+			parallelOut.finish();
+		}
+		else if (out instanceof DeflaterOutputStream deflaterOut) {
+			deflaterOut.finish();
+		}
+	}
+
 	/**
 	 * Generate a random number for use as a block stream authentication token.
 	 * @return random value
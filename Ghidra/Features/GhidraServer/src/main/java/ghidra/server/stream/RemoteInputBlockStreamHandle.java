@@ -154,7 +154,7 @@ public class RemoteInputBlockStreamHandle extends RemoteBlockStreamHandle<InputB
 			throws IOException {
 
 		if (compressed) {
-			out = new DeflaterOutputStream(out, new Deflater(Deflater.BEST_SPEED));
+			out = getCompressedOutputStream(out);
 		}
 
 		int blocksRemaining = getBlockCount();
@@ -164,13 +164,15 @@ public class RemoteInputBlockStreamHandle extends RemoteBlockStreamHandle<InputB
 			if (blocksRemaining == 0) {
 				throw new IOException("unexpected data in stream");
 			}
-			out.write(block.toBytes());
+			byte[] bytes = block.toBytes();
+			out.write(bytes);
+			blockTransferred(bytes.length);
 			--blocksRemaining;
 		}
 
 		// done with compressed stream, force compressed data to flush
-		if (out instanceof DeflaterOutputStream) {
-			((DeflaterOutputStream) out).finish();
+		if (compressed) {
+			finishCompressedOutput(out);
 		}
 	}
 
@@ -60,9 +60,7 @@ public class RemoteOutputBlockStreamHandle extends RemoteBlockStreamHandle<Outpu
 
 		ClientOutputBlockStream(Socket socket) throws IOException {
 			this.socket = socket;
-			out = compressed
-					? new DeflaterOutputStream(socket.getOutputStream(),
-						new Deflater(Deflater.BEST_SPEED))
+			out = compressed ? getCompressedOutputStream(socket.getOutputStream())
 					: socket.getOutputStream();
 		}
 
@@ -93,8 +91,8 @@ public class RemoteOutputBlockStreamHandle extends RemoteBlockStreamHandle<Outpu
 			if (--blocksRemaining == 0) {
 
 				// done with compressed stream, force compressed data to flush
-				if (out instanceof DeflaterOutputStream) {
-					((DeflaterOutputStream) out).finish();
+				if (compressed) {
+					finishCompressedOutput(out);
 				}
 
 				// perform final handshake after final write
@@ -170,6 +168,7 @@ public class RemoteOutputBlockStreamHandle extends RemoteBlockStreamHandle<Outpu
 
 			BufferFileBlock block = new BufferFileBlock(bytes);
 			outputBlockStream.writeBlock(block);
+			blockTransferred(bytes.length);
 			--blocksRemaining;
 		}
 		if (compressed && in.read() != -1) {
@@ -0,0 +1,93 @@
+/* ###
+ * IP: GHIDRA
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ghidra.server.remote;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+
+import javax.management.*;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import generic.test.AbstractGenericTest;
+import generic.test.category.PortSensitiveCategory;
+import ghidra.framework.remote.RepositoryHandle;
+import ghidra.server.Repository;
+import ghidra.server.RepositoryManager;
+import ghidra.server.metrics.ServerMetrics;
+import ghidra.server.metrics.ServerMetricsMXBean;
+import utilities.util.FileUtilities;
+
+@Category(PortSensitiveCategory.class)
+public class GhidraServerMetricsTest extends AbstractGenericTest {
+
+	@Test
+	public void testMetricsRegisteredWhileServerRunning() throws Exception {
+		MBeanServer mbeanServer = ManagementFactory.getPlatformMBeanServer();
+		ObjectName name = new ObjectName(ServerMetrics.OBJECT_NAME);
+		assertFalse(mbeanServer.isRegistered(name));
+
+		File myTmpDir = new File(getTestDirectoryPath(), "GSMT");
+		GhidraServer server = null;
+		try {
+			myTmpDir.mkdir();
+
+			ServerPortFactory.setBasePort(14100); // same as ServerTestUtil port
+
+			// directly instantiate to avoid GhidraServer.main which may
+			// invoke System.exit
+			server = new GhidraServer(myTmpDir, GhidraServer.AuthMode.NO_AUTH_LOGIN, null, true,
+				true, -1, true, false, null);
+			assertTrue(mbeanServer.isRegistered(name));
+
+			RepositoryManager mgr = (RepositoryManager) getInstanceField("mgr", server);
+			mgr.getUserManager().addUser("test");
+			Repository repo = mgr.createRepository("test", "testRepo"); // bypass authentication
+			RepositoryHandle repoHandle = new RepositoryHandleImpl("test", repo);
+
+			// repository handle operations are timed, including those which fail
+			repoHandle.getItemCount();
+			repoHandle.getItemList("/");
+			try {
+				repoHandle.deleteItem("/", "missing", -1);
+			}
+			catch (Exception e) {
+				// expected
+			}
+
+			ServerMetricsMXBean proxy =
+				JMX.newMXBeanProxy(mbeanServer, name, ServerMetricsMXBean.class);
+			Map<String, Long> metrics = proxy.getMetrics();
+			assertEquals(Long.valueOf(1), metrics.get("operation.getItemCount.latency.count"));
+			assertEquals(Long.valueOf(1), metrics.get("operation.getItemList.latency.count"));
+			assertEquals(Long.valueOf(1), metrics.get("operation.deleteItem.latency.count"));
+
+			server.dispose();
+			server = null;
+			assertFalse(mbeanServer.isRegistered(name));
+		}
+		finally {
+			if (server != null) {
+				server.dispose();
+			}
+			FileUtilities.deleteDir(myTmpDir);
+		}
+	}
+}
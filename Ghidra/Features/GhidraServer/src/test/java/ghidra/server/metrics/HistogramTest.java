@@ -0,0 +1,108 @@
+/* ###
+ * IP: GHIDRA
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ghidra.server.metrics;
+
+import static org.junit.Assert.*;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.junit.Test;
+
+import generic.test.AbstractGenericTest;
+
+public class HistogramTest extends AbstractGenericTest {
+
+	@Test
+	public void testEmpty() {
+		Histogram histogram = new Histogram("ms", 1, 10, 100);
+		assertEquals(0, histogram.getCount());
+		assertEquals(0, histogram.getTotal());
+		assertEquals(0, histogram.getMax());
+		assertEquals(0, histogram.getPercentile(50));
+		assertEquals(0, histogram.getPercentile(100));
+
+		Map<String, Long> metrics = getMetrics(histogram);
+		assertEquals(Long.valueOf(0), metrics.get("h.le_1ms"));
+		assertEquals(Long.valueOf(0), metrics.get("h.gt_100ms"));
+	}
+
+	@Test
+	public void testBucketBoundsAreInclusive() {
+		Histogram histogram = new Histogram("ms", 1, 10, 100);
+		for (long value : new long[] { 0, 1, 2, 10, 11, 100, 101, 5000 }) {
+			histogram.record(value);
+		}
+
+		Map<String, Long> metrics = getMetrics(histogram);
+		assertEquals(Long.valueOf(2), metrics.get("h.le_1ms"));
+		assertEquals(Long.valueOf(2), metrics.get("h.le_10ms"));
+		assertEquals(Long.valueOf(2), metrics.get("h.le_100ms"));
+		assertEquals(Long.valueOf(2), metrics.get("h.gt_100ms"));
+		assertEquals(Long.valueOf(8), metrics.get("h.count"));
+		assertEquals(Long.valueOf(5225), metrics.get("h.total"));
+		assertEquals(Long.valueOf(5000), metrics.get("h.max"));
+	}
+
+	@Test
+	public void testPercentiles() {
+		Histogram histogram = new Histogram("ms", 1, 10, 100);
+
+		// 90 values in the first bucket, 9 in the second and 1 in the overflow bucket
+		for (int i = 0; i < 90; i++) {
+			histogram.record(1);
+		}
+		for (int i = 0; i < 9; i++) {
+			histogram.record(7);
+		}
+		histogram.record(250);
+
+		assertEquals(1, histogram.getPercentile(0));
+		assertEquals(1, histogram.getPercentile(50));
+		assertEquals(1, histogram.getPercentile(90));
+		assertEquals(10, histogram.getPercentile(91));
+		assertEquals(10, histogram.getPercentile(99));
+		assertEquals(250, histogram.getPercentile(99.5));
+		assertEquals(250, histogram.getPercentile(100));
+
+		Map<String, Long> metrics = getMetrics(histogram);
+		assertEquals(Long.valueOf(1), metrics.get("h.p50"));
+		assertEquals(Long.valueOf(1), metrics.get("h.p90"));
+		assertEquals(Long.valueOf(10), metrics.get("h.p99"));
+	}
+
+	@Test
+	public void testPercentileLimitedByMax() {
+		Histogram histogram = new Histogram("ms", 1, 10, 100);
+		histogram.record(3);
+		histogram.record(4);
+
+		// both values are in the 10 ms bucket, but none is larger than 4
+		assertEquals(4, histogram.getPercentile(50));
+		assertEquals(4, histogram.getPercentile(100));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testInvalidPercentile() {
+		new Histogram("ms", 1, 10).getPercentile(101);
+	}
+
+	private static Map<String, Long> getMetrics(Histogram histogram) {
+		Map<String, Long> metrics = new TreeMap<>();
+		histogram.addMetrics("h", metrics);
+		return metrics;
+	}
+}
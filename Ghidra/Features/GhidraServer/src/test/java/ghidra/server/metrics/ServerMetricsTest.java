@@ -0,0 +1,164 @@
+/* ###
+ * IP: GHIDRA
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ghidra.server.metrics;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+
+import javax.management.ObjectName;
+
+import org.junit.*;
+
+import generic.test.AbstractGenericTest;
+
+public class ServerMetricsTest extends AbstractGenericTest {
+
+	private ServerMetrics metrics = ServerMetrics.getServerMetrics();
+	private long savedThreshold;
+
+	@Before
+	public void setUp() {
+		savedThreshold = metrics.getSlowOperationThresholdMillis();
+	}
+
+	@After
+	public void tearDown() {
+		metrics.stop();
+		metrics.setSlowOperationThresholdMillis(savedThreshold);
+		System.clearProperty(ServerMetrics.METRICS_FILE_PROPERTY);
+		System.clearProperty(ServerMetrics.JMX_ENABLED_PROPERTY);
+	}
+
+	@Test
+	public void testTimerRecordsSuccessfulOperation() throws Exception {
+		try (OperationTimer timer = ServerMetrics.startOperation("testSuccess", "repo", "user",
+			"/a")) {
+			Thread.sleep(20);
+			timer.lockAcquired();
+			Thread.sleep(20);
+			timer.lockAcquired(); // only the first call counts
+		}
+
+		assertEquals(1, getMetric("operation.testSuccess.latency.count"));
+		long total = getMetric("operation.testSuccess.latency.total");
+		long lockWait = getMetric("operation.testSuccess.lockWaitMillis");
+		assertTrue(total >= 40);
+		assertTrue(lockWait >= 20 && lockWait <= total - 20);
+	}
+
+	@Test
+	public void testTimerRecordsOperationWhichThrows() {
+		try (OperationTimer timer = ServerMetrics.startOperation("testFailure", null, null,
+			null)) {
+			throw new IOException("test");
+		}
+		catch (IOException e) {
+			// expected
+		}
+		try (OperationTimer timer = ServerMetrics.startOperation("testFailure", null, null,
+			null)) {
+			timer.lockAcquired();
+			throw new IllegalStateException("test");
+		}
+		catch (IllegalStateException e) {
+			// expected
+		}
+
+		assertEquals(2, getMetric("operation.testFailure.latency.count"));
+	}
+
+	@Test
+	public void testLockWaitNotRecordedWithoutLock() throws Exception {
+		try (OperationTimer timer = ServerMetrics.startOperation("testNoLock", null, null,
+			null)) {
+			Thread.sleep(10);
+		}
+		assertEquals(1, getMetric("operation.testNoLock.latency.count"));
+		assertEquals(0, getMetric("operation.testNoLock.lockWaitMillis"));
+	}
+
+	@Test
+	public void testSlowOperationCount() throws Exception {
+		long slowCount = getMetric("operation.slowCount");
+
+		metrics.setSlowOperationThresholdMillis(10);
+		try (OperationTimer timer = ServerMetrics.startOperation("testSlow", "repo", "user",
+			"/slow")) {
+			Thread.sleep(20);
+		}
+		assertEquals(slowCount + 1, getMetric("operation.slowCount"));
+
+		metrics.setSlowOperationThresholdMillis(60000);
+		try (OperationTimer timer = ServerMetrics.startOperation("testSlow", null, null, null)) {
+			// fast
+		}
+		assertEquals(slowCount + 1, getMetric("operation.slowCount"));
+
+		// 0 disables the slow operation log
+		metrics.setSlowOperationThresholdMillis(0);
+		try (OperationTimer timer = ServerMetrics.startOperation("testSlow", null, null, null)) {
+			Thread.sleep(5);
+		}
+		assertEquals(slowCount + 1, getMetric("operation.slowCount"));
+		assertEquals(3, getMetric("operation.testSlow.latency.count"));
+	}
+
+	@Test
+	public void testStartRegistersAndStopUnregisters() throws Exception {
+		ObjectName name = new ObjectName(ServerMetrics.OBJECT_NAME);
+		File rootDir = createTempDirectory("ServerMetricsTest");
+		File metricsFile = new File(rootDir, "metrics.txt");
+		System.setProperty(ServerMetrics.METRICS_FILE_PROPERTY, "metrics.txt");
+
+		// restarting must register the MXBean again, as when a server is restarted in the
+		// same JVM
+		for (int i = 0; i < 2; i++) {
+			metrics.start(rootDir);
+			assertTrue(ManagementFactory.getPlatformMBeanServer().isRegistered(name));
+
+			metrics.writeMetricsFile();
+			assertTrue(Files.readString(metricsFile.toPath()).contains("operation.slowCount="));
+			assertTrue(metricsFile.delete());
+
+			metrics.stop();
+			assertFalse(ManagementFactory.getPlatformMBeanServer().isRegistered(name));
+
+			// the metrics file is written a final time when stopped
+			assertTrue(metricsFile.exists());
+			assertTrue(metricsFile.delete());
+			metrics.writeMetricsFile();
+			assertFalse(metricsFile.exists());
+		}
+	}
+
+	@Test
+	public void testJmxDisabled() throws Exception {
+		System.setProperty(ServerMetrics.JMX_ENABLED_PROPERTY, "false");
+		metrics.start(createTempDirectory("ServerMetricsTest"));
+		assertFalse(ManagementFactory.getPlatformMBeanServer()
+				.isRegistered(new ObjectName(ServerMetrics.OBJECT_NAME)));
+	}
+
+	private long getMetric(String name) {
+		Long value = metrics.getMetrics().get(name);
+		assertNotNull("missing metric " + name, value);
+		return value;
+	}
+}
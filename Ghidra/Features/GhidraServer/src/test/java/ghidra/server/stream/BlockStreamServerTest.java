@@ -0,0 +1,304 @@
+/* ###
+ * IP: GHIDRA
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ghidra.server.stream;
+
+import static org.junit.Assert.*;
+
+import java.io.*;
+import java.net.*;
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.*;
+
+import db.buffers.BufferFileBlock;
+import db.buffers.OutputBlockStream;
+import generic.test.AbstractGenericTest;
+
+public class BlockStreamServerTest extends AbstractGenericTest {
+
+	private static final int BLOCK_SIZE = 1024;
+
+	// each block is sent with its 4-byte index
+	private static final int BLOCK_BYTES = BLOCK_SIZE + 4;
+
+	private static final int TIMEOUT_MS = 10000;
+
+	private static BlockStreamServer server;
+
+	private List<Socket> clientSockets = new ArrayList<>();
+
+	@BeforeClass
+	public static void startServer() throws IOException {
+		System.setProperty(BlockStreamServer.MAX_TRANSFERS_PROPERTY, "2");
+		server = BlockStreamServer.getBlockStreamServer();
+		if (!server.isRunning()) {
+			server.startServer(new ServerSocket(0, 50, InetAddress.getLoopbackAddress()),
+				InetAddress.getLoopbackAddress().getHostAddress());
+		}
+	}
+
+	@AfterClass
+	public static void stopServer() {
+		server.stopServer();
+		System.clearProperty(BlockStreamServer.MAX_TRANSFERS_PROPERTY);
+	}
+
+	@After
+	public void tearDown() throws IOException {
+		for (Socket socket : clientSockets) {
+			socket.close();
+		}
+	}
+
+	@Test
+	public void testStatisticsCountTransferredBytes() throws Exception {
+		TestOutputBlockStream blockStream = new TestOutputBlockStream(3);
+		Socket socket = register("testStatistics", blockStream);
+		sendBlocks(socket, 0, 3);
+		finishTransfer(socket, blockStream);
+
+		BlockStreamStatistics stats = waitForStatistics("testStatistics", 1);
+		assertEquals(0, stats.getFailureCount());
+		assertEquals(3, stats.getBlockCount());
+		assertEquals(3 * BLOCK_BYTES, stats.getByteCount());
+		assertEquals(3, blockStream.blocks.size());
+		waitForCondition(() -> server.getActiveTransferCount() == 0);
+	}
+
+	@Test
+	public void testClientFailureCountsPartialTransferAndReleasesPermit() throws Exception {
+		TestOutputBlockStream blockStream = new TestOutputBlockStream(3);
+		Socket socket = register("testClientFailure", blockStream);
+		sendBlocks(socket, 0, 1);
+		waitForCondition(() -> blockStream.blocks.size() == 1);
+		socket.close();
+
+		BlockStreamStatistics stats = waitForStatistics("testClientFailure", 1);
+		assertEquals(1, stats.getFailureCount());
+		assertEquals(1, stats.getBlockCount());
+		assertEquals(BLOCK_BYTES, stats.getByteCount());
+		waitForCondition(() -> server.getActiveTransferCount() == 0);
+
+		assertAllPermitsAvailable("testClientFailure");
+	}
+
+	@Test
+	public void testServerFailureReleasesPermit() throws Exception {
+		int maxTransfers = server.getMaxTransfers();
+		for (int i = 0; i < maxTransfers + 1; i++) {
+			TestOutputBlockStream blockStream = new TestOutputBlockStream(2);
+			blockStream.failure = new IOException("disk full");
+			Socket socket = register("testServerFailure", blockStream);
+			sendBlocks(socket, 0, 2);
+		}
+
+		// every permit would have been lost if failed transfers did not release them
+		BlockStreamStatistics stats = waitForStatistics("testServerFailure", maxTransfers + 1);
+		assertEquals(maxTransfers + 1, stats.getFailureCount());
+		assertEquals(0, stats.getBlockCount());
+		waitForCondition(() -> server.getActiveTransferCount() == 0);
+
+		assertAllPermitsAvailable("testServerFailure");
+	}
+
+	@Test
+	public void testTransfersLimitedByMaxTransfers() throws Exception {
+		int maxTransfers = server.getMaxTransfers();
+		CountDownLatch release = new CountDownLatch(1);
+		List<TestOutputBlockStream> blockStreams = new ArrayList<>();
+		List<Socket> sockets = new ArrayList<>();
+		for (int i = 0; i < maxTransfers + 1; i++) {
+			TestOutputBlockStream blockStream = new TestOutputBlockStream(1);
+			blockStream.release = release;
+			blockStreams.add(blockStream);
+			Socket socket = register("testLimit", blockStream);
+			sockets.add(socket);
+			sendBlocks(socket, 0, 1);
+		}
+
+		// all of the permits are held by transfers which are blocked writing their block,
+		// so the extra transfer must wait without receiving its block
+		waitForCondition(() -> getStartedCount(blockStreams) == maxTransfers);
+		assertEquals(maxTransfers, server.getActiveTransferCount());
+		Thread.sleep(200);
+		assertEquals(maxTransfers, getStartedCount(blockStreams));
+		assertEquals(maxTransfers, server.getActiveTransferCount());
+
+		release.countDown();
+		for (int i = 0; i < sockets.size(); i++) {
+			finishTransfer(sockets.get(i), blockStreams.get(i));
+		}
+
+		BlockStreamStatistics stats = waitForStatistics("testLimit", maxTransfers + 1);
+		assertEquals(0, stats.getFailureCount());
+		assertEquals(maxTransfers + 1, stats.getBlockCount());
+		waitForCondition(() -> server.getActiveTransferCount() == 0);
+	}
+
+	private void assertAllPermitsAvailable(String repositoryName) throws Exception {
+		int maxTransfers = server.getMaxTransfers();
+		CountDownLatch release = new CountDownLatch(1);
+		List<TestOutputBlockStream> blockStreams = new ArrayList<>();
+		List<Socket> sockets = new ArrayList<>();
+		for (int i = 0; i < maxTransfers; i++) {
+			TestOutputBlockStream blockStream = new TestOutputBlockStream(1);
+			blockStream.release = release;
+			blockStreams.add(blockStream);
+			Socket socket = register(repositoryName + "-after", blockStream);
+			sockets.add(socket);
+			sendBlocks(socket, 0, 1);
+		}
+		waitForCondition(() -> getStartedCount(blockStreams) == maxTransfers,
+			"transfer permits were not released");
+		release.countDown();
+		for (int i = 0; i < sockets.size(); i++) {
+			finishTransfer(sockets.get(i), blockStreams.get(i));
+		}
+		waitForStatistics(repositoryName + "-after", maxTransfers);
+	}
+
+	private static int getStartedCount(List<TestOutputBlockStream> blockStreams) {
+		int count = 0;
+		for (TestOutputBlockStream blockStream : blockStreams) {
+			if (blockStream.started.getCount() == 0) {
+				++count;
+			}
+		}
+		return count;
+	}
+
+	private BlockStreamStatistics waitForStatistics(String repositoryName, int transferCount) {
+		waitForCondition(() -> {
+			BlockStreamStatistics stats = getStatistics(repositoryName);
+			return stats != null && stats.getTransferCount() == transferCount;
+		});
+		return getStatistics(repositoryName);
+	}
+
+	private static BlockStreamStatistics getStatistics(String repositoryName) {
+		for (BlockStreamStatistics stats : server.getStatistics()) {
+			if (stats.getRepositoryName().equals(repositoryName)) {
+				return stats;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Registers an output block stream with the server and connects to it as a client would,
+	 * without TLS
+	 * @param repositoryName repository name for the transfer statistics
+	 * @param blockStream server-side block stream which receives the blocks
+	 * @return connected client socket
+	 * @throws IOException if the connection fails
+	 */
+	private Socket register(String repositoryName, TestOutputBlockStream blockStream)
+			throws IOException {
+		RemoteOutputBlockStreamHandle handle = new RemoteOutputBlockStreamHandle(server,
+			blockStream.getBlockCount(), BLOCK_SIZE);
+		blockStream.handle = handle;
+		assertTrue(server.registerBlockStream(handle, blockStream, repositoryName));
+
+		Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.getServerPort());
+		clientSockets.add(socket);
+		socket.setSoTimeout(TIMEOUT_MS);
+		String header = String.format("%s%016x%016x%s", RemoteBlockStreamHandle.HEADER_PREFIX,
+			handle.getStreamID(), handle.getAuthenticationToken(),
+			RemoteBlockStreamHandle.HEADER_SUFFIX);
+		OutputStream out = socket.getOutputStream();
+		out.write(header.getBytes());
+		out.flush();
+		return socket;
+	}
+
+	private static void sendBlocks(Socket socket, int firstIndex, int count) throws IOException {
+		OutputStream out = socket.getOutputStream();
+		for (int i = firstIndex; i < firstIndex + count; i++) {
+			byte[] data = new byte[BLOCK_SIZE];
+			Arrays.fill(data, (byte) i);
+			out.write(new BufferFileBlock(i, data).toBytes());
+		}
+		out.flush();
+	}
+
+	/**
+	 * Performs the client side of the final handshake, after all blocks have been sent
+	 * @param socket connected client socket
+	 * @param blockStream server-side block stream
+	 * @throws IOException if the handshake fails
+	 */
+	private static void finishTransfer(Socket socket, TestOutputBlockStream blockStream)
+			throws IOException {
+		String terminator = String.format("%s%016x%s", RemoteBlockStreamHandle.TERM_PREFIX,
+			blockStream.handle.getStreamID(), RemoteBlockStreamHandle.TERM_SUFFIX);
+		OutputStream out = socket.getOutputStream();
+		out.write(terminator.getBytes());
+		out.flush();
+
+		byte[] term = socket.getInputStream().readNBytes(RemoteBlockStreamHandle.TERM_LENGTH);
+		assertEquals(terminator, new String(term));
+	}
+
+	/**
+	 * Server-side block stream which can block or fail when a block is written
+	 */
+	private static class TestOutputBlockStream implements OutputBlockStream {
+		private final int blockCount;
+		private final List<BufferFileBlock> blocks = Collections.synchronizedList(new ArrayList<>());
+		private final CountDownLatch started = new CountDownLatch(1);
+		private volatile CountDownLatch release;
+		private volatile IOException failure;
+		private volatile RemoteBlockStreamHandle<?> handle;
+
+		TestOutputBlockStream(int blockCount) {
+			this.blockCount = blockCount;
+		}
+
+		@Override
+		public void writeBlock(BufferFileBlock block) throws IOException {
+			started.countDown();
+			if (failure != null) {
+				throw failure;
+			}
+			if (release != null) {
+				try {
+					assertTrue(release.await(TIMEOUT_MS, TimeUnit.MILLISECONDS));
+				}
+				catch (InterruptedException e) {
+					throw new InterruptedIOException();
+				}
+			}
+			blocks.add(block);
+		}
+
+		@Override
+		public int getBlockCount() {
+			return blockCount;
+		}
+
+		@Override
+		public int getBlockSize() {
+			return BLOCK_SIZE;
+		}
+
+		@Override
+		public void close() throws IOException {
+			// nothing to close
+		}
+	}
+}
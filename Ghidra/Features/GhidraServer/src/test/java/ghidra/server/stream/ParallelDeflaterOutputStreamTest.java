@@ -0,0 +1,130 @@
+/* ###
+ * IP: GHIDRA
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ghidra.server.stream;
+
+import static org.junit.Assert.*;
+
+import java.io.*;
+import java.util.Random;
+import java.util.zip.Deflater;
+import java.util.zip.InflaterInputStream;
+
+import org.junit.Test;
+
+import generic.test.AbstractGenericTest;
+
+public class ParallelDeflaterOutputStreamTest extends AbstractGenericTest {
+
+	private static final int CHUNK_SIZE = 256;
+
+	private Random random = new Random(1);
+
+	@Test
+	public void testEmpty() throws IOException {
+		assertRoundTrip(new byte[0], CHUNK_SIZE);
+	}
+
+	@Test
+	public void testOneByte() throws IOException {
+		assertRoundTrip(createData(1), 1);
+		assertRoundTrip(createData(1), CHUNK_SIZE);
+	}
+
+	@Test
+	public void testChunkBoundaries() throws IOException {
+		int[] lengths = { CHUNK_SIZE - 1, CHUNK_SIZE, CHUNK_SIZE + 1, 2 * CHUNK_SIZE,
+			5 * CHUNK_SIZE + 1, 17 * CHUNK_SIZE - 1 };
+		for (int length : lengths) {
+			assertRoundTrip(createData(length), CHUNK_SIZE);
+		}
+	}
+
+	@Test
+	public void testOneByteChunks() throws IOException {
+		assertRoundTrip(createData(100), 1);
+	}
+
+	@Test
+	public void testIncompressibleData() throws IOException {
+		byte[] data = new byte[10 * CHUNK_SIZE + 7];
+		random.nextBytes(data);
+		assertRoundTrip(data, CHUNK_SIZE);
+	}
+
+	@Test
+	public void testFinishLeavesStreamOpen() throws IOException {
+		byte[] data = createData(3 * CHUNK_SIZE);
+		ByteArrayOutputStream bytesOut = new ByteArrayOutputStream();
+		ParallelDeflaterOutputStream out =
+			new ParallelDeflaterOutputStream(bytesOut, Deflater.BEST_SPEED, CHUNK_SIZE, 4);
+		out.write(data);
+		out.finish();
+		bytesOut.write(data, 0, 10);
+
+		InputStream in = new ByteArrayInputStream(bytesOut.toByteArray());
+		assertArrayEquals(data, new InflaterInputStream(in).readAllBytes());
+
+		try {
+			out.write(0);
+			fail("expected write after finish to fail");
+		}
+		catch (IOException e) {
+			// expected
+		}
+	}
+
+	/**
+	 * Compresses data with a parallel deflater, writing it in pieces of every size from 0 up,
+	 * and checks that a plain {@link InflaterInputStream} restores the data
+	 * @param data the data
+	 * @param chunkSize the size of the chunks which are compressed independently
+	 * @throws IOException if an I/O error occurs
+	 */
+	private void assertRoundTrip(byte[] data, int chunkSize) throws IOException {
+		for (int threads : new int[] { 1, 4 }) {
+			ByteArrayOutputStream bytesOut = new ByteArrayOutputStream();
+			try (ParallelDeflaterOutputStream out = new ParallelDeflaterOutputStream(bytesOut,
+				Deflater.BEST_SPEED, chunkSize, threads)) {
+				int offset = 0;
+				int pieceLength = 0;
+				while (offset < data.length) {
+					int length = Math.min(pieceLength++, data.length - offset);
+					if (length == 1) {
+						out.write(data[offset]);
+					}
+					else {
+						out.write(data, offset, length);
+					}
+					offset += length;
+				}
+			}
+
+			try (InflaterInputStream in =
+				new InflaterInputStream(new ByteArrayInputStream(bytesOut.toByteArray()))) {
+				assertArrayEquals("length " + data.length + ", chunk size " + chunkSize, data,
+					in.readAllBytes());
+			}
+		}
+	}
+
+	private byte[] createData(int length) {
+		byte[] data = new byte[length];
+		for (int i = 0; i < length; i++) {
+			data[i] = (byte) (random.nextInt(4) == 0 ? random.nextInt() : i % 7);
+		}
+		return data;
+	}
+}
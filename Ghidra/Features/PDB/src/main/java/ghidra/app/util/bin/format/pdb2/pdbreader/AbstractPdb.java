@@ -257,7 +257,7 @@ public abstract class AbstractPdb implements AutoCloseable {
 	 * @see RegisterName
 	 */
 	// TODO: this method should be package protected
-	public void setTargetProcessor(Processor targetProcessorIn) {
+	public synchronized void setTargetProcessor(Processor targetProcessorIn) {
 		/**
 		 * Should we allow an overwrite?  The {@link PdbNewDebugInfo} value (mapped from
 		 * {@link ImageFileMachine}) should be processed and laid down first.  Subsequent values
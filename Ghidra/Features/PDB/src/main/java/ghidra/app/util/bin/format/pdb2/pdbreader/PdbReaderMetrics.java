@@ -24,6 +24,9 @@ import ghidra.app.util.bin.format.pdb2.pdbreader.type.AbstractMsType;
  * Metrics captured during the parsing and interpreting of a PDB.  This is a Ghidra class
  *  separate from the PDB API that we have crafted to help us quantify and qualify metatdata
  *  about the PDB.
+ * <P>
+ * Symbols records can be parsed on more than one thread, so the methods that witness data are
+ *  synchronized.
  */
 public class PdbReaderMetrics {
 
@@ -870,13 +873,14 @@ public class PdbReaderMetrics {
 		this.pdb = pdb;
 	}
 
-	public void witnessIpiDetection(boolean ipiStreamHasNoName, boolean hasIdStream) {
+	public synchronized void witnessIpiDetection(boolean ipiStreamHasNoName,
+			boolean hasIdStream) {
 		if (ipiStreamHasNoName && !hasIdStream) {
 			pdbAnomalies.add(PdbAnomaly.UNINDICATED_EXISTING_IPI);
 		}
 	}
 
-	public void witnessedSectionSegmentNumber(int segment) {
+	public synchronized void witnessedSectionSegmentNumber(int segment) {
 		PdbDebugInfo debugInfo = pdb.getDebugInfo();
 		if (debugInfo == null) {
 			return;
@@ -892,7 +896,7 @@ public class PdbReaderMetrics {
 		}
 	}
 
-	public void witnessRecordNumber(RecordNumber recordNumber) {
+	public synchronized void witnessRecordNumber(RecordNumber recordNumber) {
 		switch (recordNumber.getCategory()) {
 			case TYPE:
 				if (recordNumber.getNumber() < 0) {
@@ -943,7 +947,7 @@ public class PdbReaderMetrics {
 	 * Method to capture data/item type IDs that have not been seen before in development.
 	 * @param dataTypeId The data/item type ID witnessed.
 	 */
-	public void witnessDataTypeId(int dataTypeId) {
+	public synchronized void witnessDataTypeId(int dataTypeId) {
 		if (!dataTypesSeen.contains(dataTypeId)) {
 			newDataTypes.add(dataTypeId);
 		}
@@ -953,7 +957,7 @@ public class PdbReaderMetrics {
 	 * Method to capture symbol type IDs that have not been seen before in development.
 	 * @param symbolTypeId The symbol type ID witnessed.
 	 */
-	public void witnessSymbolTypeId(int symbolTypeId) {
+	public synchronized void witnessSymbolTypeId(int symbolTypeId) {
 		if (!symbolTypesSeen.contains(symbolTypeId)) {
 			newSymbolTypes.add(symbolTypeId);
 		}
@@ -964,7 +968,7 @@ public class PdbReaderMetrics {
 	 * should be passed into this, and this method will only determine and log which are unknown.
 	 * @param recNum The record number.
 	 */
-	public void witnessPrimitive(int recNum) {
+	public synchronized void witnessPrimitive(int recNum) {
 		if (!knownPrimitives.contains(recNum)) {
 			unknownPrimitives.add(recNum);
 		}
@@ -974,7 +978,7 @@ public class PdbReaderMetrics {
 	 * Return some post-processing metrics on the PDB
 	 * @return {@link String} of pretty output.
 	 */
-	public String getPostProcessingReport() {
+	public synchronized String getPostProcessingReport() {
 		StringBuilder builder = new StringBuilder();
 		builder.append("===Begin PdbReaderMetrics Report===\n");
 		String anomaliesReport = reportAnomalies();
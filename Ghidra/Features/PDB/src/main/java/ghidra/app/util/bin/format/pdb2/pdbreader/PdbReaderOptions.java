@@ -61,6 +61,10 @@ public class PdbReaderOptions extends Exception {
 	private Charset oneByteCharset;
 	private Charset wideCharset;
 
+	// Memory-map the PDB file, when possible, instead of reading it
+	private static final boolean DEFAULT_MEMORY_MAPPED_READS = true;
+	private boolean memoryMappedReads;
+
 	/**
 	 * Constructor.
 	 */
@@ -99,6 +103,7 @@ public class PdbReaderOptions extends Exception {
 		wideCharCharsetName = DEFAULT_TWO_BYTE_CHARSET_NAME;
 		setOneByteCharsetForName(oneByteCharsetName);
 		setWideCharCharsetForName(wideCharCharsetName);
+		memoryMappedReads = DEFAULT_MEMORY_MAPPED_READS;
 	}
 
 	/**
@@ -192,4 +197,22 @@ public class PdbReaderOptions extends Exception {
 	public Charset getWideCharCharset() {
 		return wideCharset;
 	}
+
+	/**
+	 * Sets whether the PDB file is memory-mapped, when possible, instead of being read.
+	 * @param enable {@code true} to memory-map the file.
+	 * @return this, so options can be daisy-chained.
+	 */
+	public PdbReaderOptions setMemoryMappedReadsEnabled(boolean enable) {
+		memoryMappedReads = enable;
+		return this;
+	}
+
+	/**
+	 * Returns whether the PDB file is memory-mapped, when possible, instead of being read.
+	 * @return {@code true} if the file is memory-mapped.
+	 */
+	public boolean isMemoryMappedReadsEnabled() {
+		return memoryMappedReads;
+	}
 }
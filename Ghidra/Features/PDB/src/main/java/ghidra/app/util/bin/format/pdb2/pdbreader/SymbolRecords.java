@@ -17,7 +17,9 @@ package ghidra.app.util.bin.format.pdb2.pdbreader;
 
 import java.io.IOException;
 import java.io.Writer;
+import java.nio.ByteBuffer;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 import ghidra.app.util.bin.format.pdb2.pdbreader.msf.MsfStream;
 import ghidra.app.util.bin.format.pdb2.pdbreader.symbol.AbstractMsSymbol;
@@ -44,6 +46,9 @@ public class SymbolRecords {
 	private double factor;
 	private Map<Integer, LRUMap<Integer, SymLen>> symbolCache;
 
+	// Records parsed ahead of use (by stream number, then by stream offset); see parseRecords()
+	private Map<Integer, Map<Integer, SymLen>> prefetchedRecords = new ConcurrentHashMap<>();
+
 	/**
 	 * Constructor
 	 * @param pdb {@link AbstractPdb} to which the {@link SymbolRecords} belong
@@ -245,6 +250,9 @@ public class SymbolRecords {
 
 	public record SymLen(AbstractMsSymbol symbol, int length) {}
 
+	// record length is an unsigned short that does not include itself
+	private static final int MAX_RECORD_LENGTH = 0xffff + 2;
+
 	/**
 	 * Returns the symbol at the offset of the stream assigned to the module
 	 * @param moduleNumber the module
@@ -286,9 +294,93 @@ public class SymbolRecords {
 //			streamSymbolCache.put(offset, symLen);
 //		}
 //		return symLen;
+		Map<Integer, SymLen> prefetched = prefetchedRecords.get(streamNumber);
+		if (prefetched != null) {
+			SymLen symLen = prefetched.get(offset);
+			if (symLen != null) {
+				return symLen;
+			}
+		}
 		return getRandomAccessRecordFromStream(streamNumber, offset);
 	}
 
+	/**
+	 * Reads the stream once and parses all of the symbol records that start in the range
+	 *  {@code [startOffset, endOffset)}.  The result can be given to
+	 *  {@link #putPrefetchedRecords(int, Map)} so that {@link #getRandomAccessRecord(int, int)}
+	 *  returns the records without reading and parsing each of them again.
+	 * <P>
+	 * This method does not modify this object, and so may be called concurrently for different
+	 *  streams, which allows the parsing of module streams to proceed in parallel with the
+	 *  application of records that have already been parsed.  Parsing stops quietly at the first
+	 *  record that cannot be parsed; such records are left to be read (and reported) on demand.
+	 * @param streamNumber the stream
+	 * @param startOffset the stream offset of the first record
+	 * @param endOffset the stream offset past which no new records start
+	 * @return the parsed records, by stream offset
+	 * @throws CancelledException upon user cancellation
+	 */
+	public Map<Integer, SymLen> parseRecords(int streamNumber, int startOffset, int endOffset)
+			throws CancelledException {
+		Map<Integer, SymLen> records = new HashMap<>();
+		MsfStream stream = pdb.getMsf().getStream(streamNumber);
+		if (stream == null) {
+			return records;
+		}
+		// the last record may extend past the end offset, but not past the end of the stream
+		int streamLength = stream.getLength();
+		int readEnd = (int) Math.min(streamLength, (long) endOffset + MAX_RECORD_LENGTH);
+		if (startOffset < 0 || startOffset >= readEnd) {
+			return records;
+		}
+		// a view of the file, when it is memory-mapped, so only the records get copied
+		ByteBuffer buffer;
+		try {
+			buffer = stream.readBuffer(startOffset, readEnd - startOffset);
+		}
+		catch (IOException e) {
+			return records;
+		}
+
+		int offset = startOffset;
+		while (offset < endOffset && offset + 2 <= readEnd) {
+			pdb.checkCancelled();
+			int index = offset - startOffset;
+			int recordLength = Short.toUnsignedInt(buffer.getShort(index));
+			byte[] recordBytes = new byte[Math.min(recordLength, buffer.limit() - index - 2)];
+			buffer.get(index + 2, recordBytes);
+			PdbByteReader recordReader = new PdbByteReader(recordBytes);
+			try {
+				AbstractMsSymbol symbol = SymbolParser.parse(pdb, recordReader);
+				records.put(offset, new SymLen(symbol, recordLength + 2));
+			}
+			catch (PdbException e) {
+				break;
+			}
+			offset += recordLength + 2;
+		}
+		return records;
+	}
+
+	/**
+	 * Holds records parsed by {@link #parseRecords(int, int, int)} to be returned by
+	 *  {@link #getRandomAccessRecord(int, int)} until {@link #releasePrefetchedRecords(int)} is
+	 *  called for the stream
+	 * @param streamNumber the stream
+	 * @param records the parsed records, by stream offset
+	 */
+	public void putPrefetchedRecords(int streamNumber, Map<Integer, SymLen> records) {
+		prefetchedRecords.put(streamNumber, records);
+	}
+
+	/**
+	 * Releases the records held for the stream by {@link #putPrefetchedRecords(int, Map)}
+	 * @param streamNumber the stream
+	 */
+	public void releasePrefetchedRecords(int streamNumber) {
+		prefetchedRecords.remove(streamNumber);
+	}
+
 	/**
 	 * Returns the symbol at the offset of the stream
 	 * @param streamNumber the stream
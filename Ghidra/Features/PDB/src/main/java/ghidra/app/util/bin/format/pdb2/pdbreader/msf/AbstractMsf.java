@@ -158,7 +158,8 @@ public abstract class AbstractMsf implements Msf {
 		pageSize = 0x1000;
 		configureParameters();
 		// Create components.
-		fileReader = new MsfFileReader(this, byteProvider);
+		fileReader =
+			new MsfFileReader(this, byteProvider, pdbOptions.isMemoryMappedReadsEnabled());
 		create();
 	}
 
@@ -15,22 +15,39 @@
  */
 package ghidra.app.util.bin.format.pdb2.pdbreader.msf;
 
-import java.io.IOException;
-import java.io.RandomAccessFile;
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
 
 import ghidra.app.util.bin.ByteProvider;
+import ghidra.app.util.bin.FileByteProvider;
+import ghidra.util.Msg;
 
 /**
  * This class is responsible for reading pages from a {@link RandomAccessFile} for the
  *  {@link Msf} class and its underlying classes.
+ * <P>
+ * When the bytes come from a local file, the file can be memory-mapped.  Reads are then copied
+ *  directly from the mapping, without a system call or intermediate array per read, and
+ *  {@link #getBuffer(int, int, int)} can hand out views of the file without copying at all.
+ *  The file is mapped in chunks so that files larger than 2GB can be mapped.  A mapping is only
+ *  released once it is garbage collected, which can delay the deletion of the file on some
+ *  platforms after the reader is closed.
  */
 class MsfFileReader implements AutoCloseable {
 
+	// A multiple of every page size, so that no page is split across two chunks
+	private static final int MAPPED_CHUNK_SIZE = 1 << 30;
+
 	//==============================================================================================
 	// Internals
 	//==============================================================================================
 	private ByteProvider byteProvider;
 	private Msf msf;
+	private ByteBuffer[] mappedChunks; // null if the file is not memory-mapped
+	private long mappedLength;
 
 	//==============================================================================================
 	// API
@@ -41,6 +58,7 @@ class MsfFileReader implements AutoCloseable {
 	 */
 	@Override
 	public void close() throws IOException {
+		mappedChunks = null;
 		if (byteProvider != null) {
 			byteProvider.close();
 		}
@@ -55,8 +73,29 @@ class MsfFileReader implements AutoCloseable {
 	 * @param byteProvider the ByteProvider providing bytes for the MSF
 	 */
 	MsfFileReader(Msf msf, ByteProvider byteProvider) {
+		this(msf, byteProvider, false);
+	}
+
+	/**
+	 * Constructor
+	 * @param msf the {@link Msf} for which this class is to be associated
+	 * @param byteProvider the ByteProvider providing bytes for the MSF
+	 * @param memoryMap {@code true} to memory-map the file of the ByteProvider, if it has one
+	 */
+	MsfFileReader(Msf msf, ByteProvider byteProvider, boolean memoryMap) {
 		this.msf = msf;
 		this.byteProvider = byteProvider;
+		if (memoryMap) {
+			mappedChunks = mapFile(byteProvider);
+		}
+	}
+
+	/**
+	 * Returns {@code true} if the file is memory-mapped
+	 * @return {@code true} if memory-mapped
+	 */
+	boolean isMemoryMapped() {
+		return mappedChunks != null;
 	}
 
 	/**
@@ -102,8 +141,78 @@ class MsfFileReader implements AutoCloseable {
 			throw new IOException("Invalid MSF configuration");
 		}
 
+		ByteBuffer[] chunks = mappedChunks;
+		if (chunks != null && fileOffset + numToRead <= mappedLength) {
+			while (numToRead > 0) {
+				int chunkOffset = (int) (fileOffset & (MAPPED_CHUNK_SIZE - 1));
+				int num = Math.min(numToRead, MAPPED_CHUNK_SIZE - chunkOffset);
+				// absolute get, which does not disturb the shared buffer for other threads
+				chunks[(int) (fileOffset / MAPPED_CHUNK_SIZE)].get(chunkOffset, bytes, bytesOffset,
+					num);
+				fileOffset += num;
+				bytesOffset += num;
+				numToRead -= num;
+			}
+			return;
+		}
+
 		System.arraycopy(byteProvider.readBytes(fileOffset, numToRead), 0, bytes, bytesOffset,
 			numToRead);
 	}
 
+	/**
+	 * Returns a read-only, little-endian view of bytes of the {@link Msf} without copying them.
+	 *  A view is only available when the file is memory-mapped and the bytes do not cross one
+	 *  of the chunks in which the file is mapped
+	 * @param page the page number within which the bytes start
+	 * @param offset the byte offset within the page at which the bytes start
+	 * @param length the number of bytes
+	 * @return the view of the bytes or {@code null} if not available
+	 * @throws IOException if the bytes are not contained within the file
+	 */
+	ByteBuffer getBuffer(int page, int offset, int length) throws IOException {
+		ByteBuffer[] chunks = mappedChunks;
+		if (chunks == null) {
+			return null;
+		}
+		long fileOffset = offset + page * (long) msf.getPageSize();
+		if (offset < 0 || length < 0 || fileOffset + length > mappedLength) {
+			throw new IOException("Invalid MSF read");
+		}
+		int chunkOffset = (int) (fileOffset & (MAPPED_CHUNK_SIZE - 1));
+		if (chunkOffset + (long) length > MAPPED_CHUNK_SIZE) {
+			return null;
+		}
+		return chunks[(int) (fileOffset / MAPPED_CHUNK_SIZE)].slice(chunkOffset, length)
+				.asReadOnlyBuffer()
+				.order(ByteOrder.LITTLE_ENDIAN);
+	}
+
+	private ByteBuffer[] mapFile(ByteProvider provider) {
+		// Only a plain file provider presents the bytes of its file unaltered
+		if (!(provider instanceof FileByteProvider) || provider.getFile() == null) {
+			return null;
+		}
+		File file = provider.getFile();
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			long length = channel.size();
+			if (length != provider.length()) {
+				return null;
+			}
+			int numChunks = (int) ((length + MAPPED_CHUNK_SIZE - 1) / MAPPED_CHUNK_SIZE);
+			ByteBuffer[] chunks = new ByteBuffer[numChunks];
+			for (int i = 0; i < numChunks; i++) {
+				long start = (long) i * MAPPED_CHUNK_SIZE;
+				chunks[i] = channel.map(FileChannel.MapMode.READ_ONLY, start,
+					Math.min(MAPPED_CHUNK_SIZE, length - start));
+			}
+			mappedLength = length;
+			return chunks;
+		}
+		catch (IOException | UnsupportedOperationException e) {
+			Msg.debug(this, "Unable to memory-map " + file + "; reading it instead", e);
+			return null;
+		}
+	}
+
 }
@@ -16,6 +16,8 @@
 package ghidra.app.util.bin.format.pdb2.pdbreader.msf;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -146,6 +148,44 @@ public class MsfStream {
 		}
 	}
 
+	/**
+	 * Returns a read-only, little-endian {@link ByteBuffer} holding numToRead bytes of the
+	 *  stream starting at streamOffset within the stream.  When the {@link Msf} file is
+	 *  memory-mapped and the bytes lie on pages that are contiguous in the file, the buffer is
+	 *  a view of the file and no bytes are copied; otherwise, the bytes are read into a new
+	 *  buffer.  If not all bytes are available to be read, an IOException will be thrown
+	 * @param streamOffset location within the stream from where to start reading bytes
+	 * @param numToRead number of bytes to read from the stream
+	 * @return the buffer containing the bytes, positioned at zero
+	 * @throws IOException on file seek or read, invalid parameters, bad file configuration, or
+	 *  inability to read required bytes
+	 * @throws CancelledException upon user cancellation
+	 */
+	public ByteBuffer readBuffer(int streamOffset, int numToRead)
+			throws IOException, CancelledException {
+		if (streamOffset < 0 || streamOffset > streamLength) {
+			throw new IOException("Offset out of range.");
+		}
+		if (numToRead < 0 || numToRead > streamLength - streamOffset) {
+			throw new IOException("Not enough data left.");
+		}
+		if (numToRead > 0) {
+			int firstPageNumber = streamOffset >> msf.getLog2PageSize();
+			int lastPageNumber = (streamOffset + numToRead - 1) >> msf.getLog2PageSize();
+			if (areSequentialPages(firstPageNumber, lastPageNumber)) {
+				ByteBuffer buffer = msf.getFileReader()
+						.getBuffer(pageList.get(firstPageNumber),
+							streamOffset & msf.getPageSizeModMask(), numToRead);
+				if (buffer != null) {
+					return buffer;
+				}
+			}
+		}
+		byte[] bytes = new byte[numToRead];
+		read(streamOffset, bytes, 0, numToRead);
+		return ByteBuffer.wrap(bytes).asReadOnlyBuffer().order(ByteOrder.LITTLE_ENDIAN);
+	}
+
 	/**
 	 * Debug method to dump the PDB Directory in a pretty format to String
 	 * @param maxOut maximum number of bytes to output
@@ -273,6 +313,16 @@ public class MsfStream {
 		deserializePageNumbers(reader);
 	}
 
+	private boolean areSequentialPages(int firstPageNumber, int lastPageNumber) {
+		int expected = pageList.get(firstPageNumber);
+		for (int pageNumber = firstPageNumber + 1; pageNumber <= lastPageNumber; pageNumber++) {
+			if (pageList.get(pageNumber) != ++expected) {
+				return false;
+			}
+		}
+		return true;
+	}
+
 	/**
 	 * Developer mechanism to see if the stream hold the absolute file offset and what the
 	 *  corresponding stream offset is
@@ -364,14 +364,14 @@ public class DefaultPdbApplicator implements PdbApplicator {
 	private void doPdbTypesAndMainSymbolsWork() throws PdbException, CancelledException {
 		switch (applicatorOptions.getProcessingControl()) {
 			case DATA_TYPES_ONLY:
-				processTypes();
+				timePhase("applying types", this::processTypes);
 				break;
 			case PUBLIC_SYMBOLS_ONLY:
 				processPublicSymbols();
 				break;
 			case ALL:
-				processTypes();
-				processSymbols();
+				timePhase("applying types", this::processTypes);
+				timePhase("applying symbols", this::processSymbols);
 				vxtManager.createTables(dataTypeManager, ClearDataMode.CLEAR_ALL_CONFLICT_DATA);
 				break;
 			default:
@@ -383,14 +383,14 @@ public class DefaultPdbApplicator implements PdbApplicator {
 
 	private void doDisassemblyWork() throws PdbException, CancelledException {
 		if (program != null) {
-			disassembleFunctions();
+			timePhase("disassembly", this::disassembleFunctions);
 		}
 		Msg.info(this, "PDB Disassembly Terminated Normally");
 	}
 
 	private void doPdbFunctionInternalsWork() throws PdbException, CancelledException {
 		if (program != null) {
-			doDeferredFunctionProcessing();
+			timePhase("deferred symbol processing", this::doDeferredFunctionProcessing);
 			// Processing is done here because we want function bodies to be processed,
 			// as that allows us to fetch the function start, given any address within
 			// the function
@@ -409,6 +409,27 @@ public class DefaultPdbApplicator implements PdbApplicator {
 		Msg.info(this, "PDB Function Internals Processing Terminated Normally");
 	}
 
+	private interface Phase {
+		void run() throws PdbException, CancelledException;
+	}
+
+	/**
+	 * Runs a phase of the work, recording the time taken in the metrics
+	 * @param name the name of the phase
+	 * @param phase the work of the phase
+	 * @throws PdbException upon issue processing the phase
+	 * @throws CancelledException upon user cancellation
+	 */
+	private void timePhase(String name, Phase phase) throws PdbException, CancelledException {
+		long start = System.nanoTime();
+		try {
+			phase.run();
+		}
+		finally {
+			pdbApplicatorMetrics.witnessPhaseTime(name, System.nanoTime() - start);
+		}
+	}
+
 	private static void doReports(PdbUniversalAnalysisState state) throws CancelledException {
 		Msg.info(DefaultPdbApplicator.class, "PDB Applicator Reporting");
 		state.getPdbAddressManager().logReport();
@@ -1635,17 +1656,14 @@ public class DefaultPdbApplicator implements PdbApplicator {
 		AddressSet addresses = new AddressSet();
 		// Process symbols list for each module
 		// moduleNumber = 0 is for global symbols
-		for (int moduleNumber = 0; moduleNumber <= num; moduleNumber++) {
-			monitor.checkCancelled();
-			setCurrentModuleNumber(moduleNumber);
-			// Process module symbols list
-			SymbolGroup symbolGroup = getSymbolGroupForModule(moduleNumber);
-			if (symbolGroup != null) {
-				MsSymbolIterator iter = symbolGroup.getSymbolIterator();
-				addresses.add(getDisassembleAddressForModule(moduleNumber, iter));
-			}
-			monitor.increment();
-		}
+		new ModuleSymbolPrefetcher(this, pdbApplicatorMetrics).processModules(0, num,
+			(moduleNumber, iter) -> {
+				setCurrentModuleNumber(moduleNumber);
+				if (iter != null) {
+					addresses.add(getDisassembleAddressForModule(moduleNumber, iter));
+				}
+				monitor.increment();
+			});
 		return addresses;
 	}
 
@@ -1683,17 +1701,14 @@ public class DefaultPdbApplicator implements PdbApplicator {
 		int num = debugInfo.getNumModules();
 		monitor.initialize(num);
 		// Process symbols list for each module
-		for (int moduleNumber = 1; moduleNumber <= num; moduleNumber++) {
-			monitor.checkCancelled();
-			setCurrentModuleNumber(moduleNumber);
-			// Process module symbols list
-			SymbolGroup symbolGroup = getSymbolGroupForModule(moduleNumber);
-			if (symbolGroup != null) {
-				MsSymbolIterator iter = symbolGroup.getSymbolIterator();
-				doDeferredModuleSymbolGroup(moduleNumber, iter);
-			}
-			monitor.increment();
-		}
+		new ModuleSymbolPrefetcher(this, pdbApplicatorMetrics).processModules(1, num,
+			(moduleNumber, iter) -> {
+				setCurrentModuleNumber(moduleNumber);
+				if (iter != null) {
+					doDeferredModuleSymbolGroup(moduleNumber, iter);
+				}
+				monitor.increment();
+			});
 	}
 
 	private void doDeferredModuleSymbolGroup(int moduleNumber, MsSymbolIterator iter)
@@ -1723,17 +1738,14 @@ public class DefaultPdbApplicator implements PdbApplicator {
 		monitor.setMessage("PDB: Applying module symbol components...");
 		monitor.initialize(num);
 		// Process symbols list for each module
-		for (int moduleNumber = 1; moduleNumber <= num; moduleNumber++) {
-			monitor.checkCancelled();
-			setCurrentModuleNumber(moduleNumber);
-			// Process module symbols list
-			SymbolGroup symbolGroup = getSymbolGroupForModule(moduleNumber);
-			if (symbolGroup != null) {
-				MsSymbolIterator iter = symbolGroup.getSymbolIterator();
-				processSymbolGroup(moduleNumber, iter);
-			}
-			monitor.increment();
-		}
+		new ModuleSymbolPrefetcher(this, pdbApplicatorMetrics).processModules(1, num,
+			(moduleNumber, iter) -> {
+				setCurrentModuleNumber(moduleNumber);
+				if (iter != null) {
+					processSymbolGroup(moduleNumber, iter);
+				}
+				monitor.increment();
+			});
 	}
 
 	private void processSymbolGroup(int moduleNumber, MsSymbolIterator iter)
@@ -0,0 +1,200 @@
+/* ###
+ * IP: GHIDRA
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ghidra.app.util.pdb.pdbapplicator;
+
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
+
+import generic.concurrent.GThreadPool;
+import ghidra.app.util.bin.format.pdb2.pdbreader.*;
+import ghidra.app.util.bin.format.pdb2.pdbreader.SymbolRecords.SymLen;
+import ghidra.app.util.bin.format.pdb2.pdbreader.msf.MsfStream;
+import ghidra.app.util.pdb.pdbapplicator.SymbolGroup.StreamRange;
+import ghidra.util.Msg;
+import ghidra.util.exception.CancelledException;
+import ghidra.util.task.TaskMonitor;
+
+/**
+ * Walks the symbol groups of PDB modules in order, while the symbol records of the modules that
+ *  follow are read and parsed on a shared thread pool.  Applying symbols to a program must be
+ *  done on a single thread and in module order, but reading the module streams and parsing their
+ *  records does not depend on the program, so this work is done ahead of the module being
+ *  applied.  A bounded number of modules are parsed ahead so that memory use does not grow
+ *  with the size of the PDB.
+ * <P>
+ * Parsed records are handed to the applier through the {@link SymbolRecords} of the PDB, on the
+ *  calling thread, and are released once the module has been processed.  Records that could not
+ *  be parsed ahead are read on demand, as they would be without this class.
+ */
+class ModuleSymbolPrefetcher {
+
+	private static final String THREAD_POOL_NAME = "PDB Symbol Parsing";
+	private static final int MAX_PENDING_MODULES_PER_THREAD = 2;
+
+	static final String PARSE_PHASE = "parsing module symbols (all threads)";
+	static final String WAIT_PHASE = "waiting for parsed module symbols";
+
+	/**
+	 * Processes the symbols of a single module on the calling thread
+	 */
+	interface ModuleProcessor {
+		/**
+		 * Processes the symbols of a module
+		 * @param moduleNumber the module number
+		 * @param iter the iterator over the symbols of the module or {@code null} if the module
+		 *  has no symbols
+		 * @throws CancelledException upon user cancellation
+		 * @throws PdbException upon error processing the symbols
+		 */
+		void process(int moduleNumber, MsSymbolIterator iter)
+				throws CancelledException, PdbException;
+	}
+
+	private record Prefetch(int moduleNumber, int streamNumber,
+			Future<Map<Integer, SymLen>> future) {}
+
+	private SymbolRecords symbolRecords;
+	private IntFunction<SymbolGroup> symbolGroups;
+	private TaskMonitor monitor;
+	private PdbApplicatorMetrics metrics;
+
+	/**
+	 * Constructor
+	 * @param applicator the applicator for which modules are processed
+	 * @param metrics the metrics that receive the time spent parsing and waiting
+	 */
+	ModuleSymbolPrefetcher(DefaultPdbApplicator applicator, PdbApplicatorMetrics metrics) {
+		this(applicator.getPdb(), applicator::getSymbolGroupForModule, applicator.getMonitor(),
+			metrics);
+	}
+
+	/**
+	 * Constructor
+	 * @param pdb the PDB whose module symbols are processed
+	 * @param symbolGroups returns the symbol group of a module, or {@code null} if it has none
+	 * @param monitor the monitor checked for cancellation
+	 * @param metrics the metrics that receive the time spent parsing and waiting
+	 */
+	ModuleSymbolPrefetcher(AbstractPdb pdb, IntFunction<SymbolGroup> symbolGroups,
+			TaskMonitor monitor, PdbApplicatorMetrics metrics) {
+		this.symbolRecords = pdb.getDebugInfo().getSymbolRecords();
+		this.symbolGroups = symbolGroups;
+		this.monitor = monitor;
+		this.metrics = metrics;
+	}
+
+	/**
+	 * Processes the symbols of each module in the range, in order, on the calling thread
+	 * @param firstModule the number of the first module to process
+	 * @param lastModule the number of the last module to process (inclusive)
+	 * @param processor the processor for each module's symbols
+	 * @throws CancelledException upon user cancellation
+	 * @throws PdbException upon error processing the symbols
+	 */
+	void processModules(int firstModule, int lastModule, ModuleProcessor processor)
+			throws CancelledException, PdbException {
+		GThreadPool pool = GThreadPool.getSharedThreadPool(THREAD_POOL_NAME);
+		int maxPending = pool.getMaxThreadCount() * MAX_PENDING_MODULES_PER_THREAD;
+		Deque<Prefetch> pending = new ArrayDeque<>();
+		int nextToSubmit = firstModule;
+		try {
+			for (int moduleNumber = firstModule; moduleNumber <= lastModule; moduleNumber++) {
+				monitor.checkCancelled();
+				while (nextToSubmit <= lastModule && pending.size() < maxPending) {
+					submit(pool, nextToSubmit++, pending);
+				}
+				Prefetch prefetch = pending.peek();
+				if (prefetch != null && prefetch.moduleNumber() == moduleNumber) {
+					pending.remove();
+					Map<Integer, SymLen> records = waitFor(prefetch);
+					symbolRecords.putPrefetchedRecords(prefetch.streamNumber(), records);
+				}
+				else {
+					prefetch = null;
+				}
+				SymbolGroup symbolGroup = symbolGroups.apply(moduleNumber);
+				try {
+					processor.process(moduleNumber,
+						symbolGroup == null ? null : symbolGroup.getSymbolIterator());
+				}
+				finally {
+					if (prefetch != null) {
+						symbolRecords.releasePrefetchedRecords(prefetch.streamNumber());
+					}
+				}
+			}
+		}
+		finally {
+			// abandon work for modules that will not be processed
+			pending.forEach(p -> p.future().cancel(false));
+		}
+	}
+
+	private void submit(GThreadPool pool, int moduleNumber, Deque<Prefetch> pending)
+			throws PdbException {
+		// The public/global group (module 0) is read by random access from a shared stream
+		if (moduleNumber == SymbolGroup.PUBLIC_GLOBAL_MODULE_NUMBER) {
+			return;
+		}
+		SymbolGroup symbolGroup = symbolGroups.apply(moduleNumber);
+		if (symbolGroup == null) {
+			return;
+		}
+		// The range is determined here since doing so is not thread safe
+		StreamRange range = symbolGroup.getStreamRange();
+		if (range.streamNumber() == MsfStream.NIL_STREAM_NUMBER || range.lengthSymbols() <= 0) {
+			return;
+		}
+		Future<Map<Integer, SymLen>> future = pool.submit(() -> {
+			long start = System.nanoTime();
+			try {
+				return symbolRecords.parseRecords(range.streamNumber(), range.startOffset(),
+					range.lengthSymbols());
+			}
+			finally {
+				metrics.witnessPhaseTime(PARSE_PHASE, System.nanoTime() - start);
+			}
+		});
+		pending.add(new Prefetch(moduleNumber, range.streamNumber(), future));
+	}
+
+	private Map<Integer, SymLen> waitFor(Prefetch prefetch) throws CancelledException {
+		long start = System.nanoTime();
+		try {
+			return prefetch.future().get();
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new CancelledException();
+		}
+		catch (ExecutionException e) {
+			if (e.getCause() instanceof CancelledException cancelled) {
+				throw cancelled;
+			}
+			// Parsing errors are left to be found and reported when the records are read
+			String message = "Could not parse symbols of module " + prefetch.moduleNumber() +
+				" ahead: " + e.getCause();
+			PdbLog.message(message);
+			Msg.info(this, message);
+			return Map.of();
+		}
+		finally {
+			metrics.witnessPhaseTime(WAIT_PHASE, System.nanoTime() - start);
+		}
+	}
+}
@@ -15,8 +15,8 @@
  */
 package ghidra.app.util.pdb.pdbapplicator;
 
-import java.util.HashSet;
-import java.util.Set;
+import java.time.Duration;
+import java.util.*;
 
 import ghidra.app.util.bin.format.pdb2.pdbreader.PdbLog;
 import ghidra.app.util.bin.format.pdb2.pdbreader.symbol.*;
@@ -114,6 +114,7 @@ public class PdbApplicatorMetrics {
 	private boolean witnessEnumerateNarrowing = false;
 	private boolean witnessC11Lines = false;
 	private boolean witnessC13InlineeLines = false;
+	private Map<String, Long> phaseNanos = new LinkedHashMap<>();
 
 	/**
 	 * Method to capture data/item type that cannot be applied.
@@ -233,6 +234,29 @@ public class PdbApplicatorMetrics {
 		witnessC13InlineeLines = true;
 	}
 
+	/**
+	 * Method to capture time spent in a phase of the application.  Times for the same phase are
+	 * accumulated, so this may be called for each unit of work done within the phase, including
+	 * from multiple threads.
+	 * @param phase the name of the phase
+	 * @param nanos the time spent, in nanoseconds
+	 */
+	synchronized void witnessPhaseTime(String phase, long nanos) {
+		phaseNanos.merge(phase, nanos, Long::sum);
+	}
+
+	/**
+	 * Returns the accumulated time spent in each phase of the application, in the order that the
+	 * phases were first witnessed.  Times of phases done by parallel workers are the sum of the
+	 * time spent by all workers.
+	 * @return the phase times
+	 */
+	public synchronized Map<String, Duration> getPhaseTimes() {
+		Map<String, Duration> times = new LinkedHashMap<>();
+		phaseNanos.forEach((phase, nanos) -> times.put(phase, Duration.ofNanos(nanos)));
+		return times;
+	}
+
 	//==============================================================================================
 
 	/**
@@ -252,6 +276,7 @@ public class PdbApplicatorMetrics {
 		builder.append(reportUnexpectedGlobalSymbols());
 		builder.append(reportEnumerateNarrowing());
 		builder.append(reportSourceLineProcessing()); // can be removed once we can process
+		builder.append(reportPhaseTimes());
 
 		if (builder.length() == 0) {
 			return; // nothing reported
@@ -343,6 +368,15 @@ public class PdbApplicatorMetrics {
 		return "";
 	}
 
+	private String reportPhaseTimes() {
+		StringBuilder builder = new StringBuilder();
+		for (Map.Entry<String, Duration> entry : getPhaseTimes().entrySet()) {
+			builder.append(String.format("Time for %s: %.3f seconds\n", entry.getKey(),
+				entry.getValue().toMillis() / 1000.0));
+		}
+		return builder.toString();
+	}
+
 	// Routine can be modified to remove each as we can process each.  Routine can be removed once
 	//  we can process both.
 	private String reportSourceLineProcessing() {
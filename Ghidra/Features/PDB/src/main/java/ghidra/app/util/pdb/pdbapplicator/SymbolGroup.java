@@ -157,6 +157,17 @@ public class SymbolGroup {
 
 	//==============================================================================================
 	public MsSymbolIterator getSymbolIterator() throws PdbException {
+		StreamRange range = getStreamRange();
+		return new MsSymbolIterator(pdb, range.streamNumber(), range.startOffset(),
+			range.lengthSymbols());
+	}
+
+	/**
+	 * Returns the stream and the range within it that holds the records of this group
+	 * @return the stream range
+	 * @throws PdbException upon error determining the range
+	 */
+	StreamRange getStreamRange() throws PdbException {
 		int streamNumber;
 		int startingOffset;
 		int lengthSymbols;
@@ -178,9 +189,18 @@ public class SymbolGroup {
 				lengthSymbols = 0; // essentially null out iterator with zero length
 			}
 		}
-		return new MsSymbolIterator(pdb, streamNumber, startingOffset, lengthSymbols);
+		return new StreamRange(streamNumber, startingOffset, lengthSymbols);
 	}
 
+	/**
+	 * The stream holding the records of a group.  Records start at {@code startOffset} and no
+	 *  records start at or beyond {@code lengthSymbols}.
+	 * @param streamNumber the stream number
+	 * @param startOffset the offset of the first record
+	 * @param lengthSymbols the end of the records
+	 */
+	record StreamRange(int streamNumber, int startOffset, int lengthSymbols) {}
+
 	//==============================================================================================
 
 }
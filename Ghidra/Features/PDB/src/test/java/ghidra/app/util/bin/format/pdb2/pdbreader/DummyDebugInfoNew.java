@@ -40,4 +40,23 @@ public class DummyDebugInfoNew extends PdbNewDebugInfo {
 	public void setSegmentMapList(List<SegmentMapDescription> segmentMapList) {
 		this.segmentMapList = segmentMapList;
 	}
+
+	/**
+	 * IMPORTANT: This method is for testing only.  Adds the information of the next module,
+	 *  whose symbols are in the given stream.  The module numbers start at 1
+	 * @param streamNumber the stream holding the symbols of the module
+	 * @param sizeLocalSymbols the size of the symbols within the stream, including the
+	 *  signature that precedes them
+	 * @return the module number
+	 */
+	public int addModuleInformation(int streamNumber, int sizeLocalSymbols) {
+		ModuleInformation600 moduleInfo = new ModuleInformation600(pdb);
+		moduleInfo.streamNumberDebugInformation = streamNumber;
+		moduleInfo.sizeLocalSymbolsDebugInformation = sizeLocalSymbols;
+		moduleInformationList.add(moduleInfo);
+		if (symbolRecords == null) {
+			symbolRecords = new SymbolRecords(pdb);
+		}
+		return moduleInformationList.size();
+	}
 }
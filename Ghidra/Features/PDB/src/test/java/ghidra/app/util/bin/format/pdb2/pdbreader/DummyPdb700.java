@@ -19,6 +19,7 @@ import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
 
+import ghidra.app.util.bin.format.pdb2.pdbreader.msf.Msf;
 import ghidra.app.util.bin.format.pdb2.pdbreader.msf.StubMsf;
 import ghidra.app.util.bin.format.pdb2.pdbreader.type.AbstractMsType;
 
@@ -49,7 +50,25 @@ public class DummyPdb700 extends Pdb700 {
 	 */
 	public DummyPdb700(int tpiIndexMin, int tpiIndexMaxExclusive, int ipiIndexMin,
 			int ipiIndexMaxExclusive) throws IOException, PdbException {
-		super(new StubMsf(), new PdbReaderOptions());
+		this(new StubMsf(), tpiIndexMin, tpiIndexMaxExclusive, ipiIndexMin,
+			ipiIndexMaxExclusive);
+	}
+
+	/**
+	 * IMPORTANT: This method is for testing only.  It allows us to set a basic object whose
+	 *  streams come from the given {@link Msf}.
+	 *  Note: not all values are initialized.  Constructor for a dummy PDB used for testing
+	 * @param msf the {@link Msf} holding the streams of the PDB
+	 * @param tpiIndexMin int. The IndexMin to set/use for the {@link TypeProgramInterface}
+	 * @param tpiIndexMaxExclusive int. MaxIndex+1 to set/use for the {@link TypeProgramInterface}
+	 * @param ipiIndexMin int. The IndexMin to set/use for the {@link TypeProgramInterface}
+	 * @param ipiIndexMaxExclusive int. MaxIndex+1 to set/use for the {@link TypeProgramInterface}
+	 * @throws IOException upon file IO seek/read issues
+	 * @throws PdbException upon unknown value for configuration or error in processing components
+	 */
+	public DummyPdb700(Msf msf, int tpiIndexMin, int tpiIndexMaxExclusive, int ipiIndexMin,
+			int ipiIndexMaxExclusive) throws IOException, PdbException {
+		super(msf, new PdbReaderOptions());
 		typeProgramInterface =
 			new DummyTypeProgramInterface800(this, tpiIndexMin, tpiIndexMaxExclusive);
 		debugInfo = new DummyDebugInfoNew(this);
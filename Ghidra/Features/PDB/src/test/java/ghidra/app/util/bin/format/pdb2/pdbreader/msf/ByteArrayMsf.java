@@ -0,0 +1,68 @@
+/* ###
+ * IP: GHIDRA
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ghidra.app.util.bin.format.pdb2.pdbreader.msf;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import ghidra.util.exception.CancelledException;
+import ghidra.util.task.TaskMonitor;
+
+/**
+ * This class is an extension of {@link StubMsf} whose streams are held in memory, and has the
+ *  sole purpose of testing PDB components that read streams.
+ */
+public class ByteArrayMsf extends StubMsf {
+
+	private Map<Integer, ByteArrayMsfStream> streams = new HashMap<>();
+	private TaskMonitor monitor = TaskMonitor.DUMMY;
+
+	/**
+	 * IMPORTANT: This method is for testing only.  Sets the content of a stream
+	 * @param streamNumber the stream number
+	 * @param bytes the content of the stream
+	 * @return the stream
+	 */
+	public ByteArrayMsfStream setStream(int streamNumber, byte[] bytes) {
+		ByteArrayMsfStream stream = new ByteArrayMsfStream(this, bytes);
+		streams.put(streamNumber, stream);
+		return stream;
+	}
+
+	/**
+	 * IMPORTANT: This method is for testing only.  Sets the monitor that is checked for
+	 *  cancellation
+	 * @param monitor the monitor
+	 */
+	public void setMonitor(TaskMonitor monitor) {
+		this.monitor = monitor;
+	}
+
+	@Override
+	public TaskMonitor getMonitor() {
+		return monitor;
+	}
+
+	@Override
+	public void checkCancelled() throws CancelledException {
+		monitor.checkCancelled();
+	}
+
+	@Override
+	public ByteArrayMsfStream getStream(int streamNumber) {
+		return streams.get(streamNumber);
+	}
+}
@@ -0,0 +1,91 @@
+/* ###
+ * IP: GHIDRA
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ghidra.app.util.bin.format.pdb2.pdbreader.msf;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This class is an extension of {@link MsfStream} whose content is held in memory, and has the
+ *  sole purpose of testing PDB components that read streams.  It counts the reads made of it and
+ *  can be made to fail bulk reads.
+ */
+public class ByteArrayMsfStream extends MsfStream {
+
+	private byte[] bytes;
+	private AtomicInteger readCount = new AtomicInteger();
+	private volatile RuntimeException bufferFailure;
+
+	/**
+	 * IMPORTANT: This method is for testing only.  Constructor for a stream held in memory
+	 * @param msf the {@link Msf} to which the Stream belongs
+	 * @param bytes the content of the stream
+	 */
+	ByteArrayMsfStream(Msf msf, byte[] bytes) {
+		super(msf, bytes.length);
+		this.bytes = bytes;
+	}
+
+	/**
+	 * IMPORTANT: This method is for testing only.  Returns the number of reads made with
+	 *  {@link #read(int, byte[], int, int)}, which does not include reads made with
+	 *  {@link #readBuffer(int, int)}
+	 * @return the number of reads
+	 */
+	public int getReadCount() {
+		return readCount.get();
+	}
+
+	/**
+	 * IMPORTANT: This method is for testing only.  Sets an exception to be thrown by
+	 *  {@link #readBuffer(int, int)}, as a stream that cannot be parsed might
+	 * @param failure the exception, or {@code null} to read normally
+	 */
+	public void setBufferFailure(RuntimeException failure) {
+		bufferFailure = failure;
+	}
+
+	@Override
+	public void read(int streamOffset, byte[] buffer, int bufferOffset, int numToRead)
+			throws IOException {
+		checkRange(streamOffset, numToRead);
+		readCount.incrementAndGet();
+		System.arraycopy(bytes, streamOffset, buffer, bufferOffset, numToRead);
+	}
+
+	@Override
+	public ByteBuffer readBuffer(int streamOffset, int numToRead) throws IOException {
+		if (bufferFailure != null) {
+			throw bufferFailure;
+		}
+		checkRange(streamOffset, numToRead);
+		return ByteBuffer.wrap(bytes, streamOffset, numToRead)
+				.slice()
+				.asReadOnlyBuffer()
+				.order(ByteOrder.LITTLE_ENDIAN);
+	}
+
+	private void checkRange(int streamOffset, int numToRead) throws IOException {
+		if (streamOffset < 0 || streamOffset > streamLength) {
+			throw new IOException("Offset out of range.");
+		}
+		if (numToRead < 0 || numToRead > streamLength - streamOffset) {
+			throw new IOException("Not enough data left.");
+		}
+	}
+}
@@ -18,6 +18,7 @@ package ghidra.app.util.bin.format.pdb2.pdbreader.msf;
 import static org.junit.Assert.*;
 
 import java.io.*;
+import java.nio.ByteBuffer;
 import java.nio.file.AccessMode;
 import java.util.*;
 
@@ -152,6 +153,42 @@ public class MsfReaderUnitTest extends AbstractGenericTest {
 		}
 	}
 
+	@Test
+	public void testMemoryMappedReads() throws Exception {
+		File file = new File(testFileName700);
+		try (ByteProvider mappedProvider = new FileByteProvider(file,
+			FileSystemService.getInstance().getLocalFSRL(file), AccessMode.READ);
+				Msf mapped = MsfParser.parse(mappedProvider, new PdbReaderOptions(),
+					TaskMonitor.DUMMY);
+				ByteProvider readProvider = new FileByteProvider(file,
+					FileSystemService.getInstance().getLocalFSRL(file), AccessMode.READ);
+				Msf read = MsfParser.parse(readProvider,
+					new PdbReaderOptions().setMemoryMappedReadsEnabled(false),
+					TaskMonitor.DUMMY)) {
+			assertTrue(mapped.getFileReader().isMemoryMapped());
+			assertFalse(read.getFileReader().isMemoryMapped());
+			assertEquals(read.getNumStreams(), mapped.getNumStreams());
+			for (int streamNumber = 0; streamNumber < read.getNumStreams(); streamNumber++) {
+				MsfStream readStream = read.getStream(streamNumber);
+				MsfStream mappedStream = mapped.getStream(streamNumber);
+				int length = readStream.getLength();
+				assertEquals(length, mappedStream.getLength());
+				if (length <= 0) {
+					continue;
+				}
+				byte[] expected = readStream.read(0, length);
+				assertArrayEquals(expected, mappedStream.read(0, length));
+
+				ByteBuffer buffer = mappedStream.readBuffer(1, length - 1);
+				assertTrue(buffer.isReadOnly());
+				assertEquals(length - 1, buffer.remaining());
+				byte[] actual = new byte[length - 1];
+				buffer.get(actual);
+				assertArrayEquals(Arrays.copyOfRange(expected, 1, length), actual);
+			}
+		}
+	}
+
 	//==============================================================================================
 	// Private Methods
 	//==============================================================================================
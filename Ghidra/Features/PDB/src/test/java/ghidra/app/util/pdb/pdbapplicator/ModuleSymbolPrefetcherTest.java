@@ -0,0 +1,243 @@
+/* ###
+ * IP: GHIDRA
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ghidra.app.util.pdb.pdbapplicator;
+
+import static org.junit.Assert.*;
+
+import java.util.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import generic.test.AbstractGenericTest;
+import ghidra.app.util.bin.format.pdb2.pdbreader.*;
+import ghidra.app.util.bin.format.pdb2.pdbreader.SymbolRecords.SymLen;
+import ghidra.app.util.bin.format.pdb2.pdbreader.msf.*;
+import ghidra.app.util.bin.format.pdb2.pdbreader.symbol.*;
+import ghidra.util.exception.CancelledException;
+import ghidra.util.task.TaskMonitorAdapter;
+
+public class ModuleSymbolPrefetcherTest extends AbstractGenericTest {
+
+	// enough modules that not all of them are parsed ahead at once
+	private static final int NUM_MODULES = 200;
+	private static final int FIRST_STREAM_NUMBER = 10;
+	private static final int CV_SIG_LENGTH = 4;
+
+	private static final int BAD_RECORD_MODULE = 5;
+	private static final int UNKNOWN_SYMBOL_MODULE = 6;
+	private static final int FAILING_MODULE = 7;
+	private static final int NIL_STREAM_MODULE = 8;
+	private static final int NO_GROUP_MODULE = 9;
+
+	private ByteArrayMsf msf;
+	private DummyPdb700 pdb;
+	private SymbolRecords symbolRecords;
+
+	@Before
+	public void setUp() throws Exception {
+		msf = new ByteArrayMsf();
+		pdb = new DummyPdb700(msf, 4096, 4096, 4096, 4096);
+		DummyDebugInfoNew debugInfo = (DummyDebugInfoNew) pdb.getDebugInfo();
+		for (int moduleNumber = 1; moduleNumber <= NUM_MODULES; moduleNumber++) {
+			if (moduleNumber == NIL_STREAM_MODULE) {
+				debugInfo.addModuleInformation(MsfStream.NIL_STREAM_NUMBER, 0);
+				continue;
+			}
+			int streamNumber = FIRST_STREAM_NUMBER + moduleNumber;
+			byte[] bytes = createModuleStream(moduleNumber);
+			ByteArrayMsfStream stream = msf.setStream(streamNumber, bytes);
+			if (moduleNumber == FAILING_MODULE) {
+				stream.setBufferFailure(new IllegalStateException("test"));
+			}
+			debugInfo.addModuleInformation(streamNumber, bytes.length);
+		}
+		symbolRecords = debugInfo.getSymbolRecords();
+	}
+
+	@Test
+	public void testParseRecordsMatchesRandomAccess() throws Exception {
+		for (int moduleNumber = 1; moduleNumber <= NUM_MODULES; moduleNumber++) {
+			if (moduleNumber == NIL_STREAM_MODULE || moduleNumber == FAILING_MODULE) {
+				continue;
+			}
+			int streamNumber = FIRST_STREAM_NUMBER + moduleNumber;
+			int length = msf.getStream(streamNumber).getLength();
+			Map<Integer, SymLen> records =
+				symbolRecords.parseRecords(streamNumber, CV_SIG_LENGTH, length);
+
+			int count = 0;
+			int offset = CV_SIG_LENGTH;
+			while (offset < length) {
+				SymLen expected;
+				try {
+					expected = symbolRecords.getRandomAccessRecord(streamNumber, offset);
+				}
+				catch (PdbException e) {
+					break;
+				}
+				SymLen actual = records.get(offset);
+				assertNotNull("module " + moduleNumber + " offset " + offset, actual);
+				assertEquals(expected.length(), actual.length());
+				assertEquals(expected.symbol().getClass(), actual.symbol().getClass());
+				assertEquals(expected.symbol().toString(), actual.symbol().toString());
+				offset += expected.length();
+				++count;
+			}
+			assertEquals("module " + moduleNumber, count, records.size());
+		}
+	}
+
+	@Test
+	public void testPrefetchedRecordsMatchSerialParse() throws Exception {
+		Map<Integer, List<String>> expected = processSerially();
+		Map<Integer, Integer> readCounts = new HashMap<>();
+		Map<Integer, List<String>> actual = new TreeMap<>();
+
+		createPrefetcher().processModules(1, NUM_MODULES, (moduleNumber, iter) -> {
+			ByteArrayMsfStream stream = msf.getStream(FIRST_STREAM_NUMBER + moduleNumber);
+			int readCount = stream == null ? 0 : stream.getReadCount();
+			actual.put(moduleNumber, getSymbols(iter));
+			if (stream != null) {
+				readCounts.put(moduleNumber, stream.getReadCount() - readCount);
+			}
+		});
+
+		assertEquals(expected, actual);
+		assertNull(actual.get(NO_GROUP_MODULE));
+		assertTrue(actual.get(NIL_STREAM_MODULE).isEmpty());
+		assertEquals(2, actual.get(BAD_RECORD_MODULE).size());
+		assertTrue(actual.get(UNKNOWN_SYMBOL_MODULE).get(1).contains("UnknownMsSymbol"));
+
+		// prefetched records are not read again, while the module which could not be parsed
+		// ahead is read on demand
+		for (Map.Entry<Integer, Integer> entry : readCounts.entrySet()) {
+			int moduleNumber = entry.getKey();
+			if (moduleNumber == FAILING_MODULE || moduleNumber == BAD_RECORD_MODULE) {
+				assertTrue(entry.getValue() > 0);
+			}
+			else {
+				assertEquals("module " + moduleNumber, 0, entry.getValue().intValue());
+			}
+		}
+		assertNoPrefetchedRecords();
+	}
+
+	@Test
+	public void testCancelled() throws Exception {
+		Map<Integer, List<String>> expected = processSerially();
+		TaskMonitorAdapter monitor = new TaskMonitorAdapter(true);
+		msf.setMonitor(monitor);
+		List<Integer> processed = new ArrayList<>();
+
+		ModuleSymbolPrefetcher prefetcher = new ModuleSymbolPrefetcher(pdb,
+			moduleNumber -> new SymbolGroup(pdb, moduleNumber), monitor,
+			new PdbApplicatorMetrics());
+		try {
+			prefetcher.processModules(1, NUM_MODULES, (moduleNumber, iter) -> {
+				processed.add(moduleNumber);
+				if (moduleNumber == 3) {
+					monitor.cancel();
+				}
+			});
+			fail("expected cancellation");
+		}
+		catch (CancelledException e) {
+			// expected
+		}
+		assertEquals(List.of(1, 2, 3), processed);
+		assertNoPrefetchedRecords();
+
+		// the records of the abandoned modules are parsed again when next processed
+		msf.setMonitor(new TaskMonitorAdapter(true));
+		Map<Integer, List<String>> actual = new TreeMap<>();
+		createPrefetcher().processModules(1, NUM_MODULES,
+			(moduleNumber, iter) -> actual.put(moduleNumber, getSymbols(iter)));
+		assertEquals(expected, actual);
+	}
+
+	private ModuleSymbolPrefetcher createPrefetcher() {
+		return new ModuleSymbolPrefetcher(pdb, this::getSymbolGroup, msf.getMonitor(),
+			new PdbApplicatorMetrics());
+	}
+
+	private SymbolGroup getSymbolGroup(int moduleNumber) {
+		return moduleNumber == NO_GROUP_MODULE ? null : new SymbolGroup(pdb, moduleNumber);
+	}
+
+	private Map<Integer, List<String>> processSerially() throws PdbException {
+		Map<Integer, List<String>> symbols = new TreeMap<>();
+		for (int moduleNumber = 1; moduleNumber <= NUM_MODULES; moduleNumber++) {
+			SymbolGroup symbolGroup = getSymbolGroup(moduleNumber);
+			symbols.put(moduleNumber,
+				getSymbols(symbolGroup == null ? null : symbolGroup.getSymbolIterator()));
+		}
+		return symbols;
+	}
+
+	private static List<String> getSymbols(MsSymbolIterator iter) {
+		if (iter == null) {
+			return null;
+		}
+		List<String> symbols = new ArrayList<>();
+		while (iter.hasNext()) {
+			long offset = iter.getCurrentOffset();
+			AbstractMsSymbol symbol = iter.next();
+			symbols.add(offset + ": " + symbol.getClass().getSimpleName() + ": " + symbol);
+		}
+		return symbols;
+	}
+
+	private void assertNoPrefetchedRecords() {
+		Map<?, ?> prefetched = (Map<?, ?>) getInstanceField("prefetchedRecords", symbolRecords);
+		assertTrue(prefetched.isEmpty());
+	}
+
+	private static byte[] createModuleStream(int moduleNumber) {
+		PdbByteWriter writer = new PdbByteWriter();
+		writer.putInt(4); // CV signature
+		int numRecords = moduleNumber % 7 + 2;
+		for (int i = 0; i < numRecords; i++) {
+			if (moduleNumber == BAD_RECORD_MODULE && i == 2) {
+				// a record too short to hold a symbol type ends the symbols of the module
+				writer.putUnsignedShort(1);
+				writer.putUnsignedByte(0);
+			}
+			else if (moduleNumber == UNKNOWN_SYMBOL_MODULE && i == 1) {
+				writer.putUnsignedShort(6);
+				writer.putUnsignedShort(0xfff0);
+				writer.putInt(0);
+			}
+			else {
+				writer.putBytes(createObjectNameRecord("module" + moduleNumber + "_" + i));
+			}
+		}
+		return writer.get();
+	}
+
+	private static byte[] createObjectNameRecord(String name) {
+		PdbByteWriter recordWriter = new PdbByteWriter();
+		recordWriter.putUnsignedShort(ObjectNameMsSymbol.PDB_ID);
+		recordWriter.putInt(4096);
+		recordWriter.putNullTerminatedUtf8String(name);
+		byte[] record = recordWriter.get();
+
+		PdbByteWriter writer = new PdbByteWriter();
+		writer.putUnsignedShort(record.length);
+		writer.putBytes(record);
+		return writer.get();
+	}
+}
@@ -0,0 +1,154 @@
+/* ###
+ * IP: GHIDRA
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ghidra.feature.vt.api.correlator.program;
+
+import java.util.*;
+import java.util.Map.Entry;
+
+import generic.DominantPair;
+import generic.concurrent.*;
+import generic.lsh.vector.LSHCosineVectorAccum;
+import ghidra.feature.vt.api.main.VTMatchInfo;
+import ghidra.util.exception.CancelledException;
+import ghidra.util.task.TaskMonitor;
+
+/**
+ * Finds the matches for the destination feature vectors of an LSH based correlator.  The
+ * neighbors of each destination vector are looked up in the source dictionary and transformed
+ * into matches by the correlator.  The destinations are processed in parallel, but the matches
+ * are returned in the iteration order of the destination map so that the correlator results
+ * do not depend on the order in which the work was completed.
+ * <p>
+ * Once the source dictionary has been built, it is only read by {@link LSHMultiHash#lookup},
+ * so it may be shared by all of the threads.  The transformer is called concurrently and must
+ * therefore only read the programs being correlated.
+ *
+ * @param <P> the type of the feature vector owner (e.g., an address or symbol)
+ */
+class LSHMatchFinder<P> {
+
+	private static final String THREAD_POOL_NAME = "VT LSH Match Finder";
+
+	/**
+	 * Transforms the source neighbors of a destination vector into matches
+	 *
+	 * @param <P> the type of the feature vector owner
+	 */
+	interface MatchTransformer<P> {
+		/**
+		 * Returns the matches for the given destination and its neighbors
+		 * @param destination the destination feature vector owner
+		 * @param destinationVector the destination feature vector
+		 * @param neighbors the source neighbors of the destination vector
+		 * @param monitor the task monitor
+		 * @return the matches
+		 */
+		List<VTMatchInfo> transform(P destination, LSHCosineVectorAccum destinationVector,
+				Set<DominantPair<P, LSHCosineVectorAccum>> neighbors, TaskMonitor monitor);
+	}
+
+	private final LSHMultiHash<P> sourceDictionary;
+	private final MatchTransformer<P> transformer;
+
+	LSHMatchFinder(LSHMultiHash<P> sourceDictionary, MatchTransformer<P> transformer) {
+		this.sourceDictionary = sourceDictionary;
+		this.transformer = transformer;
+	}
+
+	/**
+	 * Finds the matches for all of the given destination vectors
+	 * @param destinationMap the destination feature vectors
+	 * @param monitor the task monitor
+	 * @return the matches, in the iteration order of the destination map
+	 * @throws CancelledException if the monitor is cancelled
+	 */
+	List<VTMatchInfo> findMatches(Map<P, LSHCosineVectorAccum> destinationMap,
+			TaskMonitor monitor) throws CancelledException {
+
+		List<Entry<P, LSHCosineVectorAccum>> destinations =
+			new ArrayList<>(destinationMap.entrySet());
+		List<Integer> indices = new ArrayList<>(destinations.size());
+		for (int i = 0; i < destinations.size(); i++) {
+			indices.add(i);
+		}
+
+		QCallback<Integer, List<VTMatchInfo>> callback = (index, m) -> {
+			m.checkCancelled();
+			Entry<P, LSHCosineVectorAccum> entry = destinations.get(index);
+			LSHCosineVectorAccum vector = entry.getValue();
+			Set<DominantPair<P, LSHCosineVectorAccum>> neighbors =
+				sourceDictionary.lookup(vector);
+			return transformer.transform(entry.getKey(), vector, neighbors, m);
+		};
+
+		monitor.initialize(destinations.size());
+
+		// @formatter:off
+		ConcurrentQ<Integer, List<VTMatchInfo>> queue =
+			new ConcurrentQBuilder<Integer, List<VTMatchInfo>>()
+				.setThreadPool(GThreadPool.getPrivateThreadPool(THREAD_POOL_NAME))
+				.setCollectResults(true)
+				.setMonitor(monitor)
+				.build(callback);
+		// @formatter:on
+
+		queue.add(indices);
+
+		Collection<QResult<Integer, List<VTMatchInfo>>> results;
+		try {
+			results = queue.waitForResults();
+		}
+		catch (InterruptedException e) {
+			throw new CancelledException();
+		}
+		finally {
+			queue.dispose();
+		}
+		monitor.checkCancelled();
+
+		List<List<VTMatchInfo>> matchesByDestination = new ArrayList<>(destinations.size());
+		matchesByDestination.addAll(Collections.nCopies(destinations.size(), List.of()));
+		for (QResult<Integer, List<VTMatchInfo>> result : results) {
+			matchesByDestination.set(result.getItem(), getResult(result));
+		}
+
+		List<VTMatchInfo> matches = new ArrayList<>();
+		for (List<VTMatchInfo> destinationMatches : matchesByDestination) {
+			for (VTMatchInfo match : destinationMatches) {
+				if (match != null) {
+					matches.add(match);
+				}
+			}
+		}
+		return matches;
+	}
+
+	private List<VTMatchInfo> getResult(QResult<Integer, List<VTMatchInfo>> result)
+			throws CancelledException {
+		try {
+			return result.getResult();
+		}
+		catch (CancelledException e) {
+			throw e;
+		}
+		catch (RuntimeException e) {
+			throw e;
+		}
+		catch (Exception e) {
+			throw new RuntimeException(e);
+		}
+	}
+}
@@ -16,7 +16,6 @@
 package ghidra.feature.vt.api.correlator.program;
 
 import java.util.*;
-import java.util.Map.Entry;
 
 import generic.DominantPair;
 import generic.hash.FNV1a64MessageDigest;
@@ -64,6 +63,7 @@ public class SimilarDataProgramCorrelator extends VTAbstractProgramCorrelator {
 		monitor.setMessage("Generating source dictionary");
 		sourceDictionary =
 			generateDictionary(getSourceProgram(), matchSet, skipHomogenousData, monitor);
+		monitor.checkCancelled(); // the dictionary is incomplete if cancelled
 
 		monitor.setMessage("Finding destination data");
 		findDestinations(matchSet, sourceDictionary, SIMILARITY_THRESHOLD, monitor);
@@ -189,31 +189,12 @@ public class SimilarDataProgramCorrelator extends VTAbstractProgramCorrelator {
 	}
 
 	private void findDestinations(VTMatchSet matchSet, LSHMultiHash<Address> sourceDictionary,
-			double threshold, TaskMonitor monitor) {
-		monitor.initialize(destinationMap.size());
-
-		for (Entry<Address, LSHCosineVectorAccum> entry : destinationMap.entrySet()) {
-			if (monitor.isCancelled()) {
-				return;
-			}
-
-			monitor.incrementProgress(1);
-			Address destinationAddress = entry.getKey();
-			LSHCosineVectorAccum vector = entry.getValue();
-			Set<DominantPair<Address, LSHCosineVectorAccum>> neighbors =
-				sourceDictionary.lookup(vector);
-			List<VTMatchInfo> members =
-				transform(matchSet, destinationAddress, vector, neighbors, threshold, monitor);
-
-			for (VTMatchInfo member : members) {
-				if (monitor.isCancelled()) {
-					return;
-				}
-				if (member != null) {
-					matchSet.addMatch(member);
-				}
-			}
-		}
+			double threshold, TaskMonitor monitor) throws CancelledException {
+		LSHMatchFinder<Address> matchFinder = new LSHMatchFinder<>(sourceDictionary,
+			(destination, vector, neighbors, m) -> transform(matchSet, destination, vector,
+				neighbors, threshold, m));
+		List<VTMatchInfo> matches = matchFinder.findMatches(destinationMap, monitor);
+		matchSet.addMatches(matches, monitor);
 	}
 
 	private List<VTMatchInfo> transform(VTMatchSet matchSet, Address destinationAddress,
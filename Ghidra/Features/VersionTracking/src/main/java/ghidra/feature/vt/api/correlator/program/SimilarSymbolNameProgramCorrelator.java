@@ -16,7 +16,6 @@
 package ghidra.feature.vt.api.correlator.program;
 
 import java.util.*;
-import java.util.Map.Entry;
 
 import generic.DominantPair;
 import generic.lsh.KandL;
@@ -60,6 +59,7 @@ public class SimilarSymbolNameProgramCorrelator extends VTAbstractProgramCorrela
 		LSHMultiHash<Symbol> sourceDictionary;
 		monitor.setMessage("Generating source dictionary");
 		sourceDictionary = generateDictionary(getSourceProgram(), matchSet, monitor);
+		monitor.checkCancelled(); // the dictionary is incomplete if cancelled
 
 		monitor.setMessage("Finding destination symbols");
 		findDestinations(matchSet, sourceDictionary, SIMILARITY_THRESHOLD, monitor);
@@ -153,28 +153,12 @@ public class SimilarSymbolNameProgramCorrelator extends VTAbstractProgramCorrela
 	}
 
 	private void findDestinations(VTMatchSet matchSet, LSHMultiHash<Symbol> sourceDictionary,
-			double threshold, TaskMonitor monitor) {
-		monitor.initialize(destinationMap.size());
-		for (Entry<Symbol, LSHCosineVectorAccum> entry : destinationMap.entrySet()) {
-			if (monitor.isCancelled()) {
-				return;
-			}
-			monitor.incrementProgress(1);
-			Symbol destinationSymbol = entry.getKey();
-			LSHCosineVectorAccum vector = entry.getValue();
-			Set<DominantPair<Symbol, LSHCosineVectorAccum>> neighbors =
-				sourceDictionary.lookup(vector);
-			List<VTMatchInfo> members =
-				transform(matchSet, destinationSymbol, vector, neighbors, threshold, monitor);
-			for (VTMatchInfo member : members) {
-				if (monitor.isCancelled()) {
-					return;
-				}
-				if (member != null) {
-					matchSet.addMatch(member);
-				}
-			}
-		}
+			double threshold, TaskMonitor monitor) throws CancelledException {
+		LSHMatchFinder<Symbol> matchFinder = new LSHMatchFinder<>(sourceDictionary,
+			(destination, vector, neighbors, m) -> transform(matchSet, destination, vector,
+				neighbors, threshold, m));
+		List<VTMatchInfo> matches = matchFinder.findMatches(destinationMap, monitor);
+		matchSet.addMatches(matches, monitor);
 	}
 
 	private List<VTMatchInfo> transform(VTMatchSet matchSet, Symbol destinationSymbol,
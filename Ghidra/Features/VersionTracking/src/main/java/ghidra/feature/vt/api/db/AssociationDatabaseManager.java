@@ -207,6 +207,40 @@ public class AssociationDatabaseManager implements VTAssociationManager {
 			return existingAssociation;
 		}
 
+		return createAssociationDB(sourceAddress, destinationAddress, type);
+	}
+
+	/**
+	 * Gets or creates the association for the source and destination addresses of the given
+	 * match info.  This is equivalent to
+	 * {@link #getOrCreateAssociationDB(Address, Address, VTAssociationType)}, except that the
+	 * existing associations of each source address are only looked up once and then kept in the
+	 * given map, which is intended for adding many matches at a time.
+	 *
+	 * @param info the match info
+	 * @param associationsBySource the associations found or created so far, by source and then
+	 * destination address; updated by this method
+	 * @return the association
+	 */
+	VTAssociationDB getOrCreateAssociationDB(VTMatchInfo info,
+			Map<Address, Map<Address, VTAssociationDB>> associationsBySource) {
+
+		Address sourceAddress = info.getSourceAddress();
+		Address destinationAddress = info.getDestinationAddress();
+		Map<Address, VTAssociationDB> associationsByDestination = associationsBySource
+				.computeIfAbsent(sourceAddress, this::getExistingAssociationDBsByDestination);
+		VTAssociationDB association = associationsByDestination.get(destinationAddress);
+		if (association == null) {
+			association =
+				createAssociationDB(sourceAddress, destinationAddress, info.getAssociationType());
+			associationsByDestination.put(destinationAddress, association);
+		}
+		return association;
+	}
+
+	private VTAssociationDB createAssociationDB(Address sourceAddress, Address destinationAddress,
+			VTAssociationType type) {
+
 		long sourceLong = session.getLongFromSourceAddress(sourceAddress);
 		long destinationLong = session.getLongFromDestinationAddress(destinationAddress);
 
@@ -337,6 +371,26 @@ public class AssociationDatabaseManager implements VTAssociationManager {
 		return null;
 	}
 
+	private Map<Address, VTAssociationDB> getExistingAssociationDBsByDestination(
+			Address sourceAddress) {
+
+		Map<Address, VTAssociationDB> associations = new HashMap<>();
+		long addressKey = session.getLongFromSourceAddress(sourceAddress);
+		try {
+			RecordIterator iterator =
+				associationTableAdapter.getRecordsForSourceAddress(addressKey);
+			while (iterator.hasNext()) {
+				DBRecord record = iterator.next();
+				VTAssociationDB associationDB = getAssociationForRecord(record);
+				associations.putIfAbsent(associationDB.getDestinationAddress(), associationDB);
+			}
+		}
+		catch (IOException e) {
+			session.dbError(e);
+		}
+		return associations;
+	}
+
 	private VTAssociationDB getAssociationForRecord(DBRecord record) {
 		if (record == null) {
 			throw new AssertException("How can we have a null record?!!!");
@@ -37,6 +37,7 @@ import ghidra.program.model.address.AddressSet;
 import ghidra.program.model.listing.Program;
 import ghidra.util.Lock;
 import ghidra.util.Msg;
+import ghidra.util.exception.CancelledException;
 import ghidra.util.exception.VersionException;
 import ghidra.util.task.TaskMonitor;
 import ghidra.util.xml.XmlUtilities;
@@ -182,6 +183,47 @@ public class VTMatchSetDB extends DatabaseObject implements VTMatchSet {
 		return newMatch;
 	}
 
+	@Override
+	public List<VTMatch> addMatches(List<VTMatchInfo> infos, TaskMonitor monitor)
+			throws CancelledException {
+		AssociationDatabaseManager associationManager = session.getAssociationManagerDBM();
+		Map<Address, Map<Address, VTAssociationDB>> associationsBySource = new HashMap<>();
+
+		monitor.initialize(infos.size(), "Adding matches");
+		Map<String, VTMatchTagDB> tagsByName = new HashMap<>();
+		List<VTMatch> newMatches = new ArrayList<>(infos.size());
+		try {
+			lock.acquire();
+			for (VTMatchInfo info : infos) {
+				monitor.checkCancelled();
+				// each association is created along with its match, so none are left unused
+				VTAssociationDB associationDB =
+					associationManager.getOrCreateAssociationDB(info, associationsBySource);
+				VTMatchTag tag = info.getTag();
+				VTMatchTagDB tagDB = (tag == null) ? null
+						: tagsByName.computeIfAbsent(tag.getName(),
+							name -> session.getOrCreateMatchTagDB(tag));
+				DBRecord matchRecord =
+					matchTableAdapter.insertMatchRecord(info, this, associationDB, tagDB);
+				newMatches.add(getMatchForRecord(matchRecord));
+				monitor.incrementProgress(1);
+			}
+		}
+		catch (IOException e) {
+			dbError(e);
+		}
+		finally {
+			lock.release();
+
+			// fire the events once the lock is released, as is done when adding a single
+			// match; this includes any matches added before a cancel
+			for (VTMatch newMatch : newMatches) {
+				session.setObjectChanged(VTEvent.MATCH_ADDED, newMatch, null, newMatch);
+			}
+		}
+		return newMatches;
+	}
+
 	@Override
 	public boolean removeMatch(VTMatch match) {
 
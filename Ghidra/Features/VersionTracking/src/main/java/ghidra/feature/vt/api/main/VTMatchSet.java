@@ -15,10 +15,12 @@
  */
 package ghidra.feature.vt.api.main;
 
-import java.util.Collection;
+import java.util.*;
 
 import ghidra.feature.vt.api.impl.VTProgramCorrelatorInfo;
 import ghidra.program.model.address.Address;
+import ghidra.util.exception.CancelledException;
+import ghidra.util.task.TaskMonitor;
 
 /**
  * Interface for all the matches generated from a single program correlator run.
@@ -40,6 +42,27 @@ public interface VTMatchSet {
 	 */
 	public VTMatch addMatch(VTMatchInfo info);
 
+	/**
+	 * Creates matches based on the given infos and adds them to this match set.  This is
+	 * equivalent to calling {@link #addMatch(VTMatchInfo)} for each info, but may be much faster
+	 * when adding a large number of matches.
+	 * 
+	 * @param infos the infos for the matches to add to this match set.
+	 * @param monitor the task monitor
+	 * @return the new VTMatches that were added, in the order of the given infos.
+	 * @throws CancelledException if the monitor is cancelled.  Any matches added before the
+	 * cancellation will remain in this match set.
+	 */
+	public default List<VTMatch> addMatches(List<VTMatchInfo> infos, TaskMonitor monitor)
+			throws CancelledException {
+		List<VTMatch> matches = new ArrayList<>(infos.size());
+		for (VTMatchInfo info : infos) {
+			monitor.checkCancelled();
+			matches.add(addMatch(info));
+		}
+		return matches;
+	}
+
 	/**
 	 * Returns a collection of all VTMatches contained in this match set.
 	 * @return  a collection of all VTMatches contained in this match set.
@@ -18,8 +18,7 @@ package ghidra.feature.vt.db;
 import static ghidra.feature.vt.db.VTTestUtils.*;
 import static org.junit.Assert.*;
 
-import java.util.Collection;
-import java.util.Collections;
+import java.util.*;
 
 import org.junit.*;
 
@@ -29,6 +28,7 @@ import ghidra.feature.vt.api.main.*;
 import ghidra.feature.vt.api.util.VTAssociationStatusException;
 import ghidra.util.exception.CancelledException;
 import ghidra.util.task.TaskMonitor;
+import ghidra.util.task.TaskMonitorAdapter;
 
 public class VTMatchSetDBTest extends VTBaseTestCase {
 
@@ -67,6 +67,75 @@ public class VTMatchSetDBTest extends VTBaseTestCase {
 			matchFromDB);
 	}
 
+	@Test
+	public void testAddMatches() throws Exception {
+		VTProgramCorrelator correlator =
+			createProgramCorrelator(db.getSourceProgram(), db.getDestinationProgram());
+		VTMatchSet matchSet = db.createMatchSet(correlator);
+
+		// an existing association that is shared by one of the new matches
+		VTMatch existingMatch = matchSet.addMatch(createMatch(matchSet));
+		VTAssociation existingAssociation = existingMatch.getAssociation();
+
+		VTMatchInfo match1 = createMatch(matchSet);
+		VTMatchInfo match2 = createMatch(matchSet);
+		match2.setSourceAddress(match1.getSourceAddress());
+		match2.setDestinationAddress(match1.getDestinationAddress());
+		VTMatchInfo match3 = createMatch(matchSet);
+		match3.setSourceAddress(existingAssociation.getSourceAddress());
+		match3.setDestinationAddress(existingAssociation.getDestinationAddress());
+
+		List<VTMatch> matches =
+			matchSet.addMatches(List.of(match1, match2, match3), TaskMonitor.DUMMY);
+		assertEquals(3, matches.size());
+		assertEquals(4, matchSet.getMatchCount());
+		assertEquivalent("Match put into DB is not the same as the match we got back", match1,
+			matches.get(0));
+		assertEquivalent("Match put into DB is not the same as the match we got back", match2,
+			matches.get(1));
+		assertEquivalent("Match put into DB is not the same as the match we got back", match3,
+			matches.get(2));
+
+		// matches with the same addresses share an association
+		assertEquals(matches.get(0).getAssociation(), matches.get(1).getAssociation());
+		assertEquals(existingAssociation, matches.get(2).getAssociation());
+	}
+
+	@Test
+	public void testAddMatchesCancelled() throws Exception {
+		VTProgramCorrelator correlator =
+			createProgramCorrelator(db.getSourceProgram(), db.getDestinationProgram());
+		VTMatchSet matchSet = db.createMatchSet(correlator);
+		List<VTMatchInfo> infos = new ArrayList<>();
+		for (int i = 0; i < 5; i++) {
+			infos.add(createMatch(matchSet));
+		}
+
+		// cancel once two matches have been added
+		TaskMonitor monitor = new TaskMonitorAdapter(true) {
+			private long progress;
+
+			@Override
+			public void incrementProgress(long incrementAmount) {
+				progress += incrementAmount;
+				if (progress == 2) {
+					cancel();
+				}
+			}
+		};
+		try {
+			matchSet.addMatches(infos, monitor);
+			fail("Expected the add to be cancelled");
+		}
+		catch (CancelledException e) {
+			// expected
+		}
+
+		// no associations are left without a match
+		assertEquals(2, matchSet.getMatchCount());
+		assertEquals(2, db.getAssociationManager().getAssociationCount());
+	}
+
 	@Test
 	public void testRejectAvailableMatch() throws Exception {
 		VTProgramCorrelator correlator =
@@ -44,6 +44,47 @@ public class DataBuffer implements Buffer, Externalizable {
 		return enableCompressedSerializationOutput;
 	}
 
+	/**
+	 * System property which specifies the deflate level (0-9) used when compressed serialization
+	 * output is enabled.  If not specified, data is Huffman encoded only, which is fast and
+	 * effective for sparse buffers.  Lower levels are faster; higher levels produce smaller
+	 * output.  Any level may be read by all versions.
+	 */
+	public static final String COMPRESSION_LEVEL_PROPERTY =
+		"db.buffers.DataBuffer.compressionLevel";
+
+	private static final int HUFFMAN_ONLY_LEVEL = -1;
+
+	private static volatile int compressionLevel =
+		Integer.getInteger(COMPRESSION_LEVEL_PROPERTY, HUFFMAN_ONLY_LEVEL);
+
+	// Deflater and Inflater instances hold native memory, so reuse one of each per thread
+	// instead of creating one for every serialized buffer
+	private static final ThreadLocal<Deflater> DEFLATER = new ThreadLocal<>();
+	private static final ThreadLocal<Inflater> INFLATER =
+		ThreadLocal.withInitial(() -> new Inflater(true));
+
+	/**
+	 * Sets the deflate level used when compressed serialization output is enabled.
+	 * @param level deflate level (0-9), or -1 to only use Huffman encoding (the default)
+	 * @throws IllegalArgumentException if the level is invalid
+	 */
+	public static void setCompressionLevel(int level) {
+		if (level < HUFFMAN_ONLY_LEVEL || level > Deflater.BEST_COMPRESSION) {
+			throw new IllegalArgumentException("Invalid compression level: " + level);
+		}
+		System.setProperty(COMPRESSION_LEVEL_PROPERTY, Integer.toString(level));
+		compressionLevel = level;
+	}
+
+	/**
+	 * Returns the deflate level used when compressed serialization output is enabled.
+	 * @return deflate level (0-9), or -1 if only Huffman encoding is used
+	 */
+	public static int getCompressionLevel() {
+		return compressionLevel;
+	}
+
 	private static int FORMAT_VERSION = 0xEA; // 0xEA is first version (avoided simple value like 0 or 1)
 
 	/**
@@ -330,8 +371,7 @@ public class DataBuffer implements Buffer, Externalizable {
 	 */
 	private static int deflateData(byte[] data, byte[] compressedData) {
 
-		Deflater deflate = new Deflater(Deflater.BEST_COMPRESSION, true);
-		deflate.setStrategy(Deflater.HUFFMAN_ONLY);
+		Deflater deflate = getDeflater();
 		deflate.setInput(data, 0, data.length);
 		deflate.finish();
 
@@ -349,6 +389,23 @@ public class DataBuffer implements Buffer, Externalizable {
 		return compressedDataOffset;
 	}
 
+	private static Deflater getDeflater() {
+		boolean huffmanOnly = compressionLevel == HUFFMAN_ONLY_LEVEL;
+		int level = huffmanOnly ? Deflater.BEST_COMPRESSION : compressionLevel;
+		Deflater deflate = DEFLATER.get();
+		if (deflate == null) {
+			deflate = new Deflater(level, true);
+			DEFLATER.set(deflate);
+		}
+		else {
+			deflate.reset();
+			deflate.setLevel(level);
+		}
+		// level and strategy take effect immediately since no data has been deflated yet
+		deflate.setStrategy(huffmanOnly ? Deflater.HUFFMAN_ONLY : Deflater.DEFAULT_STRATEGY);
+		return deflate;
+	}
+
 	@Override
 	public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
 
@@ -412,7 +469,8 @@ public class DataBuffer implements Buffer, Externalizable {
 	 */
 	private static void inflateData(byte[] compressedData, byte[] data) throws IOException {
 
-		Inflater inflater = new Inflater(true);
+		Inflater inflater = INFLATER.get();
+		inflater.reset();
 		inflater.setInput(compressedData, 0, compressedData.length);
 
 		try {
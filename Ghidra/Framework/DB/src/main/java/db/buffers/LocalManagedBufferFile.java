@@ -455,7 +455,14 @@ public class LocalManagedBufferFile extends LocalBufferFile implements ManagedBu
 		return success;
 	}
 
-	private byte[] getForwardModMapData() throws IOException {
+	/**
+	 * Returns a bit map corresponding to all buffers modified since this file was checked-out.
+	 * Change tracking is only performed for a checked-out private file.
+	 * @return ModMap buffer change map data or null if buffer changes are not tracked
+	 * or no buffers have been modified
+	 * @throws IOException if an I/O error occurs
+	 */
+	public byte[] getForwardModMapData() throws IOException {
 		if (bfMgr == null) {
 			return null;
 		}
@@ -1032,6 +1039,28 @@ public class LocalManagedBufferFile extends LocalBufferFile implements ManagedBu
 	 */
 	public synchronized void updateFrom(ManagedBufferFile versionedBufferFile, int oldVersion,
 			TaskMonitor monitor) throws IOException, CancelledException {
+		updateFrom(versionedBufferFile, oldVersion, getForwardModMapData(), monitor);
+	}
+
+	/**
+	 * Create a new version of this file by updating it from a versionedBufferFile.  
+	 * This file must be open as read-only with versionUpdateEnabled and its content must
+	 * match an oldVersion of the versionedBufferFile except for those buffers identified by
+	 * the modifiedBuffers change map.  This permits a copy of a checked-out file, which does
+	 * not have its own change tracking, to be updated.  Only those buffers which have been
+	 * modified or added in the specified versionedBufferFile since oldVersion, or which are
+	 * identified by modifiedBuffers, are read from the versionedBufferFile.  When complete,
+	 * this file should be closed as soon as possible.
+	 * @param versionedBufferFile versioned buffer file
+	 * @param oldVersion older version of versionedBufferFile from which this buffer file originated.
+	 * @param modifiedBuffers ModMap change map data which identifies buffers within this file
+	 * which differ from oldVersion (see {@link #getForwardModMapData()}), or null if none
+	 * @param monitor progress monitor
+	 * @throws IOException if an I/O error occurs
+	 * @throws CancelledException if monitor cancels operation
+	 */
+	public synchronized void updateFrom(ManagedBufferFile versionedBufferFile, int oldVersion,
+			byte[] modifiedBuffers, TaskMonitor monitor) throws IOException, CancelledException {
 
 		if (!canSave()) {
 			throw new IOException("File does not allow update");
@@ -1045,9 +1074,8 @@ public class LocalManagedBufferFile extends LocalBufferFile implements ManagedBu
 		// or within the versionedBufferFile since checkout gets copied from versionedBufferFile.
 		byte[] versionedChanges = versionedBufferFile.getForwardModMapData(oldVersion);
 		ChangeMap newChangeMap = new ChangeMap(versionedChanges);
-		byte[] myModifiedBuffers = getForwardModMapData();
-		if (myModifiedBuffers != null) {
-			newChangeMap.addChangeMapData(myModifiedBuffers);
+		if (modifiedBuffers != null) {
+			newChangeMap.addChangeMapData(modifiedBuffers);
 		}
 		newChangeMap.setChangedIndexes(getFreeIndexes());
 		newChangeMap.setUnchangedIndexes(versionedBufferFile.getFreeIndexes());
@@ -96,6 +96,21 @@ public class DataBufferTest extends AbstractGenericTest {
 		transferData(false);
 	}
 
+	@Test
+	public void testCompressionLevelsInOut() throws Exception {
+		DataBuffer.enableCompressedSerializationOutput(true);
+		try {
+			for (int level = -1; level <= 9; level++) {
+				DataBuffer.setCompressionLevel(level);
+				transferData(true);
+				transferData(false);
+			}
+		}
+		finally {
+			DataBuffer.setCompressionLevel(-1);
+		}
+	}
+
 	private class MyObjectInput implements ObjectInput {
 
 		private final int serialDataLen;
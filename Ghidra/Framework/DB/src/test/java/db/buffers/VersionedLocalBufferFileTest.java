@@ -738,6 +738,118 @@ public class VersionedLocalBufferFileTest extends AbstractGenericTest {
 			FileUtilities.deleteDir(testDir));
 	}
 
+	/**
+	 * Test update of a copy of a modified private checkout file, such as that used for merge.
+	 * The copy does not track its own changes, so the changes made to the private file since
+	 * checkout are supplied.  Following update the copy should match version-2.
+	 * @throws Exception
+	 */
+	@Test
+	public void testVersionLocalCopyUpdate() throws Exception {
+
+		testVersionQuickUpdate();
+
+		LocalManagedBufferFile vbf = null;
+		LocalManagedBufferFile pbf = null;
+		LocalManagedBufferFile copyBf = null;
+		LocalManagedBufferFile saveFile = null;
+		try {
+
+			// Simulate checkout of version-1 (new private instance)
+			privateTestFileMgr = new PrivateTestFileMgr(2);
+			vbf = new LocalManagedBufferFile(versionedTestFileMgr, 1, -1);
+			pbf = new LocalManagedBufferFile(vbf.getBufferSize(), privateTestFileMgr, PRIVATE);
+			LocalBufferFile.copyFile(vbf, pbf, null, TaskMonitor.DUMMY);
+
+			vbf.close();
+			vbf = null;
+
+			pbf.close();
+			pbf = null;
+
+			// Modify private checkout file (with different changes than version-2 contains)
+			pbf = new LocalManagedBufferFile(privateTestFileMgr, true, -1, PRIVATE);
+
+			saveFile = (LocalManagedBufferFile) pbf.getSaveFile();
+			assertNotNull(saveFile);
+
+			byte[] data = new byte[BUFFER_SIZE];
+			DataBuffer buf = new DataBuffer(data);
+
+			Arrays.fill(data, (byte) 0xff);// modified buffer
+			buf.setId(21);
+			saveFile.put(buf, 1);
+
+			Arrays.fill(data, (byte) 0xf3);// new buffer
+			buf.setId(13);
+			saveFile.put(buf, 3);
+
+			saveFile.setParameter("TestParm1", 0x320);
+			saveFile.setParameter("TestParm2", 0x540);
+
+			pbf.saveCompleted(true);
+
+			pbf.close();
+			pbf = null;
+
+			saveFile.close();
+			saveFile = null;
+
+			// Copy private file and obtain its changes since checkout
+			pbf = new LocalManagedBufferFile(privateTestFileMgr, false, -1, -1);
+			byte[] modifiedBuffers = pbf.getForwardModMapData();
+			assertNotNull(modifiedBuffers);
+
+			PrivateTestFileMgr copyTestFileMgr = new PrivateTestFileMgr(3);
+			copyBf = new LocalManagedBufferFile(pbf.getBufferSize(), copyTestFileMgr, PRIVATE);
+			LocalBufferFile.copyFile(pbf, copyBf, null, TaskMonitor.DUMMY);
+
+			pbf.close();
+			pbf = null;
+
+			copyBf.close();
+			copyBf = null;
+
+			// Perform update of copy to replicate version-2
+			vbf = new LocalManagedBufferFile(versionedTestFileMgr, false, -1, VERSIONED);
+			copyBf = new LocalManagedBufferFile(copyTestFileMgr, true, -1, -1);
+			assertNull(copyBf.getForwardModMapData());
+
+			copyBf.updateFrom(vbf, 1, modifiedBuffers, TaskMonitor.DUMMY);
+
+			copyBf.close();
+			copyBf = null;
+
+			// Reopen to pickup update modifications
+			copyBf = new LocalManagedBufferFile(copyTestFileMgr, false, -1, -1);
+
+			checkSameContent(vbf, copyBf);
+
+			vbf.close();
+			vbf = null;
+
+			copyBf.close();
+			copyBf = null;
+
+		}
+		finally {
+			for (LocalManagedBufferFile bf : new LocalManagedBufferFile[] { saveFile, vbf, pbf,
+				copyBf }) {
+				if (bf != null) {
+					try {
+						bf.close();
+					}
+					catch (IOException e) {
+						// ignore
+					}
+				}
+			}
+		}
+
+		assertTrue("File handles may have failed to close properly",
+			FileUtilities.deleteDir(testDir));
+	}
+
 	/**
 	 * Test local update following a merge checkin scenario.  A new private file is created based upon version-1.
 	 * This private file is modified resulting in a file which is longer than version-2.  This new private file
@@ -56,6 +56,16 @@ public class CombinedTableFilter<T> implements TableFilter<T> {
 		return filters.isEmpty();
 	}
 
+	@Override
+	public boolean isThreadSafe() {
+		for (TableFilter<T> tableFilter : filters) {
+			if (!tableFilter.isThreadSafe()) {
+				return false;
+			}
+		}
+		return true;
+	}
+
 	/**
 	 * Returns the number of sub-filters in this combined filter.
 	 *
@@ -19,12 +19,13 @@ import java.util.*;
 
 import javax.swing.table.TableColumnModel;
 
+import docking.widgets.table.threaded.ThreadedTableModel;
+
 import ghidra.util.table.column.GColumnRenderer;
 import ghidra.util.table.column.GColumnRenderer.ColumnConstraintFilterMode;
 
 public class DefaultRowFilterTransformer<ROW_OBJECT> implements RowFilterTransformer<ROW_OBJECT> {
 
-	private List<String> columnData = new ArrayList<>();
 	private TableColumnModel columnModel;
 	private final RowObjectTableModel<ROW_OBJECT> model;
 
@@ -36,7 +37,7 @@ public class DefaultRowFilterTransformer<ROW_OBJECT> implements RowFilterTransfo
 
 	@Override
 	public List<String> transform(ROW_OBJECT rowObject) {
-		columnData.clear();
+		List<String> columnData = new ArrayList<>();
 		int columnCount = model.getColumnCount();
 		for (int col = 0; col < columnCount; col++) {
 			String value = getStringValue(rowObject, col);
@@ -47,21 +48,47 @@ public class DefaultRowFilterTransformer<ROW_OBJECT> implements RowFilterTransfo
 		return columnData;
 	}
 
+	/**
+	 * Returns true if the values of all of the columns used for filtering may be retrieved by
+	 * multiple threads at once (see {@link ThreadedTableModel#isColumnThreadSafe(int)}).
+	 * Subclasses that override {@link #transform(Object)} to use other values or to share
+	 * state between rows must override this method as well.
+	 *
+	 * @return true if this transformer is thread-safe
+	 */
+	@Override
+	public boolean isThreadSafe() {
+		if (!(model instanceof ThreadedTableModel<?, ?> threadedModel)) {
+			return false;
+		}
+
+		int columnCount = model.getColumnCount();
+		for (int col = 0; col < columnCount; col++) {
+			if (isFilteredColumn(col) && !threadedModel.isColumnThreadSafe(col)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
 	protected String getStringValue(ROW_OBJECT rowObject, int column) {
+		if (!isFilteredColumn(column)) {
+			return null;
+		}
+		return TableUtils.getTableCellStringValue(model, rowObject, column);
+	}
+
+	private boolean isFilteredColumn(int column) {
 		// we have to account for 'magic' hidden columns
 		if (columnModel instanceof GTableColumnModel) {
 			if (!((GTableColumnModel) columnModel).isVisible(column)) {
-				return null;
+				return false;
 			}
 		}
 
-		if (columnUsesConstraintFilteringOnly(column)) {
-			// This allows columns to be ignored for default text filtering while still being
-			// filterable through the column constraints API
-			return null;
-		}
-
-		return TableUtils.getTableCellStringValue(model, rowObject, column);
+		// This allows columns to be ignored for default text filtering while still being
+		// filterable through the column constraints API
+		return !columnUsesConstraintFilteringOnly(column);
 	}
 
 	private boolean columnUsesConstraintFilteringOnly(int column) {
@@ -108,10 +135,6 @@ public class DefaultRowFilterTransformer<ROW_OBJECT> implements RowFilterTransfo
 		}
 
 		DefaultRowFilterTransformer<?> other = (DefaultRowFilterTransformer<?>) obj;
-		if (!Objects.equals(columnData, other.columnData)) {
-			return false;
-		}
-
 		if (!Objects.equals(columnModel, other.columnModel)) {
 			return false;
 		}
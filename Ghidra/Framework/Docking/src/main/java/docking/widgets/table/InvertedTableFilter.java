@@ -36,6 +36,11 @@ public class InvertedTableFilter<ROW_OBJECT> implements TableFilter<ROW_OBJECT>
 		return !filter.acceptsRow(rowObject);
 	}
 
+	@Override
+	public boolean isThreadSafe() {
+		return filter.isThreadSafe();
+	}
+
 	@Override
 	public int hashCode() {
 		// not meant to put in hashing structures; the data for equals may change over time
@@ -81,6 +81,11 @@ public class MultiTextFilterTableFilter<ROW_OBJECT> implements TableFilter<ROW_O
 		// @formatter:on
 	}
 
+	@Override
+	public boolean isThreadSafe() {
+		return transformer.isThreadSafe();
+	}
+
 	private static boolean matches(TextFilter filter, List<String> columnData) {
 		// @formatter:off
 		return columnData.parallelStream()
@@ -27,4 +27,14 @@ import java.util.List;
  */
 public interface RowFilterTransformer<ROW_OBJECT> {
 	public List<String> transform(ROW_OBJECT rowObject);
+
+	/**
+	 * Returns true if {@link #transform(Object)} may be called by multiple threads at the same
+	 * time.  Text filters using this transformer are thread-safe when this is true.
+	 *
+	 * @return true if this transformer is thread-safe
+	 */
+	public default boolean isThreadSafe() {
+		return false;
+	}
 }
@@ -57,4 +57,15 @@ public interface TableFilter<ROW_OBJECT> {
 	public default boolean isEmpty() {
 		return false;
 	}
+
+	/**
+	 * Returns true if {@link #acceptsRow(Object)} may be called by multiple threads at the same
+	 * time.  Threaded table models will filter large data sets in parallel when their filter is
+	 * thread-safe.
+	 *
+	 * @return true if this filter is thread-safe
+	 */
+	public default boolean isThreadSafe() {
+		return false;
+	}
 }
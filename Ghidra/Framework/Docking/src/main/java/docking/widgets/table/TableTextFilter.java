@@ -57,6 +57,11 @@ public class TableTextFilter<ROW_OBJECT> implements TableFilter<ROW_OBJECT> {
 		return false;
 	}
 
+	@Override
+	public boolean isThreadSafe() {
+		return transformer.isThreadSafe();
+	}
+
 	@Override
 	public int hashCode() {
 		// not meant to put in hashing structures; the data for equals may change over time
@@ -0,0 +1,146 @@
+/* ###
+ * IP: GHIDRA
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package docking.widgets.table.threaded;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * A cache of column values for a fixed array of row objects of a {@link ThreadedTableModel}.
+ * Only the values of a fixed set of columns are cached.  The values of each cached column are
+ * stored in a single array indexed by row position, so the cache holds no per-row objects and
+ * rows are never hashed.
+ * <p>
+ * Values are added by {@link #cacheRows(int, int)}, which may be called concurrently for
+ * disjoint ranges of rows, and must be added for all rows before any are read.  Rows are then
+ * compared by position through a {@link RowComparator}, which answers the model's requests for
+ * the column values of the two rows being compared from the cache.  Values for other rows or
+ * columns are obtained from the model on each request.
+ *
+ * @param <T> the row type
+ */
+class ColumnValueCache<T> {
+
+	private final ThreadedTableModel<T, ?> model;
+	private final T[] rows;
+	private final int[] columns;
+	private final int[] columnSlots;
+	private final Object[][] values;
+
+	/**
+	 * Constructor
+	 * @param model the model that provides the column values
+	 * @param rows the row objects whose values are to be cached
+	 * @param columns the model indices of the columns whose values are to be cached
+	 */
+	ColumnValueCache(ThreadedTableModel<T, ?> model, T[] rows, int[] columns) {
+		this.model = model;
+		this.rows = rows;
+		this.columns = columns;
+
+		int maxColumn = -1;
+		for (int column : columns) {
+			maxColumn = Math.max(maxColumn, column);
+		}
+		columnSlots = new int[maxColumn + 1];
+		Arrays.fill(columnSlots, -1);
+		values = new Object[columns.length][];
+		for (int i = 0; i < columns.length; i++) {
+			columnSlots[columns[i]] = i;
+			values[i] = new Object[rows.length];
+		}
+	}
+
+	/**
+	 * Returns true if this cache does not cache the values of any columns
+	 * @return true if empty
+	 */
+	boolean isEmpty() {
+		return columns.length == 0;
+	}
+
+	/**
+	 * Computes and caches the values of the cached columns for a range of rows
+	 * @param start the position of the first row
+	 * @param end the position after the last row
+	 */
+	void cacheRows(int start, int end) {
+		for (int slot = 0; slot < columns.length; slot++) {
+			Object[] columnValues = values[slot];
+			for (int i = start; i < end; i++) {
+				columnValues[i] = model.getColumnValueForRow(rows[i], columns[slot]);
+			}
+		}
+	}
+
+	/**
+	 * Creates a comparator of row positions for use by a single thread
+	 * @param comparator the comparator of row objects
+	 * @return the row comparator
+	 */
+	RowComparator createRowComparator(Comparator<T> comparator) {
+		return new RowComparator(comparator);
+	}
+
+	/**
+	 * Compares rows by position using a comparator of row objects.  While a comparison is in
+	 * progress, column values requested for either of the rows being compared are taken from the
+	 * cache.  An instance must only be used by one thread, and must be installed on that thread
+	 * with {@link ThreadedTableModel#setThreadRowComparator(RowComparator)} so that the model
+	 * will use it.
+	 */
+	class RowComparator {
+		private final Comparator<T> comparator;
+		private int row1;
+		private int row2;
+
+		private RowComparator(Comparator<T> comparator) {
+			this.comparator = comparator;
+		}
+
+		/**
+		 * Compares the rows at the given positions
+		 * @param position1 the position of the first row
+		 * @param position2 the position of the second row
+		 * @return the comparison result
+		 */
+		int compare(int position1, int position2) {
+			row1 = position1;
+			row2 = position2;
+			return comparator.compare(rows[position1], rows[position2]);
+		}
+
+		/**
+		 * Returns the value of the given column for the given row, using the cached value if the
+		 * row is one of the rows being compared
+		 * @param rowObject the row object
+		 * @param columnIndex the column model index
+		 * @return the column value
+		 */
+		Object getColumnValue(T rowObject, int columnIndex) {
+			int slot = columnIndex < columnSlots.length ? columnSlots[columnIndex] : -1;
+			if (slot >= 0) {
+				if (rowObject == rows[row1]) {
+					return values[slot][row1];
+				}
+				if (rowObject == rows[row2]) {
+					return values[slot][row2];
+				}
+			}
+			return model.getColumnValueForRow(rowObject, columnIndex);
+		}
+	}
+}
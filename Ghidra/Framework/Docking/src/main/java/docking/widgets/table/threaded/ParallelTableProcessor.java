@@ -0,0 +1,359 @@
+/* ###
+ * IP: GHIDRA
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package docking.widgets.table.threaded;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.ForkJoinPool.ForkJoinWorkerThreadFactory;
+import java.util.concurrent.atomic.AtomicLong;
+
+import docking.widgets.table.*;
+import ghidra.util.exception.CancelledException;
+import ghidra.util.task.TaskMonitor;
+
+/**
+ * Sorts and filters the data of a {@link ThreadedTableModel} using the threads of a shared
+ * fork-join pool.  This is used for large data sets when the columns involved are thread-safe
+ * (see {@link ThreadedTableModel#isColumnThreadSafe(int)}).
+ * <p>
+ * Before sorting, the values of the sorted columns are computed in parallel into a
+ * {@link ColumnValueCache}, so that the column comparators do not have to compute them during
+ * comparison.  The row positions are then sorted with a parallel merge sort, which, like
+ * {@link Collections#sort(List, Comparator)}, is stable.  The given list is only modified once
+ * the sort has completed.
+ * <p>
+ * Filtering splits the data into chunks which are filtered in parallel.  The results are
+ * combined in the order of the original data.
+ *
+ * @param <T> the row type
+ */
+class ParallelTableProcessor<T> {
+
+	private static final int MIN_CHUNK_SIZE = 4096;
+	private static final int INSERTION_SORT_SIZE = 16;
+
+	private static ForkJoinPool pool;
+
+	private final ThreadedTableModel<T, ?> model;
+	private final TaskMonitor monitor;
+
+	private final AtomicLong progress = new AtomicLong();
+	private long expectedProgress;
+	private int chunkSize;
+
+	private ColumnValueCache<T> columnValueCache;
+	private Comparator<T> comparator;
+
+	ParallelTableProcessor(ThreadedTableModel<T, ?> model, TaskMonitor monitor) {
+		this.model = model;
+		this.monitor = monitor;
+	}
+
+	private static synchronized ForkJoinPool getPool() {
+		if (pool == null) {
+			ForkJoinWorkerThreadFactory factory = p -> {
+				ForkJoinWorkerThread thread =
+					ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+				thread.setName("GTable Parallel Worker " + thread.getPoolIndex());
+				return thread;
+			};
+			pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors(), factory, null,
+				false);
+		}
+		return pool;
+	}
+
+	/**
+	 * Sorts the given data using the comparator of the given sort context.
+	 *
+	 * @param data the data to sort
+	 * @param sortContext the sort context
+	 * @throws CancelledException if the monitor is cancelled; the data will not be modified
+	 */
+	void sort(List<T> data, TableSortingContext<T> sortContext) throws CancelledException {
+
+		int size = data.size();
+		@SuppressWarnings("unchecked")
+		T[] rows = (T[]) data.toArray();
+		int[] positions = new int[size];
+		for (int i = 0; i < size; i++) {
+			positions[i] = i;
+		}
+		int[] temp = new int[size];
+
+		chunkSize = getChunkSize(size);
+		columnValueCache = new ColumnValueCache<>(model, rows, getCachedColumns(sortContext));
+		comparator = sortContext.getComparator();
+
+		int mergeLevels = 0;
+		for (int n = size; n > chunkSize; n = (n + 1) / 2) {
+			mergeLevels++;
+		}
+		int passes = mergeLevels + (columnValueCache.isEmpty() ? 1 : 2);
+		initializeProgress((long) size * passes);
+
+		if (!columnValueCache.isEmpty()) {
+			invoke(new CacheTask(0, size));
+		}
+		invoke(new SortTask(positions, temp, 0, size));
+
+		ListIterator<T> it = data.listIterator();
+		for (int position : positions) {
+			it.next();
+			it.set(rows[position]);
+		}
+	}
+
+	/**
+	 * Filters the given data.
+	 *
+	 * @param data the data to filter
+	 * @param filter the filter; it must be thread-safe (see {@link TableFilter#isThreadSafe()})
+	 * @return the new filtered list
+	 * @throws CancelledException if the monitor is cancelled
+	 */
+	List<T> filter(List<T> data, TableFilter<T> filter) throws CancelledException {
+
+		int size = data.size();
+		@SuppressWarnings("unchecked")
+		T[] rows = (T[]) data.toArray();
+		chunkSize = getChunkSize(size);
+		initializeProgress(size);
+
+		List<FilterTask> tasks = new ArrayList<>();
+		for (int start = 0; start < size; start += chunkSize) {
+			tasks.add(new FilterTask(rows, filter, start, Math.min(size, start + chunkSize)));
+		}
+		invoke(ForkJoinTask.adapt((Runnable) () -> ForkJoinTask.invokeAll(tasks)));
+
+		List<T> filteredList = new ArrayList<>();
+		for (FilterTask task : tasks) {
+			filteredList.addAll(task.join());
+		}
+		return filteredList;
+	}
+
+	private int getChunkSize(int size) {
+		int parallelism = getPool().getParallelism();
+		return Math.max(MIN_CHUNK_SIZE, size / (parallelism * 4) + 1);
+	}
+
+	private int[] getCachedColumns(TableSortingContext<T> sortContext) {
+
+		// only the columns whose comparators use the model's column cache benefit from caching
+		List<Integer> columns = new ArrayList<>();
+		for (ColumnSortState sortState : sortContext.getSortState()) {
+			int column = sortState.getColumnModelIndex();
+			Comparator<T> columnComparator = model.createSortComparator(column);
+			if (columnComparator instanceof ThreadedTableColumnComparator) {
+				columns.add(column);
+			}
+		}
+		return columns.stream().mapToInt(Integer::intValue).toArray();
+	}
+
+	private void invoke(ForkJoinTask<?> task) throws CancelledException {
+		try {
+			getPool().invoke(task);
+		}
+		catch (RuntimeException e) {
+			if (monitor.isCancelled()) {
+				throw new CancelledException();
+			}
+			throw e;
+		}
+		monitor.checkCancelled();
+	}
+
+	private void initializeProgress(long expected) {
+		progress.set(0);
+		expectedProgress = Math.max(1, expected);
+		monitor.initialize(100);
+	}
+
+	private void addProgress(int count) {
+		long percentCompleted = progress.addAndGet(count) * 100 / expectedProgress;
+		monitor.setProgress(percentCompleted);
+	}
+
+	private void checkCancelled() {
+		if (monitor.isCancelled()) {
+			throw new ProcessingCancelledException();
+		}
+	}
+
+	/**
+	 * Computes the cached column values for a range of rows
+	 */
+	private class CacheTask extends RecursiveAction {
+		private int start;
+		private int end;
+
+		CacheTask(int start, int end) {
+			this.start = start;
+			this.end = end;
+		}
+
+		@Override
+		protected void compute() {
+			checkCancelled();
+			int length = end - start;
+			if (length > chunkSize) {
+				int middle = (start + end) >>> 1;
+				invokeAll(new CacheTask(start, middle), new CacheTask(middle, end));
+				return;
+			}
+
+			columnValueCache.cacheRows(start, end);
+			addProgress(length);
+		}
+	}
+
+	/**
+	 * Filters a range of rows
+	 */
+	private class FilterTask extends RecursiveTask<List<T>> {
+		private T[] rows;
+		private TableFilter<T> filter;
+		private int start;
+		private int end;
+
+		FilterTask(T[] rows, TableFilter<T> filter, int start, int end) {
+			this.rows = rows;
+			this.filter = filter;
+			this.start = start;
+			this.end = end;
+		}
+
+		@Override
+		protected List<T> compute() {
+			List<T> filteredList = new ArrayList<>();
+			for (int i = start; i < end; i++) {
+				checkCancelled();
+				T rowObject = rows[i];
+				if (filter.acceptsRow(rowObject)) {
+					filteredList.add(rowObject);
+				}
+			}
+			addProgress(end - start);
+			return filteredList;
+		}
+	}
+
+	/**
+	 * Merge sorts a range of row positions.  A row comparator is installed on the thread for the
+	 * duration of the task so that the column comparators will use the cached values.
+	 */
+	private class SortTask extends RecursiveAction {
+		private int[] positions;
+		private int[] temp;
+		private int start;
+		private int end;
+		private ColumnValueCache<T>.RowComparator rowComparator;
+
+		SortTask(int[] positions, int[] temp, int start, int end) {
+			this.positions = positions;
+			this.temp = temp;
+			this.start = start;
+			this.end = end;
+		}
+
+		@Override
+		protected void compute() {
+			rowComparator = columnValueCache.createRowComparator(comparator);
+			ColumnValueCache<T>.RowComparator previous =
+				model.setThreadRowComparator(rowComparator);
+			try {
+				doSort();
+			}
+			finally {
+				model.setThreadRowComparator(previous);
+			}
+		}
+
+		private void doSort() {
+			checkCancelled();
+			int length = end - start;
+			if (length <= chunkSize) {
+				sortRange(start, end);
+				addProgress(length);
+				return;
+			}
+
+			int middle = (start + end) >>> 1;
+			invokeAll(new SortTask(positions, temp, start, middle),
+				new SortTask(positions, temp, middle, end));
+			merge(start, middle, end);
+			addProgress(length);
+		}
+
+		private void sortRange(int from, int to) {
+			if (to - from <= INSERTION_SORT_SIZE) {
+				insertionSort(from, to);
+				return;
+			}
+			int middle = (from + to) >>> 1;
+			sortRange(from, middle);
+			sortRange(middle, to);
+			merge(from, middle, to);
+		}
+
+		private void insertionSort(int from, int to) {
+			for (int i = from + 1; i < to; i++) {
+				int position = positions[i];
+				int j = i - 1;
+				// only move past greater rows to keep the sort stable
+				while (j >= from && compare(positions[j], position) > 0) {
+					positions[j + 1] = positions[j];
+					j--;
+				}
+				positions[j + 1] = position;
+			}
+		}
+
+		private void merge(int from, int middle, int to) {
+			if (compare(positions[middle - 1], positions[middle]) <= 0) {
+				return; // already in order
+			}
+
+			System.arraycopy(positions, from, temp, from, middle - from);
+			int left = from;
+			int right = middle;
+			int next = from;
+			while (left < middle && right < to) {
+				// take from the left when equal to keep the sort stable
+				if (compare(positions[right], temp[left]) < 0) {
+					positions[next++] = positions[right++];
+				}
+				else {
+					positions[next++] = temp[left++];
+				}
+			}
+
+			// any remaining right side values are already in place
+			System.arraycopy(temp, left, positions, next, middle - left);
+		}
+
+		private int compare(int position1, int position2) {
+			checkCancelled();
+			return rowComparator.compare(position1, position2);
+		}
+	}
+
+	private static class ProcessingCancelledException extends RuntimeException {
+		// signals cancellation from within a fork-join task
+	}
+}
@@ -520,6 +520,11 @@ public class TableUpdateJob<T> {
 		int size = data.size();
 		monitor.setMessage("Sorting " + model.getName() + " (" + size + " rows)" + "...");
 
+		if (model.isParallelSort(newSortContext, size)) {
+			doParallelSortData(data);
+			return;
+		}
+
 		Comparator<T> comparator = newSortContext.getComparator();
 		Comparator<T> monitoredComparator = new MonitoredComparator<>(comparator, monitor, size);
 
@@ -547,6 +552,23 @@ public class TableUpdateJob<T> {
 		monitor.setMessage("Done sorting");
 	}
 
+	private void doParallelSortData(List<T> data) {
+
+		// the data is not changed unless the sort completes
+		try {
+			new ParallelTableProcessor<>(model, monitor).sort(data, newSortContext);
+		}
+		catch (CancelledException e) {
+			// the monitor state is checked by our caller
+		}
+		catch (Exception e) {
+			// see doSortData()
+			Msg.error(this, "Unable to finish table sorting", e);
+		}
+
+		monitor.setMessage("Done sorting");
+	}
+
 	private void maybeSortSourceData() {
 		//
 		// Usually the source data is sorted before any filter is applied.  However, this is not
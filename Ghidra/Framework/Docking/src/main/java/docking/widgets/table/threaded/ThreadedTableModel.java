@@ -60,6 +60,16 @@ public abstract class ThreadedTableModel<ROW_OBJECT, DATA_SOURCE>
 	private ConcurrentListenerSet<ThreadedTableModelListener> listeners =
 		new ConcurrentListenerSet<>();
 
+	/**
+	 * System property that specifies the minimum number of rows for which models will sort and
+	 * filter on multiple threads, when the columns involved are thread-safe (see
+	 * {@link #isColumnThreadSafe(int)}).  A value of 0 disables parallel sorting and filtering.
+	 */
+	public static final String PARALLEL_THRESHOLD_PROPERTY = "tables.parallel.threshold";
+	private static final int DEFAULT_PARALLEL_THRESHOLD = 100_000;
+	private static final int PARALLEL_THRESHOLD =
+		Integer.getInteger(PARALLEL_THRESHOLD_PROPERTY, DEFAULT_PARALLEL_THRESHOLD);
+
 	private String modelName;
 	protected TableData<ROW_OBJECT> allData = TableData.createEmptyDataset();
 	protected TableData<ROW_OBJECT> filteredData =
@@ -89,6 +99,8 @@ public abstract class ThreadedTableModel<ROW_OBJECT, DATA_SOURCE>
 
 	private ThreadLocal<Map<ROW_OBJECT, Map<Integer, Object>>> threadLocalColumnCache =
 		new ThreadLocal<>();
+	private ThreadLocal<ColumnValueCache<ROW_OBJECT>.RowComparator> threadLocalRowComparator =
+		new ThreadLocal<>();
 
 	private volatile Worker worker; // only created as needed (if we are incremental)
 	private int minUpdateDelayMillis;
@@ -258,6 +270,12 @@ public abstract class ThreadedTableModel<ROW_OBJECT, DATA_SOURCE>
 	 */
 	Object getCachedColumnValueForRow(ROW_OBJECT rowObject, int columnIndex) {
 
+		ColumnValueCache<ROW_OBJECT>.RowComparator rowComparator = threadLocalRowComparator.get();
+		if (rowComparator != null) {
+			// we are sorting in parallel--the values were computed before the sort started
+			return rowComparator.getColumnValue(rowObject, columnIndex);
+		}
+
 		Map<ROW_OBJECT, Map<Integer, Object>> cachedColumnValues = threadLocalColumnCache.get();
 
 		if (cachedColumnValues == null) {
@@ -293,6 +311,84 @@ public abstract class ThreadedTableModel<ROW_OBJECT, DATA_SOURCE>
 		}
 	}
 
+	/**
+	 * Installs the given row comparator, used when sorting in parallel, for the current thread.
+	 * @param rowComparator the comparator; null to remove the current thread's comparator
+	 * @return the comparator previously installed for the current thread; may be null
+	 */
+	ColumnValueCache<ROW_OBJECT>.RowComparator setThreadRowComparator(
+			ColumnValueCache<ROW_OBJECT>.RowComparator rowComparator) {
+		ColumnValueCache<ROW_OBJECT>.RowComparator previous = threadLocalRowComparator.get();
+		if (rowComparator == null) {
+			threadLocalRowComparator.remove();
+		}
+		else {
+			threadLocalRowComparator.set(rowComparator);
+		}
+		return previous;
+	}
+
+	/**
+	 * Returns true if the values of the given column may be retrieved by multiple threads at
+	 * once.  This includes the column's renderer, which provides the strings used for text
+	 * filtering and for breaking ties when sorting.
+	 * <p>
+	 * Large data sets are sorted on multiple threads when all of the sorted columns are
+	 * thread-safe, in which case the values of the sorted columns are computed in parallel
+	 * before the sort begins.  They are filtered on multiple threads when the filter is
+	 * thread-safe (see {@link TableFilter#isThreadSafe()}); text filters are thread-safe when
+	 * all of the columns they filter on are thread-safe.  This is opt-in; by default, this
+	 * returns false and data is sorted and filtered on a single thread.
+	 *
+	 * @param columnIndex the column model index
+	 * @return true if the column is thread-safe
+	 */
+	public boolean isColumnThreadSafe(int columnIndex) {
+		return false;
+	}
+
+	/**
+	 * Returns the minimum number of rows for which this model will sort and filter on multiple
+	 * threads, if the columns involved are thread-safe (see {@link #isColumnThreadSafe(int)}).
+	 * <p>
+	 * The default value may be changed with the {@value #PARALLEL_THRESHOLD_PROPERTY} system
+	 * property.
+	 *
+	 * @return the row threshold; 0 to disable parallel sorting and filtering
+	 */
+	protected int getParallelThreshold() {
+		return PARALLEL_THRESHOLD;
+	}
+
+	/**
+	 * Returns true if data of the given size is large enough to be sorted or filtered in parallel
+	 * @param size the number of rows
+	 * @return true if parallel
+	 */
+	boolean isParallel(int size) {
+		int threshold = getParallelThreshold();
+		return threshold > 0 && size >= threshold;
+	}
+
+	/**
+	 * Returns true if data of the given size should be sorted in parallel with the given sort
+	 * context
+	 * @param sortContext the sort context
+	 * @param size the number of rows
+	 * @return true if parallel
+	 */
+	boolean isParallelSort(TableSortingContext<ROW_OBJECT> sortContext, int size) {
+		if (!isParallel(size)) {
+			return false;
+		}
+		for (ColumnSortState sortState : sortContext.getSortState()) {
+			if (!isColumnThreadSafe(sortState.getColumnModelIndex())) {
+				return false;
+			}
+		}
+		return true;
+	}
+
 	@Override
 	public List<ROW_OBJECT> getModelData() {
 		return Collections.unmodifiableList(filteredData.getData());
@@ -447,9 +543,13 @@ public abstract class ThreadedTableModel<ROW_OBJECT, DATA_SOURCE>
 			return data;
 		}
 
+		TableFilter<ROW_OBJECT> filterCopy = getTableFilter();
+		if (filterCopy.isThreadSafe() && isParallel(data.size())) {
+			return new ParallelTableProcessor<>(this, monitor).filter(data, filterCopy);
+		}
+
 		monitor.initialize(data.size());
 
-		TableFilter<ROW_OBJECT> filterCopy = getTableFilter();
 		List<ROW_OBJECT> filteredList = new ArrayList<>();
 		for (int row = 0; row < data.size(); row++) {
 			if (monitor.isCancelled()) {
@@ -0,0 +1,187 @@
+/* ###
+ * IP: GHIDRA
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package docking.widgets.table.threaded;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import docking.DockingUtils;
+import docking.widgets.filter.*;
+import docking.widgets.table.*;
+
+/**
+ * Tests the sorting and filtering of a threaded table model that sorts and filters its data in
+ * parallel
+ */
+public class ParallelThreadedTableTest extends AbstractThreadedTableTest {
+
+	@Override
+	@Before
+	public void setUp() throws Exception {
+		super.setUp();
+		waitForTableModel(model);
+	}
+
+	@Override
+	protected TestDataKeyModel createTestModel() {
+		final TestDataKeyModel[] box = new TestDataKeyModel[1];
+		runSwing(() -> box[0] = new TestDataKeyModel() {
+			@Override
+			public boolean isColumnThreadSafe(int columnIndex) {
+				return true;
+			}
+
+			@Override
+			protected int getParallelThreshold() {
+				return 1; // always process in parallel
+			}
+		});
+		return box[0];
+	}
+
+	@Test
+	public void testSortingBytes() throws Exception {
+		doTestSorting(TestDataKeyModel.BYTE_COL);
+	}
+
+	@Test
+	public void testSortingLong() throws Exception {
+		doTestSorting(TestDataKeyModel.LONG_COL);
+	}
+
+	@Test
+	public void testSortingDoubles() throws Exception {
+		doTestSorting(TestDataKeyModel.DOUBLE_COL);
+	}
+
+	@Test
+	public void testSortingStrings() throws Exception {
+		doTestSorting(TestDataKeyModel.STRING_COL);
+	}
+
+	@Test
+	public void testMultipleSorting() throws Exception {
+		int columnIndex = TestDataKeyModel.STRING_COL;
+		sortByNormalClicking(columnIndex);
+
+		SortedTableModel sortedModel = (SortedTableModel) table.getModel();
+		verifySortDirection(columnIndex, sortedModel);
+
+		int columnIndex2 = TestDataKeyModel.INT_COL;
+		sortByClick(columnIndex2, DockingUtils.CONTROL_KEY_MODIFIER_MASK);
+
+		TableSortState tableSortState = sortedModel.getTableSortState();
+		assertEquals(2, tableSortState.getSortedColumnCount());
+		verifySortDirection(columnIndex, sortedModel);
+
+		// the primary sort on String has 3 equal rows that must be sorted by the secondary column
+		verifyColumnSort_Ascending(columnIndex2, new int[] { 7, 8, 9 });
+	}
+
+	@Test
+	public void testFilterAfterParallelSort() throws Exception {
+		runSwing(() -> model.setTableFilter(new EvenRowFilter()));
+		waitForTableModel(model);
+
+		int rowCount = model.getUnfilteredRowCount();
+		assertEquals(rowCount / 2, model.getRowCount());
+
+		// the filtered data retains the order of the sorted data
+		List<Long> data = model.getModelData();
+		for (int i = 0; i < data.size() - 1; i++) {
+			assertTrue(data.get(i) % 2 == 0);
+			assertTrue(compareValues(getLong(data.get(i)), getLong(data.get(i + 1))) <= 0);
+		}
+	}
+
+	@Test
+	public void testParallelTextFilter() throws Exception {
+		TextFilter textFilter = new FilterOptions().getTextFilterFactory().getTextFilter("e");
+		DefaultRowFilterTransformer<Long> transformer =
+			new DefaultRowFilterTransformer<>(model, table.getColumnModel());
+		TableTextFilter<Long> filter = new TableTextFilter<>(textFilter, transformer);
+		assertTrue(filter.isThreadSafe());
+
+		List<Long> expected = new ArrayList<>();
+		for (Long rowObject : model.getModelData()) {
+			if (filter.acceptsRow(rowObject)) {
+				expected.add(rowObject);
+			}
+		}
+		assertFalse(expected.isEmpty());
+		assertTrue(expected.size() < model.getRowCount());
+
+		runSwing(() -> model.setTableFilter(filter));
+		waitForTableModel(model);
+
+		// the filtered data matches a serial filter, in the same order
+		assertEquals(expected, new ArrayList<>(model.getModelData()));
+	}
+
+	@Test
+	public void testTransformerNotThreadSafeWithUnsafeColumn() {
+		TestDataKeyModel unsafeModel = runSwing(() -> new TestDataKeyModel() {
+			@Override
+			public boolean isColumnThreadSafe(int columnIndex) {
+				return columnIndex != TestDataKeyModel.STRING_COL;
+			}
+		});
+		DefaultRowFilterTransformer<Long> transformer =
+			new DefaultRowFilterTransformer<>(unsafeModel, null);
+		assertFalse(transformer.isThreadSafe());
+		assertFalse(new CombinedTableFilter<>(new EvenRowFilter(),
+			new TableTextFilter<>(new FilterOptions().getTextFilterFactory().getTextFilter("e"),
+				transformer),
+			null).isThreadSafe());
+		assertTrue(new CombinedTableFilter<>(new EvenRowFilter(), null, null).isThreadSafe());
+		runSwing(() -> unsafeModel.dispose());
+	}
+
+	private Long getLong(Long rowObject) {
+		return (Long) model.getColumnValueForRow(rowObject, TestDataKeyModel.LONG_COL);
+	}
+
+	private void verifyColumnSort_Ascending(int column, int[] rows) {
+		for (int i = 0; i < rows.length - 1; i++) {
+			Comparable<?> value1 = (Comparable<?>) table.getValueAt(rows[i], column);
+			Comparable<?> value2 = (Comparable<?>) table.getValueAt(rows[i + 1], column);
+			assertTrue(value1 + " is not <= " + value2, compareValues(value1, value2) <= 0);
+		}
+	}
+
+	private static class EvenRowFilter implements TableFilter<Long> {
+
+		@Override
+		public boolean acceptsRow(Long rowObject) {
+			return rowObject % 2 == 0;
+		}
+
+		@Override
+		public boolean isSubFilterOf(TableFilter<?> tableFilter) {
+			return false;
+		}
+
+		@Override
+		public boolean isThreadSafe() {
+			return true;
+		}
+	}
+}
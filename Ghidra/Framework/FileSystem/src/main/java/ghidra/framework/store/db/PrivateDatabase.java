@@ -224,6 +224,39 @@ public class PrivateDatabase extends Database {
 		}
 	}
 
+	/**
+	 * Replace the buffer file content with that provided by the specified srcFile, reading
+	 * only those buffers from srcFile which differ.  The current content of this database must
+	 * match the oldVersion of srcFile, except for those buffers identified by modifiedBuffers.
+	 * This allows a copy of a checked-out database to be brought up-to-date without a complete
+	 * transfer of srcFile.
+	 * @param srcFile open source data buffer file
+	 * @param oldVersion older version of srcFile from which this database originated.
+	 * @param modifiedBuffers ModMap change map data which identifies buffers which differ
+	 * from oldVersion, or null if none
+	 * @param monitor progress monitor
+	 * @throws IOException if an I/O error occurs
+	 * @throws CancelledException if monitor cancels operation
+	 */
+	public void updateFrom(ManagedBufferFile srcFile, int oldVersion, byte[] modifiedBuffers,
+			TaskMonitor monitor) throws CancelledException, IOException {
+		synchronized (syncObject) {
+			boolean success = false;
+			LocalManagedBufferFile localBf = new LocalManagedBufferFile(bfMgr, true, -1, -1);
+			try {
+				// performs a save
+				localBf.updateFrom(srcFile, oldVersion, modifiedBuffers, monitor);
+				localBf.close();
+				success = true;
+			}
+			finally {
+				if (!success) {
+					localBf.delete();
+				}
+			}
+		}
+	}
+
 	/**
 	 * If a cumulative change files exists, it will be deleted.
 	 * @throws IOException
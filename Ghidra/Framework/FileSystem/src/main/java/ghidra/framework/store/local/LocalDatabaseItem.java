@@ -674,6 +674,66 @@ public class LocalDatabaseItem extends LocalFolderItem implements DatabaseItem {
 		}
 	}
 
+	/**
+	 * Create a temporary database which contains the specified version of the versioned item
+	 * from which this item was checked-out.  The content of this item is copied locally and
+	 * only those buffers which have been modified since checkout, either locally or within
+	 * the versioned item, are read from the versioned item.  This avoids a complete transfer
+	 * of a remote versioned item.
+	 * @param versionedFolderItem versioned item from which this item was checked-out
+	 * @param version version of versionedFolderItem which should be copied
+	 * @param name name of the temporary item within the parent folder of this item
+	 * @param monitor progress monitor
+	 * @return temporary database item
+	 * @throws InvalidNameException if name contains invalid characters
+	 * @throws IOException if this item is not checked-out, the versioned item can not provide
+	 * the changes made since checkout, or an I/O error occurs
+	 * @throws CancelledException if monitor cancels operation
+	 */
+	public LocalDatabaseItem createUpdatedTemporaryCopy(DatabaseItem versionedFolderItem,
+			int version, String name, TaskMonitor monitor)
+			throws InvalidNameException, IOException, CancelledException {
+		synchronized (fileSystem) {
+			if (isVersioned || getCheckoutId() == DEFAULT_CHECKOUT_ID) {
+				throw new IOException(getName() + " is not checked-out");
+			}
+			byte[] modifiedBuffers;
+			LocalDatabaseItem tmpItem;
+			LocalManagedBufferFile bf = privateDb.openBufferFile();
+			try {
+				modifiedBuffers = bf.getForwardModMapData();
+				tmpItem = fileSystem.createTemporaryDatabase(getParentPath(), name, getFileID(),
+					bf, getContentType(), false, monitor);
+			}
+			finally {
+				bf.dispose();
+			}
+			boolean success = false;
+			try {
+				ManagedBufferFile verBf = versionedFolderItem.open(version);
+				try {
+					tmpItem.privateDb.updateFrom(verBf, getCheckoutVersion(), modifiedBuffers,
+						monitor);
+				}
+				finally {
+					try {
+						verBf.close();
+					}
+					catch (IOException e) {
+						// ignored
+					}
+				}
+				success = true;
+				return tmpItem;
+			}
+			finally {
+				if (!success) {
+					tmpItem.delete(-1, null);
+				}
+			}
+		}
+	}
+
 	/*
 	 * @see ghidra.framework.store.FolderItem#lastModified()
 	 */
@@ -37,6 +37,7 @@ import ghidra.framework.model.*;
 import ghidra.framework.protocol.ghidra.GhidraURL;
 import ghidra.framework.store.*;
 import ghidra.framework.store.FileSystem;
+import ghidra.framework.store.local.LocalDatabaseItem;
 import ghidra.framework.store.local.LocalFileSystem;
 import ghidra.framework.store.local.LocalFolderItem;
 import ghidra.util.*;
@@ -1957,20 +1958,7 @@ public class GhidraFileData {
 				Msg.info(this, "Merging version " + mergeVer + " for " + name);
 
 				// Copy current versioned item to temporary private item
-				DatabaseItem databaseItem = (DatabaseItem) versionedFolderItem;
-				BufferFile bufferFile = databaseItem.open(mergeVer);
-				try {
-					String tmpName = name + ".merge";
-					tmpItem = fileSystem.createTemporaryDatabase(parent.getPathname(), tmpName,
-						databaseItem.getFileID(), bufferFile, databaseItem.getContentType(), false,
-						monitor);
-				}
-				catch (InvalidNameException e) {
-					throw new AssertException("Unexpected error", e);
-				}
-				finally {
-					bufferFile.dispose();
-				}
+				tmpItem = createMergeCopy((DatabaseItem) versionedFolderItem, mergeVer, monitor);
 				int coVer = folderItem.getCheckoutVersion();
 
 				tmpItem.setCheckout(checkoutId, folderItem.isCheckedOutExclusive(), mergeVer, 0);
@@ -2050,6 +2038,47 @@ public class GhidraFileData {
 
 	}
 
+	/**
+	 * Copy the specified version of the versioned item to a temporary private item for merge.
+	 * The checked-out content is updated locally using only those buffers which have changed
+	 * since checkout.  If the versioned item is unable to provide these changes, the complete
+	 * version is copied.
+	 * @param databaseItem versioned database item
+	 * @param mergeVer version to be copied
+	 * @param monitor task monitor
+	 * @return temporary private item
+	 * @throws IOException if an IO error occurs
+	 * @throws CancelledException if task monitor cancelled operation
+	 */
+	private FolderItem createMergeCopy(DatabaseItem databaseItem, int mergeVer,
+			TaskMonitor monitor) throws IOException, CancelledException {
+		String tmpName = name + ".merge";
+		try {
+			if (folderItem instanceof LocalDatabaseItem localItem) {
+				try {
+					return localItem.createUpdatedTemporaryCopy(databaseItem, mergeVer, tmpName,
+						monitor);
+				}
+				catch (IOException e) {
+					Msg.warn(this, "Incremental update failed for " + name +
+						", copying complete version " + mergeVer + ": " + e.getMessage());
+				}
+			}
+			BufferFile bufferFile = databaseItem.open(mergeVer);
+			try {
+				return fileSystem.createTemporaryDatabase(parent.getPathname(), tmpName,
+					databaseItem.getFileID(), bufferFile, databaseItem.getContentType(), false,
+					monitor);
+			}
+			finally {
+				bufferFile.dispose();
+			}
+		}
+		catch (InvalidNameException e) {
+			throw new AssertException("Unexpected error", e);
+		}
+	}
+
 	/**
 	 * Move this file into the newParent folder.
 	 * @param newParent new parent folder within the same project
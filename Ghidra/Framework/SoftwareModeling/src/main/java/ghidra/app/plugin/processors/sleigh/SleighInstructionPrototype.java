@@ -93,6 +93,7 @@ public class SleighInstructionPrototype implements InstructionPrototype {
 	private ConstructState rootState;
 	private ConstructState mnemonicState; // state for print mnemonic
 	private int hashcode;
+	private int resolvedByteCount; // leading instruction bytes examined during resolve
 
 	private Mask instrMask;
 	private Mask[] operandMasks;
@@ -109,6 +110,23 @@ public class SleighInstructionPrototype implements InstructionPrototype {
 		SleighParserContext protoContext = new SleighParserContext(buf, this, context);
 
 		resolve(lang.getRootDecisionNode(), protoContext, debug);
+		resolvedByteCount = protoContext.getInstructionByteCount();
+	}
+
+	/**
+	 * Construct a prototype from a constructor tree which was previously resolved for the same
+	 * language (see {@link SleighInstructionPrototypeCache}).
+	 * @param lang sleigh language
+	 * @param inDelaySlot true if instruction is in a delay slot
+	 * @param rootState root of resolved constructor tree
+	 */
+	SleighInstructionPrototype(SleighLanguage lang, boolean inDelaySlot,
+			ConstructState rootState) {
+		this.language = lang;
+		this.contextCache = lang.getContextCache();
+		this.isindelayslot = inDelaySlot;
+		this.rootState = rootState;
+		computeHashCode();
 	}
 
 	@Override
@@ -1408,12 +1426,24 @@ public class SleighInstructionPrototype implements InstructionPrototype {
 			}
 		}
 
+		computeHashCode();
+	}
+
+	private void computeHashCode() {
 		hashcode = rootState.hashCode();
 		if (isindelayslot) {
 			hashcode += 0xFABFAB;
 		}
 	}
 
+	/**
+	 * {@return the number of leading instruction bytes which were examined while resolving
+	 * the constructor tree, or 0 if this prototype was not resolved from instruction bytes}
+	 */
+	int getResolvedByteCount() {
+		return resolvedByteCount;
+	}
+
 	private void resolveHandles(SleighParserContext protoContext) throws MemoryAccessException {
 		ParserWalker walker = new ParserWalker(protoContext);
 		walker.baseState();
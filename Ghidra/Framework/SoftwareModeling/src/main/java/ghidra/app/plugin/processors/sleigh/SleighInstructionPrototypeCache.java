@@ -0,0 +1,395 @@
+/* ###
+ * IP: GHIDRA
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ghidra.app.plugin.processors.sleigh;
+
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+import generic.jar.ResourceFile;
+import ghidra.app.plugin.processors.sleigh.symbol.SubtableSymbol;
+import ghidra.app.plugin.processors.sleigh.symbol.SymbolTable;
+import ghidra.program.model.lang.ProcessorContextView;
+import ghidra.program.model.mem.MemBuffer;
+import ghidra.util.Msg;
+
+/**
+ * <code>SleighInstructionPrototypeCache</code> provides an optional persistent cache of resolved
+ * constructor trees for a {@link SleighLanguage}.  Entries are keyed by the instruction bytes
+ * which were examined while resolving the constructor tree together with the initial context
+ * words and delay-slot state.  Since constructor resolution is a pure function of those inputs,
+ * any later parse whose leading bytes and context match an entry may reuse the recorded tree
+ * without walking the decision trees again.
+ * <p>
+ * The cache file is bound to the compiled .sla file it was produced from and is discarded
+ * whenever the language version or .sla file changes.  The file is loaded lazily on first use
+ * and written by {@link #save()}.
+ */
+class SleighInstructionPrototypeCache {
+
+	/**
+	 * System property which, when set to true, enables the persistent prototype cache
+	 * for all sleigh languages.
+	 */
+	static final String ENABLE_PROPERTY = "ghidra.sleigh.prototype.cache";
+
+	static final String CACHE_DIR_NAME = "sleigh-prototypes";
+
+	private static final int MAGIC = 0x534c5043; // "SLPC"
+	private static final int FORMAT_VERSION = 1;
+
+	static final int MAX_ENTRIES = 1 << 18;
+
+	// constructor tree encoding - tuple per ConstructState in pre-order
+	private static final int TABLE_ID = 0;
+	private static final int CONSTRUCTOR_ID = 1;
+	private static final int OFFSET = 2;
+	private static final int LENGTH = 3;
+	private static final int NUM_SUBSTATES = 4;
+	private static final int TUPLE_SIZE = 5;
+
+	private final SleighLanguage language;
+	private final File file;
+	private final String fingerprint;
+
+	private volatile Map<Key, Entry> entries;
+	private volatile int[] windowSizes = new int[0];
+	private volatile boolean changed;
+
+	/**
+	 * Construct a prototype cache for the specified language.
+	 * @param language sleigh language
+	 * @param slaFile compiled sleigh specification the cache is bound to
+	 * @param file cache file (need not exist)
+	 */
+	SleighInstructionPrototypeCache(SleighLanguage language, ResourceFile slaFile, File file) {
+		this.language = language;
+		this.file = file;
+		this.fingerprint = language.getLanguageID() + ":" + language.getVersion() + "." +
+			language.getMinorVersion() + ":" + slaFile.lastModified() + ":" + slaFile.length();
+	}
+
+	/**
+	 * {@return the file which backs this cache}
+	 */
+	File getFile() {
+		return file;
+	}
+
+	/**
+	 * {@return the number of cached constructor trees}
+	 */
+	int size() {
+		return getEntries().size();
+	}
+
+	/**
+	 * Find a previously resolved prototype whose examined instruction bytes and context match
+	 * those specified.  A prototype restored from the cache file will be registered with the
+	 * language before it is returned.
+	 * @param buf instruction bytes
+	 * @param processorContext processor context
+	 * @param context initial context words obtained from the processor context
+	 * @param inDelaySlot true if instruction is being parsed within a delay slot
+	 * @return matching prototype or null if not found
+	 */
+	SleighInstructionPrototype getPrototype(MemBuffer buf, ProcessorContextView processorContext,
+			int[] context, boolean inDelaySlot) {
+		Map<Key, Entry> map = getEntries();
+		int[] windows = windowSizes;
+		if (windows.length == 0) {
+			return null;
+		}
+		byte[] bytes = new byte[windows[windows.length - 1]];
+		if (buf.getBytes(bytes, 0) <= 0) {
+			return null; // let parse report the memory error
+		}
+		Key key = new Key(bytes, 0, context, inDelaySlot);
+		for (int window : windows) {
+			key.setLength(window);
+			Entry entry = map.get(key);
+			if (entry != null) {
+				SleighInstructionPrototype proto = entry.prototype;
+				if (proto == null) {
+					proto = new SleighInstructionPrototype(language, inDelaySlot,
+						decodeTree(entry.tree, language.getSymbolTable()));
+					proto = language.registerPrototype(proto, buf, processorContext);
+					entry.prototype = proto;
+				}
+				return proto;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Add a resolved prototype to this cache.
+	 * @param buf instruction bytes
+	 * @param context initial context words which were used to resolve the prototype
+	 * @param window number of leading instruction bytes examined during resolution
+	 * @param prototype resolved prototype which has been registered with the language
+	 */
+	void add(MemBuffer buf, int[] context, int window, SleighInstructionPrototype prototype) {
+		if (window <= 0 || window > Short.MAX_VALUE) {
+			return;
+		}
+		Map<Key, Entry> map = getEntries();
+		if (map.size() >= MAX_ENTRIES) {
+			return;
+		}
+		byte[] bytes = new byte[window];
+		buf.getBytes(bytes, 0);
+		Key key = new Key(bytes, window, context.clone(), prototype.isInDelaySlot());
+		if (map.putIfAbsent(key, new Entry(null, prototype)) == null) {
+			addWindowSize(window);
+			changed = true;
+		}
+	}
+
+	private synchronized void addWindowSize(int window) {
+		int[] windows = windowSizes;
+		int index = Arrays.binarySearch(windows, window);
+		if (index >= 0) {
+			return;
+		}
+		index = -index - 1;
+		int[] newWindows = new int[windows.length + 1];
+		System.arraycopy(windows, 0, newWindows, 0, index);
+		newWindows[index] = window;
+		System.arraycopy(windows, index, newWindows, index + 1, windows.length - index);
+		windowSizes = newWindows;
+	}
+
+	private Map<Key, Entry> getEntries() {
+		Map<Key, Entry> map = entries;
+		if (map == null) {
+			synchronized (this) {
+				map = entries;
+				if (map == null) {
+					map = new ConcurrentHashMap<>();
+					load(map);
+					entries = map;
+				}
+			}
+		}
+		return map;
+	}
+
+	private void load(Map<Key, Entry> map) {
+		if (!file.isFile()) {
+			return;
+		}
+		try (DataInputStream in =
+			new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+			if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION ||
+				!fingerprint.equals(in.readUTF())) {
+				return; // stale cache file - will be replaced on save
+			}
+			int count = in.readInt();
+			for (int i = 0; i < count && map.size() < MAX_ENTRIES; i++) {
+				boolean inDelaySlot = in.readBoolean();
+				byte[] bytes = new byte[in.readUnsignedShort()];
+				in.readFully(bytes);
+				int[] context = readInts(in);
+				int[] tree = readInts(in);
+				map.put(new Key(bytes, bytes.length, context, inDelaySlot), new Entry(tree, null));
+				addWindowSize(bytes.length);
+			}
+		}
+		catch (IOException e) {
+			Msg.warn(this, "Failed to read sleigh prototype cache " + file + ": " + e.getMessage());
+			map.clear();
+			windowSizes = new int[0];
+		}
+	}
+
+	/**
+	 * Write this cache to its file if any entries have been added since it was loaded.
+	 */
+	synchronized void save() {
+		Map<Key, Entry> map = entries;
+		if (map == null || !changed) {
+			return;
+		}
+		File dir = file.getParentFile();
+		if (dir != null && !dir.isDirectory() && !dir.mkdirs()) {
+			Msg.warn(this, "Failed to create sleigh prototype cache directory: " + dir);
+			return;
+		}
+		File tmpFile = new File(file.getPath() + ".tmp");
+		try (DataOutputStream out =
+			new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmpFile)))) {
+			List<Map.Entry<Key, Entry>> list = new ArrayList<>(map.entrySet());
+			out.writeInt(MAGIC);
+			out.writeInt(FORMAT_VERSION);
+			out.writeUTF(fingerprint);
+			out.writeInt(list.size());
+			for (Map.Entry<Key, Entry> mapEntry : list) {
+				Key key = mapEntry.getKey();
+				Entry entry = mapEntry.getValue();
+				int[] tree = entry.tree;
+				if (tree == null) {
+					tree = encodeTree(entry.prototype.getRootState());
+				}
+				out.writeBoolean(key.inDelaySlot);
+				out.writeShort(key.length);
+				out.write(key.bytes, 0, key.length);
+				writeInts(out, key.context);
+				writeInts(out, tree);
+			}
+		}
+		catch (IOException e) {
+			Msg.warn(this, "Failed to write sleigh prototype cache " + file + ": " + e.getMessage());
+			tmpFile.delete();
+			return;
+		}
+		file.delete();
+		if (!tmpFile.renameTo(file)) {
+			Msg.warn(this, "Failed to write sleigh prototype cache " + file);
+			tmpFile.delete();
+			return;
+		}
+		changed = false;
+	}
+
+	private static int[] readInts(DataInputStream in) throws IOException {
+		int[] values = new int[in.readInt()];
+		for (int i = 0; i < values.length; i++) {
+			values[i] = in.readInt();
+		}
+		return values;
+	}
+
+	private static void writeInts(DataOutputStream out, int[] values) throws IOException {
+		out.writeInt(values.length);
+		for (int value : values) {
+			out.writeInt(value);
+		}
+	}
+
+	/**
+	 * Encode a resolved constructor tree as a pre-order sequence of
+	 * (table id, constructor id, offset, length, substate count) tuples.
+	 * @param rootState root of resolved constructor tree
+	 * @return encoded tree
+	 */
+	static int[] encodeTree(ConstructState rootState) {
+		List<ConstructState> states = new ArrayList<>();
+		collectStates(rootState, states);
+		int[] tree = new int[states.size() * TUPLE_SIZE];
+		int index = 0;
+		for (ConstructState state : states) {
+			Constructor ct = state.getConstructor();
+			tree[index + TABLE_ID] = ct != null ? ct.getParent().getId() : -1;
+			tree[index + CONSTRUCTOR_ID] = ct != null ? ct.getId() : -1;
+			tree[index + OFFSET] = state.getOffset();
+			tree[index + LENGTH] = state.getLength();
+			tree[index + NUM_SUBSTATES] = state.getNumSubStates();
+			index += TUPLE_SIZE;
+		}
+		return tree;
+	}
+
+	private static void collectStates(ConstructState state, List<ConstructState> states) {
+		states.add(state);
+		for (int i = 0; i < state.getNumSubStates(); i++) {
+			collectStates(state.getSubState(i), states);
+		}
+	}
+
+	/**
+	 * Rebuild a constructor tree previously encoded with {@link #encodeTree(ConstructState)}.
+	 * @param tree encoded tree
+	 * @param symtab language symbol table
+	 * @return root state of constructor tree
+	 */
+	static ConstructState decodeTree(int[] tree, SymbolTable symtab) {
+		ConstructState rootState = new ConstructState(null);
+		decodeState(rootState, tree, 0, symtab);
+		return rootState;
+	}
+
+	private static int decodeState(ConstructState state, int[] tree, int index,
+			SymbolTable symtab) {
+		int tableId = tree[index + TABLE_ID];
+		if (tableId >= 0) {
+			SubtableSymbol table = (SubtableSymbol) symtab.findSymbol(tableId);
+			state.setConstructor(table.getConstructor(tree[index + CONSTRUCTOR_ID]));
+		}
+		state.setOffset(tree[index + OFFSET]);
+		state.setLength(tree[index + LENGTH]);
+		int numSubStates = tree[index + NUM_SUBSTATES];
+		index += TUPLE_SIZE;
+		for (int i = 0; i < numSubStates; i++) {
+			index = decodeState(new ConstructState(state), tree, index, symtab);
+		}
+		return index;
+	}
+
+	private static class Entry {
+		final int[] tree; // null if entry was added during this session
+		volatile SleighInstructionPrototype prototype; // null until registered with language
+
+		Entry(int[] tree, SleighInstructionPrototype prototype) {
+			this.tree = tree;
+			this.prototype = prototype;
+		}
+	}
+
+	/**
+	 * Cache key formed from the leading instruction bytes, context words and delay slot state.
+	 * The byte array may be longer than the key length so that a single array may be used to
+	 * probe each known window size.
+	 */
+	private static class Key {
+		private final byte[] bytes;
+		private final int[] context;
+		private final boolean inDelaySlot;
+		private int length;
+		private int hash;
+
+		Key(byte[] bytes, int length, int[] context, boolean inDelaySlot) {
+			this.bytes = bytes;
+			this.context = context;
+			this.inDelaySlot = inDelaySlot;
+			setLength(length);
+		}
+
+		void setLength(int length) {
+			this.length = length;
+			int h = Arrays.hashCode(context) * 31 + (inDelaySlot ? 1 : 0);
+			for (int i = 0; i < length; i++) {
+				h = 31 * h + bytes[i];
+			}
+			hash = h;
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof Key other)) {
+				return false;
+			}
+			return hash == other.hash && length == other.length &&
+				inDelaySlot == other.inDelaySlot && Arrays.equals(context, other.context) &&
+				Arrays.equals(bytes, 0, length, other.bytes, 0, length);
+		}
+	}
+}
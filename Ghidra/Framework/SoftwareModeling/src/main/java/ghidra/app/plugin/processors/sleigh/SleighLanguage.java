@@ -35,6 +35,8 @@ import ghidra.app.plugin.processors.sleigh.expression.ContextField;
 import ghidra.app.plugin.processors.sleigh.expression.PatternValue;
 import ghidra.app.plugin.processors.sleigh.symbol.*;
 import ghidra.framework.Application;
+import ghidra.framework.ShutdownHookRegistry;
+import ghidra.framework.ShutdownPriority;
 import ghidra.pcode.utils.SlaFormat;
 import ghidra.pcodeCPort.slgh_compile.SleighCompileLauncher;
 import ghidra.program.model.address.*;
@@ -90,6 +92,10 @@ public class SleighLanguage implements Language {
 	 * Cached instruction prototypes
 	 */
 	private ConcurrentHashMap<Integer, SleighInstructionPrototype> instructProtoMap;
+	/**
+	 * Optional persistent cache of resolved constructor trees
+	 */
+	private SleighInstructionPrototypeCache prototypeCache;
 	private DecisionNode root = null;
 	/**
 	 * table of AddressSpaces
@@ -150,10 +156,38 @@ public class SleighLanguage implements Language {
 		xrefRegisters();
 
 		instructProtoMap = new ConcurrentHashMap<>();
+		initPrototypeCache(slaFile);
 
 		initParallelHelper();
 	}
 
+	private void initPrototypeCache(ResourceFile slaFile) {
+		if (prototypeCache != null) {
+			prototypeCache.save(); // language is being reloaded
+			prototypeCache = null;
+		}
+		if (!Boolean.getBoolean(SleighInstructionPrototypeCache.ENABLE_PROPERTY)) {
+			return;
+		}
+		File cacheDir = new File(Application.getUserCacheDirectory(),
+			SleighInstructionPrototypeCache.CACHE_DIR_NAME);
+		String cacheName = getLanguageID().getIdAsString().replaceAll("[^\\w.-]", "_");
+		SleighInstructionPrototypeCache cache =
+			new SleighInstructionPrototypeCache(this, slaFile, new File(cacheDir, cacheName));
+		if (prototypeCache == null) {
+			ShutdownHookRegistry.addShutdownHook(this::savePrototypeCache,
+				ShutdownPriority.DISPOSE_FILE_HANDLES.before());
+		}
+		prototypeCache = cache;
+	}
+
+	private void savePrototypeCache() {
+		SleighInstructionPrototypeCache cache = prototypeCache;
+		if (cache != null) {
+			cache.save();
+		}
+	}
+
 	private void buildVolatileSymbolAddresses() {
 		if (volatileSymbolAddresses != null) {
 			volatileAddresses.add(volatileSymbolAddresses);
@@ -368,16 +402,26 @@ public class SleighLanguage implements Language {
 		SleighInstructionPrototype res = null;
 
 		try {
-			SleighInstructionPrototype newProto =
-				new SleighInstructionPrototype(this, buf, context, contextcache, inDelaySlot, null);
-			Integer hashcode = newProto.hashCode();
+			SleighInstructionPrototypeCache protoCache = prototypeCache;
+			int[] contextWords = null;
+			if (protoCache != null) {
+				contextWords = new int[contextcache.getContextSize()];
+				contextcache.getContext(context, contextWords);
+				res = protoCache.getPrototype(buf, context, contextWords, inDelaySlot);
+			}
+
+			if (res == null) {
+				SleighInstructionPrototype newProto = new SleighInstructionPrototype(this, buf,
+					context, contextcache, inDelaySlot, null);
+
+				// get existing proto and use it
+				// if doesn't exist in map, cache info and store new proto
+				res = registerPrototype(newProto, buf, context);
 
-			// get existing proto and use it
-			// if doesn't exist in map, cache info and store new proto
-			res = instructProtoMap.computeIfAbsent(hashcode, h -> {
-				newProto.cacheInfo(buf, context, true);
-				return newProto;
-			});
+				if (protoCache != null) {
+					protoCache.add(buf, contextWords, newProto.getResolvedByteCount(), res);
+				}
+			}
 
 			if (inDelaySlot && res.hasDelaySlots()) {
 				throw new NestedDelaySlotException();
@@ -397,6 +441,26 @@ public class SleighLanguage implements Language {
 		return res;
 	}
 
+	/**
+	 * Get the registered prototype which is equivalent to the specified newly constructed
+	 * prototype, registering it if needed.
+	 * @param newProto newly constructed prototype
+	 * @param buf instruction bytes
+	 * @param context processor context
+	 * @return registered prototype
+	 */
+	SleighInstructionPrototype registerPrototype(SleighInstructionPrototype newProto,
+			MemBuffer buf, ProcessorContextView context) {
+		return instructProtoMap.computeIfAbsent(newProto.hashCode(), h -> {
+			newProto.cacheInfo(buf, context, true);
+			return newProto;
+		});
+	}
+
+	ContextCache getContextCache() {
+		return contextcache;
+	}
+
 	public DecisionNode getRootDecisionNode() {
 		return root;
 	}
@@ -42,6 +42,7 @@ public class SleighParserContext implements ParserContext {
 	private HashMap<ConstructState, FixedHandle> handleMap;
 	private ArrayList<ContextSet> contextcommit; // Pending changes to context
 	private int[] context; // packed context bits
+	private int instructionByteCount; // number of leading instruction bytes examined
 
 	public SleighParserContext(MemBuffer memBuf, SleighInstructionPrototype prototype,
 			ProcessorContextView processorContext) {
@@ -285,6 +286,7 @@ public class SleighParserContext implements ParserContext {
 		offset += bytestart;
 		byte[] bytes = new byte[size]; // leave any unavailable bytes as 0 in result
 		int readSize = memBuffer.getBytes(bytes, offset);
+		instructionByteCount = Math.max(instructionByteCount, offset + size);
 		if (offset == 0 && readSize == 0) {
 			throw new MemoryAccessException("invalid memory");
 		}
@@ -314,6 +316,7 @@ public class SleighParserContext implements ParserContext {
 
 		byte[] bytes = new byte[bytesize]; // leave any unavailable bytes as 0 in result
 		int readSize = memBuffer.getBytes(bytes, offset);
+		instructionByteCount = Math.max(instructionByteCount, offset + bytesize);
 		if (offset == 0 && readSize == 0) {
 			throw new MemoryAccessException("invalid memory");
 		}
@@ -329,6 +332,16 @@ public class SleighParserContext implements ParserContext {
 		return res;
 	}
 
+	/**
+	 * Get the number of leading instruction bytes which have been examined by this context.
+	 * Following constructor resolution this identifies the span of instruction bytes on which
+	 * the resolved constructor tree depends.
+	 * @return number of leading instruction bytes examined
+	 */
+	int getInstructionByteCount() {
+		return instructionByteCount;
+	}
+
 	/**
 	 * Get the processor context value as a RegisterValue
 	 * @return processor context value
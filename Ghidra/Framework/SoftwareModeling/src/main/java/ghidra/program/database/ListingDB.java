@@ -279,6 +279,12 @@ class ListingDB implements Listing {
 		return codeMgr.addInstructions(instructionSet, overwrite);
 	}
 
+	@Override
+	public AddressSetView addInstructionsInBulk(InstructionSet instructionSet, boolean overwrite)
+			throws CodeUnitInsertionException {
+		return codeMgr.addInstructionsInBulk(instructionSet, overwrite);
+	}
+
 	@Override
 	public Data createData(Address addr, DataType dataType) throws CodeUnitInsertionException {
 		return codeMgr.createCodeUnit(addr, dataType, dataType.getLength());
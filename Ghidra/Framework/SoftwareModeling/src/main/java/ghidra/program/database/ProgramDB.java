@@ -2485,6 +2485,7 @@ public class ProgramDB extends DomainObjectAdapterDB implements Program, ChangeM
 	public void invalidateWriteCache() {
 		ProgramRegisterContextDB contextMgr = (ProgramRegisterContextDB) getProgramContext();
 		contextMgr.invalidateProcessorContextWriteCache();
+		memoryManager.invalidateWriteCache();
 		super.invalidateWriteCache();
 	}
 
@@ -2492,6 +2493,7 @@ public class ProgramDB extends DomainObjectAdapterDB implements Program, ChangeM
 	public void flushWriteCache() {
 		ProgramRegisterContextDB contextMgr = (ProgramRegisterContextDB) getProgramContext();
 		contextMgr.flushProcessorContextWriteCache();
+		memoryManager.flushWriteCache();
 		super.flushWriteCache();
 	}
 
@@ -398,6 +398,30 @@ public class CodeManager implements ErrorHandler, ManagerDB {
 	 * conflict errors will be recorded within the InstructionSet and its InstructionBlocks.
 	 */
 	public AddressSetView addInstructions(InstructionSet instructionSet, boolean overwrite) {
+		return addInstructions(instructionSet, overwrite, false);
+	}
+
+	/**
+	 * Creates a complete set of instructions using a bulk insert strategy intended for very
+	 * large instruction sets.  Conflict handling is identical to
+	 * {@link #addInstructions(InstructionSet, boolean)}, however all new instruction prototypes
+	 * are registered before any instruction records are written, code unit cache maintenance is
+	 * performed once for the entire set instead of per instruction, and a single
+	 * {@link ProgramEvent#CODE_ADDED} change is fired for each contiguous address range added
+	 * rather than one per instruction block.
+	 * @param instructionSet the set of instructions to be added. All code unit conflicts will be
+	 * marked within the instructionSet and associated blocks.
+	 * @param overwrite if true, overwrites existing code units.
+	 * @return the set of addresses over which instructions were actually added to the program. 
+	 * This may differ from the InstructionSet address set if conflict errors occurred. Such 
+	 * conflict errors will be recorded within the InstructionSet and its InstructionBlocks.
+	 */
+	public AddressSetView addInstructionsInBulk(InstructionSet instructionSet, boolean overwrite) {
+		return addInstructions(instructionSet, overwrite, true);
+	}
+
+	private AddressSetView addInstructions(InstructionSet instructionSet, boolean overwrite,
+			boolean bulk) {
 		AddressSet set = new AddressSet();
 		lock.acquire();
 		creatingInstruction = true;
@@ -420,6 +444,11 @@ public class CodeManager implements ErrorHandler, ManagerDB {
 				checkInstructionSet(instructionSet, skipDelaySlots);
 			}
 
+			if (bulk) {
+				addPrototypes(instructionSet);
+				invalidateCodeUnitCache(instructionSet.getAddressSet());
+			}
+
 			// Add instruction blocks to program listing
 			for (InstructionBlock block : instructionSet) {
 
@@ -522,8 +551,8 @@ public class CodeManager implements ErrorHandler, ManagerDB {
 							continue; // process delaySlotStack
 						}
 
-						lastInstruction =
-							addInstruction(startAddr, endAddr, prototype, protoInstr, protoInstr);
+						lastInstruction = addInstruction(startAddr, endAddr, prototype, protoInstr,
+							protoInstr, !bulk);
 
 						++count;
 
@@ -570,11 +599,21 @@ public class CodeManager implements ErrorHandler, ManagerDB {
 						}
 					}
 					set.addRange(block.getStartAddress(), maxAddr);
-					program.setChanged(ProgramEvent.CODE_ADDED, block.getStartAddress(), maxAddr,
-						null, null);
+					if (!bulk) {
+						program.setChanged(ProgramEvent.CODE_ADDED, block.getStartAddress(),
+							maxAddr, null, null);
+					}
 				}
 			}
 
+			if (bulk) {
+				// discard any code units cached while adding and fire coalesced events
+				invalidateCodeUnitCache(set);
+				for (AddressRange range : set) {
+					program.setChanged(ProgramEvent.CODE_ADDED, range.getMinAddress(),
+						range.getMaxAddress(), null, null);
+				}
+			}
 		}
 		catch (IOException e) {
 			program.dbError(e);
@@ -620,7 +659,8 @@ public class CodeManager implements ErrorHandler, ManagerDB {
 			Address endAddr = address.addNoWrap(length - 1);
 			checkValidAddressRange(address, endAddr);
 
-			InstructionDB inst = addInstruction(address, endAddr, prototype, memBuf, context);
+			InstructionDB inst =
+				addInstruction(address, endAddr, prototype, memBuf, context, true);
 			if (forcedLengthOverride != 0) {
 				inst.doSetLengthOverride(forcedLengthOverride);
 			}
@@ -643,9 +683,33 @@ public class CodeManager implements ErrorHandler, ManagerDB {
 		return null;
 	}
 
+	/**
+	 * Registers the prototypes of all instructions contained within the specified instruction
+	 * set so that new prototype records are written together prior to any instruction records.
+	 * @param instructionSet instruction set
+	 */
+	private void addPrototypes(InstructionSet instructionSet) {
+		for (InstructionBlock block : instructionSet) {
+			InstructionError conflict = block.getInstructionConflict();
+			Address errorAddr = conflict != null ? conflict.getInstructionAddress() : null;
+			for (Instruction protoInstr : block) {
+				if (errorAddr != null && errorAddr.compareTo(protoInstr.getMinAddress()) <= 0) {
+					break; // instructions at or beyond error address may not be added
+				}
+				protoMgr.getID(protoInstr.getPrototype(), protoInstr, protoInstr);
+			}
+		}
+	}
+
+	private void invalidateCodeUnitCache(AddressSetView set) {
+		for (AddressRange range : set) {
+			cache.delete(addrMap.getKeyRanges(range.getMinAddress(), range.getMaxAddress(), false));
+		}
+	}
+
 	private InstructionDB addInstruction(Address address, Address endAddr,
-			InstructionPrototype prototype, MemBuffer memBuf, ProcessorContextView context)
-			throws IOException {
+			InstructionPrototype prototype, MemBuffer memBuf, ProcessorContextView context,
+			boolean useCache) throws IOException {
 
 		int protoID = protoMgr.getID(prototype, memBuf, context);
 		prototype = protoMgr.getPrototype(protoID);
@@ -667,10 +731,17 @@ public class CodeManager implements ErrorHandler, ManagerDB {
 		}
 		instAdapter.createInstruction(addr, protoID, flags);
 
-		cache.delete(addrMap.getKeyRanges(address, endAddr, false));
+		InstructionDB inst;
+		if (useCache) {
+			cache.delete(addrMap.getKeyRanges(address, endAddr, false));
 
-		// create new InstructionDB object and add to the cache (conflicts assumed to have been removed)
-		InstructionDB inst = new InstructionDB(this, cache, address, addr, prototype, flags);
+			// create new InstructionDB object and add to the cache (conflicts assumed to have been removed)
+			inst = new InstructionDB(this, cache, address, addr, prototype, flags);
+		}
+		else {
+			// bulk insert - cache will be populated on demand once all instructions are added
+			inst = new InstructionDB(this, null, address, addr, prototype, flags);
+		}
 
 		addReferencesForInstruction(inst);
 		return inst;
@@ -0,0 +1,127 @@
+/* ###
+ * IP: GHIDRA
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ghidra.program.database.data;
+
+import java.util.Collection;
+
+import ghidra.program.model.data.DataTypeConflictHandler;
+import ghidra.util.task.TaskMonitor;
+
+/**
+ * Statistics gathered while resolving a batch of datatypes with
+ * {@link DataTypeManagerDB#resolveAll(Collection, DataTypeConflictHandler, BulkResolveStatistics,
+ * TaskMonitor)}.  The same instance may be passed to several batches to accumulate totals.
+ */
+public class BulkResolveStatistics {
+
+	private long typesResolved;
+	private long resolveCacheHits;
+	private long equivalenceCacheHits;
+	private long equivalenceComparisons;
+	private long comparisonsSkipped;
+	private long conflictTypesReplaced;
+	private long elapsedNanos;
+
+	/**
+	 * {@return the number of batch datatypes which have been resolved}
+	 */
+	public long getTypesResolved() {
+		return typesResolved;
+	}
+
+	/**
+	 * {@return the number of resolves, including those of dependencies, satisfied by a
+	 * datatype previously resolved within the same batch}
+	 */
+	public long getResolveCacheHits() {
+		return resolveCacheHits;
+	}
+
+	/**
+	 * {@return the number of datatype equivalence checks satisfied by a previously determined
+	 * result}
+	 */
+	public long getEquivalenceCacheHits() {
+		return equivalenceCacheHits;
+	}
+
+	/**
+	 * {@return the number of datatype equivalence checks which required a full comparison}
+	 */
+	public long getEquivalenceComparisons() {
+		return equivalenceComparisons;
+	}
+
+	/**
+	 * {@return the number of conflict candidates which were ruled out by their structural
+	 * hash without a full comparison}
+	 */
+	public long getComparisonsSkipped() {
+		return comparisonsSkipped;
+	}
+
+	/**
+	 * {@return the number of newly created conflict datatypes which were replaced by an
+	 * equivalent datatype at the end of the batch}
+	 */
+	public long getConflictTypesReplaced() {
+		return conflictTypesReplaced;
+	}
+
+	/**
+	 * {@return the time spent resolving in milliseconds}
+	 */
+	public long getElapsedMillis() {
+		return elapsedNanos / 1_000_000;
+	}
+
+	void typeResolved() {
+		typesResolved++;
+	}
+
+	void resolveCacheHit() {
+		resolveCacheHits++;
+	}
+
+	void equivalenceCacheHit() {
+		equivalenceCacheHits++;
+	}
+
+	void equivalenceCompared() {
+		equivalenceComparisons++;
+	}
+
+	void comparisonSkipped() {
+		comparisonsSkipped++;
+	}
+
+	void conflictTypeReplaced() {
+		conflictTypesReplaced++;
+	}
+
+	void addElapsedTime(long nanos) {
+		elapsedNanos += nanos;
+	}
+
+	@Override
+	public String toString() {
+		return "resolved: " + typesResolved + ", resolve cache hits: " + resolveCacheHits +
+			", equivalence cache hits: " + equivalenceCacheHits + ", comparisons: " +
+			equivalenceComparisons + ", comparisons skipped: " + comparisonsSkipped +
+			", conflicts replaced: " + conflictTypesReplaced + ", time: " + getElapsedMillis() +
+			" ms";
+	}
+}
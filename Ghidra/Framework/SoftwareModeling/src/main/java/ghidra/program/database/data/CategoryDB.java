@@ -40,7 +40,7 @@ class CategoryDB extends DatabaseObject implements Category {
 	private volatile String name;
 
 	private LazyLoadingCachingMap<String, CategoryDB> subcategoryMap;
-	private LazyLoadingCachingMap<String, DataType> dataTypeMap;
+	private LazyLoadingCachingMap<String, Long> dataTypeMap;
 	private ConflictMap conflictMap;
 	private CategoryPath categoryPath;
 
@@ -67,8 +67,8 @@ class CategoryDB extends DatabaseObject implements Category {
 		};
 		dataTypeMap = new LazyLoadingCachingMap<>(mgr.lock) {
 			@Override
-			public Map<String, DataType> loadMap() {
-				return createDataTypeMap();
+			public Map<String, Long> loadMap() {
+				return mgr.getDataTypeIdsInCategory(key);
 			}
 		};
 		conflictMap = new ConflictMap(mgr.lock);
@@ -208,13 +208,18 @@ class CategoryDB extends DatabaseObject implements Category {
 		return map;
 	}
 
-	private Map<String, DataType> createDataTypeMap() {
-		List<DataType> dataTypeList = mgr.getDataTypesInCategory(key);
-		Map<String, DataType> map = new ConcurrentHashMap<>(2 * dataTypeList.size());
-		for (DataType dataType : dataTypeList) {
-			map.put(dataType.getName(), dataType);
+	/**
+	 * Get the datatype with the specified ID.  Only datatype IDs are retained by this category
+	 * so that datatypes are only instantiated when requested and are subject to the
+	 * datatype manager's bounded object cache.
+	 * @param dataTypeId datatype ID or null
+	 * @return datatype or null if ID is null or datatype not found
+	 */
+	private DataType getDataType(Long dataTypeId) {
+		if (dataTypeId == null) {
+			return null;
 		}
-		return map;
+		return mgr.getDataType(dataTypeId);
 	}
 
 	/**
@@ -233,7 +238,20 @@ class CategoryDB extends DatabaseObject implements Category {
 	@Override
 	public DataType[] getDataTypes() {
 		validate(mgr.lock);
-		Collection<DataType> dataTypes = dataTypeMap.values();
+		Collection<Long> dataTypeIds = dataTypeMap.values();
+		List<DataType> dataTypes = new ArrayList<>(dataTypeIds.size());
+		mgr.lock.acquire();
+		try {
+			for (Long dataTypeId : dataTypeIds) {
+				DataType dt = getDataType(dataTypeId);
+				if (dt != null) {
+					dataTypes.add(dt);
+				}
+			}
+		}
+		finally {
+			mgr.lock.release();
+		}
 		return dataTypes.toArray(new DataType[dataTypes.size()]);
 	}
 
@@ -277,7 +295,7 @@ class CategoryDB extends DatabaseObject implements Category {
 	@Override
 	public DataType getDataType(String dataTypeName) {
 		validate(mgr.lock);
-		return dataTypeMap.get(dataTypeName);
+		return getDataType(dataTypeMap.get(dataTypeName));
 	}
 
 	private void testName(String categoryName) throws InvalidNameException {
@@ -608,9 +626,10 @@ class CategoryDB extends DatabaseObject implements Category {
 
 	void dataTypeAdded(DataType dataType) {
 		String dtName = dataType.getName();
-		dataTypeMap.put(dtName, dataType);
+		long dataTypeId = mgr.getID(dataType);
+		dataTypeMap.put(dtName, dataTypeId);
 		if (DataTypeUtilities.isConflictDataType(dataType)) {
-			conflictMap.addDataType(dataType);
+			conflictMap.addDataType(dtName, dataTypeId);
 		}
 	}
 
@@ -631,25 +650,29 @@ class CategoryDB extends DatabaseObject implements Category {
 		List<DataType> list = new ArrayList<>();
 		String baseName = DataTypeUtilities.getNameWithoutConflict(dataTypeName);
 
-		DataType baseType = dataTypeMap.get(baseName);
+		DataType baseType = getDataType(dataTypeMap.get(baseName));
 		if (baseType != null) {
 			list.add(baseType);
 		}
 
-		List<DataType> relatedNameDataTypes = conflictMap.getDataTypesByBaseName(baseName);
-		list.addAll(relatedNameDataTypes);
+		for (Long dataTypeId : conflictMap.getDataTypeIdsByBaseName(baseName)) {
+			DataType dt = getDataType(dataTypeId);
+			if (dt != null && DataTypeUtilities.isConflictDataType(dt)) {
+				list.add(dt);
+			}
+		}
 		return list;
 	}
 
 	/**
 	 * Class to handle the complexities of having a map as the value in a LazyLoadingCachingMap
 	 * This map uses the data type's base name as the key (i.e. all .conflict suffixes stripped off.)
-	 * The value is another map that maps the actual data type's name to the data type. This map
+	 * The value is another map that maps the actual data type's name to the data type ID. This map
 	 * effectively provides an efficient way to get all data types in a category that have the
 	 * same name, but possibly have had their name modified (by appending .conflict) to get around
 	 * the requirement that names have to be unique in the same category.
 	 */
-	private class ConflictMap extends LazyLoadingCachingMap<String, Map<String, DataType>> {
+	private class ConflictMap extends LazyLoadingCachingMap<String, Map<String, Long>> {
 
 		ConflictMap(Lock lock) {
 			super(lock);
@@ -658,23 +681,21 @@ class CategoryDB extends DatabaseObject implements Category {
 		/**
 		 * Creates a map of all data types whose name has a .conflict suffix where the key
 		 * is the base name and {@link LazyLoadingCachingMap} the value is a map of actual name 
-		 * to data type. This mapping is
+		 * to data type ID. This mapping is
 		 * maintained as a lazy cache map. This is only called by the super class when the
 		 * cached needs to be populated and we are depending on it to acquire the necessary
 		 * database lock. (See {@link LazyLoadingCachingMap#loadMap()}
 		 * @return the loaded map
 		 */
 		@Override
-		protected Map<String, Map<String, DataType>> loadMap() {
-			Map<String, Map<String, DataType>> map = new HashMap<>();
-			Collection<DataType> values = dataTypeMap.values();
-			for (DataType dataType : values) {
-				String dataTypeName = dataType.getName();
-				if (DataTypeUtilities.isConflictDataType(dataType)) {
-					String baseName = DataTypeUtilities.getNameWithoutConflict(dataType);
-					Map<String, DataType> innerMap =
+		protected Map<String, Map<String, Long>> loadMap() {
+			Map<String, Map<String, Long>> map = new HashMap<>();
+			for (String dataTypeName : dataTypeMap.keySet()) {
+				if (DataTypeUtilities.isConflictDataTypeName(dataTypeName)) {
+					String baseName = DataTypeUtilities.getNameWithoutConflict(dataTypeName);
+					Map<String, Long> innerMap =
 						map.computeIfAbsent(baseName, b -> new HashMap<>());
-					innerMap.put(dataTypeName, dataType);
+					innerMap.put(dataTypeName, dataTypeMap.get(dataTypeName));
 				}
 			}
 			return map;
@@ -684,19 +705,20 @@ class CategoryDB extends DatabaseObject implements Category {
 		 * Adds the data type to the conflict mapping structure. If the mapping is currently not
 		 * loaded then this method can safely do nothing. This method is synchronized to provide
 		 * thread safe access/manipulation of the map.
-		 * @param dataType the data type to add to the mapping if the mapping is already loaded
+		 * @param dataTypeName the name of the data type to add to the mapping if the mapping is
+		 * already loaded
+		 * @param dataTypeId the ID of the data type
 		 */
-		synchronized void addDataType(DataType dataType) {
+		synchronized void addDataType(String dataTypeName, long dataTypeId) {
 			// if the cache is not currently populated, don't need to do anything
-			Map<String, Map<String, DataType>> map = getMap();
+			Map<String, Map<String, Long>> map = getMap();
 			if (map == null) {
 				return;
 			}
 
-			String dataTypeName = dataType.getName();
-			String baseName = DataTypeUtilities.getNameWithoutConflict(dataType);
-			Map<String, DataType> innerMap = map.computeIfAbsent(baseName, b -> new HashMap<>());
-			innerMap.put(dataTypeName, dataType);
+			String baseName = DataTypeUtilities.getNameWithoutConflict(dataTypeName);
+			Map<String, Long> innerMap = map.computeIfAbsent(baseName, b -> new HashMap<>());
+			innerMap.put(dataTypeName, dataTypeId);
 		}
 
 		/**
@@ -706,12 +728,12 @@ class CategoryDB extends DatabaseObject implements Category {
 		 * @param dataTypeName the name of the data type  to remove from this mapping
 		 */
 		synchronized void removeDataTypeName(String dataTypeName) {
-			Map<String, Map<String, DataType>> map = getMap();
+			Map<String, Map<String, Long>> map = getMap();
 			if (map == null) {
 				return;
 			}
 			String baseName = DataTypeUtilities.getNameWithoutConflict(dataTypeName);
-			Map<String, DataType> innerMap = map.get(baseName);
+			Map<String, Long> innerMap = map.get(baseName);
 			if (innerMap == null) {
 				return;
 			}
@@ -719,18 +741,19 @@ class CategoryDB extends DatabaseObject implements Category {
 		}
 
 		/**
-		 * Returns a list of all data types that have conflict names for the given base name
+		 * Returns a list of the IDs of all data types that have conflict names for the given
+		 * base name
 		 * @param baseName the data type base name to search for (i.e. the .conflict suffix removed)
-		 * @return a list of all conflict named data types that would have the given base name if
-		 * no conflicts existed
+		 * @return a list of the IDs of all conflict named data types that would have the given
+		 * base name if no conflicts existed
 		 */
-		List<DataType> getDataTypesByBaseName(String baseName) {
+		List<Long> getDataTypeIdsByBaseName(String baseName) {
 
 			// Note that the following call to get MUST NOT be in a synchronized block because
 			// it may trigger a loading of the cache which requires a database lock and you
 			// can't be synchronized on this class when acquiring a database lock or else a
 			// deadlock will occur.
-			Map<String, DataType> map = get(baseName);
+			Map<String, Long> map = get(baseName);
 			if (map == null) {
 				return Collections.emptyList();
 			}
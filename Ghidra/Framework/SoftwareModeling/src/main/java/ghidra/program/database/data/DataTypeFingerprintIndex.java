@@ -0,0 +1,441 @@
+/* ###
+ * IP: GHIDRA
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ghidra.program.database.data;
+
+import java.io.IOException;
+import java.util.*;
+
+import db.*;
+import ghidra.program.model.data.*;
+import ghidra.program.model.data.Enum;
+import ghidra.util.exception.CancelledException;
+import ghidra.util.task.TaskMonitor;
+
+/**
+ * An index of the structures, unions and enums within a {@link DataTypeManagerDB} by their
+ * structural fingerprint.  A fingerprint covers the layout of a datatype (e.g., packing,
+ * alignment, length, and the offset, name, comment and kind of datatype of each component) but
+ * not its name or category, so that duplicates of a datatype may be found without comparing it
+ * against every other datatype.
+ * <P>
+ * Datatypes which are {@link DataType#isEquivalent(DataType) equivalent} always have the same
+ * fingerprint, although datatypes with the same fingerprint need not be equivalent.  Users of
+ * this index, such as conflict handlers and archive synchronization, should therefore treat the
+ * datatypes returned as candidates to be confirmed with an equivalence check.
+ * <P>
+ * The index is built in memory when first used and is then maintained as datatypes are added,
+ * changed and removed.  It may also be persisted within the database (see
+ * {@link #setPersistent(boolean, TaskMonitor)}), in which case it is maintained within the same
+ * transactions as the datatypes themselves and need not be rebuilt from all datatypes when the
+ * manager is opened.
+ */
+public class DataTypeFingerprintIndex {
+
+	static final String TABLE_NAME = "Data Type Fingerprints";
+	static final int VERSION = 0;
+
+	private static final int FINGERPRINT_COL = 0;
+
+	static final Schema SCHEMA = new Schema(VERSION, "Data Type ID",
+		new Field[] { LongField.INSTANCE }, new String[] { "Fingerprint" });
+
+	private final DataTypeManagerDB dataMgr;
+	private final DBHandle handle;
+	private final String tableName;
+	private Table table;
+
+	// in-memory index, built when first used
+	private Map<Long, Long> fingerprintsById;
+	private Map<Long, Set<Long>> idsByFingerprint;
+	private Set<Long> changedIds = new HashSet<>();
+
+	DataTypeFingerprintIndex(DataTypeManagerDB dataMgr, DBHandle handle, String tablePrefix) {
+		this.dataMgr = dataMgr;
+		this.handle = handle;
+		this.tableName = tablePrefix + TABLE_NAME;
+		refresh();
+	}
+
+	/**
+	 * Compute the structural fingerprint of a structure, union or enum.
+	 *
+	 * @param dataType datatype
+	 * @return fingerprint or null if the datatype is not a structure, union or enum
+	 */
+	public static Long getFingerprint(DataType dataType) {
+		if (dataType instanceof Enum enumm) {
+			return getEnumFingerprint(enumm);
+		}
+		long hash;
+		DataTypeComponent[] components;
+		int packing;
+		if (dataType instanceof StructureInternal struct) {
+			packing = struct.getStoredPackingValue();
+			hash = 31 + struct.getStoredMinimumAlignment();
+			if (packing == CompositeInternal.NO_PACKING) {
+				hash = 31 * hash + (struct.isZeroLength() ? 0 : struct.getLength());
+			}
+			components = struct.getDefinedComponents();
+		}
+		else if (dataType instanceof UnionInternal union) {
+			packing = union.getStoredPackingValue();
+			hash = 37 + union.getStoredMinimumAlignment();
+			components = union.getComponents();
+		}
+		else {
+			return null;
+		}
+		hash = 31 * hash + packing;
+		hash = 31 * hash + components.length;
+		for (DataTypeComponent dtc : components) {
+			if (packing == CompositeInternal.NO_PACKING) {
+				hash = 31 * hash + dtc.getOffset();
+			}
+			hash = 31 * hash + Objects.hashCode(dtc.getFieldName());
+			hash = 31 * hash + Objects.hashCode(dtc.getComment());
+			hash = 31 * hash + getKind(dtc.getDataType());
+		}
+		return hash;
+	}
+
+	private static long getEnumFingerprint(Enum enumm) {
+		long hash = 41 + enumm.getLength();
+		hash = 31 * hash + enumm.getCount();
+		long values = 0;
+		for (String name : enumm.getNames()) {
+			// order independent
+			values += 31L * name.hashCode() + enumm.getValue(name);
+		}
+		return 31 * hash + values;
+	}
+
+	/**
+	 * Get the kind of a component datatype.  Datatypes of different kinds are never equivalent.
+	 * Component datatypes are otherwise not part of the fingerprint, so that the fingerprint of
+	 * a datatype does not change when a datatype it depends upon is changed or renamed.
+	 */
+	private static int getKind(DataType dt) {
+		if (dt instanceof Structure) {
+			return 1;
+		}
+		if (dt instanceof Union) {
+			return 2;
+		}
+		if (dt instanceof Pointer) {
+			return 3;
+		}
+		if (dt instanceof Array) {
+			return 4;
+		}
+		if (dt instanceof TypeDef) {
+			return 5;
+		}
+		if (dt instanceof Enum) {
+			return 6;
+		}
+		if (dt instanceof FunctionDefinition) {
+			return 7;
+		}
+		if (dt instanceof BitFieldDataType) {
+			return 8;
+		}
+		// built-in datatypes are only equivalent to the same class
+		return dt != null ? dt.getClass().getName().hashCode() : 0;
+	}
+
+	/**
+	 * Determine if two datatypes may be equivalent based upon their fingerprints.
+	 *
+	 * @param dataType1 first datatype
+	 * @param dataType2 second datatype
+	 * @return false if the datatypes can not be equivalent, true if they may be equivalent or
+	 * either is not a structure, union or enum
+	 */
+	public boolean mayBeEquivalent(DataType dataType1, DataType dataType2) {
+		Long fingerprint1 = getIndexedFingerprint(dataType1);
+		Long fingerprint2 = getIndexedFingerprint(dataType2);
+		return fingerprint1 == null || fingerprint2 == null || fingerprint1.equals(fingerprint2);
+	}
+
+	/**
+	 * Get the datatypes within this manager with the specified fingerprint.
+	 *
+	 * @param fingerprint structural fingerprint
+	 * @return datatypes with the fingerprint, ordered by datatype ID
+	 */
+	public List<DataType> getDataTypes(long fingerprint) {
+		dataMgr.lock.acquire();
+		try {
+			buildIndex();
+			Set<Long> ids = idsByFingerprint.get(fingerprint);
+			if (ids == null) {
+				return List.of();
+			}
+			List<DataType> list = new ArrayList<>(ids.size());
+			for (long id : ids) {
+				DataType dt = dataMgr.getDataType(id);
+				if (dt != null) {
+					list.add(dt);
+				}
+			}
+			list.sort(Comparator.comparingLong(dataMgr::getID));
+			return list;
+		}
+		finally {
+			dataMgr.lock.release();
+		}
+	}
+
+	/**
+	 * Get the datatypes within this manager with the same fingerprint as the specified
+	 * datatype, which may or may not be within this manager.  The specified datatype itself is
+	 * not included.
+	 *
+	 * @param dataType datatype
+	 * @return candidate datatypes, ordered by datatype ID, or an empty list if the datatype is
+	 * not a structure, union or enum
+	 */
+	public List<DataType> getCandidates(DataType dataType) {
+		Long fingerprint = getIndexedFingerprint(dataType);
+		if (fingerprint == null) {
+			return List.of();
+		}
+		List<DataType> candidates = new ArrayList<>(getDataTypes(fingerprint));
+		candidates.remove(dataType);
+		return candidates;
+	}
+
+	/**
+	 * Find a datatype within this manager which is equivalent to the specified datatype.
+	 *
+	 * @param dataType datatype
+	 * @return the equivalent datatype with the lowest datatype ID or null if none found
+	 */
+	public DataType findEquivalent(DataType dataType) {
+		for (DataType candidate : getCandidates(dataType)) {
+			if (candidate.isEquivalent(dataType)) {
+				return candidate;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * {@return true if this index is persisted within the database}
+	 */
+	public boolean isPersistent() {
+		return table != null;
+	}
+
+	/**
+	 * Add this index to, or remove it from, the database.  A transaction must be open.
+	 *
+	 * @param persistent true to persist this index, false to remove it from the database
+	 * @param monitor task monitor
+	 * @throws IOException if a database error occurs
+	 * @throws CancelledException if the monitor is cancelled while building the index
+	 */
+	public void setPersistent(boolean persistent, TaskMonitor monitor)
+			throws IOException, CancelledException {
+		dataMgr.lock.acquire();
+		try {
+			if (persistent == isPersistent()) {
+				return;
+			}
+			if (!persistent) {
+				handle.deleteTable(tableName);
+				table = null;
+				return;
+			}
+			buildIndex();
+			table = handle.createTable(tableName, SCHEMA);
+			monitor.initialize(fingerprintsById.size(), "Indexing datatypes...");
+			for (Map.Entry<Long, Long> entry : fingerprintsById.entrySet()) {
+				monitor.increment();
+				putRecord(entry.getKey(), entry.getValue());
+			}
+		}
+		finally {
+			dataMgr.lock.release();
+		}
+	}
+
+	/**
+	 * Get the fingerprint of a datatype, using the index for datatypes within this manager.
+	 */
+	private Long getIndexedFingerprint(DataType dataType) {
+		if (dataType instanceof DataTypeDB dataTypeDB && dataMgr.contains(dataType)) {
+			dataMgr.lock.acquire();
+			try {
+				buildIndex();
+				long id = dataTypeDB.getKey();
+				Long fingerprint = fingerprintsById.get(id);
+				if (fingerprint != null || !isIndexed(dataTypeDB)) {
+					return fingerprint;
+				}
+			}
+			finally {
+				dataMgr.lock.release();
+			}
+		}
+		return getFingerprint(dataType);
+	}
+
+	private static boolean isIndexed(DataType dt) {
+		return (dt instanceof Composite) || (dt instanceof Enum);
+	}
+
+	/**
+	 * Reacquire the index table, which may have been created or removed by an undo or redo,
+	 * and discard the in-memory index.
+	 */
+	void refresh() {
+		table = handle.getTable(tableName);
+		if (table != null && table.getSchema().getVersion() != VERSION) {
+			// we don't know how to maintain some other version of the index, so ignore it
+			table = null;
+		}
+		fingerprintsById = null;
+		idsByFingerprint = null;
+		changedIds.clear();
+	}
+
+	/**
+	 * Notification that a datatype has been added or changed.  A persisted index is updated
+	 * immediately, while the in-memory index is updated when next used.
+	 *
+	 * @param dt datatype
+	 */
+	void dataTypeChanged(DataType dt) {
+		if (!(dt instanceof DataTypeDB dataTypeDB) || !isIndexed(dt)) {
+			return;
+		}
+		long id = dataTypeDB.getKey();
+		if (fingerprintsById != null) {
+			// fingerprint is computed when next needed since a change is often one of many
+			changedIds.add(id);
+		}
+		if (table != null && handle.isTransactionActive()) {
+			Long fingerprint = getFingerprint(dt);
+			if (fingerprint != null) {
+				putRecord(id, fingerprint);
+			}
+		}
+	}
+
+	/**
+	 * Notification that a datatype has been removed or replaced.
+	 *
+	 * @param id datatype ID
+	 */
+	void dataTypeRemoved(long id) {
+		if (fingerprintsById != null) {
+			changedIds.remove(id);
+			removeFromIndex(id);
+		}
+		deleteRecord(id);
+	}
+
+	private void buildIndex() {
+		if (fingerprintsById == null) {
+			fingerprintsById = new HashMap<>();
+			idsByFingerprint = new HashMap<>();
+			try {
+				if (table != null) {
+					RecordIterator it = table.iterator();
+					while (it.hasNext()) {
+						DBRecord rec = it.next();
+						addToIndex(rec.getKey(), rec.getLongValue(FINGERPRINT_COL));
+					}
+				}
+				// index any datatypes missing from the persisted index
+				addMissing(dataMgr.getCompositeRecords());
+				addMissing(dataMgr.getEnumRecords());
+			}
+			catch (IOException e) {
+				dataMgr.dbError(e);
+			}
+		}
+		for (long id : changedIds) {
+			removeFromIndex(id);
+			Long fingerprint = getFingerprint(dataMgr.getDataType(id));
+			if (fingerprint != null) {
+				addToIndex(id, fingerprint);
+			}
+		}
+		changedIds.clear();
+	}
+
+	private void addMissing(RecordIterator it) throws IOException {
+		boolean canUpdate = handle.isTransactionActive();
+		while (it.hasNext()) {
+			long id = it.next().getKey();
+			if (fingerprintsById.containsKey(id)) {
+				continue;
+			}
+			DataType dt = dataMgr.getDataType(id);
+			Long fingerprint = getFingerprint(dt);
+			if (fingerprint != null) {
+				addToIndex(id, fingerprint);
+				if (canUpdate) {
+					putRecord(id, fingerprint);
+				}
+			}
+		}
+	}
+
+	private void addToIndex(long id, long fingerprint) {
+		fingerprintsById.put(id, fingerprint);
+		idsByFingerprint.computeIfAbsent(fingerprint, k -> new HashSet<>()).add(id);
+	}
+
+	private void removeFromIndex(long id) {
+		Long fingerprint = fingerprintsById.remove(id);
+		if (fingerprint != null) {
+			Set<Long> ids = idsByFingerprint.get(fingerprint);
+			ids.remove(id);
+			if (ids.isEmpty()) {
+				idsByFingerprint.remove(fingerprint);
+			}
+		}
+	}
+
+	private void putRecord(long id, long fingerprint) {
+		if (table == null) {
+			return;
+		}
+		DBRecord rec = SCHEMA.createRecord(id);
+		rec.setLongValue(FINGERPRINT_COL, fingerprint);
+		try {
+			table.putRecord(rec);
+		}
+		catch (IOException e) {
+			dataMgr.dbError(e);
+		}
+	}
+
+	private void deleteRecord(long id) {
+		if (table == null || !handle.isTransactionActive()) {
+			return;
+		}
+		try {
+			table.deleteRecord(id);
+		}
+		catch (IOException e) {
+			dataMgr.dbError(e);
+		}
+	}
+}
@@ -171,6 +171,8 @@ abstract public class DataTypeManagerDB implements DataTypeManager {
 	// prevented during resolve)
 	private IdsToDataTypeMap idsToDataTypeMap = new IdsToDataTypeMap();
 
+	private DataTypeFingerprintIndex fingerprintIndex;
+
 	private ThreadLocal<EquivalenceCache> equivalenceCache = new ThreadLocal<>();
 
 	private IdentityHashMap<DataType, DataType> resolveCache;
@@ -400,6 +402,7 @@ abstract public class DataTypeManagerDB implements DataTypeManager {
 			throws CancelledException, IOException, VersionException {
 		updateID();
 		initializeAdapters(openMode, monitor);
+		fingerprintIndex = new DataTypeFingerprintIndex(this, dbHandle, tablePrefix);
 		if (checkForSourceArchiveUpdatesNeeded(openMode, monitor)) {
 			doSourceArchiveUpdates(monitor);
 		}
@@ -1265,7 +1268,13 @@ abstract public class DataTypeManagerDB implements DataTypeManager {
 			}
 
 			resolvedDataType = getCachedResolve(dataType);
-			if (resolvedDataType == null) {
+			if (resolvedDataType != null) {
+				BulkResolveStatistics statistics = getBulkResolveStatistics();
+				if (statistics != null) {
+					statistics.resolveCacheHit();
+				}
+			}
+			else {
 				SourceArchive sourceArchive = dataType.getSourceArchive();
 				if (sourceArchive != null &&
 					sourceArchive.getArchiveType() == ArchiveType.BUILT_IN) {
@@ -1578,6 +1587,7 @@ abstract public class DataTypeManagerDB implements DataTypeManager {
 		// method is short circuited such that it will return true. So it is important 
 		// to call the isEquivalent on the existing datatype and not the dataType.
 		if (existingDataType != null &&
+			!isStructurallyExcluded(existingDataType, dataType, currentHandler) &&
 			DataTypeDB.isEquivalent(existingDataType, dataType, currentHandler)) {
 			return existingDataType;
 		}
@@ -1585,6 +1595,7 @@ abstract public class DataTypeManagerDB implements DataTypeManager {
 		List<DataType> relatedByName = findDataTypesSameLocation(dataType);
 		for (DataType candidate : relatedByName) {
 			if (candidate != existingDataType &&
+				!isStructurallyExcluded(candidate, dataType, currentHandler) &&
 				DataTypeDB.isEquivalent(candidate, dataType, currentHandler)) {
 				return candidate;
 			}
@@ -1783,9 +1794,45 @@ abstract public class DataTypeManagerDB implements DataTypeManager {
 	@Override
 	public void addDataTypes(Collection<DataType> dataTypes, DataTypeConflictHandler handler,
 			TaskMonitor monitor) throws CancelledException {
+		resolveAll(dataTypes, handler, null, monitor);
+	}
+
+	/**
+	 * Resolve a batch of datatypes as a single resolve cycle.  This is intended for importers
+	 * which add a large number of datatypes at once (e.g., PDB, DWARF or C header parsing).
+	 * <p>
+	 * The lock, resolve cache and equivalence cache are held for the entire batch so that
+	 * dependencies shared between the batch datatypes are only resolved and compared once.
+	 * In addition, when the conflict handler's decision does not depend on the
+	 * datatypes being compared (e.g., {@link DataTypeConflictHandler#DEFAULT_HANDLER}), the
+	 * {@link DataTypeFingerprintIndex#getFingerprint(DataType) fingerprint} of each structure
+	 * and union is used to rule out conflict-named candidates which can not be equivalent
+	 * without performing the deep
+	 * {@link DataType#isEquivalent(DataType) equivalence} comparison.
+	 * <p>
+	 * Since newly created conflict datatypes may be replaced by an equivalent datatype once
+	 * the batch has been resolved, the returned list reflects any such replacement.
+	 *
+	 * @param dataTypes the datatypes to be resolved
+	 * @param handler the conflict handler to be used, or null to use the default handler
+	 * @param statistics optional statistics which will be updated for the batch (may be null)
+	 * @param monitor the task monitor
+	 * @return the resolved datatypes, in the same order as the specified datatypes
+	 * @throws CancelledException if the monitor is cancelled
+	 */
+	public List<DataType> resolveAll(Collection<? extends DataType> dataTypes,
+			DataTypeConflictHandler handler, BulkResolveStatistics statistics,
+			TaskMonitor monitor) throws CancelledException {
+		List<DataType> resolvedDataTypes = new ArrayList<>(dataTypes.size());
+		BulkResolve bulkResolve = new BulkResolve(
+			statistics != null ? statistics : new BulkResolveStatistics());
+		long startTime = System.nanoTime();
 		lock.acquire();
 		boolean isEquivalenceCacheOwner = activateEquivalenceCache();
 		boolean isResolveCacheOwner = activateResolveCache();
+		EquivalenceCache cache = equivalenceCache.get();
+		BulkResolve outerBulkResolve = cache.bulkResolve;
+		cache.bulkResolve = bulkResolve;
 		// Note: extended hold time on lock may cause the GUI to become unresponsive.  Consider 
 		// releasing lock between resolves, although this exposes risk of having active resolve 
 		// queue/cache without lock.
@@ -1796,7 +1843,8 @@ abstract public class DataTypeManagerDB implements DataTypeManager {
 			int i = 0;
 			for (DataType dt : dataTypes) {
 				monitor.checkCancelled();
-				resolve(dt, handler);
+				resolvedDataTypes.add(resolve(dt, handler));
+				bulkResolve.statistics.typeResolved();
 				if (isResolveCacheOwner) {
 					processResolveQueue(false);
 				}
@@ -1804,15 +1852,77 @@ abstract public class DataTypeManagerDB implements DataTypeManager {
 			}
 		}
 		finally {
-			if (isResolveCacheOwner) {
-				processResolveQueue(true);
+			try {
+				if (isResolveCacheOwner) {
+					processResolveQueue(true);
+				}
 			}
-			if (isEquivalenceCacheOwner) {
-				clearEquivalenceCache();
+			finally {
+				cache.bulkResolve = outerBulkResolve;
+				if (isEquivalenceCacheOwner) {
+					clearEquivalenceCache();
+				}
+				lock.release();
+				bulkResolve.statistics.addElapsedTime(System.nanoTime() - startTime);
 			}
-			lock.release();
 		}
+		resolvedDataTypes.replaceAll(bulkResolve::getReplacement);
+		return resolvedDataTypes;
+	}
+
+	/**
+	 * Determine if the specified candidate can be ruled out as an equivalent of the specified
+	 * datatype based upon its fingerprint alone.  This is only done during a
+	 * {@link #resolveAll(Collection, DataTypeConflictHandler, BulkResolveStatistics,
+	 * TaskMonitor) bulk resolve} and only for conflict handlers which never treat a
+	 * structurally different type as equivalent.
+	 *
+	 * @param candidate existing datatype which is a candidate for equivalence
+	 * @param dataType datatype being resolved
+	 * @param handler conflict handler to be passed to the equivalence check
+	 * @return true if the candidate can not be equivalent, false if a full equivalence check
+	 * is required
+	 */
+	private boolean isStructurallyExcluded(DataType candidate, DataType dataType,
+			DataTypeConflictHandler handler) {
+		EquivalenceCache cache = equivalenceCache.get();
+		BulkResolve bulkResolve = cache != null ? cache.bulkResolve : null;
+		if (bulkResolve == null || !isStructuralConflictHandler(handler) ||
+			!(candidate instanceof CompositeDB candidateDB) || candidateDB.resolving ||
+			cache.contains(getEquivalenceKey(candidateDB, dataType))) {
+			return false;
+		}
+		Long fingerprint = bulkResolve.getFingerprint(dataType);
+		Long candidateFingerprint = DataTypeFingerprintIndex.getFingerprint(candidate);
+		if (fingerprint == null || candidateFingerprint == null ||
+			fingerprint.equals(candidateFingerprint)) {
+			return false;
+		}
+		bulkResolve.statistics.comparisonSkipped();
+		return true;
+	}
 
+	/**
+	 * Determine if the specified conflict handler never returns
+	 * {@link ConflictResult#USE_EXISTING} and therefore requires structurally identical
+	 * composites for them to be considered equivalent.
+	 *
+	 * @param handler conflict handler
+	 * @return true if equivalence under this handler depends on structure only
+	 */
+	private static boolean isStructuralConflictHandler(DataTypeConflictHandler handler) {
+		return handler == DataTypeConflictHandler.DEFAULT_HANDLER ||
+			handler == DataTypeConflictHandler.DEFAULT_HANDLER.getSubsequentHandler() ||
+			handler == DataTypeConflictHandler.REPLACE_HANDLER ||
+			handler == DataTypeConflictHandler.REPLACE_HANDLER.getSubsequentHandler();
+	}
+
+	private BulkResolveStatistics getBulkResolveStatistics() {
+		EquivalenceCache cache = equivalenceCache.get();
+		if (cache != null && cache.bulkResolve != null) {
+			return cache.bulkResolve.statistics;
+		}
+		return null;
 	}
 
 	@Override
@@ -2767,30 +2877,51 @@ abstract public class DataTypeManagerDB implements DataTypeManager {
 		return null;
 	}
 
-	List<DataType> getDataTypesInCategory(long categoryID) {
+	/**
+	 * Get the name to ID mapping of all datatypes contained within the specified category.
+	 * Names of named datatypes (i.e., composites, typedefs, enums and function definitions)
+	 * are read directly from their records so that large categories may be indexed without
+	 * instantiating their datatypes.  Built-in, pointer and array datatypes, whose names are
+	 * not stored, are instantiated to determine their name.
+	 * @param categoryID category ID
+	 * @return datatype name to ID map
+	 */
+	Map<String, Long> getDataTypeIdsInCategory(long categoryID) {
 		lock.acquire();
-		ArrayList<DataType> list = new ArrayList<>();
+		Map<String, Long> map = new ConcurrentHashMap<>();
 		try {
 			Field[] ids = builtinAdapter.getRecordIdsInCategory(categoryID);
-			getDataTypes(ids, list);
+			getDataTypeIds(ids, map);
 
 			ids = typedefAdapter.getRecordIdsInCategory(categoryID);
-			getDataTypes(ids, list);
+			for (Field id : ids) {
+				DBRecord rec = typedefAdapter.getRecord(id.getLongValue());
+				putDataTypeId(id, rec, TypedefDBAdapter.TYPEDEF_NAME_COL, map);
+			}
 
 			ids = compositeAdapter.getRecordIdsInCategory(categoryID);
-			getDataTypes(ids, list);
+			for (Field id : ids) {
+				DBRecord rec = compositeAdapter.getRecord(id.getLongValue());
+				putDataTypeId(id, rec, CompositeDBAdapter.COMPOSITE_NAME_COL, map);
+			}
 
 			ids = functionDefAdapter.getRecordIdsInCategory(categoryID);
-			getDataTypes(ids, list);
+			for (Field id : ids) {
+				DBRecord rec = functionDefAdapter.getRecord(id.getLongValue());
+				putDataTypeId(id, rec, FunctionDefinitionDBAdapter.FUNCTION_DEF_NAME_COL, map);
+			}
 
 			ids = enumAdapter.getRecordIdsInCategory(categoryID);
-			getDataTypes(ids, list);
+			for (Field id : ids) {
+				DBRecord rec = enumAdapter.getRecord(id.getLongValue());
+				putDataTypeId(id, rec, EnumDBAdapter.ENUM_NAME_COL, map);
+			}
 
 			ids = pointerAdapter.getRecordIdsInCategory(categoryID);
-			getDataTypes(ids, list);
+			getDataTypeIds(ids, map);
 
 			ids = arrayAdapter.getRecordIdsInCategory(categoryID);
-			getDataTypes(ids, list);
+			getDataTypeIds(ids, map);
 
 		}
 		catch (IOException e) {
@@ -2799,7 +2930,14 @@ abstract public class DataTypeManagerDB implements DataTypeManager {
 		finally {
 			lock.release();
 		}
-		return list;
+		return map;
+	}
+
+	private void putDataTypeId(Field id, DBRecord rec, int nameCol, Map<String, Long> map) {
+		if (rec == null) {
+			throw new AssertException("Could not find data type id: " + id);
+		}
+		map.put(rec.getString(nameCol), id.getLongValue());
 	}
 
 	@Override
@@ -2828,13 +2966,13 @@ abstract public class DataTypeManagerDB implements DataTypeManager {
 		}
 	}
 
-	private void getDataTypes(Field[] ids, ArrayList<DataType> list) {
+	private void getDataTypeIds(Field[] ids, Map<String, Long> map) {
 		for (Field id : ids) {
 			DataType dt = getDataType(id.getLongValue());
 			if (dt == null) {
 				throw new AssertException("Could not find data type id: " + id);
 			}
-			list.add(dt);
+			map.put(dt.getName(), id.getLongValue());
 		}
 	}
 
@@ -3703,6 +3841,25 @@ abstract public class DataTypeManagerDB implements DataTypeManager {
 		return (new ArrayList<Composite>()).iterator();
 	}
 
+	/**
+	 * Get the index of the structures, unions and enums within this manager by their
+	 * structural fingerprint.  The index may be used to find existing datatypes which may be
+	 * equivalent to another datatype without comparing against all datatypes.
+	 * 
+	 * @return fingerprint index
+	 */
+	public DataTypeFingerprintIndex getFingerprintIndex() {
+		return fingerprintIndex;
+	}
+
+	RecordIterator getCompositeRecords() throws IOException {
+		return compositeAdapter.getRecords();
+	}
+
+	RecordIterator getEnumRecords() throws IOException {
+		return enumAdapter.getRecords();
+	}
+
 	public void dispose() {
 		sortedDataTypes = null;
 		enumValueMap = null;
@@ -3736,6 +3893,7 @@ abstract public class DataTypeManagerDB implements DataTypeManager {
 			fireInvalidated();
 			updateFavorites();
 			idsToDataTypeMap.clear();
+			fingerprintIndex.refresh();
 		}
 		finally {
 			lock.release();
@@ -3964,6 +4122,7 @@ abstract public class DataTypeManagerDB implements DataTypeManager {
 			updateLastChangeTime();
 			setDirtyFlag(dt);
 		}
+		fingerprintIndex.dataTypeChanged(dt);
 		defaultListener.dataTypeChanged(this, dt.getDataTypePath());
 	}
 
@@ -3990,6 +4149,7 @@ abstract public class DataTypeManagerDB implements DataTypeManager {
 		if (newDt instanceof Enum) {
 			enumValueMap = null;
 		}
+		fingerprintIndex.dataTypeChanged(newDt);
 		updateLastChangeTime();
 		defaultListener.dataTypeAdded(this, newDt.getDataTypePath());
 	}
@@ -4000,6 +4160,7 @@ abstract public class DataTypeManagerDB implements DataTypeManager {
 		category.dataTypeRemoved(replacedDataTypePath.getDataTypeName());
 		removeDataTypeFromSortedList(replacedDataTypePath);
 		enumValueMap = null;
+		fingerprintIndex.dataTypeRemoved(existingDtID);
 		updateLastChangeTime();
 		defaultListener.dataTypeReplaced(this, replacedDataTypePath,
 			replacementDt.getDataTypePath(), replacementDt);
@@ -4010,6 +4171,7 @@ abstract public class DataTypeManagerDB implements DataTypeManager {
 		category.dataTypeRemoved(deletedDataTypePath.getDataTypeName());
 		removeDataTypeFromSortedList(deletedDataTypePath);
 		enumValueMap = null;
+		fingerprintIndex.dataTypeRemoved(deletedID);
 		updateLastChangeTime();
 		defaultListener.dataTypeRemoved(this, deletedDataTypePath);
 	}
@@ -4557,13 +4719,15 @@ abstract public class DataTypeManagerDB implements DataTypeManager {
 			}
 			Collections.sort(relatedByName, DataTypeComparator.INSTANCE);
 
+			Long[] fingerprints = getFingerprints(relatedByName);
 			boolean success = false;
 			for (int n = relatedByName.size() - 1; n != 0; n--) {
 				DataType targetDt = relatedByName.get(n);
 
 				for (int m = 0; m < n; m++) {
 					DataType candidate = relatedByName.get(m);
-					if (candidate.isEquivalent(targetDt)) {
+					if (Objects.equals(fingerprints[m], fingerprints[n]) &&
+						candidate.isEquivalent(targetDt)) {
 						try {
 							replace(targetDt, candidate);
 							success = true;
@@ -4592,13 +4756,15 @@ abstract public class DataTypeManagerDB implements DataTypeManager {
 		}
 		Collections.sort(relatedByName, DataTypeComparator.INSTANCE);
 
+		Long[] fingerprints = getFingerprints(relatedByName);
 		int replaceCnt = 0;
 		for (int n = relatedByName.size() - 1; n != 0; n--) {
 			DataType targetDt = relatedByName.get(n);
 
 			for (int m = 0; m < n; m++) {
 				DataType candidate = relatedByName.get(m);
-				if (candidate.isEquivalent(targetDt)) {
+				if (Objects.equals(fingerprints[m], fingerprints[n]) &&
+					candidate.isEquivalent(targetDt)) {
 					try {
 						replace(targetDt, candidate);
 						++replaceCnt;
@@ -4614,6 +4780,22 @@ abstract public class DataTypeManagerDB implements DataTypeManager {
 
 	}
 
+	/**
+	 * Get the fingerprints of the specified datatypes.  Conflict datatypes with different
+	 * fingerprints can not be equivalent and need not be compared.
+	 * 
+	 * @param dataTypes datatypes
+	 * @return fingerprint of each datatype ({@code null} entries for datatypes which are
+	 * not fingerprinted)
+	 */
+	private Long[] getFingerprints(List<DataType> dataTypes) {
+		Long[] fingerprints = new Long[dataTypes.size()];
+		for (int i = 0; i < fingerprints.length; i++) {
+			fingerprints[i] = DataTypeFingerprintIndex.getFingerprint(dataTypes.get(i));
+		}
+		return fingerprints;
+	}
+
 	/**
 	 * De-duplicate equivalent conflict datatypes which share a common base data type name and
 	 * are found to be equivalent.
@@ -4708,10 +4890,14 @@ abstract public class DataTypeManagerDB implements DataTypeManager {
 
 			List<DataType> relatedByName = findDataTypesSameLocation(dt);
 			for (DataType candidate : relatedByName) {
-				if (candidate != dt && DataTypeDB.isEquivalent(candidate, dt,
-					DataTypeConflictHandler.DEFAULT_HANDLER)) {
+				if (candidate != dt &&
+					!isStructurallyExcluded(candidate, dt,
+						DataTypeConflictHandler.DEFAULT_HANDLER) &&
+					DataTypeDB.isEquivalent(candidate, dt,
+						DataTypeConflictHandler.DEFAULT_HANDLER)) {
 					try {
 						replace(dt, candidate);
+						conflictTypeReplaced(dt, candidate);
 						if (dt == dataType) {
 							// switch final type
 							dataType = candidate;
@@ -4728,6 +4914,14 @@ abstract public class DataTypeManagerDB implements DataTypeManager {
 		return dataType;
 	}
 
+	private void conflictTypeReplaced(DataType conflictDt, DataType replacementDt) {
+		EquivalenceCache cache = equivalenceCache.get();
+		if (cache != null && cache.bulkResolve != null) {
+			cache.bulkResolve.replacements.put(conflictDt, replacementDt);
+			cache.bulkResolve.statistics.conflictTypeReplaced();
+		}
+	}
+
 	/**
 	 * Activate resolveCache and associated resolveQueue if not already active. If
 	 * this method returns true caller is responsible for flushing resolveQueue and
@@ -4866,10 +5060,15 @@ abstract public class DataTypeManagerDB implements DataTypeManager {
 		}
 		long key = getEquivalenceKey(dataTypeDB, dataType);
 		Boolean value = cache.getValue(key);
+		BulkResolveStatistics statistics =
+			cache.bulkResolve != null ? cache.bulkResolve.statistics : null;
 		if (value == null) {
 			// null value indicates isEquivalent in progress between the two
 			// datatypes - perform simplified equivalence check
 			if (cache.contains(key)) {
+				if (statistics != null) {
+					statistics.equivalenceCacheHit();
+				}
 				if (dataType.getUniversalID().equals(getUniversalID())) {
 					return true;
 				}
@@ -4877,6 +5076,12 @@ abstract public class DataTypeManagerDB implements DataTypeManager {
 					dataType.getPathName());
 			}
 			cache.putValue(key, null); // indicates isEquivalent in progress
+			if (statistics != null) {
+				statistics.equivalenceCompared();
+			}
+		}
+		else if (statistics != null) {
+			statistics.equivalenceCacheHit();
 		}
 		return value;
 	}
@@ -4956,6 +5161,7 @@ abstract public class DataTypeManagerDB implements DataTypeManager {
 
 		private Map<Long, Boolean> cacheMap = new HashMap<>();
 		int outstandingRequestCount;
+		BulkResolve bulkResolve; // active bulk resolve state, if any
 
 		/**
 		 * Get the cached datatype pair equivalence
@@ -5022,6 +5228,57 @@ abstract public class DataTypeManagerDB implements DataTypeManager {
 
 	}
 
+	/**
+	 * {@code BulkResolve} - state of an active
+	 * {@link DataTypeManagerDB#resolveAll(Collection, DataTypeConflictHandler,
+	 * BulkResolveStatistics, TaskMonitor) bulk resolve}
+	 */
+	private static class BulkResolve {
+
+		private final BulkResolveStatistics statistics;
+		private final Map<DataType, Long> fingerprints = new IdentityHashMap<>();
+		private final Map<DataType, DataType> replacements = new IdentityHashMap<>();
+
+		BulkResolve(BulkResolveStatistics statistics) {
+			this.statistics = statistics;
+		}
+
+		/**
+		 * Get the fingerprint of a datatype.  The fingerprint of datatypes which are not
+		 * database objects, and therefore do not change during the resolve, is computed
+		 * once per batch.
+		 * 
+		 * @param dataType datatype
+		 * @return fingerprint or null if not a structure, union or enum
+		 */
+		Long getFingerprint(DataType dataType) {
+			if (dataType instanceof DataTypeDB) {
+				return DataTypeFingerprintIndex.getFingerprint(dataType);
+			}
+			if (fingerprints.containsKey(dataType)) {
+				return fingerprints.get(dataType);
+			}
+			Long fingerprint = DataTypeFingerprintIndex.getFingerprint(dataType);
+			fingerprints.put(dataType, fingerprint);
+			return fingerprint;
+		}
+
+		/**
+		 * Get the datatype which replaced a conflict datatype during the bulk resolve.
+		 * 
+		 * @param dataType resolved datatype
+		 * @return replacement datatype or the specified datatype if it was not replaced
+		 */
+		DataType getReplacement(DataType dataType) {
+			DataType replacement = replacements.get(dataType);
+			while (replacement != null) {
+				dataType = replacement;
+				replacement = replacements.get(dataType);
+			}
+			return dataType;
+		}
+	}
+
 	/**
 	 * {@code IdsToDataTypeMap} - DataType resolve cache map
 	 */
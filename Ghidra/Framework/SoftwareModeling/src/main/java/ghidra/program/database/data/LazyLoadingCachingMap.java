@@ -103,6 +103,15 @@ public abstract class LazyLoadingCachingMap<K, V> {
 		return Collections.unmodifiableCollection(map.values());
 	}
 
+	/**
+	 * Returns an unmodifiable view of the keys in this map.
+	 * @return an unmodifiable view of the keys in this map.
+	 */
+	public Set<K> keySet() {
+		Map<K, V> map = getOrLoadMap();
+		return Collections.unmodifiableSet(map.keySet());
+	}
+
 	private Map<K, V> getOrLoadMap() {
 		Map<K, V> map;
 		synchronized (this) {
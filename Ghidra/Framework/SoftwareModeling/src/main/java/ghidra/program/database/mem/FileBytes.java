@@ -16,6 +16,7 @@
 package ghidra.program.database.mem;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.ConcurrentModificationException;
 
 import org.apache.commons.lang3.StringUtils;
@@ -35,9 +36,10 @@ public class FileBytes {
 	private final long fileOffset;
 	private final long size;
 
-	private DBBuffer[] originalBuffers;
-	private DBBuffer[] layeredBuffers;
-	private boolean invalid = false;
+	// replaced (never modified) on refresh so that reads don't need to synchronize
+	private volatile DBBuffer[] originalBuffers;
+	private volatile DBBuffer[] layeredBuffers;
+	private volatile boolean invalid = false;
 
 	public FileBytes(FileBytesAdapter adapter, DBRecord record) throws IOException {
 		this.adapter = adapter;
@@ -60,17 +62,19 @@ public class FileBytes {
 		BinaryField field = (BinaryField) record.getFieldValue(FileBytesAdapter.BUF_IDS_COL);
 
 		int[] bufferIds = new BinaryCodedField(field).getIntArray();
-		originalBuffers = new DBBuffer[bufferIds.length];
+		DBBuffer[] original = new DBBuffer[bufferIds.length];
 		for (int i = 0; i < bufferIds.length; i++) {
-			originalBuffers[i] = adapter.getBuffer(bufferIds[i]);
+			original[i] = adapter.getBuffer(bufferIds[i]);
 		}
 
 		field = (BinaryField) record.getFieldValue(FileBytesAdapter.LAYERED_BUF_IDS_COL);
 		bufferIds = new BinaryCodedField(field).getIntArray();
-		layeredBuffers = new DBBuffer[bufferIds.length];
+		DBBuffer[] layered = new DBBuffer[bufferIds.length];
 		for (int i = 0; i < bufferIds.length; i++) {
-			layeredBuffers[i] = adapter.getBuffer(bufferIds[i], originalBuffers[i]);
+			layered[i] = adapter.getBuffer(bufferIds[i], original[i]);
 		}
+		originalBuffers = original;
+		layeredBuffers = layered;
 		return true;
 	}
 
@@ -78,6 +82,16 @@ public class FileBytes {
 		return id;
 	}
 
+	/**
+	 * Returns the buffers which contain the original bytes.  These buffers are never modified
+	 * and may be shared by other file bytes whose original bytes are identical.
+	 * 
+	 * @return the original buffers
+	 */
+	DBBuffer[] getOriginalBuffers() {
+		return originalBuffers;
+	}
+
 	/**
 	 * Returns the name of the file that supplied the bytes.
 	 * @return the name of the file that supplied the bytes.
@@ -112,7 +126,7 @@ public class FileBytes {
 	 * @throws IOException if there is a problem reading the database.
 	 * @throws IndexOutOfBoundsException if the given offset is invalid.
 	 */
-	public synchronized byte getModifiedByte(long offset)
+	public byte getModifiedByte(long offset)
 			throws IOException, IndexOutOfBoundsException {
 		return getByte(layeredBuffers, offset);
 	}
@@ -124,7 +138,7 @@ public class FileBytes {
 	 * @throws IOException if there is a problem reading the database.
 	 * @throws IndexOutOfBoundsException if the given offset is invalid.
 	 */
-	public synchronized byte getOriginalByte(long offset)
+	public byte getOriginalByte(long offset)
 			throws IOException, IndexOutOfBoundsException {
 		return getByte(originalBuffers, offset);
 	}
@@ -139,7 +153,7 @@ public class FileBytes {
 	 * @throws IOException if there is an error reading from the database
 	 * @throws IndexOutOfBoundsException if the given offset is invalid.
 	 */
-	public synchronized int getModifiedBytes(long offset, byte[] b)
+	public int getModifiedBytes(long offset, byte[] b)
 			throws IOException, IndexOutOfBoundsException {
 		return getBytes(layeredBuffers, offset, b, 0, b.length);
 	}
@@ -154,7 +168,7 @@ public class FileBytes {
 	 * @throws IOException if there is an error reading from the database
 	 * @throws IndexOutOfBoundsException if the given offset is invalid.
 	 */
-	public synchronized int getOriginalBytes(long offset, byte[] b)
+	public int getOriginalBytes(long offset, byte[] b)
 			throws IOException, IndexOutOfBoundsException {
 		return getBytes(originalBuffers, offset, b, 0, b.length);
 	}
@@ -173,7 +187,7 @@ public class FileBytes {
 	 * @throws IndexOutOfBoundsException if the destination offset and length would exceed the
 	 * size of the buffer b.
 	 */
-	public synchronized int getModifiedBytes(long offset, byte[] b, int off, int length)
+	public int getModifiedBytes(long offset, byte[] b, int off, int length)
 			throws IOException, IndexOutOfBoundsException {
 		return getBytes(layeredBuffers, offset, b, off, length);
 	}
@@ -192,11 +206,44 @@ public class FileBytes {
 	 * @throws IndexOutOfBoundsException if the destination offset and length would exceed the
 	 * size of the buffer b.
 	 */
-	public synchronized int getOriginalBytes(long offset, byte[] b, int off, int length)
+	public int getOriginalBytes(long offset, byte[] b, int off, int length)
 			throws IOException, IndexOutOfBoundsException {
 		return getBytes(originalBuffers, offset, b, off, length);
 	}
 
+	/**
+	 * Tries to fill the remaining space in the given buffer with (possibly modified) bytes from
+	 * this FileBytes entry starting at the given offset.  May read fewer bytes if the requested
+	 * length is beyond the end of the file bytes.  The buffer's position is advanced by the number
+	 * of bytes read.
+	 * <P>
+	 * Bytes are read directly into the buffer's backing array when it has one; otherwise they are
+	 * staged through a temporary array no larger than a single database buffer.
+	 * 
+	 * @param offset the offset into the files bytes to start.
+	 * @param dst the buffer to populate.
+	 * @return the number of bytes actually populated.
+	 * @throws IOException if there is an error reading from the database
+	 */
+	public int getModifiedBytes(long offset, ByteBuffer dst) throws IOException {
+		return getBytes(layeredBuffers, offset, dst);
+	}
+
+	/**
+	 * Tries to fill the remaining space in the given buffer with original bytes from this
+	 * FileBytes entry starting at the given offset.  May read fewer bytes if the requested length
+	 * is beyond the end of the file bytes.  The buffer's position is advanced by the number of
+	 * bytes read.
+	 * 
+	 * @param offset the offset into the files bytes to start.
+	 * @param dst the buffer to populate.
+	 * @return the number of bytes actually populated.
+	 * @throws IOException if there is an error reading from the database
+	 */
+	public int getOriginalBytes(long offset, ByteBuffer dst) throws IOException {
+		return getBytes(originalBuffers, offset, dst);
+	}
+
 	void checkValid() {
 		if (invalid) {
 			throw new ConcurrentModificationException();
@@ -361,6 +408,35 @@ public class FileBytes {
 		return length;
 	}
 
+	private int getBytes(DBBuffer[] buffers, long offset, ByteBuffer dst) throws IOException {
+		if (dst.hasArray()) {
+			int n = getBytes(buffers, offset, dst.array(), dst.arrayOffset() + dst.position(),
+				dst.remaining());
+			dst.position(dst.position() + n);
+			return n;
+		}
+
+		checkValid();
+		int length = (int) Math.min(dst.remaining(), size - offset);
+		if (length <= 0) {
+			return 0;
+		}
+		int maxBufferSize = buffers[0].length();
+		byte[] tmp = new byte[Math.min(length, maxBufferSize)];
+		long fileBytesOffset = offset;
+		int n = length;
+		while (n > 0) {
+			int dbBufferIndex = (int) (fileBytesOffset / maxBufferSize);
+			int localOffset = (int) (fileBytesOffset % maxBufferSize);
+			int readLen = Math.min(Math.min(maxBufferSize - localOffset, n), tmp.length);
+			buffers[dbBufferIndex].get(localOffset, tmp, 0, readLen);
+			dst.put(tmp, 0, readLen);
+			n -= readLen;
+			fileBytesOffset += readLen;
+		}
+		return length;
+	}
+
 	@Override
 	public String toString() {
 		return getFilename();
@@ -80,7 +80,9 @@ abstract class FileBytesAdapter {
 	}
 
 	/**
-	 * Create {@link FileBytes} from specified input stream
+	 * Create {@link FileBytes} from specified input stream.  If the bytes are identical to the
+	 * original bytes of an existing {@link FileBytes}, its original bytes are shared rather
+	 * than stored again.
 	 * @param filename name of original file
 	 * @param offset position of input stream within original file or 0 if no file
 	 * @param size number of bytes to be read from input stream for stored file bytes
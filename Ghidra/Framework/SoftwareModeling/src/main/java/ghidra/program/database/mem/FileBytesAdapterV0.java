@@ -15,8 +15,7 @@
  */
 package ghidra.program.database.mem;
 
-import java.io.IOException;
-import java.io.InputStream;
+import java.io.*;
 import java.util.*;
 
 import db.*;
@@ -44,6 +43,9 @@ class FileBytesAdapterV0 extends FileBytesAdapter {
 		new String[] { "Filename", "Offset", "Size", "Chain Buffer IDs",
 			"Layered Chain Buffer IDs" });
 
+	// number of bytes compared at a time when looking for identical original bytes
+	private static final int COMPARE_BUFFER_SIZE = 64 * 1024;
+
 	private Table table;
 	private List<FileBytes> fileBytesList = new ArrayList<>();
 
@@ -75,7 +77,28 @@ class FileBytesAdapterV0 extends FileBytesAdapter {
 	@Override
 	FileBytes createFileBytes(String filename, long offset, long size, InputStream is,
 			TaskMonitor monitor) throws IOException {
-		DBBuffer[] buffers = createBuffers(size, is, monitor);
+		if (monitor == null) {
+			monitor = TaskMonitor.DUMMY;
+		}
+		MonitoredInputStream mis = getMonitoredInputStream(is, size, monitor);
+
+		// Only compare the new bytes if there are existing file bytes they could be identical to
+		DBBuffer[] buffers = null;
+		InputStream in = mis;
+		List<FileBytes> candidates = getFileBytesOfSize(size);
+		if (!candidates.isEmpty()) {
+			OriginalBytesMatcher matcher = new OriginalBytesMatcher(mis, candidates);
+			FileBytes identical = matcher.findIdentical(size);
+			if (identical != null) {
+				buffers = identical.getOriginalBuffers();
+			}
+			else {
+				in = matcher.getInputStream();
+			}
+		}
+		if (buffers == null) {
+			buffers = createBuffers(size, in, mis, monitor);
+		}
 		DBBuffer[] layeredBuffers = createLayeredBuffers(buffers);
 		int[] bufIds = getIds(buffers);
 		int[] layeredBufIds = getIds(layeredBuffers);
@@ -138,6 +161,19 @@ class FileBytesAdapterV0 extends FileBytesAdapter {
 		return false;
 	}
 
+	private List<FileBytes> getFileBytesOfSize(long size) {
+		List<FileBytes> list = new ArrayList<>();
+		if (size <= 0) {
+			return list;
+		}
+		for (FileBytes fileBytes : fileBytesList) {
+			if (fileBytes.getSize() == size) {
+				list.add(fileBytes);
+			}
+		}
+		return list;
+	}
+
 	private int[] getIds(DBBuffer[] buffers) {
 		int[] ids = new int[buffers.length];
 		for (int i = 0; i < ids.length; i++) {
@@ -155,12 +191,8 @@ class FileBytesAdapterV0 extends FileBytesAdapter {
 	}
 
 	@SuppressWarnings("resource")
-	private DBBuffer[] createBuffers(long size, InputStream is, TaskMonitor monitor)
-			throws IOException {
-
-		if (monitor == null) {
-			monitor = TaskMonitor.DUMMY;
-		}
+	private MonitoredInputStream getMonitoredInputStream(InputStream is, long size,
+			TaskMonitor monitor) {
 		MonitoredInputStream mis;
 		if (is instanceof MonitoredInputStream) {
 			mis = (MonitoredInputStream) is;
@@ -171,6 +203,11 @@ class FileBytesAdapterV0 extends FileBytesAdapter {
 			mis = new MonitoredInputStream(is, monitor).setCleanupOnCancel(true);
 			monitor.initialize(size);
 		}
+		return mis;
+	}
+
+	private DBBuffer[] createBuffers(long size, InputStream in, MonitoredInputStream mis,
+			TaskMonitor monitor) throws IOException {
 
 		int maxBufSize = getMaxBufferSize();
 		int bufCount = (int) (size / maxBufSize);
@@ -193,7 +230,7 @@ class FileBytesAdapterV0 extends FileBytesAdapter {
 
 		try {
 			for (DBBuffer buffer : buffers) {
-				buffer.fill(mis);
+				buffer.fill(in);
 			}
 		}
 		catch (IOCancelledException e) {
@@ -214,4 +251,107 @@ class FileBytesAdapterV0 extends FileBytesAdapter {
 		return buffers;
 
 	}
+
+	/**
+	 * Reads new bytes and compares them with the original bytes of existing file bytes of the
+	 * same size, before anything is written to the database.  If the new bytes are identical to
+	 * those of a candidate, the candidate's original buffers can be shared and the new bytes
+	 * never need to be stored.  Reading stops as soon as the new bytes differ from those of
+	 * every candidate, and {@link #getInputStream()} then supplies all of the new bytes, starting
+	 * with the ones already read.
+	 */
+	private static class OriginalBytesMatcher {
+		private InputStream in;
+		private List<FileBytes> candidates;
+
+		// number of leading new bytes known to be identical to the original bytes of prefixSource
+		private long matchedLength;
+		private FileBytes prefixSource;
+
+		// new bytes which were read after matchedLength but are not stored anywhere else
+		private byte[] pendingBytes = new byte[0];
+
+		OriginalBytesMatcher(InputStream in, List<FileBytes> candidates) {
+			this.in = in;
+			this.candidates = new ArrayList<>(candidates);
+		}
+
+		/**
+		 * Reads and compares the new bytes
+		 * @param size number of new bytes
+		 * @return the candidate whose original bytes are identical to all of the new bytes, or
+		 * null if there isn't one
+		 * @throws IOException if the new bytes or the original bytes can't be read
+		 */
+		FileBytes findIdentical(long size) throws IOException {
+			byte[] newBytes = new byte[(int) Math.min(size, COMPARE_BUFFER_SIZE)];
+			byte[] originalBytes = new byte[newBytes.length];
+			while (matchedLength < size) {
+				int length = (int) Math.min(newBytes.length, size - matchedLength);
+				int n = in.readNBytes(newBytes, 0, length);
+				Iterator<FileBytes> it = candidates.iterator();
+				while (it.hasNext()) {
+					FileBytes candidate = it.next();
+					if (n < length || candidate.getOriginalBytes(matchedLength, originalBytes, 0,
+						n) != n || !Arrays.equals(newBytes, 0, n, originalBytes, 0, n)) {
+						prefixSource = candidate;
+						it.remove();
+					}
+				}
+				if (candidates.isEmpty()) {
+					pendingBytes = Arrays.copyOf(newBytes, n);
+					return null;
+				}
+				matchedLength += n;
+			}
+			return candidates.get(0);
+		}
+
+		/**
+		 * Returns a stream of all of the new bytes, after {@link #findIdentical(long)} found no
+		 * identical candidate.  The bytes which matched are read back from the candidate which
+		 * matched them rather than being held in memory.
+		 * @return the new bytes
+		 */
+		InputStream getInputStream() {
+			InputStream prefix = new OriginalBytesInputStream(prefixSource, matchedLength);
+			return new SequenceInputStream(Collections.enumeration(
+				List.of(prefix, new ByteArrayInputStream(pendingBytes), in)));
+		}
+	}
+
+	/**
+	 * Reads the leading original bytes of a file bytes
+	 */
+	private static class OriginalBytesInputStream extends InputStream {
+		private FileBytes fileBytes;
+		private long length;
+		private long offset;
+
+		OriginalBytesInputStream(FileBytes fileBytes, long length) {
+			this.fileBytes = fileBytes;
+			this.length = length;
+		}
+
+		@Override
+		public int read() throws IOException {
+			byte[] b = new byte[1];
+			return read(b, 0, 1) == 1 ? Byte.toUnsignedInt(b[0]) : -1;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			if (len == 0) {
+				return 0;
+			}
+			if (offset >= length) {
+				return -1;
+			}
+			int n = fileBytes.getOriginalBytes(offset, b, off, (int) Math.min(len, length - offset));
+			if (n > 0) {
+				offset += n;
+			}
+			return n;
+		}
+	}
 }
@@ -16,6 +16,7 @@
 package ghidra.program.database.mem;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 
 import db.DBRecord;
 import ghidra.program.model.mem.MemoryAccessException;
@@ -53,6 +54,19 @@ class FileBytesSubMemoryBlock extends SubMemoryBlock {
 		return fileBytes.getModifiedBytes(fileBytesOffset + offsetInSubBlock, b, off, len);
 	}
 
+	@Override
+	public int getBytes(long offsetInMemBlock, ByteBuffer dst) throws IOException {
+		long offsetInSubBlock = offsetInMemBlock - subBlockOffset;
+		long available = subBlockLength - offsetInSubBlock;
+		if (dst.remaining() <= available) {
+			return fileBytes.getModifiedBytes(fileBytesOffset + offsetInSubBlock, dst);
+		}
+		ByteBuffer slice = dst.slice(dst.position(), (int) available);
+		int n = fileBytes.getModifiedBytes(fileBytesOffset + offsetInSubBlock, slice);
+		dst.position(dst.position() + n);
+		return n;
+	}
+
 	@Override
 	public void putByte(long offsetInMemBlock, byte b) throws MemoryAccessException, IOException {
 		long offsetInSubBlock = offsetInMemBlock - subBlockOffset;
@@ -18,6 +18,7 @@ package ghidra.program.database.mem;
 import java.io.IOException;
 import java.io.InputStream;
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
 import java.util.*;
 
 import db.DBBuffer;
@@ -514,6 +515,43 @@ public class MemoryBlockDB implements MemoryBlock {
 		return totalCopied;
 	}
 
+	/**
+	 * Tries to fill the remaining space in the given buffer with bytes from this block starting
+	 * at the given block offset.  May return fewer bytes if the requested length is beyond the
+	 * end of the block.  The buffer's position is advanced by the number of bytes read.
+	 * @param offset the offset from the start of this block
+	 * @param dst the buffer to populate
+	 * @return the number of bytes put into the buffer
+	 * @throws IndexOutOfBoundsException if the offset is not within this block
+	 * @throws MemoryAccessException if any of the requested bytes are uninitialized
+	 */
+	public int getBytes(long offset, ByteBuffer dst)
+			throws IndexOutOfBoundsException, MemoryAccessException {
+		if (offset < 0 || offset >= length) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		int len = (int) Math.min(dst.remaining(), length - offset);
+		int limit = dst.limit();
+		dst.limit(dst.position() + len);
+		int totalCopied = 0;
+		try {
+			while (totalCopied < len) {
+				SubMemoryBlock subBlock = getSubBlock(offset + totalCopied);
+				totalCopied += subBlock.getBytes(offset + totalCopied, dst);
+			}
+		}
+		catch (IOException e) {
+			checkValid();
+			memMap.dbError(e);
+		}
+		finally {
+			dst.limit(limit);
+		}
+
+		return totalCopied;
+	}
+
 	protected long getBlockOffset(Address addr) throws MemoryAccessException {
 		if (!addr.hasSameAddressSpace(startAddress)) {
 			throw new MemoryAccessException("Address not contained in block: " + addr);
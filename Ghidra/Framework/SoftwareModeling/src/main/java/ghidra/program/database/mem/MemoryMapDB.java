@@ -17,6 +17,7 @@ package ghidra.program.database.mem;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.util.*;
 
 import db.DBHandle;
@@ -46,12 +47,15 @@ public class MemoryMapDB implements Memory, ManagerDB {
 	private AddressMapDB addrMap;
 	private MemoryMapDBAdapter adapter;
 	private FileBytesAdapter fileBytesAdapter;
+	private MemoryNgramIndex ngramIndex;
 
 	private static final DataConverter BIG_ENDIAN = BigEndianDataConverter.INSTANCE;
 	private static final DataConverter LITTLE_ENDIAN = LittleEndianDataConverter.INSTANCE;
 
 	private DataConverter defaultEndian;
-	private List<MemoryBlockDB> blocks;// sorted list of blocks
+	// immutable sorted list of blocks; replaced (never modified) when blocks change so that
+	// lookups can be made without holding a lock
+	private volatile List<MemoryBlockDB> blocks;
 	private AddressSetView allAddrSet = new AddressSetViewAdapter(); // replaced on update
 
 	private MemoryAddressSetViews addrSetViews;
@@ -67,7 +71,15 @@ public class MemoryMapDB implements Memory, ManagerDB {
 		private AddressSet execute = new AddressSet(); // may be replaced when block permissions change
 	}
 
-	private MemoryBlock lastBlock;// the last accessed block
+	/**
+	 * The last block accessed, along with the block list it was found in.  The hint is only
+	 * valid while that list is still the current list of blocks.
+	 */
+	private record BlockHint(List<MemoryBlockDB> blocks, MemoryBlockDB block) {
+		// empty
+	}
+
+	private volatile BlockHint lastBlock; // the last accessed block
 
 	// lazy hashmap of block names to blocks, must be reloaded if blocks are removed or added
 	private HashMap<String, MemoryBlock> nameBlockMap = new HashMap<>();
@@ -101,6 +113,7 @@ public class MemoryMapDB implements Memory, ManagerDB {
 		defaultEndian = isBigEndian ? BIG_ENDIAN : LITTLE_ENDIAN;
 		adapter = MemoryMapDBAdapter.getAdapter(handle, openMode, this, monitor);
 		fileBytesAdapter = FileBytesAdapter.getAdapter(handle, openMode, monitor);
+		ngramIndex = new MemoryNgramIndex(handle, this, addrMap);
 		initializeBlocks();
 		buildAddressSets(true);
 	}
@@ -256,6 +269,9 @@ public class MemoryMapDB implements Memory, ManagerDB {
 		synchronized (this) {
 			fileBytesAdapter.refresh();
 			adapter.refreshMemory();
+			if (ngramIndex != null) {
+				ngramIndex.refresh();
+			}
 			initializeBlocks();
 			buildAddressSets(true);
 		}
@@ -263,7 +279,7 @@ public class MemoryMapDB implements Memory, ManagerDB {
 	}
 
 	private synchronized void initializeBlocks() {
-		blocks = adapter.getMemoryBlocks();
+		blocks = List.copyOf(adapter.getMemoryBlocks());
 		lastBlock = null;
 		nameBlockMap = new HashMap<>();
 		addrSetViews = null; // signal stale views
@@ -489,23 +505,20 @@ public class MemoryMapDB implements Memory, ManagerDB {
 		return null;
 	}
 
-	private synchronized MemoryBlock getBlockDB(Address addr) {
-		if (lastBlock != null) {
-			if (lastBlock.contains(addr)) {
-				return lastBlock;
-			}
-		}
+	private MemoryBlockDB getBlockDB(Address addr) {
 		List<MemoryBlockDB> tmpBlocks = blocks;
+		BlockHint hint = lastBlock;
+		if (hint != null && hint.blocks() == tmpBlocks && hint.block().contains(addr)) {
+			return hint.block();
+		}
 		int index = Collections.binarySearch(tmpBlocks, addr, BLOCK_ADDRESS_COMPARATOR);
-		if (index >= 0) {
-			lastBlock = tmpBlocks.get(index);
-			return lastBlock;
+		if (index < 0) {
+			index = -index - 2;
 		}
-		index = -index - 2;
 		if (index >= 0) {
-			MemoryBlock block = tmpBlocks.get(index);
+			MemoryBlockDB block = tmpBlocks.get(index);
 			if (block.contains(addr)) {
-				lastBlock = block;
+				lastBlock = new BlockHint(tmpBlocks, block);
 				return block;
 			}
 		}
@@ -513,6 +526,7 @@ public class MemoryMapDB implements Memory, ManagerDB {
 	}
 
 	private void fireBlockAdded(MemoryBlock newBlock) {
+		updateNgramIndex(newBlock.getStart(), newBlock.getEnd());
 		AddressRange range = new AddressRangeImpl(newBlock.getStart(), newBlock.getEnd());
 		program.getTreeManager().addMemoryBlock(newBlock.getName(), range);
 		program.setChanged(ProgramEvent.MEMORY_BLOCK_ADDED, newBlock.getStart(), newBlock.getEnd(),
@@ -561,6 +575,7 @@ public class MemoryMapDB implements Memory, ManagerDB {
 			Address end = addr.addNoWrap(count - 1);
 
 			program.getCodeManager().memoryChanged(addr, end);
+			updateNgramIndex(addr, end);
 			program.setChanged(ProgramEvent.MEMORY_BYTES_CHANGED, addr, end, null, null);
 
 		}
@@ -573,6 +588,59 @@ public class MemoryMapDB implements Memory, ManagerDB {
 		}
 	}
 
+	private void updateNgramIndex(Address start, Address end) {
+		if (ngramIndex != null) {
+			ngramIndex.bytesChanged(start, end);
+		}
+	}
+
+	/**
+	 * Writes any pending changes to the n-gram index.  This is invoked by the program prior to
+	 * committing a transaction.
+	 */
+	public void flushWriteCache() {
+		if (ngramIndex == null) {
+			return;
+		}
+		lock.acquire();
+		try {
+			ngramIndex.flushDirtyBuckets();
+		}
+		catch (IOException e) {
+			dbError(e);
+		}
+		finally {
+			lock.release();
+		}
+	}
+
+	/**
+	 * Discards any pending changes to the n-gram index.  This is invoked by the program prior to
+	 * aborting a transaction.
+	 */
+	public void invalidateWriteCache() {
+		if (ngramIndex == null) {
+			return;
+		}
+		lock.acquire();
+		try {
+			ngramIndex.invalidateDirtyBuckets();
+		}
+		finally {
+			lock.release();
+		}
+	}
+
+	/**
+	 * Returns the optional n-gram index of memory bytes which can be used to speed up
+	 * repeated memory searches.
+	 * 
+	 * @return the n-gram index
+	 */
+	public MemoryNgramIndex getNgramIndex() {
+		return ngramIndex;
+	}
+
 	@Override
 	public boolean isBigEndian() {
 		return defaultEndian == BIG_ENDIAN;
@@ -967,6 +1035,8 @@ public class MemoryMapDB implements Memory, ManagerDB {
 				try {
 					memBlock.setStartAddress(newStartAddr);
 					reloadAll();
+					updateNgramIndex(oldStartAddr, oldStartAddr.add(block.getSize() - 1));
+					updateNgramIndex(newStartAddr, newEndAddr);
 				}
 				catch (IOException e) {
 					program.dbError(e);
@@ -1058,6 +1128,7 @@ public class MemoryMapDB implements Memory, ManagerDB {
 			MemoryBlock newBlock = null;
 			try {
 				memBlock1.join(memBlock2);
+				initializeBlocks();
 				newBlock = getBlockDB(block1Addr);
 				fireBlocksJoined(newBlock, block2Addr);
 			}
@@ -1433,6 +1504,31 @@ public class MemoryMapDB implements Memory, ManagerDB {
 		return numRead;
 	}
 
+	@Override
+	public int getBytes(Address addr, ByteBuffer dest) throws MemoryAccessException {
+		int size = dest.remaining();
+		int numRead = 0;
+		long lastRead = 0;
+		while (numRead < size) {
+			try {
+				addr = addr.addNoWrap(lastRead);
+				MemoryBlockDB block = getBlockDB(addr);
+				if (block == null || !(block.isInitialized() || block.isMapped())) {
+					break;
+				}
+				lastRead = block.getBytes(addr.subtract(block.getStart()), dest);
+				numRead += lastRead;
+			}
+			catch (AddressOverflowException e) {
+				break;
+			}
+		}
+		if (numRead == 0 && size > 0) {
+			throw new MemoryAccessException("Unable to read bytes at " + addr.toString(true));
+		}
+		return numRead;
+	}
+
 	@Override
 	public short getShort(Address addr) throws MemoryAccessException {
 		byte[] byteBuf = new byte[2];
@@ -1889,6 +1985,7 @@ public class MemoryMapDB implements Memory, ManagerDB {
 				memBlock.delete();
 				removeFromAllAddressSet(startAddress, endAddress);
 				initializeBlocks();
+				updateNgramIndex(startAddress, endAddress);
 			}
 			catch (IOException e) {
 				program.dbError(e);
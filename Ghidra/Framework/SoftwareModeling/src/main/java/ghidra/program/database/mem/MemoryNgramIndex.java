@@ -0,0 +1,418 @@
+/* ###
+ * IP: GHIDRA
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ghidra.program.database.mem;
+
+import java.io.IOException;
+import java.util.List;
+
+import db.*;
+import ghidra.program.database.map.AddressMap;
+import ghidra.program.database.map.AddressMapDB;
+import ghidra.program.model.address.*;
+import ghidra.program.model.mem.MemoryAccessException;
+import ghidra.util.exception.CancelledException;
+import ghidra.util.task.TaskMonitor;
+
+/**
+ * An optional, persisted index of the byte n-grams found in initialized memory. It allows
+ * memory searches to skip over the parts of memory that can't possibly contain a given
+ * byte sequence without reading them.
+ * <P>
+ * Memory is partitioned into fixed size, aligned buckets. For each bucket, a small Bloom filter
+ * of all the {@value #NGRAM_LENGTH}-byte sequences that start within that bucket is stored in the
+ * program database, keyed by the bucket's address key. The index is kept up to date as memory
+ * bytes and blocks change, and since it lives in the program database, it is also correctly
+ * restored by undo/redo. Changed buckets are only marked dirty as bytes are written, and are
+ * rebuilt once when the transaction is committed; until then, they are treated as possible
+ * matches.
+ * <P>
+ * Buckets for which there is no filter (such as those containing mapped blocks whose bytes
+ * depend on other blocks) are always treated as possible matches.
+ * <P>
+ * The index is disabled by default. Enabling it requires an open transaction and indexes all
+ * of memory; the filters take up roughly half the size of initialized memory.
+ */
+public class MemoryNgramIndex {
+	/**
+	 * The length of the byte sequences recorded by the index. Byte sequences shorter than this
+	 * can't be used to narrow a search.
+	 */
+	public static final int NGRAM_LENGTH = 3;
+
+	static final String TABLE_NAME = "Memory NGram Index";
+	static final int VERSION = 0;
+	static final int BUCKET_SIZE = 16 * 1024;
+
+	private static final int FILTER_BITS = 64 * 1024;
+	private static final int FILTER_COL = 0;
+	private static final byte[] EMPTY_FILTER = new byte[FILTER_BITS / 8];
+
+	static final Schema SCHEMA = new Schema(VERSION, "Bucket Address Key",
+		new Field[] { BinaryField.INSTANCE }, new String[] { "NGram Filter" });
+
+	private final DBHandle handle;
+	private final MemoryMapDB memMap;
+	private final AddressMapDB addrMap;
+	private Table table;
+
+	// buckets changed in the current transaction whose filters have not yet been rebuilt
+	private AddressSet dirtyBuckets = new AddressSet();
+
+	MemoryNgramIndex(DBHandle handle, MemoryMapDB memMap, AddressMapDB addrMap) {
+		this.handle = handle;
+		this.memMap = memMap;
+		this.addrMap = addrMap;
+		refresh();
+	}
+
+	/**
+	 * Reacquires the index table, which may have been created or removed by an undo or redo.
+	 */
+	void refresh() {
+		table = handle.getTable(TABLE_NAME);
+		if (table != null && table.getSchema().getVersion() != VERSION) {
+			// we don't know how to maintain some other version of the index, so ignore it
+			table = null;
+		}
+	}
+
+	/**
+	 * Returns true if this index is enabled (and therefore maintained) for the program.
+	 * @return true if this index is enabled
+	 */
+	public boolean isEnabled() {
+		return table != null;
+	}
+
+	/**
+	 * Enables or disables this index. Enabling the index builds it for all of memory, while
+	 * disabling it removes it from the program. A transaction must be open.
+	 * @param enabled true to enable the index, false to remove it
+	 * @param monitor the task monitor
+	 * @throws IOException if a database error occurs
+	 * @throws CancelledException if the monitor is cancelled while building the index
+	 */
+	public void setEnabled(boolean enabled, TaskMonitor monitor)
+			throws IOException, CancelledException {
+		memMap.lock.acquire();
+		try {
+			if (enabled == isEnabled()) {
+				return;
+			}
+			dirtyBuckets = new AddressSet();
+			if (!enabled) {
+				handle.deleteTable(TABLE_NAME);
+				table = null;
+				return;
+			}
+			table = handle.createTable(TABLE_NAME, SCHEMA);
+			AddressSetView initialized = memMap.getAllInitializedAddressSet();
+			monitor.initialize(initialized.getNumAddresses(), "Indexing memory...");
+			for (AddressRange range : initialized.getAddressRanges()) {
+				Address bucket = getBucketStart(range.getMinAddress());
+				while (bucket != null && bucket.compareTo(range.getMaxAddress()) <= 0) {
+					monitor.checkCancelled();
+					Address bucketEnd = getBucketEnd(bucket);
+					updateBucket(bucket, bucketEnd);
+					monitor.incrementProgress(BUCKET_SIZE);
+					bucket = bucketEnd.next();
+				}
+			}
+		}
+		finally {
+			memMap.lock.release();
+		}
+	}
+
+	/**
+	 * Returns a subset of the given addresses that contains every occurrence, within the given
+	 * addresses, of any byte sequence that contains one of the given anchor sequences.
+	 * <P>
+	 * Since an anchor may be located anywhere within a larger byte sequence being searched for,
+	 * the caller also specifies the largest offset of an anchor within its sequence and the
+	 * length of the longest sequence. If any anchor is shorter than {@link #NGRAM_LENGTH}, or
+	 * this index is not enabled, no narrowing is possible and a copy of the given addresses is
+	 * returned.
+	 * @param addresses the addresses to be searched
+	 * @param anchors byte sequences of which at least one must occur in every match
+	 * @param maxAnchorOffset the largest offset of an anchor within its sequence
+	 * @param maxLength the length of the longest sequence being searched for
+	 * @return the subset of addresses that may contain matches
+	 */
+	public AddressSet getCandidateAddresses(AddressSetView addresses, List<byte[]> anchors,
+			int maxAnchorOffset, int maxLength) {
+		if (!isEnabled() || anchors.isEmpty()) {
+			return new AddressSet(addresses);
+		}
+		int[][] anchorHashes = new int[anchors.size()][];
+		for (int i = 0; i < anchorHashes.length; i++) {
+			byte[] anchor = anchors.get(i);
+			if (anchor.length < NGRAM_LENGTH) {
+				return new AddressSet(addresses);
+			}
+			anchorHashes[i] = getHashes(anchor);
+		}
+
+		AddressSet candidates = new AddressSet();
+		memMap.lock.acquire();
+		try {
+			AddressSetView initialized = memMap.getAllInitializedAddressSet();
+			for (AddressRange range : addresses.getAddressRanges()) {
+				Address bucket = getBucketStart(range.getMinAddress());
+				byte[] filter = getFilter(bucket, initialized);
+				while (bucket != null && bucket.compareTo(range.getMaxAddress()) <= 0) {
+					Address bucketEnd = getBucketEnd(bucket);
+					Address nextBucket = bucketEnd.next();
+					byte[] nextFilter =
+						nextBucket == null ? EMPTY_FILTER : getFilter(nextBucket, initialized);
+					if (mayContain(filter, nextFilter, anchorHashes)) {
+						addCandidates(candidates, range, bucket, bucketEnd, maxAnchorOffset,
+							maxLength);
+					}
+					bucket = nextBucket;
+					filter = nextFilter;
+				}
+			}
+		}
+		catch (IOException e) {
+			memMap.dbError(e);
+		}
+		finally {
+			memMap.lock.release();
+		}
+		return candidates;
+	}
+
+	/**
+	 * Marks the buckets affected by a change to the bytes in the given range, including the
+	 * addition or removal of memory, as needing to be rebuilt.  The memory map lock must be
+	 * held.
+	 * @param start the first changed address
+	 * @param end the last changed address
+	 */
+	void bytesChanged(Address start, Address end) {
+		if (!isEnabled()) {
+			return;
+		}
+		// n-grams starting just before the change include changed bytes
+		Address first = start.subtractWrap(NGRAM_LENGTH - 1);
+		if (first.compareTo(start) > 0) {
+			first = start.getAddressSpace().getMinAddress();
+		}
+		dirtyBuckets.add(getBucketStart(first), getBucketEnd(getBucketStart(end)));
+	}
+
+	/**
+	 * Rebuilds the filters of all buckets changed since the last flush. This is called before
+	 * a transaction is committed, so the rebuilt filters become part of that transaction.  The
+	 * memory map lock must be held.
+	 * @throws IOException if a database error occurs
+	 */
+	void flushDirtyBuckets() throws IOException {
+		if (dirtyBuckets.isEmpty()) {
+			return;
+		}
+		AddressSet buckets = dirtyBuckets;
+		dirtyBuckets = new AddressSet();
+		if (!isEnabled()) {
+			return;
+		}
+		for (AddressRange range : buckets.getAddressRanges()) {
+			rebuild(range.getMinAddress(), range.getMaxAddress());
+		}
+	}
+
+	/**
+	 * Discards the record of changed buckets, since the changes are being rolled back.
+	 */
+	void invalidateDirtyBuckets() {
+		dirtyBuckets = new AddressSet();
+	}
+
+	private void rebuild(Address firstBucket, Address lastBucketEnd) throws IOException {
+		for (KeyRange keyRange : addrMap.getKeyRanges(firstBucket, lastBucketEnd, false)) {
+			table.deleteRecords(keyRange.minKey, keyRange.maxKey);
+		}
+
+		AddressSetView initialized =
+			memMap.getAllInitializedAddressSet().intersectRange(firstBucket, lastBucketEnd);
+		for (AddressRange range : initialized.getAddressRanges()) {
+			Address bucket = getBucketStart(range.getMinAddress());
+			while (bucket != null && bucket.compareTo(range.getMaxAddress()) <= 0) {
+				Address bucketEnd = getBucketEnd(bucket);
+				updateBucket(bucket, bucketEnd);
+				bucket = bucketEnd.next();
+			}
+		}
+	}
+
+	private void updateBucket(Address bucket, Address bucketEnd) throws IOException {
+		byte[] filter = buildFilter(bucket, bucketEnd);
+		if (filter == null) {
+			table.deleteRecord(addrMap.getKey(bucket, true));
+			return;
+		}
+		DBRecord record = SCHEMA.createRecord(addrMap.getKey(bucket, true));
+		record.setBinaryData(FILTER_COL, filter);
+		table.putRecord(record);
+	}
+
+	/**
+	 * Builds the filter for all n-grams starting within the given bucket, or null if the bucket
+	 * can't be indexed.
+	 */
+	private byte[] buildFilter(Address bucket, Address bucketEnd) {
+		Address readEnd = bucketEnd.addWrap(NGRAM_LENGTH - 1);
+		if (readEnd.compareTo(bucketEnd) < 0) {
+			readEnd = bucketEnd;
+		}
+		for (MemoryBlockDB block : memMap.getBlocks(bucket, readEnd)) {
+			if (block.isMapped()) {
+				// mapped bytes change without notification when their source changes
+				return null;
+			}
+		}
+
+		byte[] filter = new byte[FILTER_BITS / 8];
+		byte[] bytes = new byte[BUCKET_SIZE + NGRAM_LENGTH - 1];
+		AddressSetView initialized =
+			memMap.getAllInitializedAddressSet().intersectRange(bucket, readEnd);
+		for (AddressRange range : initialized.getAddressRanges()) {
+			Address min = range.getMinAddress();
+			if (min.compareTo(bucketEnd) > 0) {
+				break;
+			}
+			int length = (int) range.getLength();
+			try {
+				memMap.getBytes(min, bytes, 0, length);
+			}
+			catch (MemoryAccessException e) {
+				return null;
+			}
+			int lastStart = (int) Math.min(length - NGRAM_LENGTH, bucketEnd.subtract(min));
+			for (int i = 0; i <= lastStart; i++) {
+				setBits(filter, getNgram(bytes, i));
+			}
+		}
+		return filter;
+	}
+
+	/**
+	 * Returns the stored filter for the given bucket; null means every n-gram may be present.
+	 */
+	private byte[] getFilter(Address bucket, AddressSetView initialized) throws IOException {
+		if (dirtyBuckets.contains(bucket)) {
+			return null;
+		}
+		long key = addrMap.getKey(bucket, false);
+		if (key != AddressMap.INVALID_ADDRESS_KEY) {
+			DBRecord record = table.getRecord(key);
+			if (record != null) {
+				return record.getBinaryData(FILTER_COL);
+			}
+		}
+		return initialized.intersects(bucket, getBucketEnd(bucket)) ? null : EMPTY_FILTER;
+	}
+
+	/**
+	 * Returns true if any of the anchors could start in the first bucket. The first n-gram of an
+	 * anchor starting in a bucket must be in that bucket's filter, but since the anchor may extend
+	 * into the next bucket, each of its other n-grams must only be in either filter.
+	 */
+	private boolean mayContain(byte[] filter, byte[] nextFilter, int[][] anchorHashes) {
+		if (filter == EMPTY_FILTER) {
+			return false;
+		}
+		if (filter == null || nextFilter == null) {
+			return true;
+		}
+		for (int[] hashes : anchorHashes) {
+			boolean found = isSet(filter, hashes[0]) && isSet(filter, hashes[1]);
+			for (int i = 2; i < hashes.length && found; i += 2) {
+				found = (isSet(filter, hashes[i]) && isSet(filter, hashes[i + 1])) ||
+					(isSet(nextFilter, hashes[i]) && isSet(nextFilter, hashes[i + 1]));
+			}
+			if (found) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private void addCandidates(AddressSet candidates, AddressRange range, Address bucket,
+			Address bucketEnd, int maxAnchorOffset, int maxLength) {
+		// a match whose anchor starts in this bucket may begin before it and extend past it
+		Address min = range.getMinAddress();
+		if (bucket.compareTo(min) > 0 &&
+			Long.compareUnsigned(bucket.subtract(min), maxAnchorOffset) > 0) {
+			min = bucket.subtract(maxAnchorOffset);
+		}
+		Address max = range.getMaxAddress();
+		if (bucketEnd.compareTo(max) < 0 &&
+			Long.compareUnsigned(max.subtract(bucketEnd), maxLength) > 0) {
+			max = bucketEnd.add(maxLength);
+		}
+		candidates.add(min, max);
+	}
+
+	private static int[] getHashes(byte[] anchor) {
+		// anchors longer than a bucket could span more than two buckets, so only use the start
+		int count = Math.min(anchor.length, BUCKET_SIZE) - NGRAM_LENGTH + 1;
+		int[] hashes = new int[count * 2];
+		for (int i = 0; i < count; i++) {
+			int ngram = getNgram(anchor, i);
+			hashes[i * 2] = hash1(ngram);
+			hashes[i * 2 + 1] = hash2(ngram);
+		}
+		return hashes;
+	}
+
+	private static int getNgram(byte[] bytes, int index) {
+		return ((bytes[index] & 0xff) << 16) | ((bytes[index + 1] & 0xff) << 8) |
+			(bytes[index + 2] & 0xff);
+	}
+
+	private static int hash1(int ngram) {
+		return (ngram * 0x9e3779b1) >>> 16;
+	}
+
+	private static int hash2(int ngram) {
+		return ((ngram ^ 0x5bd1e995) * 0x85ebca77) >>> 16;
+	}
+
+	private static void setBits(byte[] filter, int ngram) {
+		int bit = hash1(ngram);
+		filter[bit >> 3] |= 1 << (bit & 7);
+		bit = hash2(ngram);
+		filter[bit >> 3] |= 1 << (bit & 7);
+	}
+
+	private static boolean isSet(byte[] filter, int bit) {
+		return (filter[bit >> 3] & (1 << (bit & 7))) != 0;
+	}
+
+	private static Address getBucketStart(Address addr) {
+		return addr.getNewAddress(addr.getOffset() & ~(BUCKET_SIZE - 1));
+	}
+
+	private static Address getBucketEnd(Address bucket) {
+		Address max = bucket.getAddressSpace().getMaxAddress();
+		if (Long.compareUnsigned(max.subtract(bucket), BUCKET_SIZE) < 0) {
+			return max;
+		}
+		return bucket.add(BUCKET_SIZE - 1);
+	}
+}
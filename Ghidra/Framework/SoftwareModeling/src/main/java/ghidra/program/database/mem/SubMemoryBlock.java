@@ -16,6 +16,7 @@
 package ghidra.program.database.mem;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 
 import db.DBRecord;
 import ghidra.program.model.mem.*;
@@ -114,6 +115,33 @@ abstract class SubMemoryBlock implements Comparable<SubMemoryBlock> {
 	public abstract int getBytes(long memBlockOffset, byte[] b, int off, int len)
 			throws IndexOutOfBoundsException, MemoryAccessException, IOException;
 
+	/**
+	 * Tries to fill the remaining space in the given buffer with bytes from this block starting
+	 * at the given offset (relative to the containing {@link MemoryBlockDB}).  May return fewer
+	 * bytes if the requested length is beyond the end of the block.  The buffer's position is
+	 * advanced by the number of bytes read.
+	 * @param memBlockOffset the offset relative to the containing {@link MemoryBlockDB}
+	 * @param dst the buffer to populate.
+	 * @return the number of bytes actually populated.
+	 * @throws IndexOutOfBoundsException if invalid offset is specified
+	 * @throws MemoryAccessException if any of the requested bytes are
+	 * uninitialized.
+	 * @throws IOException if there is a problem reading from the database
+	 */
+	public int getBytes(long memBlockOffset, ByteBuffer dst)
+			throws IndexOutOfBoundsException, MemoryAccessException, IOException {
+		int len = (int) Math.min(dst.remaining(), subBlockOffset + subBlockLength - memBlockOffset);
+		if (dst.hasArray()) {
+			int n = getBytes(memBlockOffset, dst.array(), dst.arrayOffset() + dst.position(), len);
+			dst.position(dst.position() + n);
+			return n;
+		}
+		byte[] b = new byte[len];
+		int n = getBytes(memBlockOffset, b, 0, len);
+		dst.put(b, 0, n);
+		return n;
+	}
+
 	/**
 	 * Stores the byte in this sub block at the given offset relative to the containing
 	 * {@link MemoryBlockDB}.  In other words, the first byte in this sub block can be targeted
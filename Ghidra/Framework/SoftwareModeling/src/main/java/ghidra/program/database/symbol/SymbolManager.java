@@ -75,6 +75,17 @@ public class SymbolManager implements SymbolTable, ManagerDB {
 
 	private AddressMapImpl dynamicSymbolAddressMap;
 
+	/**
+	 * System property which enables an in-memory index of symbol names that is used by
+	 * {@link #getSymbolIterator(String, boolean)} to avoid examining every symbol for queries
+	 * that contain at least three consecutive non-wildcard characters.  The index is built
+	 * when first needed and is maintained as symbols are added, renamed and removed.
+	 */
+	public static final String NAME_INDEX_PROPERTY = "ghidra.symbols.nameIndex";
+
+	private final SymbolNameIndex nameIndex =
+		Boolean.getBoolean(NAME_INDEX_PROPERTY) ? new SymbolNameIndex() : null;
+
 	private Lock lock;
 	final static Symbol[] NO_SYMBOLS = new SymbolDB[0];
 
@@ -1429,8 +1440,10 @@ public class SymbolManager implements SymbolTable, ManagerDB {
 	@Override
 	public SymbolIterator getSymbolIterator(String searchStr, boolean caseSensitive) {
 		try {
-			RecordIterator iter = adapter.getSymbols();
-			SymbolIterator symbolIterator = new SymbolRecordIterator(iter, false, true);
+			long[] candidateIds = getNameIndexCandidates(searchStr);
+			SymbolIterator symbolIterator = candidateIds != null
+					? new SymbolIdIterator(candidateIds)
+					: new SymbolRecordIterator(adapter.getSymbols(), false, true);
 			return new SymbolQueryIterator(symbolIterator, searchStr, caseSensitive);
 		}
 		catch (IOException e) {
@@ -1439,6 +1452,30 @@ public class SymbolManager implements SymbolTable, ManagerDB {
 		return null;
 	}
 
+	/**
+	 * Get the IDs of the symbols which may match the given search string from the symbol
+	 * name index, building the index if needed.
+	 * @param searchStr the search string
+	 * @return the candidate symbol IDs in ascending order, or null if the name index is disabled
+	 * or cannot be used for the search string
+	 * @throws IOException if a database error occurs while building the index
+	 */
+	private long[] getNameIndexCandidates(String searchStr) throws IOException {
+		if (nameIndex == null || !SymbolNameIndex.isIndexable(searchStr)) {
+			return null;
+		}
+		lock.acquire();
+		try {
+			if (nameIndex.needsRebuild()) {
+				nameIndex.build(new SymbolRecordIterator(adapter.getSymbols(), true, true));
+			}
+			return nameIndex.getCandidates(searchStr);
+		}
+		finally {
+			lock.release();
+		}
+	}
+
 	@Override
 	public void addExternalEntryPoint(Address addr) throws IllegalArgumentException {
 		refManager.addExternalEntryPointRef(addr);
@@ -1512,6 +1549,9 @@ public class SymbolManager implements SymbolTable, ManagerDB {
 		try {
 			cache.invalidate();
 			dynamicSymbolAddressMap.reconcile();
+			if (nameIndex != null) {
+				nameIndex.clear();
+			}
 		}
 		finally {
 			lock.release();
@@ -1617,6 +1657,7 @@ public class SymbolManager implements SymbolTable, ManagerDB {
 	}
 
 	void symbolRenamed(Symbol symbol, String oldName) {
+		updateNameIndex(symbol);
 		Address addr = symbol.getAddress();
 		String newName = symbol.getName();
 		if (!symbol.isDynamic()) {
@@ -1638,6 +1679,7 @@ public class SymbolManager implements SymbolTable, ManagerDB {
 	}
 
 	void symbolSourceChanged(Symbol symbol) {
+		updateNameIndex(symbol);
 		program.symbolChanged(symbol, ProgramEvent.SYMBOL_SOURCE_CHANGED, symbol.getAddress(),
 			symbol, null, null);
 	}
@@ -1648,10 +1690,18 @@ public class SymbolManager implements SymbolTable, ManagerDB {
 	}
 
 	void symbolDataChanged(Symbol symbol) {
+		updateNameIndex(symbol);
 		program.symbolChanged(symbol, ProgramEvent.SYMBOL_DATA_CHANGED, symbol.getAddress(), symbol,
 			null, null);
 	}
 
+	private void updateNameIndex(Symbol symbol) {
+		// a name derived from other program state may change with the symbol's source or data
+		if (nameIndex != null && !symbol.isDynamic()) {
+			nameIndex.symbolChanged(symbol);
+		}
+	}
+
 	SymbolDatabaseAdapter getDatabaseAdapter() {
 		return adapter;
 	}
@@ -1687,6 +1737,10 @@ public class SymbolManager implements SymbolTable, ManagerDB {
 
 		refManager.symbolAdded(symbol);
 
+		if (nameIndex != null && !symbol.isDynamic()) {
+			nameIndex.symbolAdded(symbol);
+		}
+
 		// fire event
 		program.symbolAdded(symbol, ProgramEvent.SYMBOL_ADDED, addr, null, symbol);
 	}
@@ -1700,6 +1754,10 @@ public class SymbolManager implements SymbolTable, ManagerDB {
 			createLabelHistoryRecord(addr, null, name, LabelHistory.REMOVE);
 		}
 
+		if (nameIndex != null && !symbol.isDynamic()) {
+			nameIndex.symbolRemoved();
+		}
+
 		// fire event
 		program.symbolChanged(symbol, ProgramEvent.SYMBOL_REMOVED, addr, symbol, name, symbolID);
 	}
@@ -1985,6 +2043,50 @@ public class SymbolManager implements SymbolTable, ManagerDB {
 		}
 	}
 
+	/**
+	 * Iterates over the symbols with the given IDs, skipping deleted symbols and default thunks
+	 */
+	private class SymbolIdIterator implements SymbolIterator {
+		private long[] ids;
+		private int index;
+		private Symbol nextSymbol;
+
+		SymbolIdIterator(long[] ids) {
+			this.ids = ids;
+		}
+
+		@Override
+		public boolean hasNext() {
+			while (nextSymbol == null && index < ids.length) {
+				Symbol sym = getSymbol(ids[index++]);
+				if (sym != null && !isDefaultThunk(sym)) {
+					nextSymbol = sym;
+				}
+			}
+			return nextSymbol != null;
+		}
+
+		@Override
+		public Symbol next() {
+			if (hasNext()) {
+				Symbol returnedSymbol = nextSymbol;
+				nextSymbol = null;
+				return returnedSymbol;
+			}
+			return null;
+		}
+
+		@Override
+		public void remove() {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public Iterator<Symbol> iterator() {
+			return this;
+		}
+	}
+
 	private class SymbolQueryIterator implements SymbolIterator {
 		private SymbolIterator it;
 		private Symbol nextMatch;
@@ -0,0 +1,272 @@
+/* ###
+ * IP: GHIDRA
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ghidra.program.database.symbol;
+
+import java.util.*;
+
+import ghidra.program.model.symbol.*;
+
+/**
+ * <code>SymbolNameIndex</code> is an in-memory trigram index over the names of the symbols
+ * stored within the symbol table.  It allows wildcard name queries (see
+ * {@link SymbolManager#getSymbolIterator(String, boolean)}) to examine only those symbols whose
+ * names contain the literal text of the query, instead of every symbol.  Trigrams are indexed
+ * without regard to case so that the index may be used for both case-sensitive and
+ * case-insensitive queries.
+ * <p>
+ * Entries are added as symbols are added or renamed, but are never removed.  The candidates
+ * returned by the index must therefore always be checked against the current symbol name,
+ * which also accounts for deleted symbols.  The index should be rebuilt once
+ * {@link #needsRebuild()} returns true.
+ * <p>
+ * Some symbol names are not stored, but are derived from other program state (e.g., default
+ * function, thunk and parameter names) and may change without the symbol being renamed.  Such
+ * symbols are not indexed by name and are returned as candidates for every query.
+ */
+class SymbolNameIndex {
+
+	private static final int GRAM_LENGTH = 3;
+
+	private final Map<Long, Postings> postingsMap = new HashMap<>();
+	private final Postings derivedNameEntries = new Postings();
+	private long[] symbolIds = new long[1024];
+	private int entryCount;
+	private int staleCount;
+	private boolean built;
+
+	/**
+	 * Returns true if the index has not been built, or if it contains more stale entries than
+	 * current entries
+	 * @return true if the index should be rebuilt before use
+	 */
+	boolean needsRebuild() {
+		return !built || staleCount > entryCount - staleCount;
+	}
+
+	/**
+	 * Discard all index entries.  The index must be rebuilt before it is used again.
+	 */
+	void clear() {
+		postingsMap.clear();
+		derivedNameEntries.clear();
+		symbolIds = new long[1024];
+		entryCount = 0;
+		staleCount = 0;
+		built = false;
+	}
+
+	/**
+	 * Build the index from all stored symbols, discarding any existing entries
+	 * @param symbols iterator over all stored symbols
+	 */
+	void build(Iterator<Symbol> symbols) {
+		clear();
+		while (symbols.hasNext()) {
+			addEntry(symbols.next());
+		}
+		built = true;
+	}
+
+	/**
+	 * Add an entry for a symbol which has been added to the symbol table
+	 * @param symbol the new symbol
+	 */
+	void symbolAdded(Symbol symbol) {
+		if (built) {
+			addEntry(symbol);
+		}
+	}
+
+	/**
+	 * Add a new entry for a symbol whose name may have changed.  Any existing entry for the
+	 * symbol becomes stale.
+	 * @param symbol the changed symbol
+	 */
+	void symbolChanged(Symbol symbol) {
+		if (built) {
+			addEntry(symbol);
+			staleCount++;
+		}
+	}
+
+	/**
+	 * Note the removal of a symbol, whose entry becomes stale
+	 */
+	void symbolRemoved() {
+		if (built) {
+			staleCount++;
+		}
+	}
+
+	/**
+	 * Returns true if the given query contains enough literal text for the index to be used
+	 * @param query symbol name query which may include the wildcard characters '*' and '?'
+	 * @return true if {@link #getCandidates(String)} will not return null
+	 */
+	static boolean isIndexable(String query) {
+		for (String literal : getLiterals(query)) {
+			if (literal.length() >= GRAM_LENGTH) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Get the IDs of the symbols whose names may match the given query.  The IDs are in
+	 * ascending order and may include the IDs of deleted symbols.
+	 * @param query symbol name query which may include the wildcard characters '*' and '?'
+	 * (see {@link ghidra.util.UserSearchUtils#createSearchPattern(String, boolean)})
+	 * @return candidate symbol IDs, or null if the query does not contain enough literal text
+	 * to use the index
+	 */
+	long[] getCandidates(String query) {
+		Postings smallest = null;
+		for (String literal : getLiterals(query)) {
+			for (int i = 0; i + GRAM_LENGTH <= literal.length(); i++) {
+				Postings postings = postingsMap.get(getGram(literal, i));
+				if (postings == null) {
+					smallest = new Postings(); // no names contain this text
+					break;
+				}
+				if (smallest == null || postings.size < smallest.size) {
+					smallest = postings;
+				}
+			}
+		}
+		if (smallest == null) {
+			return null;
+		}
+
+		long[] ids = new long[smallest.size + derivedNameEntries.size];
+		int count = 0;
+		for (int i = 0; i < smallest.size; i++) {
+			ids[count++] = symbolIds[smallest.entries[i]];
+		}
+		for (int i = 0; i < derivedNameEntries.size; i++) {
+			ids[count++] = symbolIds[derivedNameEntries.entries[i]];
+		}
+		Arrays.sort(ids);
+
+		// remove duplicate IDs left by renamed symbols
+		int uniqueCount = 0;
+		for (int i = 0; i < ids.length; i++) {
+			if (uniqueCount == 0 || ids[i] != ids[uniqueCount - 1]) {
+				ids[uniqueCount++] = ids[i];
+			}
+		}
+		return Arrays.copyOf(ids, uniqueCount);
+	}
+
+	private void addEntry(Symbol symbol) {
+		int entry = entryCount++;
+		if (entry == symbolIds.length) {
+			symbolIds = Arrays.copyOf(symbolIds, entry * 2);
+		}
+		symbolIds[entry] = symbol.getID();
+
+		String name = symbol.getName();
+		if (hasDerivedName(symbol, name)) {
+			derivedNameEntries.add(entry);
+			return;
+		}
+
+		Set<Long> grams = new HashSet<>();
+		for (int i = 0; i + GRAM_LENGTH <= name.length(); i++) {
+			grams.add(getGram(name, i));
+		}
+		for (Long gram : grams) {
+			postingsMap.computeIfAbsent(gram, g -> new Postings()).add(entry);
+		}
+	}
+
+	private static boolean hasDerivedName(Symbol symbol, String name) {
+		if (symbol.getSource() == SourceType.DEFAULT ||
+			symbol.getSymbolType() == SymbolType.PARAMETER) {
+			return true;
+		}
+		if (symbol instanceof SymbolDB symbolDB && symbolDB.record != null) {
+			// e.g., variables with bad storage
+			String storedName = symbolDB.record.getString(SymbolDatabaseAdapter.SYMBOL_NAME_COL);
+			return !name.equals(storedName);
+		}
+		return false;
+	}
+
+	private static long getGram(String s, int index) {
+		long gram = 0;
+		for (int i = index; i < index + GRAM_LENGTH; i++) {
+			gram = (gram << 16) | Character.toLowerCase(s.charAt(i));
+		}
+		return gram;
+	}
+
+	/**
+	 * Get the literal (non-wildcard) portions of a query.  An escaped wildcard character
+	 * (e.g., "\*") is a literal.
+	 * @param query the query
+	 * @return the literal portions of the query
+	 */
+	static List<String> getLiterals(String query) {
+		List<String> literals = new ArrayList<>();
+		StringBuilder buf = new StringBuilder();
+		for (int i = 0; i < query.length(); i++) {
+			char c = query.charAt(i);
+			if (c == '\\' && i + 1 < query.length() && isWildcard(query.charAt(i + 1))) {
+				buf.append(query.charAt(++i));
+			}
+			else if (isWildcard(c)) {
+				addLiteral(literals, buf);
+			}
+			else {
+				buf.append(c);
+			}
+		}
+		addLiteral(literals, buf);
+		return literals;
+	}
+
+	private static boolean isWildcard(char c) {
+		return c == '*' || c == '?';
+	}
+
+	private static void addLiteral(List<String> literals, StringBuilder buf) {
+		if (buf.length() != 0) {
+			literals.add(buf.toString());
+			buf.setLength(0);
+		}
+	}
+
+	/**
+	 * A growable list of index entries
+	 */
+	private static class Postings {
+		private int[] entries = new int[4];
+		private int size;
+
+		void add(int entry) {
+			if (size == entries.length) {
+				entries = Arrays.copyOf(entries, size * 2);
+			}
+			entries[size++] = entry;
+		}
+
+		void clear() {
+			entries = new int[4];
+			size = 0;
+		}
+	}
+}
@@ -84,6 +84,10 @@ public class Disassembler implements DisassemblerConflictHandler {
 	private final static int NUM_ADDRS_FOR_NOTIFICATION = 1024;
 	private final static int INSTRUCTION_SET_SIZE_LIMIT = 2048;
 
+	// instruction sets at least this large are added using the listing's bulk insert, which
+	// fires one change event per contiguous range rather than one per instruction block
+	private final static int BULK_INSERT_THRESHOLD = 256;
+
 	protected final Language language;
 	protected final AddressFactory addrFactory;
 	protected final Register baseContextRegister;
@@ -635,7 +639,9 @@ public class Disassembler implements DisassemblerConflictHandler {
 				// add instructions to program
 				if (instructionSet.getInstructionCount() != 0) {
 					AddressSetView newDisassembledAddrs =
-						listing.addInstructions(instructionSet, false);
+						instructionSet.getInstructionCount() >= BULK_INSERT_THRESHOLD
+								? listing.addInstructionsInBulk(instructionSet, false)
+								: listing.addInstructions(instructionSet, false);
 					if (newDisassembledAddrs != null) {
 						if (doMarkUnimplPcode && !newDisassembledAddrs.isEmpty()) {
 							markUnimplementedPcode(program, newDisassembledAddrs, monitor);
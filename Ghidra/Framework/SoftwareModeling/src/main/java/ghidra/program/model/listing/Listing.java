@@ -704,6 +704,31 @@ public interface Listing {
 	public AddressSetView addInstructions(InstructionSet instructionSet, boolean overwrite)
 			throws CodeUnitInsertionException;
 
+	/**
+	 * Creates a complete set of instructions using a bulk insert strategy which is better
+	 * suited to very large instruction sets.  Conflict checking and pruning is identical to
+	 * {@link #addInstructions(InstructionSet, boolean)}, however change notification is
+	 * coalesced into a single code-added event per contiguous address range added instead of
+	 * one per instruction block.
+	 * <p>
+	 * The default implementation simply calls {@link #addInstructions(InstructionSet, boolean)}.
+	 * 
+	 * @param instructionSet the set of instructions to be added. All code unit
+	 *            conflicts will be marked within the instructionSet and
+	 *            associated blocks.
+	 * @param overwrite if true, overwrites existing code units.
+	 * @throws CodeUnitInsertionException if the instruction set is incompatible
+	 *             with the program memory
+	 * @return the set of addresses over which instructions were actually added
+	 *         to the program. This may differ from the InstructionSet address
+	 *         set if conflict errors occurred. Such conflict errors will be
+	 *         recorded within the InstructionSet and its InstructionBlocks.
+	 */
+	public default AddressSetView addInstructionsInBulk(InstructionSet instructionSet,
+			boolean overwrite) throws CodeUnitInsertionException {
+		return addInstructions(instructionSet, overwrite);
+	}
+
 	/**
 	 * Creates a new defined Data object of a given length at the given address.
 	 * This ignores the bytes that are present
@@ -17,6 +17,7 @@ package ghidra.program.model.mem;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.util.*;
 
 import ghidra.framework.store.LockException;
@@ -597,6 +598,35 @@ public interface Memory extends AddressSetView {
 	public int getBytes(Address addr, byte[] dest, int destIndex, int size)
 			throws MemoryAccessException;
 
+	/**
+	 * Fills the remaining space in the given buffer with bytes starting at the given address.
+	 * The buffer's position is advanced by the number of bytes read.
+	 * <P>
+	 * Implementations may read directly from their backing storage into the buffer, which avoids
+	 * the intermediate copies needed when reading large ranges through a byte array.
+	 *
+	 * @param addr the starting Address.
+	 * @param dest the buffer to populate.
+	 * @return the number of bytes put into dest.  May be less than the buffer's remaining space
+	 * if the requested number extends beyond initialized / available memory.
+	 * @throws MemoryAccessException if the starting address is
+	 * not contained in any memory block or is an uninitialized location.
+	 */
+	public default int getBytes(Address addr, ByteBuffer dest) throws MemoryAccessException {
+		int n;
+		if (dest.hasArray()) {
+			n = getBytes(addr, dest.array(), dest.arrayOffset() + dest.position(),
+				dest.remaining());
+			dest.position(dest.position() + n);
+		}
+		else {
+			byte[] bytes = new byte[dest.remaining()];
+			n = getBytes(addr, bytes);
+			dest.put(bytes, 0, n);
+		}
+		return n;
+	}
+
 	/**
 	 * Get the short at addr.
 	 *
@@ -893,7 +923,8 @@ public interface Memory extends AddressSetView {
 
 	/**
 	 * Stores a sequence of bytes into the program.  Typically, this method is used by importers
-	 * to store the original raw program bytes.
+	 * to store the original raw program bytes.  Identical original bytes which have already
+	 * been stored may be shared instead of being stored again.
 	 *
 	 * @param filename the name of the file from where the bytes originated
 	 * @param offset the offset into the file for the first byte in the input stream.
@@ -0,0 +1,137 @@
+/* ###
+ * IP: GHIDRA
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ghidra.program.database.data;
+
+import static org.junit.Assert.*;
+
+import java.util.*;
+
+import org.junit.*;
+
+import generic.test.AbstractGenericTest;
+import ghidra.program.model.data.*;
+import ghidra.program.model.data.Enum;
+
+public class CategoryDBDataTypeMapTest extends AbstractGenericTest {
+
+	private static final CategoryPath PATH = new CategoryPath("/cat");
+
+	private StandAloneDataTypeManager dataMgr;
+	private int txId;
+
+	@Before
+	public void setUp() throws Exception {
+		dataMgr = new StandAloneDataTypeManager("dummydataMgr");
+		txId = dataMgr.startTransaction("Test");
+	}
+
+	@After
+	public void tearDown() {
+		if (dataMgr != null) {
+			dataMgr.endTransaction(txId, true);
+			dataMgr.close();
+		}
+	}
+
+	@Test
+	public void testDataTypeIdsInCategory() {
+		DataType s = resolve(createStruct("S", "a"));
+		DataType t = resolve(new TypedefDataType(PATH, "T", s, dataMgr));
+		Enum e = new EnumDataType(PATH, "E", 4, dataMgr);
+		e.add("X", 1);
+		DataType resolvedEnum = resolve(e);
+		DataType f = resolve(new FunctionDefinitionDataType(PATH, "F", dataMgr));
+		DataType p = resolve(new PointerDataType(s, dataMgr));
+		DataType a = resolve(new ArrayDataType(s, 2, -1, dataMgr));
+		DataType builtIn = dataMgr.resolve(IntegerDataType.dataType, null);
+
+		DataTypeManagerDB dtm = dataMgr;
+		CategoryDB cat = (CategoryDB) dataMgr.getCategory(PATH);
+		Map<String, Long> expected = new HashMap<>();
+		for (DataType dt : List.of(s, t, resolvedEnum, f, p, a)) {
+			expected.put(dt.getName(), dataMgr.getID(dt));
+		}
+		assertEquals(expected, dtm.getDataTypeIdsInCategory(cat.getKey()));
+		assertEquals(Map.of("int", dataMgr.getID(builtIn)),
+			dtm.getDataTypeIdsInCategory(DataTypeManagerDB.ROOT_CATEGORY_ID));
+
+		dataMgr.invalidateCache();
+		assertEquals(expected.keySet(), names(dataMgr.getCategory(PATH).getDataTypes()));
+		assertSame(s, dataMgr.getDataType(PATH, "S"));
+		assertEquals("S *", dataMgr.getDataType(PATH, "S *").getName());
+	}
+
+	@Test
+	public void testDataTypeChanges() throws Exception {
+		Structure s = (Structure) resolve(createStruct("S", "a"));
+		Category cat = dataMgr.getCategory(PATH);
+		assertSame(s, cat.getDataType("S"));
+
+		s.setName("S2");
+		assertNull(cat.getDataType("S"));
+		assertSame(s, cat.getDataType("S2"));
+
+		Category other = dataMgr.createCategory(new CategoryPath("/other"));
+		other.moveDataType(s, null);
+		assertNull(cat.getDataType("S2"));
+		assertSame(s, other.getDataType("S2"));
+
+		dataMgr.remove(s);
+		assertNull(other.getDataType("S2"));
+		assertEquals(0, other.getDataTypes().length);
+	}
+
+	@Test
+	public void testDataTypesByBaseName() {
+		DataType s = resolve(createStruct("S", "a"));
+		DataType conflict = resolve(createStruct("S", "b"));
+		assertEquals("S.conflict", conflict.getName());
+
+		Category cat = dataMgr.getCategory(PATH);
+		assertEquals(List.of(s, conflict), cat.getDataTypesByBaseName("S.conflict"));
+
+		// conflict types added after the conflict map has been loaded
+		DataType conflict1 = resolve(createStruct("S", "c"));
+		assertEquals(Set.of(s, conflict, conflict1),
+			new HashSet<>(cat.getDataTypesByBaseName("S")));
+
+		// reload maps from the database
+		dataMgr.invalidateCache();
+		assertEquals(Set.of(s, conflict, conflict1),
+			new HashSet<>(cat.getDataTypesByBaseName("S")));
+
+		dataMgr.remove(conflict);
+		assertEquals(Set.of(s, conflict1), new HashSet<>(cat.getDataTypesByBaseName("S")));
+	}
+
+	private DataType resolve(DataType dt) {
+		return dataMgr.resolve(dt, DataTypeConflictHandler.DEFAULT_HANDLER);
+	}
+
+	private Structure createStruct(String name, String fieldName) {
+		Structure struct = new StructureDataType(PATH, name, 0, dataMgr);
+		struct.add(IntegerDataType.dataType, fieldName, null);
+		return struct;
+	}
+
+	private static Set<String> names(DataType[] dataTypes) {
+		Set<String> names = new HashSet<>();
+		for (DataType dt : dataTypes) {
+			names.add(dt.getName());
+		}
+		return names;
+	}
+}
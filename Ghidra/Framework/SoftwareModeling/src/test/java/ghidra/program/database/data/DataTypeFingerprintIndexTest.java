@@ -0,0 +1,158 @@
+/* ###
+ * IP: GHIDRA
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ghidra.program.database.data;
+
+import static org.junit.Assert.*;
+
+import java.util.List;
+
+import org.junit.*;
+
+import generic.test.AbstractGenericTest;
+import ghidra.program.model.data.*;
+import ghidra.program.model.data.Enum;
+import ghidra.util.task.TaskMonitor;
+
+public class DataTypeFingerprintIndexTest extends AbstractGenericTest {
+
+	private StandAloneDataTypeManager dataMgr;
+	private DataTypeFingerprintIndex index;
+	private int txId;
+
+	@Before
+	public void setUp() throws Exception {
+		dataMgr = new StandAloneDataTypeManager("dummydataMgr");
+		index = dataMgr.getFingerprintIndex();
+		txId = dataMgr.startTransaction("Test");
+	}
+
+	@After
+	public void tearDown() {
+		if (dataMgr != null) {
+			dataMgr.endTransaction(txId, true);
+			dataMgr.close();
+		}
+	}
+
+	@Test
+	public void testFingerprint() {
+		Structure s1 = createStruct("A", "a", IntegerDataType.dataType);
+		Structure s2 = createStruct("B", "a", IntegerDataType.dataType);
+		assertEquals(DataTypeFingerprintIndex.getFingerprint(s1),
+			DataTypeFingerprintIndex.getFingerprint(s2));
+
+		DataType resolved = dataMgr.resolve(s1, null);
+		assertEquals(DataTypeFingerprintIndex.getFingerprint(s1),
+			DataTypeFingerprintIndex.getFingerprint(resolved));
+
+		Structure otherName = createStruct("A", "b", IntegerDataType.dataType);
+		assertNotEquals(DataTypeFingerprintIndex.getFingerprint(s1),
+			DataTypeFingerprintIndex.getFingerprint(otherName));
+		Structure otherKind = createStruct("A", "a", new PointerDataType());
+		assertNotEquals(DataTypeFingerprintIndex.getFingerprint(s1),
+			DataTypeFingerprintIndex.getFingerprint(otherKind));
+		assertNull(DataTypeFingerprintIndex.getFingerprint(new TypedefDataType("T", s1)));
+	}
+
+	@Test
+	public void testCandidates() {
+		DataType a = dataMgr.resolve(createStruct("A", "a", IntegerDataType.dataType), null);
+		DataType b = dataMgr.resolve(createStruct("B", "a", IntegerDataType.dataType), null);
+		dataMgr.resolve(createStruct("C", "c", IntegerDataType.dataType), null);
+
+		Structure other = createStruct("D", "a", IntegerDataType.dataType);
+		assertEquals(List.of(a, b), index.getCandidates(other));
+		assertEquals(a, index.findEquivalent(other));
+		assertEquals(List.of(b), index.getCandidates(a));
+		assertTrue(index.mayBeEquivalent(a, other));
+		assertFalse(index.mayBeEquivalent(a,
+			createStruct("D", "a", CharDataType.dataType)));
+	}
+
+	@Test
+	public void testIndexUpdatedOnChange() throws Exception {
+		Structure a =
+			(Structure) dataMgr.resolve(createStruct("A", "a", IntegerDataType.dataType), null);
+		Enum e = (Enum) dataMgr.resolve(createEnum("E", "X", 1), null);
+		Structure other = createStruct("X", "b", IntegerDataType.dataType);
+		assertTrue(index.getCandidates(other).isEmpty());
+		assertTrue(index.getCandidates(createEnum("F", "Y", 2)).isEmpty());
+
+		a.getComponent(0).setFieldName("b");
+		e.add("Y", 2);
+		e.remove("X");
+		assertEquals(List.of(a), index.getCandidates(other));
+		assertEquals(List.of(e), index.getCandidates(createEnum("F", "Y", 2)));
+
+		dataMgr.remove(a);
+		assertTrue(index.getCandidates(other).isEmpty());
+	}
+
+	@Test
+	public void testPersistentIndex() throws Exception {
+		DataType a = dataMgr.resolve(createStruct("A", "a", IntegerDataType.dataType), null);
+		assertFalse(index.isPersistent());
+		index.setPersistent(true, TaskMonitor.DUMMY);
+		assertTrue(index.isPersistent());
+
+		DataType b = dataMgr.resolve(createStruct("B", "a", IntegerDataType.dataType), null);
+		// rebuild in-memory index from persisted fingerprints
+		dataMgr.invalidateCache();
+		assertTrue(index.isPersistent());
+		assertEquals(List.of(a, b),
+			index.getCandidates(createStruct("X", "a", IntegerDataType.dataType)));
+
+		dataMgr.endTransaction(txId, true);
+		txId = dataMgr.startTransaction("Remove Index");
+		index.setPersistent(false, TaskMonitor.DUMMY);
+		dataMgr.endTransaction(txId, true);
+		assertFalse(index.isPersistent());
+
+		dataMgr.undo();
+		assertTrue(index.isPersistent());
+		assertEquals(List.of(a, b),
+			index.getCandidates(createStruct("X", "a", IntegerDataType.dataType)));
+		txId = dataMgr.startTransaction("Test");
+	}
+
+	@Test
+	public void testDedupeConflicts() throws Exception {
+		DataType a = dataMgr.resolve(createStruct("A", "a", IntegerDataType.dataType), null);
+		Structure conflict = (Structure) dataMgr.resolve(
+			createStruct("A", "b", IntegerDataType.dataType), null);
+		dataMgr.resolve(createStruct("A", "c", IntegerDataType.dataType), null);
+		assertEquals("A.conflict", conflict.getName());
+		assertFalse(dataMgr.dedupeConflicts(a));
+
+		// make conflict equivalent to the base type after it was added
+		conflict.getComponent(0).setFieldName("a");
+		assertTrue(dataMgr.dedupeConflicts(a));
+		assertTrue(conflict.isDeleted());
+		assertNotNull(dataMgr.getDataType("/A.conflict1"));
+	}
+
+	private Structure createStruct(String name, String fieldName, DataType fieldType) {
+		Structure struct = new StructureDataType(name, 0, dataMgr);
+		struct.add(fieldType, fieldName, null);
+		return struct;
+	}
+
+	private Enum createEnum(String name, String valueName, int value) {
+		Enum enumm = new EnumDataType(name, 4);
+		enumm.add(valueName, value);
+		return enumm;
+	}
+}
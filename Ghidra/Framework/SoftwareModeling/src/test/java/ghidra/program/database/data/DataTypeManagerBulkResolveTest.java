@@ -0,0 +1,117 @@
+/* ###
+ * IP: GHIDRA
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ghidra.program.database.data;
+
+import static org.junit.Assert.*;
+
+import java.util.List;
+
+import org.junit.*;
+
+import generic.test.AbstractGenericTest;
+import ghidra.program.model.data.*;
+import ghidra.util.task.TaskMonitor;
+
+public class DataTypeManagerBulkResolveTest extends AbstractGenericTest {
+
+	private StandAloneDataTypeManager dataMgr;
+	private int txId;
+
+	@Before
+	public void setUp() throws Exception {
+		dataMgr = new StandAloneDataTypeManager("dummydataMgr");
+		txId = dataMgr.startTransaction("Test");
+
+		// existing S, S.conflict and S.conflict1 which differ by field name
+		assertEquals("S", resolve(createStruct("a", IntegerDataType.dataType)).getName());
+		assertEquals("S.conflict", resolve(createStruct("b", IntegerDataType.dataType)).getName());
+		assertEquals("S.conflict1",
+			resolve(createStruct("c", IntegerDataType.dataType)).getName());
+	}
+
+	@After
+	public void tearDown() {
+		if (dataMgr != null) {
+			dataMgr.endTransaction(txId, true);
+			dataMgr.close();
+		}
+	}
+
+	@Test
+	public void testResolveAll() throws Exception {
+		Structure equivalent = createStruct("c", IntegerDataType.dataType);
+		Structure differentName = createStruct("d", IntegerDataType.dataType);
+		Structure differentType = createStruct("c", FloatDataType.dataType);
+		Union union = new UnionDataType("U");
+		union.add(equivalent, "s", null);
+
+		BulkResolveStatistics stats = new BulkResolveStatistics();
+		List<DataType> resolved = dataMgr.resolveAll(
+			List.of(equivalent, differentName, differentType, equivalent, union),
+			DataTypeConflictHandler.DEFAULT_HANDLER, stats, TaskMonitor.DUMMY);
+
+		assertEquals(5, resolved.size());
+		assertEquals("/S.conflict1", resolved.get(0).getPathName());
+		assertEquals("/S.conflict2", resolved.get(1).getPathName());
+		assertEquals("/S.conflict3", resolved.get(2).getPathName());
+		assertSame(resolved.get(0), resolved.get(3));
+		assertEquals("/U", resolved.get(4).getPathName());
+		assertSame(resolved.get(0), ((Union) resolved.get(4)).getComponent(0).getDataType());
+
+		assertEquals(5, stats.getTypesResolved());
+		// repeated type
+		assertTrue(stats.getResolveCacheHits() >= 1);
+		// candidates with different field names never require a full comparison
+		assertTrue(stats.getComparisonsSkipped() >= 8);
+		// only S.conflict1 could be equivalent to the float variant
+		assertTrue(stats.getEquivalenceComparisons() >= 2);
+	}
+
+	@Test
+	public void testResolveAllMatchesResolve() throws Exception {
+		List<DataType> batch = List.of(createStruct("b", IntegerDataType.dataType),
+			createStruct("e", CharDataType.dataType), createStruct("a", IntegerDataType.dataType));
+
+		List<DataType> resolved =
+			dataMgr.resolveAll(batch, null, null, TaskMonitor.DUMMY);
+
+		assertEquals("/S.conflict", resolved.get(0).getPathName());
+		assertEquals("/S.conflict2", resolved.get(1).getPathName());
+		assertEquals("/S", resolved.get(2).getPathName());
+		for (int i = 0; i < batch.size(); i++) {
+			assertSame(resolved.get(i), resolve(batch.get(i)));
+		}
+	}
+
+	@Test
+	public void testResolveAllWithKeepHandler() throws Exception {
+		// keep handler uses existing type regardless of structure
+		List<DataType> resolved = dataMgr.resolveAll(
+			List.of(createStruct("x", IntegerDataType.dataType)),
+			DataTypeConflictHandler.KEEP_HANDLER, null, TaskMonitor.DUMMY);
+		assertEquals("/S", resolved.get(0).getPathName());
+	}
+
+	private DataType resolve(DataType dt) {
+		return dataMgr.resolve(dt, DataTypeConflictHandler.DEFAULT_HANDLER);
+	}
+
+	private Structure createStruct(String fieldName, DataType fieldType) {
+		Structure struct = new StructureDataType("S", 0, dataMgr);
+		struct.add(fieldType, fieldName, null);
+		return struct;
+	}
+}
@@ -165,6 +165,89 @@ public class FileBytesTest extends AbstractGenericTest {
 
 	}
 
+	@Test
+	public void testIdenticalFileBytesShareOriginalBuffers() throws Exception {
+		int dataSize = MAX_BUFFER_SIZE_FOR_TESTING + MAX_BUFFER_SIZE_FOR_TESTING / 2;
+		FileBytes fileBytes1 = createFileBytes("file1", dataSize);
+		FileBytes fileBytes2 = createFileBytes("file2", dataSize);
+		assertSameBufferIds(fileBytes1.getOriginalBuffers(), fileBytes2.getOriginalBuffers());
+
+		incrementFileBytes(fileBytes2, 0, 10);
+		assertEquals(1, fileBytes1.getModifiedByte(1));
+		assertEquals(2, fileBytes2.getModifiedByte(1));
+
+		saveAndRestoreProgram("A");
+		List<FileBytes> list = mem.getAllFileBytes();
+		assertEquals(2, list.size());
+		fileBytes1 = list.get(0);
+		fileBytes2 = list.get(1);
+		assertEquals("file1", fileBytes1.getFilename());
+		assertEquals("file2", fileBytes2.getFilename());
+		assertSameBufferIds(fileBytes1.getOriginalBuffers(), fileBytes2.getOriginalBuffers());
+		assertEquals(1, fileBytes1.getModifiedByte(1));
+		assertEquals(2, fileBytes2.getModifiedByte(1));
+		assertEquals(1, fileBytes2.getOriginalByte(1));
+
+		// sharing must survive deleting the file bytes which created the buffers
+		mem.deleteFileBytes(fileBytes1);
+		FileBytes fileBytes3 = createFileBytes("file3", dataSize);
+		assertSameBufferIds(fileBytes2.getOriginalBuffers(), fileBytes3.getOriginalBuffers());
+		byte[] outBytes = new byte[dataSize];
+		assertEquals(dataSize, fileBytes3.getOriginalBytes(0, outBytes));
+		for (int i = 0; i < dataSize; i++) {
+			assertEquals("Byte[" + i + "]", (byte) i, outBytes[i]);
+		}
+	}
+
+	@Test
+	public void testDifferentFileBytesOfSameSizeNotShared() throws Exception {
+		FileBytes fileBytes1 = createFileBytes("file1", 10);
+		byte[] bytes = new byte[10];
+		bytes[5] = 1;
+		FileBytes fileBytes2 =
+			mem.createFileBytes("file2", 0, 10, new ByteArrayInputStream(bytes), TaskMonitor.DUMMY);
+		assertNotEquals(fileBytes1.getOriginalBuffers()[0].getId(),
+			fileBytes2.getOriginalBuffers()[0].getId());
+		assertEquals(5, fileBytes1.getOriginalByte(5));
+		assertEquals(1, fileBytes2.getOriginalByte(5));
+	}
+
+	@Test
+	public void testFileBytesDifferingAfterManyComparedBytes() throws Exception {
+		FileBytesAdapter.setMaxBufferSize(FileBytesAdapter.MAX_BUF_SIZE);
+		int dataSize = 200000;
+		FileBytes fileBytes1 = createFileBytes("file1", dataSize);
+
+		// the new bytes are only found to differ after several compared chunks, so the bytes
+		// which matched must be stored as well
+		byte[] bytes = new byte[dataSize];
+		for (int i = 0; i < dataSize; i++) {
+			bytes[i] = (byte) i;
+		}
+		bytes[150000]++;
+		FileBytes fileBytes2 = mem.createFileBytes("file2", 0, dataSize,
+			new ByteArrayInputStream(bytes), TaskMonitor.DUMMY);
+		assertNotEquals(fileBytes1.getOriginalBuffers()[0].getId(),
+			fileBytes2.getOriginalBuffers()[0].getId());
+		byte[] outBytes = new byte[dataSize];
+		assertEquals(dataSize, fileBytes2.getOriginalBytes(0, outBytes));
+		assertArrayEquals(bytes, outBytes);
+
+		// of two candidates, only the one which is identical shares its buffers
+		FileBytes fileBytes3 = mem.createFileBytes("file3", 0, dataSize,
+			new ByteArrayInputStream(bytes), TaskMonitor.DUMMY);
+		assertSameBufferIds(fileBytes2.getOriginalBuffers(), fileBytes3.getOriginalBuffers());
+		assertEquals((byte) 150000, fileBytes1.getOriginalByte(150000));
+		assertEquals(bytes[150000], fileBytes3.getOriginalByte(150000));
+	}
+
+	private void assertSameBufferIds(DBBuffer[] expected, DBBuffer[] actual) {
+		assertEquals(expected.length, actual.length);
+		for (int i = 0; i < expected.length; i++) {
+			assertEquals(expected[i].getId(), actual[i].getId());
+		}
+	}
+
 	private void incrementFileBytes(FileBytes fileBytes, int offset, int n) throws IOException {
 		for (int i = offset; i < offset + n; i++) {
 			fileBytes.putByte(i, (byte) (fileBytes.getModifiedByte(i) + 1));
@@ -18,6 +18,7 @@ package ghidra.program.database.mem;
 import static org.junit.Assert.*;
 
 import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 import java.util.List;
 
@@ -345,6 +346,94 @@ public class MemBlockDBTest extends AbstractGenericTest {
 		assertTrue(Arrays.equals(bytes, readBytes));
 	}
 
+	@Test
+	public void testGetBytesIntoByteBuffer() throws Exception {
+		FileBytes fileBytes = createFileBytes();
+		createFileBytesBlock(fileBytes, addr(0), 0, 50);
+		mem.createInitializedBlock("buffer", addr(50), 30, (byte) 7, TaskMonitor.DUMMY, false);
+
+		byte[] expected = new byte[40];
+		assertEquals(40, mem.getBytes(addr(30), expected));
+
+		for (ByteBuffer buf : List.of(ByteBuffer.allocate(45), ByteBuffer.allocateDirect(45))) {
+			buf.position(5);
+			assertEquals(40, mem.getBytes(addr(30), buf));
+			assertEquals(45, buf.position());
+			byte[] actual = new byte[40];
+			buf.get(5, actual);
+			assertArrayEquals(expected, actual);
+		}
+
+		// reads stop at the end of memory
+		ByteBuffer buf = ByteBuffer.allocate(20);
+		assertEquals(10, mem.getBytes(addr(70), buf));
+		assertEquals(10, buf.position());
+	}
+
+	@Test
+	public void testGetBytesIntoByteBufferFromMappedBlock() throws Exception {
+		FileBytes fileBytes = createFileBytes();
+		createFileBytesBlock(fileBytes, addr(0), 0, 50);
+		mem.createByteMappedBlock("mapped", addr(100), addr(0), 20, false);
+
+		ByteBuffer buf = ByteBuffer.allocateDirect(20);
+		assertEquals(20, mem.getBytes(addr(100), buf));
+		for (int i = 0; i < 20; i++) {
+			assertEquals(i, buf.get(i));
+		}
+	}
+
+	@Test
+	public void testBlockLookupAfterBlocksChange() throws Exception {
+		FileBytes fileBytes = createFileBytes();
+		MemoryBlock block = createFileBytesBlock(fileBytes, addr(0), 0, 50);
+		assertEquals(block, mem.getBlock(addr(10)));
+
+		// the cached lookup hint must not outlive the block
+		mem.removeBlock(block, TaskMonitor.DUMMY);
+		assertNull(mem.getBlock(addr(10)));
+
+		block = createFileBytesBlock(fileBytes, addr(0), 0, 20);
+		assertEquals(block, mem.getBlock(addr(10)));
+	}
+
+	@Test
+	public void testConcurrentBlockLookup() throws Exception {
+		FileBytes fileBytes = createFileBytes();
+		for (int i = 0; i < 10; i++) {
+			createFileBytesBlock(fileBytes, addr(i * 100), i, 50);
+		}
+
+		Thread[] threads = new Thread[4];
+		Throwable[] failure = new Throwable[1];
+		for (int t = 0; t < threads.length; t++) {
+			int seed = t;
+			threads[t] = new Thread(() -> {
+				try {
+					for (int i = 0; i < 10000; i++) {
+						long offset = ((i + seed) % 10) * 100 + (i % 60);
+						MemoryBlock block = mem.getBlock(addr(offset));
+						assertEquals(offset % 100 < 50, block != null);
+						if (block != null) {
+							assertTrue(block.contains(addr(offset)));
+							assertEquals(offset / 100 + offset % 100, mem.getByte(addr(offset)));
+						}
+					}
+				}
+				catch (Throwable e) {
+					failure[0] = e;
+				}
+			});
+			threads[t].start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		if (failure[0] != null) {
+			throw new AssertionError(failure[0]);
+		}
+	}
+
 	private byte[] createBytes(int size) {
 		byte[] bytes = new byte[size];
 		for (int i = 0; i < size; i++) {
@@ -0,0 +1,183 @@
+/* ###
+ * IP: GHIDRA
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package ghidra.program.database.mem;
+
+import static org.junit.Assert.*;
+
+import java.util.List;
+
+import org.junit.*;
+
+import generic.test.AbstractGenericTest;
+import ghidra.program.database.ProgramDB;
+import ghidra.program.model.address.*;
+import ghidra.program.model.lang.*;
+import ghidra.program.model.mem.MemoryBlock;
+import ghidra.program.util.DefaultLanguageService;
+import ghidra.util.task.TaskMonitor;
+
+public class MemoryNgramIndexTest extends AbstractGenericTest {
+	private static final int BUCKET = MemoryNgramIndex.BUCKET_SIZE;
+	private static final byte[] PATTERN = { 0x12, 0x34, 0x56, 0x78 };
+
+	private ProgramDB program;
+	private MemoryMapDB mem;
+	private MemoryNgramIndex index;
+	private AddressSet all;
+
+	@Before
+	public void setUp() throws Exception {
+		LanguageService languageService = DefaultLanguageService.getLanguageService();
+		Language language = languageService.getLanguage(new LanguageID("Toy:BE:64:default"));
+		program = new ProgramDB("Test", language, language.getDefaultCompilerSpec(), this);
+		mem = (MemoryMapDB) program.getMemory();
+		index = mem.getNgramIndex();
+		all = new AddressSet(addr(0), addr(0x100000));
+
+		program.withTransaction("Setup", () -> {
+			mem.createInitializedBlock("A", addr(0), 8 * BUCKET, (byte) 0, TaskMonitor.DUMMY,
+				false);
+			mem.setBytes(addr(2 * BUCKET + 100), PATTERN);
+			// straddles the end of bucket 4
+			mem.setBytes(addr(5 * BUCKET - 2), PATTERN);
+		});
+	}
+
+	@After
+	public void tearDown() {
+		program.release(this);
+	}
+
+	@Test
+	public void testDisabledByDefault() {
+		assertFalse(index.isEnabled());
+		assertEquals(all, index.getCandidateAddresses(all, List.of(PATTERN), 0, 4));
+	}
+
+	@Test
+	public void testCandidates() throws Exception {
+		enableIndex();
+
+		AddressSet candidates = index.getCandidateAddresses(all, List.of(PATTERN), 0, 4);
+		assertTrue(candidates.contains(addr(2 * BUCKET + 100), addr(2 * BUCKET + 103)));
+		assertTrue(candidates.contains(addr(5 * BUCKET - 2), addr(5 * BUCKET + 1)));
+		assertFalse(candidates.contains(addr(0)));
+		assertFalse(candidates.contains(addr(7 * BUCKET)));
+		assertFalse(candidates.contains(addr(BUCKET)));
+		assertTrue(candidates.getNumAddresses() < 3 * BUCKET);
+
+		// anchors within a larger sequence extend the candidate ranges
+		candidates = index.getCandidateAddresses(all, List.of(PATTERN), 10, 30);
+		assertTrue(candidates.contains(addr(2 * BUCKET + 90), addr(2 * BUCKET + 119)));
+
+		// too short to use the index
+		assertEquals(all, index.getCandidateAddresses(all, List.of(new byte[] { 1, 2 }), 0, 2));
+	}
+
+	@Test
+	public void testIndexUpdatedWhenBytesChange() throws Exception {
+		enableIndex();
+		byte[] other = { 0x55, 0x66, 0x77 };
+		assertTrue(index.getCandidateAddresses(all, List.of(other), 0, 3).isEmpty());
+
+		program.withTransaction("Change", () -> mem.setBytes(addr(6 * BUCKET + 10), other));
+		AddressSet candidates = index.getCandidateAddresses(all, List.of(other), 0, 3);
+		assertTrue(candidates.contains(addr(6 * BUCKET + 10), addr(6 * BUCKET + 12)));
+
+		program.undo();
+		assertTrue(index.getCandidateAddresses(all, List.of(other), 0, 3).isEmpty());
+	}
+
+	@Test
+	public void testChangedBucketsRebuiltAtCommit() throws Exception {
+		enableIndex();
+		byte[] other = { 0x55, 0x66, 0x77 };
+		byte[] missing = { 0x11, 0x22, 0x33 };
+
+		int txId = program.startTransaction("Change");
+		try {
+			for (int i = 0; i < 100; i++) {
+				mem.setByte(addr(6 * BUCKET + 10 + i), (byte) 1);
+			}
+			mem.setBytes(addr(6 * BUCKET + 200), other);
+
+			// changed buckets are possible matches for anything until they are rebuilt
+			AddressSet candidates = index.getCandidateAddresses(all, List.of(missing), 0, 3);
+			assertTrue(candidates.contains(addr(6 * BUCKET), addr(7 * BUCKET - 1)));
+			assertFalse(candidates.contains(addr(2 * BUCKET)));
+		}
+		finally {
+			program.endTransaction(txId, true);
+		}
+
+		assertTrue(index.getCandidateAddresses(all, List.of(missing), 0, 3).isEmpty());
+		AddressSet candidates = index.getCandidateAddresses(all, List.of(other), 0, 3);
+		assertTrue(candidates.contains(addr(6 * BUCKET + 200), addr(6 * BUCKET + 202)));
+		candidates = index.getCandidateAddresses(all, List.of(new byte[] { 1, 1, 1 }), 0, 3);
+		assertTrue(candidates.contains(addr(6 * BUCKET + 10)));
+	}
+
+	@Test
+	public void testChangedBucketsDiscardedOnAbort() throws Exception {
+		enableIndex();
+		byte[] other = { 0x55, 0x66, 0x77 };
+
+		int txId = program.startTransaction("Change");
+		try {
+			mem.setBytes(addr(6 * BUCKET + 10), other);
+		}
+		finally {
+			program.endTransaction(txId, false);
+		}
+		assertTrue(index.getCandidateAddresses(all, List.of(other), 0, 3).isEmpty());
+	}
+
+	@Test
+	public void testIndexUpdatedWhenBlocksChange() throws Exception {
+		enableIndex();
+		MemoryBlock block = mem.getBlock("A");
+		program.withTransaction("Move", () -> mem.moveBlock(block, addr(0x80000),
+			TaskMonitor.DUMMY));
+
+		AddressSet candidates = index.getCandidateAddresses(all, List.of(PATTERN), 0, 4);
+		assertTrue(candidates.contains(addr(0x80000 + 2 * BUCKET + 100)));
+		assertFalse(candidates.contains(addr(2 * BUCKET + 100)));
+
+		program.withTransaction("Remove", () -> mem.removeBlock(block, TaskMonitor.DUMMY));
+		assertTrue(index.getCandidateAddresses(all, List.of(PATTERN), 0, 4).isEmpty());
+	}
+
+	@Test
+	public void testDisableAndUndo() throws Exception {
+		enableIndex();
+		program.withTransaction("Disable", () -> index.setEnabled(false, TaskMonitor.DUMMY));
+		assertFalse(index.isEnabled());
+
+		program.undo();
+		assertTrue(index.isEnabled());
+		program.undo();
+		assertFalse(index.isEnabled());
+	}
+
+	private void enableIndex() throws Exception {
+		program.withTransaction("Enable", () -> index.setEnabled(true, TaskMonitor.DUMMY));
+		assertTrue(index.isEnabled());
+	}
+
+	private Address addr(long offset) {
+		return program.getAddressFactory().getDefaultAddressSpace().getAddress(offset);
+	}
+}